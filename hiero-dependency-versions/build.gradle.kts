@@ -13,6 +13,7 @@ val grpc = "1.72.0"
 val protobuf = "4.30.0"
 val slf4j = "2.0.17"
 val mockito = "5.17.0"
+val jmh = "1.37"
 
 dependencies {
     api(platform("org.springframework.boot:spring-boot-dependencies:3.4.5"))
@@ -48,6 +49,8 @@ dependencies.constraints {
     api("org.junit.jupiter:junit-jupiter-api:5.12.2") { because("org.junit.jupiter.api") }
     api("org.mockito:mockito-core:$mockito") { because("org.mockito") }
     api("org.mockito:mockito-junit-jupiter:$mockito") { because("org.mockito.junit.jupiter") }
+    api("org.openjdk.jmh:jmh-core:$jmh") { because("jmh.core") }
+    api("org.openjdk.jmh:jmh-generator-annprocess:$jmh")
 
     api("com.google.protobuf:protoc:$protobuf")
     api("io.grpc:protoc-gen-grpc-java:$grpc")
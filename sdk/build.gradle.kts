@@ -2,6 +2,7 @@
 plugins {
     id("org.hiero.gradle.module.library")
     id("org.hiero.gradle.feature.test-integration")
+    id("org.hiero.gradle.feature.benchmark")
     id("org.hiero.gradle.feature.protobuf")
     id("org.hiero.gradle.feature.publish-dependency-constraints")
 }
@@ -35,6 +36,8 @@ testModuleInfo {
     runtimeOnly("org.slf4j.simple")
 }
 
+jmhModuleInfo { requires("jmh.core") }
+
 testIntegrationModuleInfo {
     runtimeOnly("io.grpc.netty.shaded")
     runtimeOnly("org.slf4j.simple")
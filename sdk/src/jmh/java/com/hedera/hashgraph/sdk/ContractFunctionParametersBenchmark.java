@@ -0,0 +1,87 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding {@link ContractFunctionParameters} with large static-element arrays and with nested dynamic
+ * arrays, both into a new {@link ByteString} and into a reused {@link ByteBuffer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContractFunctionParametersBenchmark {
+    @Param({"16", "1024"})
+    private int size;
+
+    private ContractFunctionParameters largeArrays;
+
+    private ContractFunctionParameters nestedDynamic;
+
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        var uints = new BigInteger[size];
+        var longs = new long[size];
+        var strings = new String[size];
+        var bytes = new byte[size][];
+
+        for (var i = 0; i < size; i++) {
+            uints[i] = BigInteger.valueOf(i).shiftLeft(i % 200);
+            longs[i] = -i;
+            strings[i] = "string number " + i;
+            bytes[i] = new byte[i % 100];
+        }
+
+        largeArrays = new ContractFunctionParameters().addUint256Array(uints).addInt64Array(longs);
+        nestedDynamic = new ContractFunctionParameters()
+                .addStringArray(strings)
+                .addBytesArray(bytes)
+                .addString("trailing");
+
+        buffer = ByteBuffer.allocate(Math.max(
+                largeArrays.getEncodedLength("largeArrays"), nestedDynamic.getEncodedLength("nestedDynamic")));
+    }
+
+    @Benchmark
+    public ByteString largeArraysToBytes() {
+        return largeArrays.toBytes("largeArrays");
+    }
+
+    @Benchmark
+    public ByteBuffer largeArraysWriteTo() {
+        buffer.clear();
+        largeArrays.writeTo(buffer, "largeArrays");
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteString nestedDynamicToBytes() {
+        return nestedDynamic.toBytes("nestedDynamic");
+    }
+
+    @Benchmark
+    public ByteBuffer nestedDynamicWriteTo() {
+        buffer.clear();
+        nestedDynamic.writeTo(buffer, "nestedDynamic");
+        return buffer;
+    }
+}
@@ -0,0 +1,40 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TransactionId#generate(AccountId)} throughput with one thread and with as many
+ * threads as there are processors, where a single global compare-and-swap would serialize callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionIdGenerateBenchmark {
+    private final AccountId accountId = AccountId.fromString("0.0.1000");
+
+    @Benchmark
+    @Threads(1)
+    public TransactionId generateSingleThread() {
+        return TransactionId.generate(accountId);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public TransactionId generateAllThreads() {
+        return TransactionId.generate(accountId);
+    }
+}
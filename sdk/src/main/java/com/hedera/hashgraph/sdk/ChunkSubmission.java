@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import io.grpc.MethodDescriptor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Submits a single chunk of a frozen {@link ChunkedTransaction} to a single node.
+ * <p>
+ * The chunked transaction keeps its execution cursor (the current transaction ID and node) on the instance, so it
+ * can only ever have one chunk in flight. A chunk submission borrows the signed chunk from the transaction instead and
+ * keeps its own cursor, which allows several chunks to await consensus at the same time.
+ */
+final class ChunkSubmission
+        extends Executable<
+                ChunkSubmission,
+                com.hedera.hashgraph.sdk.proto.Transaction,
+                com.hedera.hashgraph.sdk.proto.TransactionResponse,
+                TransactionResponse> {
+    private final ChunkedTransaction<?> transaction;
+
+    private final TransactionId transactionId;
+
+    /**
+     * The index of the signed chunk in the outer transaction list of {@link #transaction}.
+     */
+    private final int index;
+
+    /**
+     * Constructor.
+     *
+     * @param transaction   the frozen chunked transaction
+     * @param chunk         the index of the chunk
+     * @param nodeAccountId the node the chunk is submitted to, one of the nodes of the transaction
+     */
+    ChunkSubmission(ChunkedTransaction<?> transaction, int chunk, AccountId nodeAccountId) {
+        var nodeIndex = transaction.nodeAccountIds.getList().indexOf(nodeAccountId);
+        if (nodeIndex < 0) {
+            throw new IllegalArgumentException("node " + nodeAccountId + " is not a node of the transaction");
+        }
+
+        this.transaction = transaction;
+        this.transactionId = transaction.transactionIds.get(chunk);
+        this.index = chunk * transaction.nodeAccountIds.size() + nodeIndex;
+
+        nodeAccountIds.add(nodeAccountId);
+
+        maxAttempts = transaction.maxAttempts;
+        maxBackoff = transaction.maxBackoff;
+        minBackoff = transaction.minBackoff;
+        grpcDeadline = transaction.grpcDeadline;
+        logger = transaction.logger;
+    }
+
+    @Override
+    void onExecute(Client client) throws TimeoutException, PrecheckStatusException {
+        transaction.onExecute(client);
+    }
+
+    @Override
+    CompletableFuture<Void> onExecuteAsync(Client client) {
+        return transaction.onExecuteAsync(client);
+    }
+
+    @Override
+    void onExecuteComplete(Client client) {
+        transaction.onExecuteComplete(client);
+    }
+
+    @Override
+    void onResponseStatus(Client client, Status status) {
+        transaction.onResponseStatus(client, status);
+    }
+
+    @Override
+    protected boolean isBatchedAndNotBatchTransaction() {
+        return transaction.isBatchedAndNotBatchTransaction();
+    }
+
+    @Override
+    com.hedera.hashgraph.sdk.proto.Transaction makeRequest() {
+        transaction.buildTransaction(index);
+
+        return transaction.outerTransactions.get(index);
+    }
+
+    @Override
+    TransactionResponse mapResponse(
+            com.hedera.hashgraph.sdk.proto.TransactionResponse response,
+            AccountId nodeId,
+            com.hedera.hashgraph.sdk.proto.Transaction request) {
+        var hash = Transaction.hash(request.getSignedTransactionBytes().toByteArray());
+        return new TransactionResponse(nodeId, transactionId, hash, null, transaction);
+    }
+
+    @Override
+    Status mapResponseStatus(com.hedera.hashgraph.sdk.proto.TransactionResponse response) {
+        return Status.valueOf(response.getNodeTransactionPrecheckCode());
+    }
+
+    @Override
+    MethodDescriptor<com.hedera.hashgraph.sdk.proto.Transaction, com.hedera.hashgraph.sdk.proto.TransactionResponse>
+            getMethodDescriptor() {
+        return transaction.getMethodDescriptor();
+    }
+
+    @Override
+    TransactionId getTransactionIdInternal() {
+        return transactionId;
+    }
+}
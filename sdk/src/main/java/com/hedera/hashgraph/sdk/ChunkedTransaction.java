@@ -16,8 +16,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -40,6 +42,11 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
      */
     private int maxChunks = 20;
 
+    /**
+     * Maximum number of chunks awaiting their receipt at once when executing asynchronously.
+     */
+    private int maxConcurrentChunks = 1;
+
     /**
      * Constructor.
      *
@@ -165,6 +172,39 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return (T) this;
     }
 
+    /**
+     * Retrieve the maximum number of chunks awaiting their receipt at once.
+     *
+     * @return                          the number of chunks
+     */
+    public int getMaxConcurrentChunks() {
+        return maxConcurrentChunks;
+    }
+
+    /**
+     * Assign the maximum number of chunks awaiting their receipt at once when executing asynchronously.
+     * <p>
+     * By default every chunk waits for the receipt of the previous chunk before it is submitted, so each chunk costs a
+     * full consensus round trip. With a value greater than one, chunks are submitted in order to a single node as soon
+     * as the previous chunk passed precheck, and their receipts are collected afterwards. All chunks then go to the first
+     * node of the transaction, without failing over to its other nodes. No chunk is submitted after one that failed or
+     * whose receipt could not be fetched, but the chunks already submitted behind it may still reach consensus. This
+     * only affects transactions that wait for the receipt of every chunk, such as {@link FileAppendTransaction}.
+     *
+     * @param maxConcurrentChunks       the number of chunks
+     * @return {@code this}
+     */
+    public T setMaxConcurrentChunks(int maxConcurrentChunks) {
+        if (maxConcurrentChunks < 1) {
+            throw new IllegalArgumentException("maxConcurrentChunks must be at least 1");
+        }
+
+        this.maxConcurrentChunks = maxConcurrentChunks;
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
     @Override
     public byte[] getTransactionHash() {
         if (outerTransactions.size() > nodeAccountIds.size()) {
@@ -273,10 +313,17 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
 
         var operatorId = client.getOperatorAccountId();
 
-        if (operatorId != null && operatorId.equals(Objects.requireNonNull(getTransactionIdInternal().accountId))) {
+        var accountId = Objects.requireNonNull(getTransactionIdInternal().accountId);
+
+        if (operatorId != null && operatorId.equals(accountId)) {
             // on execute, sign each transaction with the operator, if present
             // and we are signing a transaction that used the default transaction ID
             signWithOperator(client);
+        } else {
+            var poolOperator = client.operatorPool.get(accountId);
+            if (poolOperator != null) {
+                signWith(poolOperator.publicKey, poolOperator.transactionSigner);
+            }
         }
     }
 
@@ -349,6 +396,10 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
     public CompletableFuture<List<TransactionResponse>> executeAllAsync(Client client, Duration timeoutPerChunk) {
         freezeAndSign(client);
 
+        if (maxConcurrentChunks > 1 && shouldGetReceipt() && transactionIds.size() > 1) {
+            return executeAllPipelinedAsync(client, timeoutPerChunk);
+        }
+
         CompletableFuture<List<com.hedera.hashgraph.sdk.TransactionResponse>> future =
                 CompletableFuture.supplyAsync(() -> new ArrayList<>(transactionIds.size()));
 
@@ -376,6 +427,70 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return future;
     }
 
+    /**
+     * Submit the chunks in order to a single node, keeping up to {@link #maxConcurrentChunks} of them awaiting their
+     * receipt.
+     * <p>
+     * A chunk is only submitted once the previous chunk passed precheck on the same node, which keeps the consensus
+     * order of the chunks equal to their submission order. Every chunk goes to the first node of the transaction and
+     * there is no failover to its other nodes, since a chunk retried elsewhere could overtake the chunks before it.
+     * <p>
+     * Like the sequential path, the series stops at the first chunk that fails precheck, fails to reach consensus or
+     * whose receipt cannot be fetched: no later chunk is submitted, although the chunks already submitted behind it
+     * may still reach consensus.
+     */
+    private CompletableFuture<List<TransactionResponse>> executeAllPipelinedAsync(
+            Client client, Duration timeoutPerChunk) {
+        var chunkCount = transactionIds.size();
+        var nodeAccountId = nodeAccountIds.get(0);
+        var receipted = new ArrayList<CompletableFuture<TransactionResponse>>(chunkCount);
+        var failure = new AtomicReference<Throwable>();
+
+        CompletableFuture<TransactionResponse> submitted = CompletableFuture.completedFuture(null);
+
+        for (var i = 0; i < chunkCount; i++) {
+            var chunk = i;
+
+            // wait for the oldest outstanding chunk to be confirmed; if it was not, this chunk fails with it
+            CompletableFuture<?> window = chunk >= maxConcurrentChunks
+                    ? receipted.get(chunk - maxConcurrentChunks)
+                    : CompletableFuture.completedFuture(null);
+
+            submitted = submitted.thenCombine(window, (response, ignored) -> response)
+                    .thenCompose(ignored -> {
+                        var error = failure.get();
+                        if (error != null) {
+                            return CompletableFuture.failedFuture(error);
+                        }
+
+                        return new ChunkSubmission(this, chunk, nodeAccountId).executeAsync(client, timeoutPerChunk);
+                    });
+
+            var receipt = submitted.thenCompose(response -> response.getReceiptAsync(client, timeoutPerChunk)
+                    .thenApply(ignored -> response));
+
+            receipt.whenComplete((response, error) -> {
+                if (error != null) {
+                    failure.compareAndSet(null, error instanceof CompletionException ? error.getCause() : error);
+                }
+            });
+
+            receipted.add(receipt);
+        }
+
+        return CompletableFuture.allOf(receipted.toArray(new CompletableFuture<?>[0]))
+                .handle((ignoredResult, ignoredError) -> {
+                    var responses = new ArrayList<TransactionResponse>(chunkCount);
+
+                    // report the failure of the earliest chunk, the ones after it only failed because of it
+                    for (var chunkReceipt : receipted) {
+                        responses.add(chunkReceipt.join());
+                    }
+
+                    return responses;
+                });
+    }
+
     /**
      * Execute this transaction or query asynchronously.
      *
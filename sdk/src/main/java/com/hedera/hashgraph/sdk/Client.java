@@ -16,11 +16,14 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -28,6 +31,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -74,6 +78,20 @@ public final class Client implements AutoCloseable {
     @Nullable
     private Operator operator;
 
+    final OperatorPool operatorPool = new OperatorPool();
+
+    final QueryCostCache queryCostCache = new QueryCostCache();
+
+    final QueryResponseCache queryResponseCache = new QueryResponseCache();
+
+    final EntityIdCache entityIdCache = new EntityIdCache();
+
+    @Nullable
+    private Path entityIdCacheFile;
+
+    @Nullable
+    private MirrorRestClient mirrorRestClient;
+
     private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
     private Duration closeTimeout = DEFAULT_CLOSE_TIMEOUT;
     private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
@@ -387,6 +405,11 @@ public final class Client implements AutoCloseable {
      * @throws InterruptedException when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
     public synchronized Client setMirrorNetwork(List<String> network) throws InterruptedException {
+        // resolved entity IDs belong to the ledger of the mirror nodes they came from
+        if (!new HashSet<>(mirrorNetwork.getNetwork()).equals(new HashSet<>(network))) {
+            entityIdCache.clear();
+        }
+
         try {
             this.mirrorNetwork.setNetwork(network);
         } catch (TimeoutException e) {
@@ -806,6 +829,126 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Add an account to the pool of accounts paying for transactions and queries built with this client.
+     * <p>
+     * Once the pool holds at least one account, every transaction frozen with this client and every query payment is
+     * paid for by an account selected from the pool (see {@link #setOperatorSelectionStrategy(OperatorSelectionStrategy)})
+     * instead of the operator set with {@link #setOperator(AccountId, PrivateKey)}, which spreads per-payer limits and
+     * signing across several accounts.
+     *
+     * @param accountId  The AccountId of the pool operator
+     * @param privateKey The PrivateKey of the pool operator
+     * @return {@code this}
+     */
+    public synchronized Client addOperatorToPool(AccountId accountId, PrivateKey privateKey) {
+        return addOperatorToPoolWith(accountId, privateKey.getPublicKey(), privateKey::sign);
+    }
+
+    /**
+     * Add an account to the pool of accounts paying for transactions and queries built with this client.
+     * <p>
+     * The `transactionSigner` is invoked to sign all transactions and query payments paid for by this account.
+     *
+     * @param accountId         The AccountId of the pool operator
+     * @param publicKey         The PublicKey of the pool operator
+     * @param transactionSigner The signer for the pool operator
+     * @return {@code this}
+     */
+    public synchronized Client addOperatorToPoolWith(
+            AccountId accountId, PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
+        if (getNetworkName() != null) {
+            try {
+                accountId.validateChecksum(this);
+            } catch (BadEntityIdException exc) {
+                throw new IllegalArgumentException(
+                        "Tried to add an account ID with an invalid checksum to the operator pool: "
+                                + exc.getMessage());
+            }
+        }
+
+        operatorPool.add(new Operator(accountId, publicKey, transactionSigner));
+        return this;
+    }
+
+    /**
+     * Remove an account from the operator pool.
+     *
+     * @param accountId The AccountId of the pool operator
+     * @return {@code this}
+     */
+    public synchronized Client removeOperatorFromPool(AccountId accountId) {
+        operatorPool.remove(accountId);
+        return this;
+    }
+
+    /**
+     * Extract the account IDs in the operator pool.
+     *
+     * @return the pool operator account IDs
+     */
+    public List<AccountId> getOperatorPoolAccountIds() {
+        return operatorPool.getAccountIds();
+    }
+
+    /**
+     * Extract the strategy used to select the paying account from the operator pool.
+     *
+     * @return the selection strategy
+     */
+    public OperatorSelectionStrategy getOperatorSelectionStrategy() {
+        return operatorPool.getStrategy();
+    }
+
+    /**
+     * Set the strategy used to select the paying account from the operator pool.
+     *
+     * @param strategy the selection strategy
+     * @return {@code this}
+     */
+    public Client setOperatorSelectionStrategy(OperatorSelectionStrategy strategy) {
+        operatorPool.setStrategy(Objects.requireNonNull(strategy));
+        return this;
+    }
+
+    /**
+     * Set the known balance of an account in the operator pool.
+     * <p>
+     * The client deducts the maximum transaction fee and query payment of every request the account pays for from
+     * this balance and stops selecting the account once it is used up. Setting the balance again, e.g. after topping
+     * the account up or after an {@link AccountBalanceQuery}, also makes an account excluded because of
+     * {@link Status#INSUFFICIENT_PAYER_BALANCE} available again.
+     *
+     * @param accountId The AccountId of the pool operator
+     * @param balance   The current balance of the account
+     * @return {@code this}
+     */
+    public Client setOperatorPoolBalance(AccountId accountId, Hbar balance) {
+        operatorPool.setBalance(Objects.requireNonNull(accountId), Objects.requireNonNull(balance));
+        return this;
+    }
+
+    /**
+     * Extract the estimated remaining balance of an account in the operator pool.
+     *
+     * @param accountId The AccountId of the pool operator
+     * @return the estimated balance, or {@code null} if it was never set
+     */
+    @Nullable
+    public Hbar getOperatorPoolBalance(AccountId accountId) {
+        return operatorPool.getBalance(accountId);
+    }
+
+    /**
+     * Is this account in the operator pool currently excluded from paying for requests?
+     *
+     * @param accountId The AccountId of the pool operator
+     * @return whether the account is excluded
+     */
+    public boolean isOperatorPoolAccountExcluded(AccountId accountId) {
+        return operatorPool.isExcluded(accountId);
+    }
+
     /**
      * Current name of the network; corresponds to ledger ID in entity ID checksum calculations.
      *
@@ -829,8 +972,7 @@ public final class Client implements AutoCloseable {
      */
     @Deprecated
     public synchronized Client setNetworkName(@Nullable NetworkName networkName) {
-        this.network.setLedgerId(networkName == null ? null : LedgerId.fromNetworkName(networkName));
-        return this;
+        return setLedgerId(networkName == null ? null : LedgerId.fromNetworkName(networkName));
     }
 
     /**
@@ -851,6 +993,10 @@ public final class Client implements AutoCloseable {
      * @return {@code this}
      */
     public synchronized Client setLedgerId(@Nullable LedgerId ledgerId) {
+        if (!Objects.equals(network.getLedgerId(), ledgerId)) {
+            entityIdCache.clear();
+        }
+
         this.network.setLedgerId(ledgerId);
         return this;
     }
@@ -1205,6 +1351,426 @@ public final class Client implements AutoCloseable {
         return setDefaultMaxQueryPayment(maxQueryPayment);
     }
 
+    /**
+     * Extract how long the cost of a query is remembered.
+     *
+     * @return the query cost cache TTL, zero when the cache is disabled
+     */
+    public Duration getQueryCostCacheTtl() {
+        return queryCostCache.getTtl();
+    }
+
+    /**
+     * Set how long the cost of a query is remembered.
+     * <p>
+     * When a query is executed without an explicit {@link Query#setQueryPayment(Hbar)} call, the client first requests
+     * its cost from the network. With a non-zero TTL, the client remembers that cost per query type and query
+     * contents and pays it again for equivalent queries executed within the TTL, skipping the cost request. Costs are
+     * forgotten when a receipt reports a new exchange rate, when a node rejects a query paid from the cache with
+     * {@link Status#INSUFFICIENT_TX_FEE}, and on {@link #invalidateQueryCostCache()}.
+     * <p>
+     * A cost can change within the TTL, e.g. when the queried entity grows, so a cached cost may be too low and fail the
+     * query. Keep the TTL short. Defaults to zero, which disables the cache.
+     *
+     * @param ttl the query cost cache TTL
+     * @return {@code this}
+     */
+    public Client setQueryCostCacheTtl(Duration ttl) {
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be non-negative");
+        }
+
+        queryCostCache.setTtl(ttl);
+        return this;
+    }
+
+    /**
+     * Extract the number of in-flight cost requests above which queries pay their maximum query payment instead.
+     *
+     * @return the fallback threshold, zero when disabled
+     */
+    public int getQueryCostFallbackThreshold() {
+        return queryCostCache.getFallbackThreshold();
+    }
+
+    /**
+     * Set the number of in-flight cost requests above which queries pay their maximum query payment instead.
+     * <p>
+     * Under load, a query whose cost is not cached skips the cost request once this many cost requests are already in
+     * flight, and pays {@link Query#setMaxQueryPayment(Hbar)} (or {@link #getDefaultMaxQueryPayment()}) instead. This
+     * trades a higher payment for one round trip less. Defaults to zero, which disables the fallback.
+     *
+     * @param threshold the fallback threshold
+     * @return {@code this}
+     */
+    public Client setQueryCostFallbackThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must be non-negative");
+        }
+
+        queryCostCache.setFallbackThreshold(threshold);
+        return this;
+    }
+
+    /**
+     * Forget every cached query cost, e.g. after updating the fee schedule.
+     *
+     * @return {@code this}
+     */
+    public Client invalidateQueryCostCache() {
+        queryCostCache.invalidate();
+        return this;
+    }
+
+    /**
+     * Extract the number of query executions that paid a cached cost.
+     *
+     * @return the number of query cost cache hits
+     */
+    public long getQueryCostCacheHits() {
+        return queryCostCache.getHits();
+    }
+
+    /**
+     * Extract the number of query executions that found no cached cost while the cache was enabled.
+     *
+     * @return the number of query cost cache misses
+     */
+    public long getQueryCostCacheMisses() {
+        return queryCostCache.getMisses();
+    }
+
+    /**
+     * Extract the number of query executions that paid their maximum query payment because too many cost requests
+     * were in flight.
+     *
+     * @return the number of query cost fallbacks
+     */
+    public long getQueryCostFallbacks() {
+        return queryCostCache.getFallbacks();
+    }
+
+    /**
+     * Extract the consistency of a query type.
+     *
+     * @param queryType the query type
+     * @return the consistency of the query type
+     */
+    public QueryConsistency getQueryConsistency(Class<? extends Query<?, ?>> queryType) {
+        return queryResponseCache.getConsistency(Objects.requireNonNull(queryType));
+    }
+
+    /**
+     * Set the consistency of a query type.
+     * <p>
+     * With {@link QueryConsistency#SINGLE_FLIGHT}, queries of this type that are executed while an equivalent query
+     * (same type, same contents) is in flight do not send a request, but wait for and return the result of the query
+     * in flight. With {@link QueryConsistency#CACHED}, the results are additionally kept for the query cache TTL. This
+     * suits queries issued for the same key by many threads at once, like {@link AccountBalanceQuery} or
+     * {@link TransactionReceiptQuery}. Defaults to {@link QueryConsistency#STRONG} for every query type.
+     *
+     * @param queryType   the query type
+     * @param consistency the consistency of the query type
+     * @return {@code this}
+     */
+    public Client setQueryConsistency(Class<? extends Query<?, ?>> queryType, QueryConsistency consistency) {
+        queryResponseCache.setConsistency(Objects.requireNonNull(queryType), Objects.requireNonNull(consistency));
+        return this;
+    }
+
+    /**
+     * Extract the consistency of a mirror node contract query type.
+     *
+     * @param queryType the query type
+     * @return the consistency of the query type
+     */
+    public QueryConsistency getMirrorNodeQueryConsistency(Class<? extends MirrorNodeContractQuery<?>> queryType) {
+        return queryResponseCache.getConsistency(Objects.requireNonNull(queryType));
+    }
+
+    /**
+     * Set the consistency of a mirror node contract query type, like {@link MirrorNodeContractEstimateGasQuery}.
+     * <p>
+     * Queries are equivalent when they send the same request: same contract, call data, sender, value, gas and block.
+     * With {@link QueryConsistency#SINGLE_FLIGHT}, equivalent queries executed concurrently share one request. With
+     * {@link QueryConsistency#CACHED}, results are additionally kept for the query cache TTL, or until evicted for
+     * queries pinned to a block with {@link MirrorNodeContractQuery#setBlockNumber(long)}. The cache is shared with
+     * {@link #setQueryConsistency(Class, QueryConsistency)}. Defaults to {@link QueryConsistency#STRONG}.
+     *
+     * @param queryType   the query type
+     * @param consistency the consistency of the query type
+     * @return {@code this}
+     */
+    public Client setMirrorNodeQueryConsistency(
+            Class<? extends MirrorNodeContractQuery<?>> queryType, QueryConsistency consistency) {
+        queryResponseCache.setConsistency(Objects.requireNonNull(queryType), Objects.requireNonNull(consistency));
+        return this;
+    }
+
+    /**
+     * Extract how long the results of {@link QueryConsistency#CACHED} query types are kept.
+     *
+     * @return the query cache TTL
+     */
+    public Duration getQueryCacheTtl() {
+        return queryResponseCache.getTtl();
+    }
+
+    /**
+     * Set how long the results of {@link QueryConsistency#CACHED} query types are kept. Defaults to 1 second.
+     *
+     * @param ttl the query cache TTL
+     * @return {@code this}
+     */
+    public Client setQueryCacheTtl(Duration ttl) {
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be non-negative");
+        }
+
+        queryResponseCache.setTtl(ttl);
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of query results kept by the client.
+     *
+     * @return the maximum query cache size
+     */
+    public int getQueryCacheMaxSize() {
+        return queryResponseCache.getMaxSize();
+    }
+
+    /**
+     * Set the maximum number of query results kept by the client; the least recently used results are evicted first.
+     * Defaults to 1000.
+     *
+     * @param maxSize the maximum query cache size
+     * @return {@code this}
+     */
+    public Client setQueryCacheMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+
+        queryResponseCache.setMaxSize(maxSize);
+        return this;
+    }
+
+    /**
+     * Forget every cached query result.
+     *
+     * @return {@code this}
+     */
+    public Client clearQueryCache() {
+        queryResponseCache.clear();
+        return this;
+    }
+
+    /**
+     * Extract the number of query executions answered from a cached result.
+     *
+     * @return the number of query cache hits
+     */
+    public long getQueryCacheHits() {
+        return queryResponseCache.getHits();
+    }
+
+    /**
+     * Extract the number of query executions that shared the result of an equivalent query in flight.
+     *
+     * @return the number of coalesced query executions
+     */
+    public long getQueryCacheCoalesced() {
+        return queryResponseCache.getCoalesced();
+    }
+
+    /**
+     * Extract the number of query executions of non-{@link QueryConsistency#STRONG} query types that sent a request.
+     *
+     * @return the number of query cache misses
+     */
+    public long getQueryCacheMisses() {
+        return queryResponseCache.getMisses();
+    }
+
+    /**
+     * Extract the maximum number of EVM address and entity number mappings kept by the client.
+     *
+     * @return the maximum entity ID cache size
+     */
+    public int getEntityIdCacheMaxSize() {
+        return entityIdCache.getMaxSize();
+    }
+
+    /**
+     * Set the maximum number of EVM address and entity number mappings kept by the client, e.g. for
+     * {@link AccountId#populateAccountNum(Client)}; the least recently used mappings are evicted first. A size of 0
+     * disables the cache. Defaults to 10000.
+     *
+     * @param maxSize the maximum entity ID cache size
+     * @return {@code this}
+     */
+    public Client setEntityIdCacheMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must be non-negative");
+        }
+
+        entityIdCache.setMaxSize(maxSize);
+        return this;
+    }
+
+    /**
+     * Extract how long the client remembers that the mirror node did not find an EVM address or entity number.
+     *
+     * @return the negative TTL of the entity ID cache
+     */
+    public Duration getEntityIdCacheNegativeTtl() {
+        return entityIdCache.getNegativeTtl();
+    }
+
+    /**
+     * Set how long the client remembers that the mirror node did not find an EVM address or entity number, during
+     * which resolving it again fails without a request. {@link Duration#ZERO} disables negative caching. Defaults to
+     * 30 seconds.
+     *
+     * @param negativeTtl the negative TTL of the entity ID cache
+     * @return {@code this}
+     */
+    public Client setEntityIdCacheNegativeTtl(Duration negativeTtl) {
+        Objects.requireNonNull(negativeTtl);
+        if (negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("negativeTtl must be non-negative");
+        }
+
+        entityIdCache.setNegativeTtl(negativeTtl);
+        return this;
+    }
+
+    /**
+     * Extract the file the entity ID cache is persisted to.
+     *
+     * @return the entity ID cache file, or {@code null} when the cache is not persisted
+     */
+    @Nullable
+    public synchronized Path getEntityIdCacheFile() {
+        return entityIdCacheFile;
+    }
+
+    /**
+     * Persist the entity ID cache to a file. The mappings in the file, if it exists, are loaded right away; the
+     * mappings are written back by {@link #saveEntityIdCache()} and when the client is closed.
+     * <p>
+     * The file records the ledger ID of the client, and a file written for another ledger is rejected. Changing the
+     * ledger ID or the mirror network clears the cache.
+     *
+     * @param file the entity ID cache file, or {@code null} to stop persisting the cache
+     * @return {@code this}
+     * @throws IOException if the file exists but cannot be read or belongs to another ledger
+     */
+    public synchronized Client setEntityIdCacheFile(@Nullable Path file) throws IOException {
+        if (file != null && Files.exists(file)) {
+            entityIdCache.load(file, getLedgerId());
+        }
+
+        entityIdCacheFile = file;
+        return this;
+    }
+
+    /**
+     * Write the entity ID cache to the file set with {@link #setEntityIdCacheFile(Path)}, if any.
+     *
+     * @return {@code this}
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized Client saveEntityIdCache() throws IOException {
+        if (entityIdCacheFile != null) {
+            entityIdCache.save(entityIdCacheFile, getLedgerId());
+        }
+
+        return this;
+    }
+
+    /**
+     * Forget every cached EVM address and entity number mapping.
+     *
+     * @return {@code this}
+     */
+    public Client clearEntityIdCache() {
+        entityIdCache.clear();
+        return this;
+    }
+
+    /**
+     * Extract the number of EVM address and entity number resolutions answered without a new mirror node request.
+     *
+     * @return the number of entity ID cache hits
+     */
+    public long getEntityIdCacheHits() {
+        return entityIdCache.getHits();
+    }
+
+    /**
+     * Extract the number of EVM address and entity number resolutions that sent a mirror node request.
+     *
+     * @return the number of entity ID cache misses
+     */
+    public long getEntityIdCacheMisses() {
+        return entityIdCache.getMisses();
+    }
+
+    /**
+     * Resolve the EVM addresses and account numbers of many accounts ahead of time, so later resolutions, e.g. by
+     * {@link AccountId#populateAccountNum(Client)}, are answered from the cache.
+     * <p>
+     * Accounts given by number are fetched in ranges with one list request per range instead of one request per
+     * account. Prefetching is best effort: accounts that fail to resolve are skipped.
+     *
+     * @param accountIds the accounts to resolve
+     * @return {@code this}
+     * @throws InterruptedException when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
+     * @throws ExecutionException when the prefetch fails unexpectedly
+     */
+    public Client prefetchAccountIds(Collection<AccountId> accountIds) throws InterruptedException, ExecutionException {
+        prefetchAccountIdsAsync(accountIds).get();
+        return this;
+    }
+
+    /**
+     * Resolve the EVM addresses and account numbers of many accounts ahead of time, asynchronously.
+     *
+     * @param accountIds the accounts to resolve
+     * @return future that completes once every account was resolved or skipped
+     * @see #prefetchAccountIds(Collection)
+     */
+    public CompletableFuture<Void> prefetchAccountIdsAsync(Collection<AccountId> accountIds) {
+        return EntityIdHelper.prefetchAccountIdsAsync(this, Objects.requireNonNull(accountIds));
+    }
+
+    /**
+     * Extract the client for the REST API of the mirror network, which is shared by every request of this client.
+     *
+     * @return the mirror REST client
+     */
+    synchronized MirrorRestClient getMirrorRestClient() {
+        if (mirrorRestClient == null) {
+            mirrorRestClient = new MirrorRestClient(this);
+        }
+
+        return mirrorRestClient;
+    }
+
+    /**
+     * Extract the metrics of the requests sent to the REST API of the mirror network, e.g. to resolve EVM addresses
+     * or to simulate contract calls.
+     *
+     * @return the mirror REST metrics
+     */
+    public MirrorRestMetrics getMirrorRestMetrics() {
+        return getMirrorRestClient().getMetrics();
+    }
+
     /**
      * Should the transaction id be regenerated?
      *
@@ -1297,6 +1863,56 @@ public final class Client implements AutoCloseable {
         return this.operator;
     }
 
+    /**
+     * Select the operator paying for the next transaction or query: the next account from the operator pool if it is
+     * not empty, otherwise the operator. The operator also pays while every account of the pool is excluded.
+     *
+     * @return the paying operator
+     * @throws IllegalStateException when every account of the operator pool is excluded and there is no operator
+     */
+    @Nullable
+    Operator getPayerOperator() {
+        if (!operatorPool.isEmpty()) {
+            try {
+                return operatorPool.next();
+            } catch (IllegalStateException e) {
+                var operator = getOperator();
+
+                if (operator == null) {
+                    throw new IllegalStateException(
+                            "every account of the operator pool is excluded and the client has no operator to pay "
+                                    + "instead; set the balance of a pool account once it is funded again",
+                            e);
+                }
+
+                return operator;
+            }
+        }
+
+        return getOperator();
+    }
+
+    /**
+     * Find the operator, in the pool or the operator itself, that owns the given account.
+     *
+     * @param accountId the paying account
+     * @return the operator or {@code null} if the account is not known to this client
+     */
+    @Nullable
+    Operator getOperatorFor(@Nullable AccountId accountId) {
+        var pooled = operatorPool.get(accountId);
+        if (pooled != null) {
+            return pooled;
+        }
+
+        var current = getOperator();
+        if (current != null && current.accountId.equals(accountId)) {
+            return current;
+        }
+
+        return null;
+    }
+
     /**
      * Get the period for updating the Address Book
      *
@@ -1366,6 +1982,12 @@ public final class Client implements AutoCloseable {
         network.beginClose();
         mirrorNetwork.beginClose();
 
+        try {
+            saveEntityIdCache();
+        } catch (IOException e) {
+            logger.warn("Failed to save the entity ID cache to {}: {}", entityIdCacheFile, e.getMessage());
+        }
+
         var networkError = network.awaitClose(closeDeadline, null);
         var mirrorNetworkError = mirrorNetwork.awaitClose(closeDeadline, networkError);
 
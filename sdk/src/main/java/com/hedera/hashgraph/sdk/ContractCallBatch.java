@@ -0,0 +1,559 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.google.protobuf.ByteString;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Batches read-only contract calls into calls to a
+ * <a href="https://github.com/mds1/multicall">Multicall3</a>-style aggregator contract.
+ * <p>
+ * Each {@link #add} returns a future result for its call. {@link #executeAsync()} then sends the pending calls as few
+ * {@code aggregate3((address,bool,bytes)[])} calls as the limits allow (calls per batch, total gas and call data size)
+ * and splits the aggregated result back into the results of each call. A batch whose aggregated call fails because
+ * it was too large, with one of the statuses {@code MAX_GAS_LIMIT_EXCEEDED}, {@code INSUFFICIENT_GAS},
+ * {@code RESULT_SIZE_LIMIT_EXCEEDED} or {@code TRANSACTION_OVERSIZE}, is split in two and each half is retried, down
+ * to single calls. Any other failure fails every call of the batch, since retrying smaller batches would only repeat
+ * it, each time with a query payment when executing {@link #viaConsensusNodes}.
+ * <p>
+ * Calls are made with {@code allowFailure}, so one call that reverts does not fail the others: its result has
+ * {@link ContractFunctionResult#errorMessage} set to {@code CONTRACT_REVERT_EXECUTED} and the revert data as its
+ * bytes. Results only carry the contract ID and the bytes returned; gas used, logs and blooms are those of the
+ * aggregated call and are not attributed to each call.
+ */
+public final class ContractCallBatch {
+    /**
+     * The default gas for each call, including what the aggregator spends on dispatching it.
+     */
+    public static final long DEFAULT_GAS_PER_CALL = 100_000;
+
+    /**
+     * The default maximum gas of a batch.
+     */
+    public static final long DEFAULT_MAX_GAS = 15_000_000;
+
+    /**
+     * The default maximum number of calls in a batch.
+     */
+    public static final int DEFAULT_MAX_CALLS_PER_BATCH = 100;
+
+    /**
+     * The default maximum size of the call data of a batch, in bytes.
+     */
+    public static final int DEFAULT_MAX_CALL_DATA_SIZE = 4096;
+
+    static final String AGGREGATE3_SIGNATURE = "aggregate3((address,bool,bytes)[])";
+
+    private static final byte[] AGGREGATE3_SELECTOR =
+            Arrays.copyOf(ContractFunctionSelector.hashSignature(AGGREGATE3_SIGNATURE), 4);
+
+    // the selector and the offset and length of the array of calls
+    private static final int AGGREGATE3_OVERHEAD = 4 + 32 + 32;
+
+    private static final byte[] ZEROS = new byte[32];
+
+    /**
+     * The statuses of aggregated calls that may succeed once their batch is split.
+     */
+    private static final Set<Status> TOO_LARGE_STATUSES = EnumSet.of(
+            Status.MAX_GAS_LIMIT_EXCEEDED,
+            Status.INSUFFICIENT_GAS,
+            Status.RESULT_SIZE_LIMIT_EXCEEDED,
+            Status.TRANSACTION_OVERSIZE);
+
+    private final Aggregator aggregator;
+
+    private final List<Call> pending = new ArrayList<>();
+
+    private long maxGas = DEFAULT_MAX_GAS;
+
+    private int maxCallsPerBatch = DEFAULT_MAX_CALLS_PER_BATCH;
+
+    private int maxCallDataSize = DEFAULT_MAX_CALL_DATA_SIZE;
+
+    /**
+     * Constructor.
+     *
+     * @param aggregator executes the aggregated calls, see {@link #viaConsensusNodes}, {@link #viaMirrorNode} and
+     *                   {@link #local}
+     */
+    public ContractCallBatch(Aggregator aggregator) {
+        this.aggregator = Objects.requireNonNull(aggregator);
+    }
+
+    /**
+     * Execute aggregated calls with a {@link ContractCallQuery} to an aggregator contract.
+     *
+     * @param client     the client to execute the queries with
+     * @param multicall  the aggregator contract
+     * @return the aggregator
+     */
+    public static Aggregator viaConsensusNodes(Client client, ContractId multicall) {
+        return (callData, gas) -> new ContractCallQuery()
+                .setContractId(multicall)
+                .setGas(gas)
+                .setFunctionParameters(callData)
+                .executeAsync(client)
+                .thenApply(ContractFunctionResult::asBytes);
+    }
+
+    /**
+     * Execute aggregated calls with a {@link MirrorNodeContractCallQuery} to an aggregator contract, which costs no
+     * query payment.
+     *
+     * @param client     the client to execute the queries with
+     * @param multicall  the aggregator contract
+     * @return the aggregator
+     */
+    public static Aggregator viaMirrorNode(Client client, ContractId multicall) {
+        return (callData, gas) -> new MirrorNodeContractCallQuery()
+                .setContractId(multicall)
+                .setGasLimit(gas)
+                .setFunctionParameters(ByteString.copyFrom(callData))
+                .callAsync(client)
+                .thenApply(result -> Hex.decode(result.startsWith("0x") ? result.substring(2) : result));
+    }
+
+    /**
+     * Execute aggregated calls locally, e.g. in tests: every call is dispatched to a function standing in for the
+     * contracts, and a call for which it throws reverts.
+     *
+     * @param contracts  returns the result of calling a contract with some call data
+     * @return the aggregator
+     */
+    public static Aggregator local(BiFunction<ContractId, byte[], byte[]> contracts) {
+        Objects.requireNonNull(contracts);
+
+        return (callData, gas) -> {
+            if (callData.length < 4 || !Arrays.equals(callData, 0, 4, AGGREGATE3_SELECTOR, 0, 4)) {
+                return CompletableFuture.failedFuture(
+                        new IllegalArgumentException("call data is not a call to " + AGGREGATE3_SIGNATURE));
+            }
+
+            Tuple[] calls = ContractFunctionResult.getTupleType("((address,bool,bytes)[])")
+                    .decode(Arrays.copyOfRange(callData, 4, callData.length))
+                    .get(0);
+
+            var results = new ArrayList<byte[]>(calls.length);
+            var successes = new boolean[calls.length];
+
+            for (var i = 0; i < calls.length; i++) {
+                var contractId = ContractId.fromSolidityAddress(
+                        calls[i].get(0).toString().substring(2));
+
+                try {
+                    results.add(contracts.apply(contractId, calls[i].get(2)));
+                    successes[i] = true;
+                } catch (RuntimeException e) {
+                    results.add(new byte[0]);
+                }
+            }
+
+            return CompletableFuture.completedFuture(encodeResults(successes, results));
+        };
+    }
+
+    /**
+     * Extract the maximum gas of a batch.
+     *
+     * @return the maximum gas of a batch
+     */
+    public synchronized long getMaxGas() {
+        return maxGas;
+    }
+
+    /**
+     * Assign the maximum gas of a batch, the sum of the gas of its calls.
+     *
+     * @param maxGas the maximum gas of a batch
+     * @return {@code this}
+     */
+    public synchronized ContractCallBatch setMaxGas(long maxGas) {
+        if (maxGas <= 0) {
+            throw new IllegalArgumentException("maxGas must be greater than 0");
+        }
+
+        this.maxGas = maxGas;
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of calls in a batch.
+     *
+     * @return the maximum number of calls in a batch
+     */
+    public synchronized int getMaxCallsPerBatch() {
+        return maxCallsPerBatch;
+    }
+
+    /**
+     * Assign the maximum number of calls in a batch.
+     *
+     * @param maxCallsPerBatch the maximum number of calls in a batch
+     * @return {@code this}
+     */
+    public synchronized ContractCallBatch setMaxCallsPerBatch(int maxCallsPerBatch) {
+        if (maxCallsPerBatch <= 0) {
+            throw new IllegalArgumentException("maxCallsPerBatch must be greater than 0");
+        }
+
+        this.maxCallsPerBatch = maxCallsPerBatch;
+        return this;
+    }
+
+    /**
+     * Extract the maximum size of the call data of a batch.
+     *
+     * @return the maximum size in bytes
+     */
+    public synchronized int getMaxCallDataSize() {
+        return maxCallDataSize;
+    }
+
+    /**
+     * Assign the maximum size of the call data of a batch.
+     * <p>
+     * A call that is larger on its own is still sent, alone.
+     *
+     * @param maxCallDataSize the maximum size in bytes
+     * @return {@code this}
+     */
+    public synchronized ContractCallBatch setMaxCallDataSize(int maxCallDataSize) {
+        if (maxCallDataSize <= 0) {
+            throw new IllegalArgumentException("maxCallDataSize must be greater than 0");
+        }
+
+        this.maxCallDataSize = maxCallDataSize;
+        return this;
+    }
+
+    /**
+     * Add a call with {@link #DEFAULT_GAS_PER_CALL}.
+     *
+     * @param contractId   the contract to call
+     * @param functionName the function to call
+     * @param params       the parameters to pass to the function
+     * @return future result of the call, completed once a batch with the call was executed
+     */
+    public CompletableFuture<ContractFunctionResult> add(
+            ContractId contractId, String functionName, ContractFunctionParameters params) {
+        return add(contractId, functionName, params, DEFAULT_GAS_PER_CALL);
+    }
+
+    /**
+     * Add a call.
+     *
+     * @param contractId   the contract to call
+     * @param functionName the function to call
+     * @param params       the parameters to pass to the function
+     * @param gas          the gas for the call, including what the aggregator spends on dispatching it
+     * @return future result of the call, completed once a batch with the call was executed
+     */
+    public CompletableFuture<ContractFunctionResult> add(
+            ContractId contractId, String functionName, ContractFunctionParameters params, long gas) {
+        if (gas <= 0) {
+            throw new IllegalArgumentException("gas must be greater than 0");
+        }
+
+        var address = Hex.decode(contractId.toSolidityAddress());
+        var call = new Call(contractId, address, params.toBytes(functionName).toByteArray(), gas);
+
+        synchronized (this) {
+            pending.add(call);
+        }
+
+        return call.future;
+    }
+
+    /**
+     * Extract the number of calls that were added and not executed yet.
+     *
+     * @return the number of pending calls
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Execute the pending calls and wait for all of their results.
+     */
+    public void execute() {
+        executeAsync().join();
+    }
+
+    /**
+     * Execute the pending calls.
+     * <p>
+     * The returned future never fails; the result of each call is given by the future returned when it was added.
+     *
+     * @return future that completes once the result of every pending call is complete
+     */
+    public CompletableFuture<Void> executeAsync() {
+        List<List<Call>> batches;
+
+        synchronized (this) {
+            batches = partition(pending);
+            pending.clear();
+        }
+
+        return CompletableFuture.allOf(batches.stream().map(this::send).toArray(CompletableFuture<?>[]::new));
+    }
+
+    private List<List<Call>> partition(List<Call> calls) {
+        var batches = new ArrayList<List<Call>>();
+        var batch = new ArrayList<Call>();
+        var gas = 0L;
+        var size = AGGREGATE3_OVERHEAD;
+
+        for (var call : calls) {
+            var callSize = call.encodedLength();
+
+            var full = batch.size() >= maxCallsPerBatch
+                    || gas + call.gas > maxGas
+                    || size + callSize > maxCallDataSize;
+
+            if (!batch.isEmpty() && full) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                gas = 0;
+                size = AGGREGATE3_OVERHEAD;
+            }
+
+            batch.add(call);
+            gas += call.gas;
+            size += callSize;
+        }
+
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        return batches;
+    }
+
+    private CompletableFuture<Void> send(List<Call> batch) {
+        var gas = batch.stream().mapToLong(call -> call.gas).sum();
+        CompletableFuture<byte[]> response;
+
+        try {
+            response = aggregator.aggregate(encodeCalls(batch), gas);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        return response.handle((result, error) -> {
+                    if (error == null) {
+                        complete(batch, result);
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+
+                    var cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+
+                    if (batch.size() == 1 || !isTooLarge(cause)) {
+                        for (var call : batch) {
+                            call.future.completeExceptionally(cause);
+                        }
+
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+
+                    // the batch was too large for a limit that cannot be checked up front, like the size of the
+                    // result; retry each half, down to single calls
+                    var half = batch.size() / 2;
+                    return CompletableFuture.allOf(
+                            send(batch.subList(0, half)), send(batch.subList(half, batch.size())));
+                })
+                .thenCompose(future -> future);
+    }
+
+    /**
+     * Whether an aggregated call failed because its batch was too large.
+     */
+    private static boolean isTooLarge(Throwable error) {
+        if (error instanceof PrecheckStatusException precheckStatusException) {
+            return TOO_LARGE_STATUSES.contains(precheckStatusException.status);
+        }
+
+        // the mirror node answers with the status in the body of the error response
+        if (error instanceof MirrorRestClient.HttpStatusException httpStatusException) {
+            for (var status : TOO_LARGE_STATUSES) {
+                if (httpStatusException.getMessage().contains(status.name())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static void complete(List<Call> batch, byte[] response) {
+        Tuple[] results;
+
+        try {
+            results = ContractFunctionResult.getTupleType("((bool,bytes)[])")
+                    .decode(response)
+                    .get(0);
+
+            if (results.length != batch.size()) {
+                throw new IllegalStateException(
+                        "aggregator returned " + results.length + " results for " + batch.size() + " calls");
+            }
+        } catch (RuntimeException e) {
+            for (var call : batch) {
+                call.future.completeExceptionally(e);
+            }
+
+            return;
+        }
+
+        for (var i = 0; i < results.length; i++) {
+            var call = batch.get(i);
+            Boolean success = results[i].get(0);
+            byte[] returnData = results[i].get(1);
+
+            var result = com.hedera.hashgraph.sdk.proto.ContractFunctionResult.newBuilder()
+                    .setContractID(call.contractId.toProtobuf())
+                    .setContractCallResult(ByteString.copyFrom(returnData));
+
+            if (!success) {
+                result.setErrorMessage(Status.CONTRACT_REVERT_EXECUTED.name());
+            }
+
+            call.future.complete(new ContractFunctionResult(result));
+        }
+    }
+
+    /**
+     * Encode a call to {@code aggregate3((address,bool,bytes)[])}, with {@code allowFailure} for every call.
+     */
+    static byte[] encodeCalls(List<Call> calls) {
+        var length = AGGREGATE3_OVERHEAD;
+
+        for (var call : calls) {
+            length += call.encodedLength();
+        }
+
+        var buffer = ByteBuffer.allocate(length);
+        buffer.put(AGGREGATE3_SELECTOR);
+        putWord(buffer, 32);
+        putWord(buffer, calls.size());
+
+        // offsets of the calls, relative to the first offset
+        long offset = calls.size() * 32L;
+
+        for (var call : calls) {
+            putWord(buffer, offset);
+            offset += call.encodedLength() - 32;
+        }
+
+        for (var call : calls) {
+            buffer.put(ZEROS, 0, 32 - call.address.length);
+            buffer.put(call.address);
+            putWord(buffer, 1);
+            putWord(buffer, 96);
+            putBytes(buffer, call.callData);
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Encode the {@code (bool,bytes)[]} result of {@code aggregate3}.
+     */
+    static byte[] encodeResults(boolean[] successes, List<byte[]> results) {
+        var length = 32 + 32 + results.size() * 32;
+
+        for (var result : results) {
+            length += 32 * 3 + paddedLength(result.length);
+        }
+
+        var buffer = ByteBuffer.allocate(length);
+        putWord(buffer, 32);
+        putWord(buffer, results.size());
+
+        long offset = results.size() * 32L;
+
+        for (var result : results) {
+            putWord(buffer, offset);
+            offset += 32 * 3 + paddedLength(result.length);
+        }
+
+        for (var i = 0; i < results.size(); i++) {
+            putWord(buffer, successes[i] ? 1 : 0);
+            putWord(buffer, 64);
+            putBytes(buffer, results.get(i));
+        }
+
+        return buffer.array();
+    }
+
+    private static void putWord(ByteBuffer buffer, long value) {
+        buffer.put(ZEROS, 0, 24);
+        buffer.putLong(value);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        putWord(buffer, bytes.length);
+        buffer.put(bytes);
+        buffer.put(ZEROS, 0, paddedLength(bytes.length) - bytes.length);
+    }
+
+    private static int paddedLength(int length) {
+        return (length + 31) / 32 * 32;
+    }
+
+    /**
+     * Executes aggregated calls.
+     */
+    @FunctionalInterface
+    public interface Aggregator {
+        /**
+         * Execute a call to {@code aggregate3((address,bool,bytes)[])}.
+         *
+         * @param callData the encoded call
+         * @param gas      the gas for the call
+         * @return future encoded {@code (bool,bytes)[]} result of the call
+         */
+        CompletableFuture<byte[]> aggregate(byte[] callData, long gas);
+    }
+
+    static final class Call {
+        final ContractId contractId;
+
+        final byte[] address;
+
+        final byte[] callData;
+
+        final long gas;
+
+        final CompletableFuture<ContractFunctionResult> future = new CompletableFuture<>();
+
+        Call(ContractId contractId, byte[] address, byte[] callData, long gas) {
+            this.contractId = contractId;
+            this.address = address;
+            this.callData = callData;
+            this.gas = gas;
+        }
+
+        /**
+         * The length of the call in the encoding of {@code aggregate3}: its offset, address, {@code allowFailure},
+         * the offset and length of its call data, then the call data.
+         */
+        int encodedLength() {
+            return 32 * 5 + paddedLength(callData.length);
+        }
+    }
+}
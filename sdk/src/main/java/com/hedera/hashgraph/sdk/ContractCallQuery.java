@@ -197,6 +197,12 @@ public final class ContractCallQuery extends Query<ContractFunctionResult, Contr
         }
     }
 
+    @Override
+    ByteString getCostCacheKey() {
+        // the cost of a local call depends on the gas and the size of the call data, not on the call data itself
+        return ByteString.copyFromUtf8(gas + ":" + functionParameters.length);
+    }
+
     @Override
     void onMakeRequest(com.hedera.hashgraph.sdk.proto.Query.Builder queryBuilder, QueryHeader header) {
         var builder = ContractCallLocalQuery.newBuilder();
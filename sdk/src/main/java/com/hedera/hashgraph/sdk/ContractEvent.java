@@ -0,0 +1,50 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.util.List;
+
+/**
+ * A contract log decoded by a {@link ContractEventDecoder}.
+ */
+public final class ContractEvent {
+    /**
+     * The contract that emitted the event.
+     */
+    public final ContractId contractId;
+
+    /**
+     * The name of the event, e.g. {@code Transfer}.
+     */
+    public final String name;
+
+    /**
+     * The canonical signature of the event, e.g. {@code Transfer(address,address,uint256)}.
+     */
+    public final String signature;
+
+    /**
+     * The arguments of the event, in declaration order.
+     * <p>
+     * Values are typed as by {@link ContractFunctionResult#getResult(String)}. Indexed arguments of dynamic types
+     * ({@code string}, {@code bytes}, arrays and tuples) are only logged as the Keccak-256 hash of their encoding,
+     * which is given here as a {@code byte[]}.
+     */
+    public final List<Object> args;
+
+    ContractEvent(ContractId contractId, String name, String signature, List<Object> args) {
+        this.contractId = contractId;
+        this.name = name;
+        this.signature = signature;
+        this.args = args;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("contractId", contractId)
+                .add("signature", signature)
+                .add("args", args)
+                .toString();
+    }
+}
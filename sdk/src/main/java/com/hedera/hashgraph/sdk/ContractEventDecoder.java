@@ -0,0 +1,300 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.esaulpaugh.headlong.abi.ABIType;
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleType;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Decodes the logs of contract calls into typed {@link ContractEvent}s.
+ * <p>
+ * Register the events of interest with {@link #addEvent(String, boolean...)}, then decode results or records. Before
+ * anything is decoded, the bloom filter of the whole result and then that of each log are tested against the topics
+ * of the registered events, so results and logs that cannot contain any of them are skipped without looking at their
+ * topics or data. Blooms that are empty, as they are for some results, match everything.
+ * <p>
+ * Anonymous events, which have no signature topic, are not supported.
+ * <p>
+ * Events must be added before decoding starts; decoding is then safe from several threads.
+ */
+public final class ContractEventDecoder {
+    /**
+     * The length of an EVM bloom filter in bytes.
+     */
+    static final int BLOOM_LEN = 256;
+
+    /**
+     * The maximum number of indexed arguments of a non-anonymous event.
+     */
+    static final int MAX_INDEXED = 3;
+
+    /**
+     * Registered events by the topic of their signature; events with the same signature and a different number of
+     * indexed arguments, like the ERC-20 and ERC-721 {@code Transfer}, share a topic.
+     */
+    private final Map<ByteString, List<EventDefinition>> events = new HashMap<>();
+
+    /**
+     * The bloom bits of every registered signature topic.
+     */
+    private final List<int[]> bloomBits = new ArrayList<>();
+
+    /**
+     * Constructor.
+     */
+    public ContractEventDecoder() {}
+
+    /**
+     * Register an event.
+     * <p>
+     * For example, an ERC-20 {@code Transfer(address indexed from, address indexed to, uint256 value)} is added with
+     * {@code addEvent("Transfer(address,address,uint256)", true, true, false)}.
+     *
+     * @param signature the signature of the event; types are canonicalized, so {@code uint} is {@code uint256}
+     * @param indexed   whether each argument is indexed, in declaration order
+     * @return {@code this}
+     */
+    public ContractEventDecoder addEvent(String signature, boolean... indexed) {
+        var paren = signature.indexOf('(');
+
+        if (paren <= 0) {
+            throw new IllegalArgumentException("event signature must be of the form `Name(type,...)`");
+        }
+
+        var name = signature.substring(0, paren);
+        TupleType<Tuple> inputs = TupleType.parse(signature.substring(paren));
+
+        if (indexed.length != inputs.size()) {
+            throw new IllegalArgumentException(
+                    "event has " + inputs.size() + " arguments but " + indexed.length + " indexed flags were given");
+        }
+
+        var canonicalSignature = name + inputs.getCanonicalType();
+        var topic = ContractFunctionSelector.hashSignature(canonicalSignature);
+
+        var topicDecoders = new ArrayList<TupleType<Tuple>>();
+        var dataTypes = new ArrayList<String>();
+
+        for (var i = 0; i < inputs.size(); i++) {
+            ABIType<?> type = inputs.get(i);
+
+            if (!indexed[i]) {
+                dataTypes.add(type.getCanonicalType());
+            } else if (type.isDynamic()) {
+                // only the hash of a dynamic value is logged
+                topicDecoders.add(null);
+            } else {
+                topicDecoders.add(ContractFunctionResult.getTupleType("(" + type.getCanonicalType() + ")"));
+            }
+        }
+
+        if (topicDecoders.size() > MAX_INDEXED) {
+            throw new IllegalArgumentException("an event may have at most " + MAX_INDEXED + " indexed arguments");
+        }
+
+        var definition = new EventDefinition(
+                name,
+                canonicalSignature,
+                indexed.clone(),
+                topicDecoders,
+                ContractFunctionResult.getTupleType("(" + String.join(",", dataTypes) + ")"));
+
+        var key = ByteString.copyFrom(topic);
+        var definitions = events.computeIfAbsent(key, k -> new ArrayList<>());
+
+        for (var existing : definitions) {
+            if (existing.topicDecoders.size() == topicDecoders.size()) {
+                throw new IllegalArgumentException("an event `" + canonicalSignature + "` with "
+                        + topicDecoders.size() + " indexed arguments was already added");
+            }
+        }
+
+        if (definitions.isEmpty()) {
+            bloomBits.add(bloomBits(topic));
+        }
+
+        definitions.add(definition);
+
+        return this;
+    }
+
+    /**
+     * Decode the registered events logged by a contract call.
+     *
+     * @param result the result of the contract call
+     * @return the decoded events, in log order
+     */
+    public List<ContractEvent> decode(ContractFunctionResult result) {
+        if (!mightContainAny(result.bloom)) {
+            return Collections.emptyList();
+        }
+
+        var decoded = new ArrayList<ContractEvent>();
+
+        for (var log : result.logs) {
+            var event = decode(log);
+
+            if (event != null) {
+                decoded.add(event);
+            }
+        }
+
+        return decoded;
+    }
+
+    /**
+     * Decode the registered events logged by the contract call of a record.
+     *
+     * @param record the record of a transaction
+     * @return the decoded events, in log order; empty if the record has no contract call result
+     */
+    public List<ContractEvent> decode(TransactionRecord record) {
+        return record.contractFunctionResult != null
+                ? decode(record.contractFunctionResult)
+                : Collections.emptyList();
+    }
+
+    /**
+     * Decode a log, if it is one of the registered events.
+     *
+     * @param log the log
+     * @return the decoded event, or {@code null} if the log is not one of the registered events
+     */
+    @Nullable
+    public ContractEvent decode(ContractLogInfo log) {
+        if (log.topics.isEmpty() || !mightContainAny(log.bloom)) {
+            return null;
+        }
+
+        var definitions = events.get(log.topics.get(0));
+
+        if (definitions == null) {
+            return null;
+        }
+
+        for (var definition : definitions) {
+            if (definition.topicDecoders.size() == log.topics.size() - 1) {
+                return definition.decode(log);
+            }
+        }
+
+        return null;
+    }
+
+    private boolean mightContainAny(ByteString bloom) {
+        // blooms that are not populated cannot rule anything out
+        if (bloom.size() != BLOOM_LEN) {
+            return true;
+        }
+
+        for (var bits : bloomBits) {
+            if (mightContain(bloom, bits)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean mightContain(ByteString bloom, int[] bits) {
+        for (var bit : bits) {
+            if ((bloom.byteAt(BLOOM_LEN - 1 - bit / 8) & (1 << (bit % 8))) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the bits set in an EVM bloom filter for a value: the low 11 bits of each of the first three pairs of bytes
+     * of its Keccak-256 hash, counted from the end of the filter.
+     */
+    static int[] bloomBits(byte[] value) {
+        var hash = Crypto.calcKeccak256(value);
+        var bits = new int[3];
+
+        for (var i = 0; i < bits.length; i++) {
+            bits[i] = ((hash[i * 2] & 0x7) << 8) | (hash[i * 2 + 1] & 0xFF);
+        }
+
+        return bits;
+    }
+
+    /**
+     * Create an EVM bloom filter containing some values.
+     */
+    static ByteString bloomOf(byte[]... values) {
+        var bloom = new byte[BLOOM_LEN];
+
+        for (var value : values) {
+            for (var bit : bloomBits(value)) {
+                bloom[BLOOM_LEN - 1 - bit / 8] |= (byte) (1 << (bit % 8));
+            }
+        }
+
+        return ByteString.copyFrom(bloom);
+    }
+
+    private static final class EventDefinition {
+        private final String name;
+
+        private final String signature;
+
+        private final boolean[] indexed;
+
+        /**
+         * Decoders of the indexed arguments, in order; {@code null} for dynamic types, which are logged as a hash.
+         */
+        private final List<TupleType<Tuple>> topicDecoders;
+
+        /**
+         * Decoder of the arguments that are not indexed, which are logged as the data.
+         */
+        private final TupleType<Tuple> dataDecoder;
+
+        EventDefinition(
+                String name,
+                String signature,
+                boolean[] indexed,
+                List<TupleType<Tuple>> topicDecoders,
+                TupleType<Tuple> dataDecoder) {
+            this.name = name;
+            this.signature = signature;
+            this.indexed = indexed;
+            this.topicDecoders = topicDecoders;
+            this.dataDecoder = dataDecoder;
+        }
+
+        ContractEvent decode(ContractLogInfo log) {
+            var data = ContractFunctionResult.decode(dataDecoder, log.data);
+            var args = new Object[indexed.length];
+            var topicIndex = 0;
+            var dataIndex = 0;
+
+            for (var i = 0; i < indexed.length; i++) {
+                if (indexed[i]) {
+                    var topic = log.topics.get(topicIndex + 1);
+                    var decoder = topicDecoders.get(topicIndex++);
+
+                    args[i] = decoder != null
+                            ? decoder.decode(topic.asReadOnlyByteBuffer()).get(0)
+                            : topic.toByteArray();
+                } else {
+                    args[i] = data.get(dataIndex++);
+                }
+            }
+
+            return new ContractEvent(
+                    log.contractId, name, signature, Collections.unmodifiableList(Arrays.asList(args)));
+        }
+    }
+}
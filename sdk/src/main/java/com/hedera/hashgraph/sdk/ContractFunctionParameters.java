@@ -2,13 +2,12 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.bouncycastle.util.encoders.DecoderException;
 import org.bouncycastle.util.encoders.Hex;
@@ -47,23 +46,18 @@ public final class ContractFunctionParameters {
     private static final ByteString padding = ByteString.copyFrom(new byte[31]);
     private static final ByteString negativePadding;
 
+    private static final byte[] ZEROS = new byte[32];
+    private static final byte[] ONES = new byte[32];
+
     static {
         byte[] fill = new byte[31];
         Arrays.fill(fill, (byte) 0xFF);
         negativePadding = ByteString.copyFrom(fill);
-    }
-
-    private final ArrayList<Argument> args = new ArrayList<>();
 
-    private static ByteString encodeString(String string) {
-        ByteString strBytes = ByteString.copyFromUtf8(string);
-        // prepend the size of the string in UTF-8 bytes
-        return int256(strBytes.size(), 32).concat(rightPad32(strBytes));
+        Arrays.fill(ONES, (byte) 0xFF);
     }
 
-    private static ByteString encodeBytes(byte[] bytes) {
-        return int256(bytes.length, 32).concat(rightPad32(ByteString.copyFrom(bytes)));
-    }
+    private final ArrayList<Argument> args = new ArrayList<>();
 
     private static ByteString encodeBytes4(byte[] bytes) {
         if (bytes.length > 4) {
@@ -84,60 +78,182 @@ public final class ContractFunctionParameters {
         return int256(bool ? 1 : 0, 8);
     }
 
-    private static ByteString encodeArray(Stream<ByteString> elements) {
-        List<ByteString> list = elements.collect(Collectors.toList());
+    /**
+     * A {@code string} or {@code bytes}: the length followed by the right-padded bytes.
+     */
+    private static Argument bytesArgument(String type, byte[] bytes) {
+        return new Argument(type, 32 + paddedLength(bytes.length), out -> {
+            writeInt(out, bytes.length, 32, true);
+            writeRightPadded(out, bytes);
+        });
+    }
+
+    /**
+     * A {@code string[]} or {@code bytes[]}: the length, the offset of every element relative to the first offset and
+     * then the elements, each encoded like {@link #bytesArgument}.
+     */
+    private static Argument dynamicArrayArgument(String type, byte[][] elements) {
+        var size = 32 + elements.length * 32;
+
+        for (var element : elements) {
+            size += 32 + paddedLength(element.length);
+        }
+
+        return new Argument(type, size, out -> {
+            writeInt(out, elements.length, 32, false);
+
+            // points to start of dynamic segment, *not* including the length of the array
+            long currOffset = elements.length * 32L;
+
+            for (var element : elements) {
+                writeInt(out, currOffset, 64, false);
+                currOffset += 32 + paddedLength(element.length);
+            }
+
+            for (var element : elements) {
+                writeInt(out, element.length, 32, true);
+                writeRightPadded(out, element);
+            }
+        });
+    }
+
+    /**
+     * A {@code bytes4[]} or {@code bytes32[]}: the length followed by the right-padded elements.
+     */
+    private static Argument fixedBytesArrayArgument(String type, byte[][] elements, int maxLength) {
+        var size = 32;
+
+        for (var element : elements) {
+            if (element.length > maxLength) {
+                throw new IllegalArgumentException(maxLength == 4
+                        ? "bytes4 encoding forbids byte array length greater than 4"
+                        : "byte32 encoding forbids byte array length greater than 32");
+            }
+
+            size += paddedLength(element.length);
+        }
+
+        return new Argument(type, size, out -> {
+            writeInt(out, elements.length, 32, true);
+
+            for (var element : elements) {
+                writeRightPadded(out, element);
+            }
+        });
+    }
+
+    /**
+     * An {@code address[]}: the length followed by the left-padded addresses.
+     */
+    private static Argument addressArrayArgument(byte[][] addresses) {
+        return new Argument("address[]", 32 + addresses.length * 32, out -> {
+            writeInt(out, addresses.length, 32, true);
+
+            for (var address : addresses) {
+                out.put(ZEROS, 0, 32 - address.length);
+                out.put(address);
+            }
+        });
+    }
+
+    /**
+     * An array of integers that fit a {@code long}: the length followed by the elements.
+     */
+    private static Argument intArrayArgument(String type, long[] values, int bitWidth, boolean signed) {
+        return new Argument(type, 32 + values.length * 32, out -> {
+            writeInt(out, values.length, 32, false);
 
-        return int256(list.size(), 32).concat(ByteString.copyFrom(list));
+            for (var value : values) {
+                writeInt(out, value, bitWidth, signed);
+            }
+        });
     }
 
-    private static ByteString encodeDynArr(List<ByteString> elements) {
-        int offsetsLen = elements.size();
+    private static Argument intArrayArgument(String type, byte[] values, int bitWidth, boolean signed) {
+        var longs = new long[values.length];
+
+        for (var i = 0; i < values.length; i++) {
+            longs[i] = values[i];
+        }
 
-        // [len, offset[0], offset[1], ... offset[len - 1]]
-        ArrayList<ByteString> head = new ArrayList<>(offsetsLen + 1);
+        return intArrayArgument(type, longs, bitWidth, signed);
+    }
 
-        head.add(uint256(elements.size(), 32));
+    private static Argument intArrayArgument(String type, int[] values, int bitWidth, boolean signed) {
+        return intArrayArgument(type, Arrays.stream(values).asLongStream().toArray(), bitWidth, signed);
+    }
 
-        // points to start of dynamic segment, *not* including the length of the array
-        long currOffset = offsetsLen * 32L;
+    /**
+     * An array of integers wider than a {@code long}: the length followed by the elements.
+     */
+    private static Argument intArrayArgument(String type, BigInteger[] values, int bitWidth, boolean signed) {
+        var copy = values.clone();
 
-        for (ByteString elem : elements) {
-            head.add(uint256(currOffset, 64));
-            currOffset += elem.size();
+        for (var value : copy) {
+            if (!signed && value.signum() < 0) {
+                throw new IllegalArgumentException("negative BigInteger passed to unsigned function");
+            }
         }
 
-        return ByteString.copyFrom(head).concat(ByteString.copyFrom(elements));
+        return new Argument(type, 32 + copy.length * 32, out -> {
+            writeInt(out, copy.length, 32, false);
+
+            for (var value : copy) {
+                writeInt(out, value, bitWidth, signed);
+            }
+        });
     }
 
-    static ByteString int256(long val, int bitWidth) {
-        return int256(val, bitWidth, true);
+    private static int paddedLength(int length) {
+        return (length + 31) / 32 * 32;
     }
 
-    static ByteString int256(long val, int bitWidth, boolean signed) {
+    /**
+     * Write a value as a 32-byte word: its low {@code bitWidth} bits in big-endian order, left-padded with the sign
+     * if {@code signed}, otherwise with zeros.
+     */
+    private static void writeInt(ByteBuffer out, long val, int bitWidth, boolean signed) {
         // don't try to get wider than a `long` as it should just be filled with padding
         bitWidth = Math.min(bitWidth, 64);
-        ByteString.Output output = ByteString.newOutput(bitWidth / 8);
 
-        try {
-            // write bytes in big-endian order
-            for (int i = bitWidth - 8; i >= 0; i -= 8) {
-                // widening conversion sign-extends so we don't have to do anything special when
-                // truncating a previously widened value
-                byte u8 = (byte) (val >> i);
-                output.write(u8);
-            }
+        out.put(signed && val < 0 ? ONES : ZEROS, 0, 32 - bitWidth / 8);
 
-            // byte padding will sign-extend appropriately
-            return leftPad32(output.toByteString(), signed && val < 0);
-        } finally {
-            try {
-                output.close();
-            } catch (Throwable ignored) {
-                // do nothing
-            }
+        // write bytes in big-endian order
+        for (int i = bitWidth - 8; i >= 0; i -= 8) {
+            out.put((byte) (val >> i));
         }
     }
 
+    private static void writeInt(ByteBuffer out, BigInteger val, int bitWidth, boolean signed) {
+        var negative = signed && val.signum() < 0;
+
+        // values that fit a `long` are not truncated and encode the same, without allocating
+        if (bitWidth >= 64 && val.bitLength() < 64) {
+            writeInt(out, val.longValue(), 64, true);
+            return;
+        }
+
+        var bytes = getTruncatedBytes(val, bitWidth);
+
+        out.put(negative ? ONES : ZEROS, 0, 32 - bytes.length);
+        out.put(bytes);
+    }
+
+    private static void writeRightPadded(ByteBuffer out, byte[] bytes) {
+        out.put(bytes);
+        out.put(ZEROS, 0, paddedLength(bytes.length) - bytes.length);
+    }
+
+    static ByteString int256(long val, int bitWidth) {
+        return int256(val, bitWidth, true);
+    }
+
+    static ByteString int256(long val, int bitWidth, boolean signed) {
+        var word = ByteBuffer.allocate(32);
+        writeInt(word, val, bitWidth, signed);
+        return UnsafeByteOperations.unsafeWrap(word.array());
+    }
+
     static byte[] getTruncatedBytes(BigInteger bigInt, int bitWidth) {
         byte[] bytes = bigInt.toByteArray();
         int expectedBytes = bitWidth / 8;
@@ -147,7 +263,9 @@ public final class ContractFunctionParameters {
     }
 
     static ByteString int256(BigInteger bigInt, int bitWidth) {
-        return leftPad32(getTruncatedBytes(bigInt, bitWidth), bigInt.signum() < 0);
+        var word = ByteBuffer.allocate(32);
+        writeInt(word, bigInt, bitWidth, true);
+        return UnsafeByteOperations.unsafeWrap(word.array());
     }
 
     static ByteString uint256(long val, int bitWidth) {
@@ -158,7 +276,10 @@ public final class ContractFunctionParameters {
         if (bigInt.signum() < 0) {
             throw new IllegalArgumentException("negative BigInteger passed to unsigned function");
         }
-        return leftPad32(getTruncatedBytes(bigInt, bitWidth), false);
+
+        var word = ByteBuffer.allocate(32);
+        writeInt(word, bigInt, bitWidth, false);
+        return UnsafeByteOperations.unsafeWrap(word.array());
     }
 
     static ByteString leftPad32(ByteString input) {
@@ -206,7 +327,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addString(String param) {
-        args.add(new Argument("string", encodeString(param), true));
+        args.add(bytesArgument("string", param.getBytes(StandardCharsets.UTF_8)));
 
         return this;
     }
@@ -219,13 +340,11 @@ public final class ContractFunctionParameters {
      * @throws NullPointerException if any value in `strings` is null
      */
     public ContractFunctionParameters addStringArray(String[] strings) {
-        List<ByteString> byteStrings = Arrays.stream(strings)
-                .map(ContractFunctionParameters::encodeString)
-                .collect(Collectors.toList());
+        byte[][] elements = Arrays.stream(strings)
+                .map(string -> string.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
 
-        ByteString argBytes = encodeDynArr(byteStrings);
-
-        args.add(new Argument("string[]", argBytes, true));
+        args.add(dynamicArrayArgument("string[]", elements));
 
         return this;
     }
@@ -237,7 +356,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addBytes(byte[] param) {
-        args.add(new Argument("bytes", encodeBytes(param), true));
+        args.add(bytesArgument("bytes", param.clone()));
 
         return this;
     }
@@ -249,11 +368,9 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addBytesArray(byte[][] param) {
-        List<ByteString> byteArrays = Arrays.stream(param)
-                .map(ContractFunctionParameters::encodeBytes)
-                .collect(Collectors.toList());
+        byte[][] elements = Arrays.stream(param).map(byte[]::clone).toArray(byte[][]::new);
 
-        args.add(new Argument("bytes[]", encodeDynArr(byteArrays), true));
+        args.add(dynamicArrayArgument("bytes[]", elements));
 
         return this;
     }
@@ -279,9 +396,9 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if the length of any byte array is not 4.
      */
     public ContractFunctionParameters addBytes4Array(byte[][] param) {
-        Stream<ByteString> byteArrays = Arrays.stream(param).map(ContractFunctionParameters::encodeBytes4);
+        byte[][] elements = Arrays.stream(param).map(byte[]::clone).toArray(byte[][]::new);
 
-        args.add(new Argument("bytes4[]", encodeArray(byteArrays), true));
+        args.add(fixedBytesArrayArgument("bytes4[]", elements, 4));
 
         return this;
     }
@@ -312,9 +429,9 @@ public final class ContractFunctionParameters {
      */
     public ContractFunctionParameters addBytes32Array(byte[][] param) {
         // array of fixed-size elements
-        Stream<ByteString> byteArrays = Arrays.stream(param).map(ContractFunctionParameters::encodeBytes32);
+        byte[][] elements = Arrays.stream(param).map(byte[]::clone).toArray(byte[][]::new);
 
-        args.add(new Argument("bytes32[]", encodeArray(byteArrays), true));
+        args.add(fixedBytesArrayArgument("bytes32[]", elements, 32));
 
         return this;
     }
@@ -338,14 +455,13 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addBoolArray(boolean[] param) {
-        Boolean[] boolWrapperArray = new Boolean[param.length];
+        // booleans encode to `uint8` of values [0, 1]
+        long[] bools = new long[param.length];
         for (int i = 0; i < param.length; i++) {
-            boolWrapperArray[i] = param[i];
+            bools[i] = param[i] ? 1 : 0;
         }
 
-        Stream<ByteString> bools = Arrays.stream(boolWrapperArray).map(ContractFunctionParameters::encodeBool);
-
-        args.add(new Argument("bool[]", encodeArray(bools), true));
+        args.add(intArrayArgument("bool[]", bools, 8, true));
 
         return this;
     }
@@ -745,14 +861,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt8Array(byte[] intArray) {
-        IntStream intStream = IntStream.range(0, intArray.length).map(idx -> intArray[idx]);
-
-        ByteString arrayBytes =
-                ByteString.copyFrom(intStream.mapToObj(i -> int256(i, 8)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int8[]", arrayBytes, true));
+        args.add(intArrayArgument("int8[]", intArray, 8, true));
 
         return this;
     }
@@ -764,12 +873,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt16Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> int256(i, 16)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int16[]", arrayBytes, true));
+        args.add(intArrayArgument("int16[]", intArray, 16, true));
 
         return this;
     }
@@ -781,12 +885,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt24Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> int256(i, 24)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int24[]", arrayBytes, true));
+        args.add(intArrayArgument("int24[]", intArray, 24, true));
 
         return this;
     }
@@ -798,12 +897,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt32Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> int256(i, 32)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int32[]", arrayBytes, true));
+        args.add(intArrayArgument("int32[]", intArray, 32, true));
 
         return this;
     }
@@ -815,12 +909,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt40Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> int256(i, 40)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int40[]", arrayBytes, true));
+        args.add(intArrayArgument("int40[]", intArray.clone(), 40, true));
 
         return this;
     }
@@ -832,12 +921,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt48Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> int256(i, 48)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int48[]", arrayBytes, true));
+        args.add(intArrayArgument("int48[]", intArray.clone(), 48, true));
 
         return this;
     }
@@ -849,12 +933,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt56Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> int256(i, 56)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int56[]", arrayBytes, true));
+        args.add(intArrayArgument("int56[]", intArray.clone(), 56, true));
 
         return this;
     }
@@ -866,12 +945,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt64Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> int256(i, 64)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int64[]", arrayBytes, true));
+        args.add(intArrayArgument("int64[]", intArray.clone(), 64, true));
 
         return this;
     }
@@ -883,12 +957,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt72Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 72)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int72[]", arrayBytes, true));
+        args.add(intArrayArgument("int72[]", intArray, 72, true));
 
         return this;
     }
@@ -900,12 +969,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt80Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 80)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int80[]", arrayBytes, true));
+        args.add(intArrayArgument("int80[]", intArray, 80, true));
 
         return this;
     }
@@ -917,12 +981,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt88Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 88)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int88[]", arrayBytes, true));
+        args.add(intArrayArgument("int88[]", intArray, 88, true));
 
         return this;
     }
@@ -934,12 +993,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt96Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 96)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int96[]", arrayBytes, true));
+        args.add(intArrayArgument("int96[]", intArray, 96, true));
 
         return this;
     }
@@ -951,12 +1005,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt104Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 104)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int104[]", arrayBytes, true));
+        args.add(intArrayArgument("int104[]", intArray, 104, true));
 
         return this;
     }
@@ -968,12 +1017,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt112Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 112)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int112[]", arrayBytes, true));
+        args.add(intArrayArgument("int112[]", intArray, 112, true));
 
         return this;
     }
@@ -985,12 +1029,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt120Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 120)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int120[]", arrayBytes, true));
+        args.add(intArrayArgument("int120[]", intArray, 120, true));
 
         return this;
     }
@@ -1002,12 +1041,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt128Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 128)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int128[]", arrayBytes, true));
+        args.add(intArrayArgument("int128[]", intArray, 128, true));
 
         return this;
     }
@@ -1019,12 +1053,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt136Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 136)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int136[]", arrayBytes, true));
+        args.add(intArrayArgument("int136[]", intArray, 136, true));
 
         return this;
     }
@@ -1036,12 +1065,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt144Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 144)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int144[]", arrayBytes, true));
+        args.add(intArrayArgument("int144[]", intArray, 144, true));
 
         return this;
     }
@@ -1053,12 +1077,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt152Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 152)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int152[]", arrayBytes, true));
+        args.add(intArrayArgument("int152[]", intArray, 152, true));
 
         return this;
     }
@@ -1070,12 +1089,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt160Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 160)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int160[]", arrayBytes, true));
+        args.add(intArrayArgument("int160[]", intArray, 160, true));
 
         return this;
     }
@@ -1087,12 +1101,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt168Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 168)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int168[]", arrayBytes, true));
+        args.add(intArrayArgument("int168[]", intArray, 168, true));
 
         return this;
     }
@@ -1104,12 +1113,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt176Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 176)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int176[]", arrayBytes, true));
+        args.add(intArrayArgument("int176[]", intArray, 176, true));
 
         return this;
     }
@@ -1121,12 +1125,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt184Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 184)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int184[]", arrayBytes, true));
+        args.add(intArrayArgument("int184[]", intArray, 184, true));
 
         return this;
     }
@@ -1138,12 +1137,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt192Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 192)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int192[]", arrayBytes, true));
+        args.add(intArrayArgument("int192[]", intArray, 192, true));
 
         return this;
     }
@@ -1155,12 +1149,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt200Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 200)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int200[]", arrayBytes, true));
+        args.add(intArrayArgument("int200[]", intArray, 200, true));
 
         return this;
     }
@@ -1172,12 +1161,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt208Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 208)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int208[]", arrayBytes, true));
+        args.add(intArrayArgument("int208[]", intArray, 208, true));
 
         return this;
     }
@@ -1189,12 +1173,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt216Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 216)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int216[]", arrayBytes, true));
+        args.add(intArrayArgument("int216[]", intArray, 216, true));
 
         return this;
     }
@@ -1206,12 +1185,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt224Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 224)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int224[]", arrayBytes, true));
+        args.add(intArrayArgument("int224[]", intArray, 224, true));
 
         return this;
     }
@@ -1223,12 +1197,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt232Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 232)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int232[]", arrayBytes, true));
+        args.add(intArrayArgument("int232[]", intArray, 232, true));
 
         return this;
     }
@@ -1240,12 +1209,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt240Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 240)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int240[]", arrayBytes, true));
+        args.add(intArrayArgument("int240[]", intArray, 240, true));
 
         return this;
     }
@@ -1257,12 +1221,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt248Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 248)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int248[]", arrayBytes, true));
+        args.add(intArrayArgument("int248[]", intArray, 248, true));
 
         return this;
     }
@@ -1274,12 +1233,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt256Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> int256(i, 256)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int256[]", arrayBytes, true));
+        args.add(intArrayArgument("int256[]", intArray, 256, true));
 
         return this;
     }
@@ -1796,14 +1750,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint8Array(byte[] intArray) {
-        IntStream intStream = IntStream.range(0, intArray.length).map(idx -> intArray[idx]);
-
-        ByteString arrayBytes =
-                ByteString.copyFrom(intStream.mapToObj(i -> uint256(i, 8)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint8[]", arrayBytes, true));
+        args.add(intArrayArgument("uint8[]", intArray, 8, false));
 
         return this;
     }
@@ -1818,12 +1765,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint16Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> uint256(i, 16)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint16[]", arrayBytes, true));
+        args.add(intArrayArgument("uint16[]", intArray, 16, false));
 
         return this;
     }
@@ -1838,12 +1780,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint24Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> uint256(i, 24)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint24[]", arrayBytes, true));
+        args.add(intArrayArgument("uint24[]", intArray, 24, false));
 
         return this;
     }
@@ -1858,12 +1795,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint32Array(int[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> uint256(i, 32)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint32[]", arrayBytes, true));
+        args.add(intArrayArgument("uint32[]", intArray, 32, false));
 
         return this;
     }
@@ -1878,12 +1810,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint40Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> uint256(i, 40)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint40[]", arrayBytes, true));
+        args.add(intArrayArgument("uint40[]", intArray.clone(), 40, false));
 
         return this;
     }
@@ -1898,12 +1825,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint48Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> uint256(i, 48)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint48[]", arrayBytes, true));
+        args.add(intArrayArgument("uint48[]", intArray.clone(), 48, false));
 
         return this;
     }
@@ -1918,12 +1840,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint56Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> uint256(i, 56)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint56[]", arrayBytes, true));
+        args.add(intArrayArgument("uint56[]", intArray.clone(), 56, false));
 
         return this;
     }
@@ -1938,12 +1855,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint64Array(long[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).mapToObj(i -> uint256(i, 64)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint64[]", arrayBytes, true));
+        args.add(intArrayArgument("uint64[]", intArray.clone(), 64, false));
 
         return this;
     }
@@ -1959,12 +1871,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint72Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 72)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint72[]", arrayBytes, true));
+        args.add(intArrayArgument("uint72[]", intArray, 72, false));
 
         return this;
     }
@@ -1980,12 +1887,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint80Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 80)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint80[]", arrayBytes, true));
+        args.add(intArrayArgument("uint80[]", intArray, 80, false));
 
         return this;
     }
@@ -2001,12 +1903,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint88Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 88)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint88[]", arrayBytes, true));
+        args.add(intArrayArgument("uint88[]", intArray, 88, false));
 
         return this;
     }
@@ -2022,12 +1919,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint96Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 96)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint96[]", arrayBytes, true));
+        args.add(intArrayArgument("uint96[]", intArray, 96, false));
 
         return this;
     }
@@ -2043,12 +1935,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint104Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 104)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint104[]", arrayBytes, true));
+        args.add(intArrayArgument("uint104[]", intArray, 104, false));
 
         return this;
     }
@@ -2064,12 +1951,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint112Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 112)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint112[]", arrayBytes, true));
+        args.add(intArrayArgument("uint112[]", intArray, 112, false));
 
         return this;
     }
@@ -2085,12 +1967,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint120Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 120)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint120[]", arrayBytes, true));
+        args.add(intArrayArgument("uint120[]", intArray, 120, false));
 
         return this;
     }
@@ -2106,12 +1983,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint128Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 128)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint128[]", arrayBytes, true));
+        args.add(intArrayArgument("uint128[]", intArray, 128, false));
 
         return this;
     }
@@ -2127,12 +1999,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint136Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 136)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint136[]", arrayBytes, true));
+        args.add(intArrayArgument("uint136[]", intArray, 136, false));
 
         return this;
     }
@@ -2148,12 +2015,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint144Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 144)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint144[]", arrayBytes, true));
+        args.add(intArrayArgument("uint144[]", intArray, 144, false));
 
         return this;
     }
@@ -2169,12 +2031,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint152Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 152)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint152[]", arrayBytes, true));
+        args.add(intArrayArgument("uint152[]", intArray, 152, false));
 
         return this;
     }
@@ -2190,12 +2047,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint160Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 160)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint160[]", arrayBytes, true));
+        args.add(intArrayArgument("uint160[]", intArray, 160, false));
 
         return this;
     }
@@ -2211,12 +2063,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint168Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 168)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint168[]", arrayBytes, true));
+        args.add(intArrayArgument("uint168[]", intArray, 168, false));
 
         return this;
     }
@@ -2232,12 +2079,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint176Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 176)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint176[]", arrayBytes, true));
+        args.add(intArrayArgument("uint176[]", intArray, 176, false));
 
         return this;
     }
@@ -2253,12 +2095,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint184Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 184)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint184[]", arrayBytes, true));
+        args.add(intArrayArgument("uint184[]", intArray, 184, false));
 
         return this;
     }
@@ -2274,12 +2111,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint192Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 192)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint192[]", arrayBytes, true));
+        args.add(intArrayArgument("uint192[]", intArray, 192, false));
 
         return this;
     }
@@ -2295,12 +2127,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint200Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 200)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint200[]", arrayBytes, true));
+        args.add(intArrayArgument("uint200[]", intArray, 200, false));
 
         return this;
     }
@@ -2316,12 +2143,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint208Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 208)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint208[]", arrayBytes, true));
+        args.add(intArrayArgument("uint208[]", intArray, 208, false));
 
         return this;
     }
@@ -2337,12 +2159,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint216Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 216)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint216[]", arrayBytes, true));
+        args.add(intArrayArgument("uint216[]", intArray, 216, false));
 
         return this;
     }
@@ -2358,12 +2175,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint224Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 224)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint224[]", arrayBytes, true));
+        args.add(intArrayArgument("uint224[]", intArray, 224, false));
 
         return this;
     }
@@ -2379,12 +2191,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint232Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 232)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint232[]", arrayBytes, true));
+        args.add(intArrayArgument("uint232[]", intArray, 232, false));
 
         return this;
     }
@@ -2400,12 +2207,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint240Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 240)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint240[]", arrayBytes, true));
+        args.add(intArrayArgument("uint240[]", intArray, 240, false));
 
         return this;
     }
@@ -2421,12 +2223,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint248Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 248)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint248[]", arrayBytes, true));
+        args.add(intArrayArgument("uint248[]", intArray, 248, false));
 
         return this;
     }
@@ -2442,12 +2239,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint256Array(BigInteger[] intArray) {
-        ByteString arrayBytes = ByteString.copyFrom(
-                Arrays.stream(intArray).map(i -> uint256(i, 256)).collect(Collectors.toList()));
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint256[]", arrayBytes, true));
+        args.add(intArrayArgument("uint256[]", intArray, 256, false));
 
         return this;
     }
@@ -2481,12 +2273,10 @@ public final class ContractFunctionParameters {
      * @throws NullPointerException     if any value in the array is null.
      */
     public ContractFunctionParameters addAddressArray(String[] addresses) {
-        ByteString addressArray = encodeArray(Arrays.stream(addresses).map(a -> {
-            byte[] address = decodeAddress(a);
-            return leftPad32(ByteString.copyFrom(address));
-        }));
+        byte[][] addressBytes =
+                Arrays.stream(addresses).map(ContractFunctionParameters::decodeAddress).toArray(byte[][]::new);
 
-        args.add(new Argument("address[]", addressArray, true));
+        args.add(addressArrayArgument(addressBytes));
 
         return this;
     }
@@ -2543,64 +2333,123 @@ public final class ContractFunctionParameters {
     }
 
     /**
-     * Get the encoding of the currently added parameters as a {@link ByteString}.
-     * <p>
-     * You may continue to add parameters and call this again.
+     * Get the length of the encoding of the currently added parameters.
      *
-     * @return the Solidity encoding of the call parameters in the order they were added.
+     * @param functionName the name of the function, to prefix the encoding with its selector, or {@code null}
+     * @return the length in bytes of the encoding written by {@link #writeTo(ByteBuffer, String)}
      */
-    ByteString toBytes(@Nullable String funcName) {
-        // offset for dynamic-length data, immediately after value arguments
-        var dynamicOffset = args.size() * 32;
+    public int getEncodedLength(@Nullable String functionName) {
+        var length = functionName != null ? SELECTOR_LEN : 0;
+
+        for (Argument arg : args) {
+            length += arg.isDynamic ? 32 + arg.size : arg.size;
+        }
+
+        return length;
+    }
 
-        var paramsBytes = new ArrayList<ByteString>(args.size() + 1);
+    /**
+     * Write the encoding of the currently added parameters into a buffer.
+     * <p>
+     * The head and tail layout is computed before anything is written, so the encoding is written once, in order,
+     * without intermediate copies.
+     *
+     * @param buffer       the buffer, with at least {@link #getEncodedLength(String)} bytes remaining
+     * @param functionName the name of the function, to prefix the encoding with its selector, or {@code null}
+     */
+    public void writeTo(ByteBuffer buffer, @Nullable String functionName) {
+        var length = getEncodedLength(functionName);
 
-        var dynamicArgs = new ArrayList<ByteString>();
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException(
+                    "buffer has " + buffer.remaining() + " bytes remaining but the encoding is " + length + " bytes");
+        }
 
-        ContractFunctionSelector functionSelector = funcName != null ? new ContractFunctionSelector(funcName) : null;
+        if (functionName != null) {
+            var functionSelector = new ContractFunctionSelector(functionName);
 
-        // iterate the arguments and determine whether they are dynamic or not
-        for (Argument arg : args) {
-            if (functionSelector != null) {
+            for (Argument arg : args) {
                 functionSelector.addParamType(arg.type);
             }
 
+            buffer.put(functionSelector.finish());
+        }
+
+        // offset for dynamic-length data, immediately after value arguments
+        long dynamicOffset = args.size() * 32L;
+
+        for (Argument arg : args) {
             if (arg.isDynamic) {
                 // dynamic arguments supply their offset in value position and append their data at
                 // that offset
-                paramsBytes.add(int256(dynamicOffset, 256));
-                dynamicArgs.add(arg.value);
-                dynamicOffset += arg.value.size();
+                writeInt(buffer, dynamicOffset, 256, true);
+                dynamicOffset += arg.size;
             } else {
                 // value arguments are dropped in the current arg position
-                paramsBytes.add(arg.value);
+                arg.writer.write(buffer);
             }
         }
 
-        if (functionSelector != null) {
-            paramsBytes.add(0, ByteString.copyFrom(functionSelector.finish()));
+        for (Argument arg : args) {
+            if (arg.isDynamic) {
+                arg.writer.write(buffer);
+            }
         }
+    }
+
+    /**
+     * Get the encoding of the currently added parameters as a {@link ByteString}.
+     * <p>
+     * You may continue to add parameters and call this again.
+     *
+     * @return the Solidity encoding of the call parameters in the order they were added.
+     */
+    ByteString toBytes(@Nullable String funcName) {
+        var bytes = new byte[getEncodedLength(funcName)];
+        writeTo(ByteBuffer.wrap(bytes), funcName);
 
-        paramsBytes.addAll(dynamicArgs);
+        return UnsafeByteOperations.unsafeWrap(bytes);
+    }
 
-        return ByteString.copyFrom(paramsBytes);
+    /**
+     * Writes the encoding of an argument, the value itself for a static argument or its data for a dynamic one.
+     */
+    @FunctionalInterface
+    private interface Writer {
+        void write(ByteBuffer out);
     }
 
     private static final class Argument {
         private final String type;
 
-        private final ByteString value;
-
         private final boolean isDynamic;
 
+        /**
+         * The length of the encoding written by {@link #writer}.
+         */
+        private final int size;
+
+        private final Writer writer;
+
         private Argument(String type, ByteString value, boolean isDynamic) {
             this.type = type;
             if (!isDynamic && value.size() != 32) {
                 throw new IllegalArgumentException("value argument that was not 32 bytes");
             }
 
-            this.value = value;
             this.isDynamic = isDynamic;
+            this.size = value.size();
+            this.writer = value::copyTo;
+        }
+
+        /**
+         * A dynamic argument.
+         */
+        private Argument(String type, int size, Writer writer) {
+            this.type = type;
+            this.isDynamic = true;
+            this.size = size;
+            this.writer = writer;
         }
     }
 }
@@ -9,7 +9,6 @@ import com.google.protobuf.BytesValue;
 import com.google.protobuf.Int64Value;
 import com.hedera.hashgraph.sdk.proto.ContractFunctionResultOrBuilder;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -27,6 +26,15 @@ import org.bouncycastle.util.encoders.Hex;
 public final class ContractFunctionResult {
     private static final ByteString errorPrefix = ByteString.copyFrom(new byte[] {8, -61, 121, -96});
 
+    /**
+     * The maximum number of parsed tuple types kept by {@link #getResult(String)}.
+     */
+    static final int MAX_CACHED_TUPLE_TYPES = 1024;
+
+    // parsing a signature costs far more than decoding a typical result with it
+    private static final SignatureCache<TupleType<Tuple>> tupleTypes =
+            new SignatureCache<>(MAX_CACHED_TUPLE_TYPES, TupleType::parse);
+
     /**
      * The ID of the contract that was invoked.
      */
@@ -231,7 +239,10 @@ public final class ContractFunctionResult {
      * @return byte[]
      */
     public byte[] getBytes32(int valIndex) {
-        return getByteString(valIndex * 32, (valIndex + 1) * 32).toByteArray();
+        byte[] bytes = new byte[32];
+        rawResult.copyTo(bytes, valIndex * 32, 0, 32);
+
+        return bytes;
     }
 
     private ByteString getDynamicBytes(int valIndex) {
@@ -264,7 +275,7 @@ public final class ContractFunctionResult {
      * @return byte
      */
     public byte getInt8(int valIndex) {
-        return getByteBuffer(valIndex * 32 + 31).get();
+        return rawResult.byteAt(valIndex * 32 + 31);
     }
 
     /**
@@ -291,7 +302,7 @@ public final class ContractFunctionResult {
      * @return long
      */
     public long getInt64(int valIndex) {
-        return getByteBuffer(valIndex * 32 + 24).getLong();
+        return getLongAt(valIndex * 32 + 24, 8);
     }
 
     /**
@@ -376,7 +387,7 @@ public final class ContractFunctionResult {
         // prepend a zero byte so that `BigInteger` finds a zero sign bit and treats it as positive
         // `ByteString -> byte[]` requires copying anyway so we can amortize these two operations
         byte[] bytes = new byte[33];
-        getByteString(valIndex * 32, (valIndex + 1) * 32).copyTo(bytes, 1);
+        rawResult.copyTo(bytes, valIndex * 32, 1, 32);
 
         // there's a constructor that takes a signum but we would need to scan the array
         // to check that it's nonzero; this constructor does that work for us but requires
@@ -391,22 +402,29 @@ public final class ContractFunctionResult {
      * @return String
      */
     public String getAddress(int valIndex) {
-        int offset = valIndex * 32;
         // address is a uint160
-        return Hex.toHexString(getByteString(offset + 12, offset + 32).toByteArray());
+        byte[] address = new byte[20];
+        rawResult.copyTo(address, valIndex * 32 + 12, 0, 20);
+
+        return Hex.toHexString(address);
     }
 
     private int getIntValueAt(int valueOffset) {
-        return getByteBuffer(valueOffset + 28).getInt();
+        // int will be the last 4 bytes in the "value"
+        return (int) getLongAt(valueOffset + 28, 4);
     }
 
-    private ByteBuffer getByteBuffer(int offset) {
-        // **NB** `.asReadOnlyByteBuffer()` on a substring returns a `ByteBuffer` with the
-        // offset set as `position()`, so be sure to advance the buffer relative to that
-        ByteBuffer byteBuffer = rawResult.asReadOnlyByteBuffer();
-        byteBuffer.position(byteBuffer.position() + offset);
+    /**
+     * Read {@code length} big-endian bytes directly from the result, without slicing or copying it.
+     */
+    private long getLongAt(int offset, int length) {
+        long value = 0;
 
-        return byteBuffer;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (rawResult.byteAt(offset + i) & 0xFF);
+        }
+
+        return value;
     }
 
     private ByteString getByteString(int startIndex, int endIndex) {
@@ -480,8 +498,57 @@ public final class ContractFunctionResult {
                 .toString();
     }
 
+    /**
+     * Decode the whole result as a tuple of the given Solidity types, e.g. {@code "(uint256,string)"}.
+     * <p>
+     * The parsed types are cached by signature and the result is decoded from a read-only view of its bytes, so
+     * repeated calls with the same signature neither parse it again nor copy the result.
+     *
+     * @param types the Solidity types of the returned values
+     * @return the decoded values
+     * @throws IllegalArgumentException if the result does not match the types, or has bytes left over after them
+     */
     public Tuple getResult(String types) {
-        TupleType<Tuple> tupleType = TupleType.parse(types);
-        return tupleType.decode(rawResult.toByteArray());
+        return decode(getTupleType(types));
+    }
+
+    /**
+     * Decode a batch of results that share the same Solidity types, parsing the types once.
+     *
+     * @param results the results to decode
+     * @param types   the Solidity types of the returned values, e.g. {@code "(uint256,string)"}
+     * @return the decoded values of each result, in order
+     */
+    public static List<Tuple> getResults(List<ContractFunctionResult> results, String types) {
+        var tupleType = getTupleType(types);
+        var tuples = new ArrayList<Tuple>(results.size());
+
+        for (var result : results) {
+            tuples.add(result.decode(tupleType));
+        }
+
+        return tuples;
+    }
+
+    static TupleType<Tuple> getTupleType(String types) {
+        return tupleTypes.get(types);
+    }
+
+    private Tuple decode(TupleType<Tuple> tupleType) {
+        return decode(tupleType, rawResult);
+    }
+
+    /**
+     * Decode bytes without copying them, rejecting trailing bytes like {@link TupleType#decode(byte[])} does.
+     */
+    static Tuple decode(TupleType<Tuple> tupleType, ByteString bytes) {
+        var buffer = bytes.asReadOnlyByteBuffer();
+        var tuple = tupleType.decode(buffer);
+
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("unconsumed bytes: " + buffer.remaining() + " remaining");
+        }
+
+        return tuple;
     }
 }
@@ -6,14 +6,24 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
 import java.util.Arrays;
 import java.util.Objects;
 import javax.annotation.Nullable;
-import org.bouncycastle.jcajce.provider.digest.Keccak;
 
 /**
  * Builder class for Solidity function selectors.
+ * <p>
+ * The Keccak-256 hashes of signatures are interned for the whole process, so building the selector of a function
+ * that was called before does not hash its signature again.
  */
 public final class ContractFunctionSelector {
+    /**
+     * The maximum number of signature hashes kept by {@link #hashSignature(String)}.
+     */
+    static final int MAX_CACHED_SIGNATURES = 4096;
+
+    private static final SignatureCache<byte[]> signatureHashes = new SignatureCache<>(
+            MAX_CACHED_SIGNATURES, signature -> Crypto.calcKeccak256(signature.getBytes(US_ASCII)));
+
     @Nullable
-    private Keccak.Digest256 digest;
+    private StringBuilder signature;
 
     private boolean needsComma = false;
 
@@ -26,9 +36,7 @@ public final class ContractFunctionSelector {
      * @param funcName The name of the function
      */
     public ContractFunctionSelector(String funcName) {
-        digest = new Keccak.Digest256();
-        digest.update(funcName.getBytes(US_ASCII));
-        digest.update((byte) '(');
+        signature = new StringBuilder(funcName).append('(');
     }
 
     /**
@@ -279,13 +287,13 @@ public final class ContractFunctionSelector {
             throw new IllegalStateException("FunctionSelector already finished");
         }
 
-        Objects.requireNonNull(digest);
+        Objects.requireNonNull(signature);
 
         if (needsComma) {
-            digest.update((byte) ',');
+            signature.append(',');
         }
 
-        digest.update(typeName.getBytes(US_ASCII));
+        signature.append(typeName);
         needsComma = true;
 
         return this;
@@ -304,13 +312,25 @@ public final class ContractFunctionSelector {
     @SuppressWarnings({"NullableDereference"})
     byte[] finish() {
         if (finished == null) {
-            Objects.requireNonNull(digest);
-            digest.update((byte) ')');
-            finished = Arrays.copyOf(digest.digest(), 4);
-            // release digest state
-            digest = null;
+            Objects.requireNonNull(signature);
+            finished = Arrays.copyOf(hashSignature(signature.append(')').toString()), 4);
+            // release signature state
+            signature = null;
         }
 
         return finished;
     }
+
+    /**
+     * Get the Keccak-256 hash of a canonical signature, e.g. {@code transfer(address,uint256)}; its first 4 bytes are
+     * the function selector and the whole hash is the topic of an event with that signature.
+     * <p>
+     * The returned array is shared by every caller and must not be modified.
+     *
+     * @param signature the canonical signature
+     * @return the hash of the signature
+     */
+    static byte[] hashSignature(String signature) {
+        return signatureHashes.get(signature);
+    }
 }
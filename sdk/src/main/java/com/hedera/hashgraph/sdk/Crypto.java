@@ -47,6 +47,9 @@ final class Crypto {
             ECDSA_SECP256K1_CURVE.getN(),
             ECDSA_SECP256K1_CURVE.getH());
 
+    // digests are not thread-safe but are cheap to reset, so each thread reuses its own
+    private static final ThreadLocal<Keccak.Digest256> KECCAK_256 = ThreadLocal.withInitial(Keccak.Digest256::new);
+
     /**
      * Constructor.
      */
@@ -234,9 +237,8 @@ final class Crypto {
      * @return                          the hash
      */
     static byte[] calcKeccak256(byte[] message) {
-        var digest = new Keccak.Digest256();
-        digest.update(message);
-        return digest.digest();
+        // `digest(byte[])` resets the digest, so it is ready for the next call on this thread
+        return KECCAK_256.get().digest(message);
     }
 
     /**
@@ -0,0 +1,413 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Internal utility class for remembering which entity number an EVM address resolves to, and the other way around,
+ * so resolving the same entity twice does not need a second mirror node request.
+ * <p>
+ * Resolved mappings never change on a ledger, so they stay cached until the cache is full, at which point the least
+ * recently used mapping is evicted. Lookups the mirror node answered with {@code 404} are remembered for a shorter TTL
+ * (negative caching), since the entity may still be created. Concurrent lookups of the same key share one request.
+ * <p>
+ * Mappings only hold on the ledger they were resolved on, so the client clears the cache when its ledger or mirror
+ * network changes. They can be persisted to a file that starts with a {@code ledger <ledger id>} line, followed by one
+ * mapping per line as {@code <kind> <evm address> <num>}; a file written for another ledger is rejected on load.
+ */
+class EntityIdCache {
+    static final int DEFAULT_MAX_SIZE = 10_000;
+
+    static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    /**
+     * The kind of entity a mapping belongs to; accounts and contracts are resolved through different endpoints.
+     */
+    enum Kind {
+        ACCOUNT,
+        CONTRACT
+    }
+
+    /**
+     * A resolved mapping between an EVM address and an entity number.
+     */
+    static final class Mapping {
+        final long num;
+
+        @Nullable
+        final String evmAddress;
+
+        Mapping(long num, @Nullable String evmAddress) {
+            this.num = num;
+            this.evmAddress = evmAddress == null ? null : normalize(evmAddress);
+        }
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Mapping>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Incremented on {@link #clear()}, so lookups started before do not cache their result.
+     */
+    private long generation = 0;
+
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    private Duration negativeTtl = DEFAULT_NEGATIVE_TTL;
+
+    /**
+     * Constructor.
+     */
+    EntityIdCache() {}
+
+    synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    synchronized Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    synchronized void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    /**
+     * Resolve an EVM address to a mapping.
+     *
+     * @param kind                      the kind of entity
+     * @param evmAddress                the EVM address, with or without {@code 0x} prefix
+     * @param fetch                     fetches the mapping from the mirror node on a miss
+     * @return                          future result of the mapping
+     */
+    CompletableFuture<Mapping> resolveEvmAddress(
+            Kind kind, String evmAddress, Supplier<CompletableFuture<Mapping>> fetch) {
+        var normalized = normalize(evmAddress);
+
+        if (isLongZeroAddress(normalized)) {
+            // the address encodes the entity number itself
+            hits.increment();
+            long num = EntityIdHelper.fromSolidityAddress(normalized, (shard, realm, entityNum, checksum) -> entityNum);
+            return CompletableFuture.completedFuture(new Mapping(num, null));
+        }
+
+        return resolve(new Key(kind, normalized), fetch);
+    }
+
+    /**
+     * Resolve an entity number to a mapping.
+     *
+     * @param kind                      the kind of entity
+     * @param num                       the entity number
+     * @param fetch                     fetches the mapping from the mirror node on a miss
+     * @return                          future result of the mapping
+     */
+    CompletableFuture<Mapping> resolveNum(Kind kind, long num, Supplier<CompletableFuture<Mapping>> fetch) {
+        return resolve(new Key(kind, Long.toString(num)), fetch);
+    }
+
+    private CompletableFuture<Mapping> resolve(Key key, Supplier<CompletableFuture<Mapping>> fetch) {
+        long generation;
+
+        synchronized (this) {
+            var entry = entries.get(key);
+
+            if (entry != null && (entry.expiresAt == 0 || entry.expiresAt - System.nanoTime() > 0)) {
+                hits.increment();
+                return entry.mapping != null
+                        ? CompletableFuture.completedFuture(entry.mapping)
+                        : CompletableFuture.failedFuture(entry.error);
+            }
+
+            if (entry != null) {
+                entries.remove(key);
+            }
+
+            generation = this.generation;
+        }
+
+        var flight = new CompletableFuture<Mapping>();
+        var existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            hits.increment();
+            return existing;
+        }
+
+        misses.increment();
+
+        CompletableFuture<Mapping> fetched;
+
+        try {
+            fetched = fetch.get();
+        } catch (RuntimeException e) {
+            // the flight is already visible to other lookups, so it must complete
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            return flight;
+        }
+
+        fetched.whenComplete((mapping, error) -> {
+            if (error != null) {
+                var cause = error instanceof CompletionException ? error.getCause() : error;
+
+                if (cause instanceof MirrorRestClient.HttpStatusException statusException
+                        && statusException.statusCode == 404) {
+                    putNegative(key, cause, generation);
+                }
+            } else {
+                put(key.kind, mapping, generation);
+            }
+
+            inFlight.remove(key, flight);
+
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(mapping);
+            }
+        });
+
+        return flight;
+    }
+
+    /**
+     * Remember a mapping in both directions.
+     *
+     * @param kind                      the kind of entity
+     * @param mapping                   the mapping
+     */
+    synchronized void put(Kind kind, Mapping mapping) {
+        entries.put(new Key(kind, Long.toString(mapping.num)), new Entry(mapping, null, 0));
+
+        if (mapping.evmAddress != null) {
+            entries.put(new Key(kind, mapping.evmAddress), new Entry(mapping, null, 0));
+        }
+
+        evict();
+    }
+
+    private synchronized void put(Kind kind, Mapping mapping, long generation) {
+        if (generation == this.generation) {
+            put(kind, mapping);
+        }
+    }
+
+    /**
+     * Whether the mapping of an entity number is cached.
+     *
+     * @param kind                      the kind of entity
+     * @param num                       the entity number
+     * @return                          whether the mapping is cached
+     */
+    synchronized boolean containsNum(Kind kind, long num) {
+        var entry = entries.get(new Key(kind, Long.toString(num)));
+        return entry != null && entry.mapping != null;
+    }
+
+    private synchronized void putNegative(Key key, Throwable error, long generation) {
+        if (negativeTtl.isZero() || generation != this.generation) {
+            return;
+        }
+
+        // 0 marks entries that never expire, so step over it
+        var expiresAt = System.nanoTime() + negativeTtl.toNanos();
+        entries.put(key, new Entry(null, error, expiresAt == 0 ? 1 : expiresAt));
+        evict();
+    }
+
+    private void evict() {
+        var iterator = entries.values().iterator();
+
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Forget every mapping, including the results of lookups still in flight.
+     */
+    synchronized void clear() {
+        entries.clear();
+        inFlight.clear();
+        generation++;
+    }
+
+    /**
+     * Load mappings persisted with {@link #save(Path, LedgerId)}.
+     *
+     * @param file                      the file to read
+     * @param ledgerId                  the ledger the mappings must belong to
+     * @throws IOException              when the file cannot be read, is malformed or belongs to another ledger
+     */
+    void load(Path file, @Nullable LedgerId ledgerId) throws IOException {
+        var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        var header = ledgerHeader(ledgerId);
+
+        if (lines.isEmpty() || !lines.get(0).trim().startsWith("ledger ")) {
+            throw new IOException("Entity ID cache file " + file + " does not start with a ledger line");
+        }
+
+        if (!lines.get(0).trim().equals(header)) {
+            throw new IOException("Entity ID cache file " + file + " was written for "
+                    + lines.get(0).trim().substring("ledger ".length()) + ", not for "
+                    + header.substring("ledger ".length()));
+        }
+
+        for (var i = 1; i < lines.size(); i++) {
+            var line = lines.get(i).trim();
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            var parts = line.split(" ");
+
+            try {
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("expected 3 fields");
+                }
+
+                put(Kind.valueOf(parts[0].toUpperCase(Locale.ROOT)), new Mapping(Long.parseLong(parts[2]), parts[1]));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed entity ID cache line " + (i + 1) + " in " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Persist the resolved mappings; negative entries are not persisted.
+     *
+     * @param file                      the file to write
+     * @param ledgerId                  the ledger the mappings belong to
+     * @throws IOException              when the file cannot be written
+     */
+    void save(Path file, @Nullable LedgerId ledgerId) throws IOException {
+        var lines = new ArrayList<String>();
+        lines.add(ledgerHeader(ledgerId));
+
+        synchronized (this) {
+            for (var mapEntry : entries.entrySet()) {
+                var mapping = mapEntry.getValue().mapping;
+
+                // each mapping is stored under its number and its address; write it once
+                if (mapping != null
+                        && mapping.evmAddress != null
+                        && mapEntry.getKey().id.equals(mapping.evmAddress)) {
+                    lines.add(mapEntry.getKey().kind.name().toLowerCase(Locale.ROOT) + " " + mapping.evmAddress + " "
+                            + mapping.num);
+                }
+            }
+        }
+
+        var temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static String ledgerHeader(@Nullable LedgerId ledgerId) {
+        return "ledger " + (ledgerId == null ? "unknown" : ledgerId.toString());
+    }
+
+    private static boolean isLongZeroAddress(String normalized) {
+        try {
+            return EntityIdHelper.isLongZeroAddress(EntityIdHelper.decodeSolidityAddress(normalized));
+        } catch (IllegalArgumentException e) {
+            // leave malformed addresses for the mirror node to reject
+            return false;
+        }
+    }
+
+    static String normalize(String evmAddress) {
+        return (evmAddress.startsWith("0x") ? evmAddress.substring(2) : evmAddress).toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Key {
+        final Kind kind;
+
+        /**
+         * The normalized EVM address, or the decimal entity number; the two never collide as addresses are 40 digits.
+         */
+        final String id;
+
+        Key(Kind kind, String id) {
+            this.kind = kind;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+
+            return kind == key.kind && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, id);
+        }
+    }
+
+    private static final class Entry {
+        @Nullable
+        final Mapping mapping;
+
+        @Nullable
+        final Throwable error;
+
+        /**
+         * When a negative entry expires, in {@link System#nanoTime()}; {@code 0} for mappings, which never expire.
+         */
+        final long expiresAt;
+
+        Entry(@Nullable Mapping mapping, @Nullable Throwable error, long expiresAt) {
+            this.mapping = mapping;
+            this.error = error;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
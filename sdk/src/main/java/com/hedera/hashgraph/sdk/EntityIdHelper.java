@@ -1,20 +1,19 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.net.http.HttpTimeoutException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import org.bouncycastle.util.encoders.DecoderException;
@@ -39,6 +38,18 @@ public class EntityIdHelper {
 
     static final Duration MIRROR_NODE_CONNECTION_TIMEOUT = Duration.ofSeconds(30);
 
+    /**
+     * The maximum number of EVM address lookups in flight while prefetching.
+     */
+    static final int PREFETCH_CONCURRENCY = 16;
+
+    /**
+     * The largest gap between account numbers prefetched with the same list request.
+     */
+    static final long PREFETCH_MAX_GAP = 100;
+
+    static final int PREFETCH_PAGE_SIZE = 100;
+
     /**
      * Constructor.
      */
@@ -263,9 +274,12 @@ public class EntityIdHelper {
      * @param evmAddress
      */
     static CompletableFuture<Long> getAccountNumFromMirrorNodeAsync(Client client, String evmAddress) {
-        String apiEndpoint = "/accounts/" + evmAddress;
-        return performQueryToMirrorNodeAsync(client, apiEndpoint, null, false)
-                .thenApply(response -> parseNumFromMirrorNodeResponse(response, "account"));
+        return client.entityIdCache
+                .resolveEvmAddress(
+                        EntityIdCache.Kind.ACCOUNT,
+                        evmAddress,
+                        () -> fetchMappingFromMirrorNodeAsync(client, "/accounts/" + evmAddress, "account", evmAddress))
+                .thenApply(mapping -> mapping.num);
     }
 
     /**
@@ -278,9 +292,12 @@ public class EntityIdHelper {
      * @param num
      */
     public static CompletableFuture<EvmAddress> getEvmAddressFromMirrorNodeAsync(Client client, long num) {
-        String apiEndpoint = "/accounts/" + num;
-        return performQueryToMirrorNodeAsync(client, apiEndpoint, null, false)
-                .thenApply(response -> EvmAddress.fromString(parseStringMirrorNodeResponse(response, "evm_address")));
+        return client.entityIdCache
+                .resolveNum(
+                        EntityIdCache.Kind.ACCOUNT,
+                        num,
+                        () -> fetchMappingFromMirrorNodeAsync(client, "/accounts/" + num, "account", null))
+                .thenApply(mapping -> EvmAddress.fromString(Objects.requireNonNull(mapping.evmAddress)));
     }
 
     /**
@@ -293,71 +310,185 @@ public class EntityIdHelper {
      * @param evmAddress
      */
     public static CompletableFuture<Long> getContractNumFromMirrorNodeAsync(Client client, String evmAddress) {
-        String apiEndpoint = "/contracts/" + evmAddress;
-
-        CompletableFuture<String> responseFuture = performQueryToMirrorNodeAsync(client, apiEndpoint, null, false);
-
-        return responseFuture.thenApply(response -> parseNumFromMirrorNodeResponse(response, "contract_id"));
+        return client.entityIdCache
+                .resolveEvmAddress(
+                        EntityIdCache.Kind.CONTRACT,
+                        evmAddress,
+                        () -> fetchMappingFromMirrorNodeAsync(
+                                client, "/contracts/" + evmAddress, "contract_id", evmAddress))
+                .thenApply(mapping -> mapping.num);
     }
 
-    static CompletableFuture<String> performQueryToMirrorNodeAsync(
-            Client client, String apiEndpoint, String jsonBody, boolean isContractCall) {
-        Optional<String> mirrorUrl = client.getMirrorNetwork().stream()
-                .map(url -> url.substring(0, url.indexOf(":")))
-                .findFirst();
+    /**
+     * Resolve the mappings between EVM addresses and account numbers of many accounts ahead of time, so they are
+     * answered from the client's cache later.
+     * <p>
+     * Accounts identified by EVM address are looked up concurrently, at most {@link #PREFETCH_CONCURRENCY} at a time.
+     * Accounts identified by number are grouped into ranges of nearby numbers, each fetched with one paginated list
+     * request. Prefetching is best effort: accounts that fail to resolve are skipped.
+     *
+     * @param client                    the client whose cache is filled
+     * @param accountIds                the accounts
+     * @return                          future that completes once every lookup finished
+     */
+    static CompletableFuture<Void> prefetchAccountIdsAsync(Client client, Collection<AccountId> accountIds) {
+        var evmAddresses = new ArrayList<String>();
+        var nums = new TreeSet<Long>();
+
+        for (var accountId : accountIds) {
+            if (accountId.evmAddress != null) {
+                evmAddresses.add(accountId.evmAddress.toString());
+            } else if (accountId.aliasKey == null
+                    && !client.entityIdCache.containsNum(EntityIdCache.Kind.ACCOUNT, accountId.num)) {
+                nums.add(accountId.num);
+            }
+        }
+
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        var nextEvmAddress = new AtomicInteger();
 
-        if (mirrorUrl.isEmpty()) {
-            return CompletableFuture.failedFuture(new IllegalArgumentException("Mirror URL not found"));
+        for (var i = 0; i < Math.min(PREFETCH_CONCURRENCY, evmAddresses.size()); i++) {
+            futures.add(prefetchNextEvmAddressAsync(client, evmAddresses, nextEvmAddress));
         }
 
-        String apiUrl = "https://" + mirrorUrl.get() + "/api/v1" + apiEndpoint;
+        long rangeStart = -1;
+        long rangeEnd = -1;
 
-        if (client.getLedgerId() == null) {
-            if (isContractCall) {
-                apiUrl = "http://" + mirrorUrl.get() + ":8545/api/v1" + apiEndpoint;
-            } else {
-                apiUrl = "http://" + mirrorUrl.get() + ":5551/api/v1" + apiEndpoint;
+        for (var num : nums) {
+            if (rangeStart >= 0 && num - rangeEnd <= PREFETCH_MAX_GAP) {
+                rangeEnd = num;
+                continue;
+            }
+
+            if (rangeStart >= 0) {
+                futures.add(prefetchAccountRangeAsync(client, rangeStart, rangeEnd));
             }
+
+            rangeStart = num;
+            rangeEnd = num;
+        }
+
+        if (rangeStart >= 0) {
+            futures.add(prefetchAccountRangeAsync(client, rangeStart, rangeEnd));
         }
 
-        HttpClient httpClient = HttpClient.newHttpClient();
-        var httpBuilder =
-                HttpRequest.newBuilder().timeout(MIRROR_NODE_CONNECTION_TIMEOUT).uri(URI.create(apiUrl));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static CompletableFuture<Void> prefetchNextEvmAddressAsync(
+            Client client, List<String> evmAddresses, AtomicInteger nextEvmAddress) {
+        var index = nextEvmAddress.getAndIncrement();
 
-        if (jsonBody != null) {
-            httpBuilder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(jsonBody));
+        if (index >= evmAddresses.size()) {
+            return CompletableFuture.completedFuture(null);
         }
-        var httpRequest = httpBuilder.build();
-
-        return httpClient
-                .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-                .handle((response, ex) -> {
-                    if (ex != null) {
-                        if (ex instanceof HttpTimeoutException) {
-                            throw new CompletionException(new RuntimeException("Request to Mirror Node timed out", ex));
-                        } else {
-                            throw new CompletionException(
-                                    new RuntimeException("Failed to send request to Mirror Node", ex));
-                        }
-                    }
 
-                    int statusCode = response.statusCode();
-                    if (statusCode != 200) {
-                        throw new CompletionException(
-                                new RuntimeException("Received non-200 response from Mirror Node: " + response.body()));
+        // continue asynchronously, so a long run of cache hits does not recurse on one stack
+        return getAccountNumFromMirrorNodeAsync(client, evmAddresses.get(index))
+                .handle((num, error) -> null)
+                .thenComposeAsync(
+                        ignored -> prefetchNextEvmAddressAsync(client, evmAddresses, nextEvmAddress), client.executor);
+    }
+
+    private static CompletableFuture<Void> prefetchAccountRangeAsync(Client client, long start, long end) {
+        return prefetchAccountPageAsync(
+                        client,
+                        "/accounts?account.id=gte:" + start + "&account.id=lte:" + end + "&balance=false&limit="
+                                + PREFETCH_PAGE_SIZE + "&order=asc")
+                .handle((ignored, error) -> null);
+    }
+
+    private static CompletableFuture<Void> prefetchAccountPageAsync(Client client, String apiEndpoint) {
+        return client.getMirrorRestClient()
+                .sendAsync(apiEndpoint, null, false, reader -> parseAccountPage(reader, client.entityIdCache))
+                .thenCompose(next -> next == null
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : prefetchAccountPageAsync(client, next.substring(next.indexOf("/accounts"))));
+    }
+
+    /**
+     * Parse a page of the account list of the mirror node into the cache.
+     *
+     * @param reader                    the reader positioned before the page object
+     * @param cache                     the cache to fill
+     * @return                          the link to the next page, or {@code null} on the last page
+     * @throws IOException              when the response cannot be read
+     */
+    @Nullable
+    static String parseAccountPage(JsonReader reader, EntityIdCache cache) throws IOException {
+        String next = null;
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            var name = reader.nextName();
+
+            if (name.equals("accounts")) {
+                reader.beginArray();
+
+                while (reader.hasNext()) {
+                    var members = MirrorRestClient.readMembers(reader, Set.of("account", "evm_address"));
+                    var account = members.get("account");
+                    var evmAddress = members.get("evm_address");
+
+                    if (account != null && evmAddress != null) {
+                        cache.put(
+                                EntityIdCache.Kind.ACCOUNT,
+                                new EntityIdCache.Mapping(
+                                        Long.parseLong(account.substring(account.lastIndexOf(".") + 1)), evmAddress));
                     }
-                    return response.body();
-                });
+                }
+
+                reader.endArray();
+            } else if (name.equals("links") && reader.peek() != JsonToken.NULL) {
+                var links = MirrorRestClient.readMembers(reader, Set.of("next"));
+                next = links.get("next");
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return next;
     }
 
-    private static String parseStringMirrorNodeResponse(String responseBody, String memberName) {
-        JsonObject jsonObject = JsonParser.parseString(responseBody).getAsJsonObject();
-        String evmAddress = jsonObject.get(memberName).getAsString();
-        return evmAddress.substring(evmAddress.lastIndexOf(".") + 1);
+    private static CompletableFuture<EntityIdCache.Mapping> fetchMappingFromMirrorNodeAsync(
+            Client client, String apiEndpoint, String numMemberName, @Nullable String evmAddress) {
+        return client.getMirrorRestClient()
+                .sendAsync(
+                        apiEndpoint,
+                        null,
+                        false,
+                        reader -> parseMappingFromMirrorNodeResponse(reader, numMemberName, evmAddress));
     }
 
-    private static long parseNumFromMirrorNodeResponse(String responseBody, String memberName) {
-        return Long.parseLong(parseStringMirrorNodeResponse(responseBody, memberName));
+    /**
+     * Parse the entity number and EVM address of an account or contract returned by the mirror node.
+     *
+     * @param reader                    the reader positioned before the account or contract object
+     * @param numMemberName             the member holding the entity ID
+     * @param evmAddress                the EVM address the entity was looked up by, or {@code null} to read it from
+     *                                  the {@code evm_address} member
+     * @return                          the mapping
+     * @throws IOException              when the response cannot be read or lacks a member
+     */
+    static EntityIdCache.Mapping parseMappingFromMirrorNodeResponse(
+            JsonReader reader, String numMemberName, @Nullable String evmAddress) throws IOException {
+        var members = MirrorRestClient.readMembers(reader, Set.of(numMemberName, "evm_address"));
+        var entityId = members.get(numMemberName);
+
+        if (entityId == null) {
+            throw new IOException("Mirror Node response has no member `" + numMemberName + "`");
+        }
+
+        if (evmAddress == null) {
+            evmAddress = members.get("evm_address");
+
+            if (evmAddress == null) {
+                throw new IOException("Mirror Node response has no member `evm_address`");
+            }
+        }
+
+        return new EntityIdCache.Mapping(Long.parseLong(entityId.substring(entityId.lastIndexOf(".") + 1)), evmAddress);
     }
 
     @FunctionalInterface
@@ -306,6 +306,22 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
     abstract CompletableFuture<Void> onExecuteAsync(Client client);
 
+    /**
+     * Called once execution that was prepared by {@link #onExecute(Client)} or {@link #onExecuteAsync(Client)} has
+     * finished, successfully or not.
+     *
+     * @param client the client with which this was executed
+     */
+    void onExecuteComplete(Client client) {}
+
+    /**
+     * Called with the status of every response received, before the execution state is derived from it.
+     *
+     * @param client the client with which this is executed
+     * @param status the response status
+     */
+    void onResponseStatus(Client client, Status status) {}
+
     void mergeFromClient(Client client) {
         if (maxAttempts == null) {
             maxAttempts = client.getMaxAttempts();
@@ -363,7 +379,6 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
      * @throws PrecheckStatusException when the precheck fails
      */
     public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
-        Throwable lastException = null;
         if (isBatchedAndNotBatchTransaction()) {
             throw new IllegalArgumentException("Cannot execute batchified transaction outside of BatchTransaction");
         }
@@ -375,9 +390,19 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
         mergeFromClient(client);
         onExecute(client);
-        checkNodeAccountIds();
-        setNodesFromNodeAccountIds(client);
 
+        try {
+            checkNodeAccountIds();
+            setNodesFromNodeAccountIds(client);
+
+            return executeAttempts(client, timeout);
+        } finally {
+            onExecuteComplete(client);
+        }
+    }
+
+    private O executeAttempts(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        Throwable lastException = null;
         var timeoutTime = Instant.now().plus(timeout);
 
         for (int attempt = 1; /* condition is done within loop */ ; attempt++) {
@@ -432,6 +457,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
             }
 
             var status = mapResponseStatus(response);
+            onResponseStatus(client, status);
             var executionState = getExecutionState(status, response);
             grpcRequest.handleResponse(response, status, executionState);
 
@@ -490,6 +516,8 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
         onExecuteAsync(client)
                 .thenRun(() -> {
+                    retval.whenComplete((response, error) -> onExecuteComplete(client));
+
                     checkNodeAccountIds();
                     setNodesFromNodeAccountIds(client);
 
@@ -766,6 +794,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                                     }
 
                                     var status = mapResponseStatus(response);
+                                    onResponseStatus(client, status);
                                     var executionState = getExecutionState(status, response);
                                     grpcRequest.handleResponse(response, status, executionState);
 
@@ -0,0 +1,519 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+
+/**
+ * Estimates the fees of transactions and the costs of queries locally, from the network's fee schedules and exchange
+ * rates, without asking a node.
+ * <p>
+ * The fee of a request is the sum of its node, network and service fees. Each of them is the usage of the request,
+ * priced with the {@link FeeComponents} of the request type in the fee schedule, clamped to the minimum and maximum of
+ * the schedule and converted from tinycents to tinybars with the exchange rate. Past their expiration time, the next
+ * fee schedule and the next exchange rate are used.
+ * <p>
+ * The usage of a {@link Transaction} is estimated from its size and its number of signatures, and the usage of a
+ * {@link Query} from its size and the expected size of its response. Usage that depends on the state of the network,
+ * like entity storage or gas, is not known locally; pass it explicitly to
+ * {@link #estimateFee(RequestType, FeeDataType, FeeComponents, FeeComponents, FeeComponents)} where it matters.
+ *
+ * <pre>{@code
+ * var estimator = FeeEstimator.load(client);
+ *
+ * var transaction = new TransferTransaction()...freezeWith(client);
+ * transaction.setMaxTransactionFee(estimator.estimateFee(transaction).multipliedBy(2)...);
+ * }</pre>
+ */
+public final class FeeEstimator {
+    /**
+     * The default interval after which an estimator loaded from the network reloads the fee schedules and exchange
+     * rates.
+     */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofHours(1);
+
+    /**
+     * Prices in a fee schedule are in thousandths of a tinycent.
+     */
+    static final long FEE_DIVISOR_FACTOR = 1000;
+
+    /**
+     * The size of an ED25519 signature pair in a signature map: a 32 byte public key prefix and a 64 byte signature,
+     * with their field tags and lengths.
+     */
+    static final int SIGNATURE_PAIR_SIZE = 102;
+
+    /**
+     * The size of the receipt a node returns for a transaction.
+     */
+    static final int RECEIPT_SIZE = 4;
+
+    @Nullable
+    private final Client client;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile Duration refreshInterval = DEFAULT_REFRESH_INTERVAL;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor for an estimator with fixed fee schedules and exchange rates, that never refreshes.
+     *
+     * @param feeSchedules  the fee schedules
+     * @param exchangeRates the exchange rates
+     */
+    public FeeEstimator(FeeSchedules feeSchedules, ExchangeRates exchangeRates) {
+        this(null, new Snapshot(feeSchedules, exchangeRates, Instant.now()));
+    }
+
+    private FeeEstimator(@Nullable Client client, Snapshot snapshot) {
+        this.client = client;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Load the fee schedules and exchange rates from the files of the network.
+     * <p>
+     * The returned estimator reloads them in the background on the client's executor once the refresh interval
+     * elapsed, and keeps using the loaded ones until the reload succeeds.
+     *
+     * @param client the client
+     * @return the estimator
+     * @throws TimeoutException        when a file query times out
+     * @throws PrecheckStatusException when a file query fails precheck
+     */
+    public static FeeEstimator load(Client client) throws TimeoutException, PrecheckStatusException {
+        return new FeeEstimator(Objects.requireNonNull(client), fetch(client));
+    }
+
+    private static Snapshot fetch(Client client) throws TimeoutException, PrecheckStatusException {
+        var feeSchedules = new FileContentsQuery().setFileId(FileId.FEE_SCHEDULE).execute(client);
+        var exchangeRates = new FileContentsQuery().setFileId(FileId.EXCHANGE_RATES).execute(client);
+
+        try {
+            return new Snapshot(
+                    FeeSchedules.fromBytes(feeSchedules.toByteArray()),
+                    ExchangeRates.fromBytes(exchangeRates.toByteArray()),
+                    Instant.now());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException("the fee schedule or exchange rate file could not be parsed", e);
+        }
+    }
+
+    /**
+     * Extract the interval after which the fee schedules and exchange rates are reloaded.
+     *
+     * @return the refresh interval
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Assign the interval after which the fee schedules and exchange rates are reloaded. Only applies to estimators
+     * loaded with {@link #load(Client)}.
+     *
+     * @param refreshInterval the refresh interval
+     * @return {@code this}
+     */
+    public FeeEstimator setRefreshInterval(Duration refreshInterval) {
+        Objects.requireNonNull(refreshInterval);
+        if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("refreshInterval must be positive");
+        }
+
+        this.refreshInterval = refreshInterval;
+        return this;
+    }
+
+    /**
+     * Reload the fee schedules and exchange rates now.
+     *
+     * @throws TimeoutException        when a file query times out
+     * @throws PrecheckStatusException when a file query fails precheck
+     */
+    public void refresh() throws TimeoutException, PrecheckStatusException {
+        if (client == null) {
+            throw new IllegalStateException("an estimator with fixed fee schedules cannot be refreshed");
+        }
+
+        snapshot = fetch(client);
+    }
+
+    /**
+     * Extract the fee schedules the estimates are based on.
+     *
+     * @return the fee schedules
+     */
+    public FeeSchedules getFeeSchedules() {
+        return snapshot.feeSchedules;
+    }
+
+    /**
+     * Extract the exchange rates the estimates are based on.
+     *
+     * @return the exchange rates
+     */
+    public ExchangeRates getExchangeRates() {
+        return snapshot.exchangeRates;
+    }
+
+    /**
+     * Estimate the fee of a frozen transaction, as currently signed or with the signature of its payer.
+     *
+     * @param transaction the frozen transaction
+     * @return the estimated fee
+     */
+    public Hbar estimateFee(Transaction<?> transaction) {
+        return estimateFee(transaction, 1);
+    }
+
+    /**
+     * Estimate the fee of a frozen transaction once it carries the given number of signatures.
+     *
+     * @param transaction    the frozen transaction
+     * @param signatureCount the number of signatures the transaction will carry when submitted; signatures it carries
+     *                       already count towards it
+     * @return the estimated fee
+     */
+    public Hbar estimateFee(Transaction<?> transaction, int signatureCount) {
+        if (!transaction.isFrozen()) {
+            throw new IllegalStateException(
+                    "transaction must have been frozen before estimating its fee, try calling `freeze`");
+        }
+
+        var request = transaction.makeRequest();
+        var signed = parseSignedTransaction(request);
+        var signatures = Math.max(signed.getSigMap().getSigPairCount(), signatureCount);
+        var size = request.getSerializedSize()
+                + (signatures - signed.getSigMap().getSigPairCount()) * SIGNATURE_PAIR_SIZE;
+
+        var requestType = getRequestType(parseBody(signed).getDataCase());
+
+        var node = new FeeComponents()
+                .setConstant(1)
+                .setTransactionBandwidthByte(size)
+                .setTransactionVerification(1)
+                .setResponseMemoryByte(RECEIPT_SIZE);
+        var network = new FeeComponents()
+                .setConstant(1)
+                .setTransactionBandwidthByte(size)
+                .setTransactionVerification(signatures);
+        var service = new FeeComponents().setConstant(1);
+
+        return estimateFee(requestType, FeeDataType.DEFAULT, node, network, service);
+    }
+
+    /**
+     * Estimate the cost of a query with a response of negligible size.
+     *
+     * @param query the query
+     * @return the estimated cost
+     */
+    public Hbar estimateCost(Query<?, ?> query) {
+        return estimateCost(query, 0);
+    }
+
+    /**
+     * Estimate the cost of a query.
+     *
+     * @param query        the query
+     * @param responseSize the expected size of the response in bytes
+     * @return the estimated cost
+     */
+    public Hbar estimateCost(Query<?, ?> query, long responseSize) {
+        var request = query.toKeyBytes();
+        var queryBuilder = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+
+        try {
+            queryBuilder.mergeFrom(request);
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+
+        var node = new FeeComponents()
+                .setConstant(1)
+                .setTransactionBandwidthByte(request.size())
+                .setResponseMemoryByte(responseSize);
+
+        return estimateFee(
+                getRequestType(queryBuilder.getQueryCase()),
+                FeeDataType.DEFAULT,
+                node,
+                new FeeComponents(),
+                new FeeComponents());
+    }
+
+    /**
+     * Estimate the fee of a request from its usage.
+     * <p>
+     * The usage is given as {@link FeeComponents} whose fields are quantities instead of prices, e.g. the number of
+     * bytes in {@link FeeComponents#setTransactionBandwidthByte(long)} or the number of signatures in
+     * {@link FeeComponents#setTransactionVerification(long)}.
+     *
+     * @param requestType  the request type
+     * @param subType      the fee data type, falling back to {@link FeeDataType#DEFAULT} when not in the schedule
+     * @param nodeUsage    the usage priced with the node fees
+     * @param networkUsage the usage priced with the network fees
+     * @param serviceUsage the usage priced with the service fees
+     * @return the estimated fee
+     */
+    public Hbar estimateFee(
+            RequestType requestType,
+            FeeDataType subType,
+            FeeComponents nodeUsage,
+            FeeComponents networkUsage,
+            FeeComponents serviceUsage) {
+        maybeRefresh();
+
+        var now = Instant.now();
+        var current = snapshot;
+        var feeData = getFeeData(current.getFeeSchedule(now), requestType, subType);
+        var rate = current.getExchangeRate(now);
+
+        if (rate.cents == 0) {
+            throw new IllegalStateException("the exchange rate has no cent equivalent");
+        }
+
+        var tinycents = componentFee(feeData.getNodeData(), nodeUsage)
+                + componentFee(feeData.getNetworkData(), networkUsage)
+                + componentFee(feeData.getServiceData(), serviceUsage);
+
+        return Hbar.fromTinybars(tinycents * rate.hbars / rate.cents);
+    }
+
+    private void maybeRefresh() {
+        var client = this.client;
+
+        if (client == null
+                || Instant.now().isBefore(snapshot.loadedAt.plus(refreshInterval))
+                || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        client.executor.execute(() -> {
+            try {
+                refresh();
+            } catch (Throwable error) {
+                client.getLogger().warn("Failed to refresh the fee schedules: {}", error.getMessage());
+                // retry after another interval rather than on every estimate
+                snapshot = new Snapshot(snapshot.feeSchedules, snapshot.exchangeRates, Instant.now());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Price usage with the fee components of a schedule, in tinycents.
+     */
+    static long componentFee(@Nullable FeeComponents prices, FeeComponents usage) {
+        if (prices == null) {
+            return 0;
+        }
+
+        var fee = prices.getConstant() * usage.getConstant()
+                + prices.getTransactionBandwidthByte() * usage.getTransactionBandwidthByte()
+                + prices.getTransactionVerification() * usage.getTransactionVerification()
+                + prices.getTransactionRamByteHour() * usage.getTransactionRamByteHour()
+                + prices.getTransactionStorageByteHour() * usage.getTransactionStorageByteHour()
+                + prices.getContractTransactionGas() * usage.getContractTransactionGas()
+                + Math.round((double) (prices.getTransferVolumeHbar() * usage.getTransferVolumeHbar())
+                        / FEE_DIVISOR_FACTOR)
+                + prices.getResponseMemoryByte() * usage.getResponseMemoryByte()
+                + prices.getResponseDiskByte() * usage.getResponseDiskByte();
+
+        if (fee < prices.getMin()) {
+            fee = prices.getMin();
+        } else if (prices.getMax() > 0 && fee > prices.getMax()) {
+            fee = prices.getMax();
+        }
+
+        return Math.max(fee > 0 ? 1 : 0, fee / FEE_DIVISOR_FACTOR);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static FeeData getFeeData(FeeSchedule schedule, RequestType requestType, FeeDataType subType) {
+        for (var transactionFeeSchedule : schedule.getTransactionFeeSchedules()) {
+            if (transactionFeeSchedule.getRequestType() != requestType) {
+                continue;
+            }
+
+            FeeData fallback = transactionFeeSchedule.getFeeData();
+
+            for (var fee : transactionFeeSchedule.getFees()) {
+                if (fee.getType() == subType) {
+                    return fee;
+                }
+
+                if (fee.getType() == FeeDataType.DEFAULT) {
+                    fallback = fee;
+                }
+            }
+
+            if (fallback != null) {
+                return fallback;
+            }
+        }
+
+        throw new IllegalArgumentException("the fee schedule has no fees for " + requestType);
+    }
+
+    private static SignedTransaction parseSignedTransaction(com.hedera.hashgraph.sdk.proto.Transaction request) {
+        try {
+            return SignedTransaction.parseFrom(request.getSignedTransactionBytes());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static TransactionBody parseBody(SignedTransaction signed) {
+        try {
+            return TransactionBody.parseFrom(signed.getBodyBytes());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static RequestType getRequestType(TransactionBody.DataCase dataCase) {
+        return switch (dataCase) {
+            case CONTRACTCALL -> RequestType.CONTRACT_CALL;
+            case CONTRACTCREATEINSTANCE -> RequestType.CONTRACT_CREATE;
+            case CONTRACTUPDATEINSTANCE -> RequestType.CONTRACT_UPDATE;
+            case CONTRACTDELETEINSTANCE -> RequestType.CONTRACT_DELETE;
+            case ETHEREUMTRANSACTION -> RequestType.ETHEREUM_TRANSACTION;
+            case CRYPTOADDLIVEHASH -> RequestType.CRYPTO_ADD_LIVE_HASH;
+            case CRYPTOCREATEACCOUNT -> RequestType.CRYPTO_CREATE;
+            case CRYPTODELETE -> RequestType.CRYPTO_DELETE;
+            case CRYPTODELETELIVEHASH -> RequestType.CRYPTO_DELETE_LIVE_HASH;
+            case CRYPTOTRANSFER -> RequestType.CRYPTO_TRANSFER;
+            case CRYPTOUPDATEACCOUNT -> RequestType.CRYPTO_UPDATE;
+            case CRYPTOAPPROVEALLOWANCE -> RequestType.CRYPTO_APPROVE_ALLOWANCE;
+            case CRYPTODELETEALLOWANCE -> RequestType.CRYPTO_DELETE_ALLOWANCE;
+            case FILEAPPEND -> RequestType.FILE_APPEND;
+            case FILECREATE -> RequestType.FILE_CREATE;
+            case FILEDELETE -> RequestType.FILE_DELETE;
+            case FILEUPDATE -> RequestType.FILE_UPDATE;
+            case NODECREATE -> RequestType.NODE_CREATE;
+            case NODEUPDATE -> RequestType.NODE_UPDATE;
+            case NODEDELETE -> RequestType.NODE_DELETE;
+            case NODE_STAKE_UPDATE -> RequestType.NODE_STAKE_UPDATE;
+            case SYSTEMDELETE -> RequestType.SYSTEM_DELETE;
+            case SYSTEMUNDELETE -> RequestType.SYSTEM_UNDELETE;
+            case FREEZE -> RequestType.FREEZE;
+            case UNCHECKEDSUBMIT -> RequestType.UNCHECKED_SUBMIT;
+            case UTIL_PRNG -> RequestType.PRNG;
+            case CONSENSUSCREATETOPIC -> RequestType.CONSENSUS_CREATE_TOPIC;
+            case CONSENSUSUPDATETOPIC -> RequestType.CONSENSUS_UPDATE_TOPIC;
+            case CONSENSUSDELETETOPIC -> RequestType.CONSENSUS_DELETE_TOPIC;
+            case CONSENSUSSUBMITMESSAGE -> RequestType.CONSENSUS_SUBMIT_MESSAGE;
+            case TOKENASSOCIATE -> RequestType.TOKEN_ASSOCIATE_TO_ACCOUNT;
+            case TOKENBURN -> RequestType.TOKEN_BURN;
+            case TOKENCREATION -> RequestType.TOKEN_CREATE;
+            case TOKENDELETION -> RequestType.TOKEN_DELETE;
+            case TOKENDISSOCIATE -> RequestType.TOKEN_DISSOCIATE_FROM_ACCOUNT;
+            case TOKENFREEZE -> RequestType.TOKEN_FREEZE_ACCOUNT;
+            case TOKENGRANTKYC -> RequestType.TOKEN_GRANT_KYC_TO_ACCOUNT;
+            case TOKENMINT -> RequestType.TOKEN_MINT;
+            case TOKENREVOKEKYC -> RequestType.TOKEN_REVOKE_KYC_FROM_ACCOUNT;
+            case TOKENUNFREEZE -> RequestType.TOKEN_UNFREEZE_ACCOUNT;
+            case TOKENUPDATE -> RequestType.TOKEN_UPDATE;
+            case TOKEN_UPDATE_NFTS -> RequestType.TOKEN_UPDATE_NFTS;
+            case TOKENWIPE -> RequestType.TOKEN_ACCOUNT_WIPE;
+            case TOKEN_FEE_SCHEDULE_UPDATE -> RequestType.TOKEN_FEE_SCHEDULE_UPDATE;
+            case TOKEN_PAUSE -> RequestType.TOKEN_PAUSE;
+            case TOKEN_UNPAUSE -> RequestType.TOKEN_UNPAUSE;
+            case TOKENREJECT -> RequestType.TOKEN_REJECT;
+            case TOKENAIRDROP -> RequestType.TOKEN_AIRDROP;
+            case TOKENCANCELAIRDROP -> RequestType.TOKEN_CANCEL_AIRDROP;
+            case TOKENCLAIMAIRDROP -> RequestType.TOKEN_CLAIM_AIRDROP;
+            case SCHEDULECREATE -> RequestType.SCHEDULE_CREATE;
+            case SCHEDULEDELETE -> RequestType.SCHEDULE_DELETE;
+            case SCHEDULESIGN -> RequestType.SCHEDULE_SIGN;
+            case ATOMIC_BATCH -> RequestType.ATOMIC_BATCH;
+            default -> throw new IllegalArgumentException("no request type is known for transaction body " + dataCase);
+        };
+    }
+
+    static RequestType getRequestType(com.hedera.hashgraph.sdk.proto.Query.QueryCase queryCase) {
+        return switch (queryCase) {
+            case GETBYKEY -> RequestType.GET_BY_KEY;
+            case GETBYSOLIDITYID -> RequestType.GET_BY_SOLIDITY_ID;
+            case CONTRACTCALLLOCAL -> RequestType.CONTRACT_CALL_LOCAL;
+            case CONTRACTGETINFO -> RequestType.CONTRACT_GET_INFO;
+            case CONTRACTGETBYTECODE -> RequestType.CONTRACT_GET_BYTECODE;
+            case CONTRACTGETRECORDS -> RequestType.CONTRACT_GET_RECORDS;
+            case CRYPTOGETACCOUNTBALANCE -> RequestType.CRYPTO_GET_ACCOUNT_BALANCE;
+            case CRYPTOGETACCOUNTRECORDS -> RequestType.CRYPTO_GET_ACCOUNT_RECORDS;
+            case CRYPTOGETINFO -> RequestType.CRYPTO_GET_INFO;
+            case CRYPTOGETLIVEHASH -> RequestType.CRYPTO_GET_LIVE_HASH;
+            case CRYPTOGETPROXYSTAKERS -> RequestType.CRYPTO_GET_STAKERS;
+            case FILEGETCONTENTS -> RequestType.FILE_GET_CONTENTS;
+            case FILEGETINFO -> RequestType.FILE_GET_INFO;
+            case TRANSACTIONGETRECEIPT -> RequestType.TRANSACTION_GET_RECEIPT;
+            case TRANSACTIONGETRECORD -> RequestType.TRANSACTION_GET_RECORD;
+            case TRANSACTIONGETFASTRECORD -> RequestType.TRANSACTION_GET_FAST_RECORD;
+            case CONSENSUSGETTOPICINFO -> RequestType.CONSENSUS_GET_TOPIC_INFO;
+            case NETWORKGETVERSIONINFO -> RequestType.GET_VERSION_INFO;
+            case TOKENGETINFO -> RequestType.TOKEN_GET_INFO;
+            case SCHEDULEGETINFO -> RequestType.SCHEDULE_GET_INFO;
+            case TOKENGETACCOUNTNFTINFOS -> RequestType.TOKEN_GET_ACCOUNT_NFT_INFOS;
+            case TOKENGETNFTINFO -> RequestType.TOKEN_GET_NFT_INFO;
+            case TOKENGETNFTINFOS -> RequestType.TOKEN_GET_NFT_INFOS;
+            case NETWORKGETEXECUTIONTIME -> RequestType.NETWORK_GET_EXECUTION_TIME;
+            case ACCOUNTDETAILS -> RequestType.GET_ACCOUNT_DETAILS;
+            default -> throw new IllegalArgumentException("no request type is known for query " + queryCase);
+        };
+    }
+
+    /**
+     * The fee schedules and exchange rates loaded at one point in time.
+     */
+    private static final class Snapshot {
+        final FeeSchedules feeSchedules;
+        final ExchangeRates exchangeRates;
+        final Instant loadedAt;
+
+        Snapshot(FeeSchedules feeSchedules, ExchangeRates exchangeRates, Instant loadedAt) {
+            this.feeSchedules = Objects.requireNonNull(feeSchedules);
+            this.exchangeRates = Objects.requireNonNull(exchangeRates);
+            this.loadedAt = loadedAt;
+        }
+
+        FeeSchedule getFeeSchedule(Instant now) {
+            var current = feeSchedules.getCurrent();
+            var next = feeSchedules.getNext();
+
+            if (current == null
+                    || (next != null
+                            && current.getExpirationTime() != null
+                            && !now.isBefore(current.getExpirationTime()))) {
+                current = next;
+            }
+
+            if (current == null) {
+                throw new IllegalStateException("no fee schedule is available");
+            }
+
+            return current;
+        }
+
+        ExchangeRate getExchangeRate(Instant now) {
+            var current = exchangeRates.currentRate;
+
+            if (!now.isBefore(current.expirationTime) && exchangeRates.nextRate.cents != 0) {
+                return exchangeRates.nextRate;
+            }
+
+            return current;
+        }
+    }
+}
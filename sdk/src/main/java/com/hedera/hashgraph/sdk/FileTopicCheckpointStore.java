@@ -0,0 +1,283 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TopicCheckpointStore} backed by an append-only local file.
+ * <p>
+ * Every saved checkpoint is appended as one line, {@code <topic> <seconds> <nanos> <sequence number>}. Appends are
+ * buffered and written and synced to disk together, once {@link #setSyncEvery(int)} checkpoints are pending or
+ * {@link #setSyncInterval(Duration)} after the first pending one, whichever comes first. After a crash, the
+ * checkpoints of the last unsynced batch are lost and those messages are delivered again; a clean {@link #close()}
+ * loses nothing.
+ * <p>
+ * The file is compacted to one line per topic when it is opened and whenever superseded lines outnumber the topics
+ * by far, so it stays small however long the subscriptions run.
+ */
+public final class FileTopicCheckpointStore implements TopicCheckpointStore, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileTopicCheckpointStore.class);
+
+    /**
+     * The minimum number of lines before the file is compacted.
+     */
+    static final int MIN_COMPACTION_LINES = 1000;
+
+    private final Path file;
+
+    private final Map<TopicId, TopicCheckpoint> checkpoints = new HashMap<>();
+
+    private final StringBuilder pending = new StringBuilder();
+
+    private FileChannel channel;
+
+    private int pendingCount = 0;
+
+    private long lines = 0;
+
+    private int syncEvery = 100;
+
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    private boolean syncScheduled = false;
+
+    private boolean closed = false;
+
+    private FileTopicCheckpointStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Open a checkpoint file, creating it if it does not exist.
+     *
+     * @param file                      the checkpoint file
+     * @return                          the store
+     * @throws IOException              when the file cannot be read or written, or is malformed
+     */
+    public static FileTopicCheckpointStore open(Path file) throws IOException {
+        Objects.requireNonNull(file, "file must not be null");
+
+        var store = new FileTopicCheckpointStore(file);
+
+        synchronized (store) {
+            if (Files.exists(file)) {
+                store.read();
+            }
+
+            store.compact();
+        }
+
+        return store;
+    }
+
+    /**
+     * Assign the number of pending checkpoints that triggers a sync. Defaults to 100.
+     *
+     * @param syncEvery                 the number of checkpoints per sync
+     * @return {@code this}
+     */
+    public synchronized FileTopicCheckpointStore setSyncEvery(int syncEvery) {
+        if (syncEvery < 1) {
+            throw new IllegalArgumentException("syncEvery must be at least 1");
+        }
+
+        this.syncEvery = syncEvery;
+        return this;
+    }
+
+    /**
+     * Assign the longest time a checkpoint stays pending before it is synced. Defaults to 1 second.
+     *
+     * @param syncInterval              the maximum time between a save and its sync
+     * @return {@code this}
+     */
+    public synchronized FileTopicCheckpointStore setSyncInterval(Duration syncInterval) {
+        Objects.requireNonNull(syncInterval, "syncInterval must not be null");
+
+        if (syncInterval.isNegative() || syncInterval.isZero()) {
+            throw new IllegalArgumentException("syncInterval must be positive");
+        }
+
+        this.syncInterval = syncInterval;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public synchronized TopicCheckpoint load(TopicId topicId) {
+        return checkpoints.get(topicId);
+    }
+
+    @Override
+    public synchronized void save(TopicCheckpoint checkpoint) throws IOException {
+        Objects.requireNonNull(checkpoint, "checkpoint must not be null");
+
+        if (closed) {
+            throw new IllegalStateException("FileTopicCheckpointStore is closed");
+        }
+
+        checkpoints.put(checkpoint.topicId, checkpoint);
+        appendLine(pending, checkpoint);
+        pendingCount++;
+
+        if (pendingCount >= syncEvery) {
+            sync();
+        } else if (!syncScheduled) {
+            syncScheduled = true;
+            CompletableFuture.delayedExecutor(syncInterval.toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(this::scheduledSync);
+        }
+    }
+
+    /**
+     * Write and sync the pending checkpoints.
+     *
+     * @throws IOException              when the file cannot be written
+     */
+    public synchronized void sync() throws IOException {
+        if (pendingCount == 0 || closed) {
+            return;
+        }
+
+        var buffer = ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.UTF_8));
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        channel.force(false);
+
+        lines += pendingCount;
+        pending.setLength(0);
+        pendingCount = 0;
+
+        if (lines > Math.max(MIN_COMPACTION_LINES, 4L * checkpoints.size())) {
+            compact();
+        }
+    }
+
+    private synchronized void scheduledSync() {
+        syncScheduled = false;
+
+        try {
+            sync();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to sync topic checkpoints to {}", file, e);
+        }
+    }
+
+    private void read() throws IOException {
+        var content = Files.readString(file, StandardCharsets.UTF_8);
+        var fileLines = content.split("\n", -1);
+
+        // the last element is empty when the file ends with a newline, or a line torn by a crash
+        for (var i = 0; i < fileLines.length - 1; i++) {
+            var line = fileLines[i].trim();
+
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            var parts = line.split(" ");
+
+            try {
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("expected 4 fields");
+                }
+
+                var checkpoint = new TopicCheckpoint(
+                        TopicId.fromString(parts[0]),
+                        Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2])),
+                        Long.parseLong(parts[3]));
+
+                checkpoints.put(checkpoint.topicId, checkpoint);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed topic checkpoint line " + (i + 1) + " in " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Rewrite the file with the latest checkpoint per topic and continue appending to it.
+     */
+    private void compact() throws IOException {
+        var content = new StringBuilder();
+
+        for (var checkpoint : checkpoints.values()) {
+            appendLine(content, checkpoint);
+        }
+
+        var temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (var temporaryChannel = FileChannel.open(
+                temporaryFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            var buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+
+            while (buffer.hasRemaining()) {
+                temporaryChannel.write(buffer);
+            }
+
+            temporaryChannel.force(false);
+        }
+
+        if (channel != null) {
+            channel.close();
+        }
+
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        lines = checkpoints.size();
+    }
+
+    private static void appendLine(StringBuilder builder, TopicCheckpoint checkpoint) {
+        builder.append(checkpoint.topicId)
+                .append(' ')
+                .append(checkpoint.consensusTimestamp.getEpochSecond())
+                .append(' ')
+                .append(checkpoint.consensusTimestamp.getNano())
+                .append(' ')
+                .append(checkpoint.sequenceNumber)
+                .append('\n');
+    }
+
+    /**
+     * Sync the pending checkpoints and close the file.
+     *
+     * @throws IOException              when the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            sync();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,748 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * Upload the contents of a stream or a local file to a file in network state, one chunk at a time.
+ * <p>
+ * Unlike {@link FileCreateTransaction} followed by {@link FileAppendTransaction}, the contents are never held in memory
+ * as a whole: each chunk is read, frozen and signed only when it is about to be submitted, and at most
+ * {@link #setMaxConcurrentChunks(int) maxConcurrentChunks} chunks are held while they await their receipt. Local files
+ * are memory-mapped instead of being read into the heap.
+ * <p>
+ * Chunks are submitted in order to a single node, each only once the previous chunk passed precheck, so they reach
+ * consensus in order. Every confirmed chunk is reported to the {@link #setProgressListener(BiConsumer) progress
+ * listener}. Once a chunk fails, no further chunks are submitted, but the chunks already awaiting their receipt can
+ * still be appended after the gap it leaves. An interrupted upload can be resumed with {@link #setFileId(FileId)} and
+ * {@link #setResume(boolean)}: the contents of the file in network state are then fetched and compared with the start
+ * of the contents, and the upload fails if they differ. Resuming should only be done once the transactions of the
+ * interrupted upload have expired.
+ * <p>
+ * The file keys default to the client operator key. The returned file can be used as the bytecode file of a
+ * {@link ContractCreateTransaction}, in which case the contents must be the hex-encoded bytecode.
+ */
+public class FileUploadFlow {
+    private static final int DEFAULT_MAX_CONCURRENT_CHUNKS = 4;
+
+    @Nullable
+    private InputStream inputStream = null;
+
+    @Nullable
+    private Path path = null;
+
+    @Nullable
+    private FileId fileId = null;
+
+    private boolean resume = false;
+
+    @Nullable
+    private KeyList keys = null;
+
+    @Nullable
+    private String fileMemo = null;
+
+    @Nullable
+    private Instant expirationTime = null;
+
+    private int chunkSize = FileAppendTransaction.DEFAULT_CHUNK_SIZE;
+
+    private int maxConcurrentChunks = DEFAULT_MAX_CONCURRENT_CHUNKS;
+
+    @Nullable
+    private List<AccountId> nodeAccountIds = null;
+
+    private final List<PublicKey> publicKeys = new ArrayList<>();
+
+    private final List<UnaryOperator<byte[]>> signers = new ArrayList<>();
+
+    private BiConsumer<FileId, Long> progressListener = (fileId, uploaded) -> {};
+
+    /**
+     * Constructor
+     */
+    public FileUploadFlow() {}
+
+    /**
+     * Set the stream the contents are read from. The stream is closed once the upload finishes.
+     *
+     * @param inputStream the stream
+     * @return {@code this}
+     */
+    public FileUploadFlow setContents(InputStream inputStream) {
+        this.inputStream = Objects.requireNonNull(inputStream);
+        this.path = null;
+        return this;
+    }
+
+    /**
+     * Set the local file the contents are read from. The file is memory-mapped while it is uploaded.
+     *
+     * @param path the path of the local file
+     * @return {@code this}
+     */
+    public FileUploadFlow setContents(Path path) {
+        this.path = Objects.requireNonNull(path);
+        this.inputStream = null;
+        return this;
+    }
+
+    /**
+     * Extract the file the contents are appended to.
+     *
+     * @return the file ID or {@code null} if a new file is created
+     */
+    @Nullable
+    public FileId getFileId() {
+        return fileId;
+    }
+
+    /**
+     * Append the contents to an existing file instead of creating a new one.
+     *
+     * @param fileId the file ID
+     * @return {@code this}
+     */
+    public FileUploadFlow setFileId(FileId fileId) {
+        this.fileId = Objects.requireNonNull(fileId);
+        return this;
+    }
+
+    /**
+     * Extract whether the upload resumes an interrupted upload.
+     *
+     * @return whether the upload is resumed
+     */
+    public boolean getResume() {
+        return resume;
+    }
+
+    /**
+     * Resume an interrupted upload to the file set with {@link #setFileId(FileId)}: the contents the file already holds
+     * are fetched, checked against the start of the contents and skipped.
+     *
+     * @param resume whether the upload is resumed
+     * @return {@code this}
+     */
+    public FileUploadFlow setResume(boolean resume) {
+        this.resume = resume;
+        return this;
+    }
+
+    /**
+     * Extract the keys of the created file.
+     *
+     * @return the keys or {@code null} if the client operator key is used
+     */
+    @Nullable
+    public Collection<Key> getKeys() {
+        return keys != null ? Collections.unmodifiableCollection(keys) : null;
+    }
+
+    /**
+     * Set the keys of the created file. Every key must also sign the upload, see {@link #sign(PrivateKey)}.
+     *
+     * @param keys the keys
+     * @return {@code this}
+     */
+    public FileUploadFlow setKeys(Key... keys) {
+        this.keys = KeyList.of(keys);
+        return this;
+    }
+
+    /**
+     * Extract the memo of the created file.
+     *
+     * @return the memo
+     */
+    @Nullable
+    public String getFileMemo() {
+        return fileMemo;
+    }
+
+    /**
+     * Set the memo of the created file.
+     *
+     * @param fileMemo the memo
+     * @return {@code this}
+     */
+    public FileUploadFlow setFileMemo(String fileMemo) {
+        this.fileMemo = Objects.requireNonNull(fileMemo);
+        return this;
+    }
+
+    /**
+     * Extract the expiration time of the created file.
+     *
+     * @return the expiration time
+     */
+    @Nullable
+    public Instant getExpirationTime() {
+        return expirationTime;
+    }
+
+    /**
+     * Set the expiration time of the created file.
+     *
+     * @param expirationTime the expiration time
+     * @return {@code this}
+     */
+    public FileUploadFlow setExpirationTime(Instant expirationTime) {
+        this.expirationTime = Objects.requireNonNull(expirationTime);
+        return this;
+    }
+
+    /**
+     * Extract the number of bytes uploaded per transaction.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set the number of bytes uploaded per transaction.
+     *
+     * @param chunkSize the chunk size
+     * @return {@code this}
+     */
+    public FileUploadFlow setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of chunks awaiting their receipt at once.
+     *
+     * @return the number of chunks
+     */
+    public int getMaxConcurrentChunks() {
+        return maxConcurrentChunks;
+    }
+
+    /**
+     * Set the maximum number of chunks awaiting their receipt at once. This bounds the memory held by the upload to
+     * {@code maxConcurrentChunks * chunkSize} bytes of contents.
+     *
+     * @param maxConcurrentChunks the number of chunks
+     * @return {@code this}
+     */
+    public FileUploadFlow setMaxConcurrentChunks(int maxConcurrentChunks) {
+        if (maxConcurrentChunks < 1) {
+            throw new IllegalArgumentException("maxConcurrentChunks must be at least 1");
+        }
+
+        this.maxConcurrentChunks = maxConcurrentChunks;
+        return this;
+    }
+
+    /**
+     * Extract the node account IDs.
+     *
+     * @return the node account IDs
+     */
+    @Nullable
+    public List<AccountId> getNodeAccountIds() {
+        return nodeAccountIds != null ? Collections.unmodifiableList(nodeAccountIds) : null;
+    }
+
+    /**
+     * Set the node the chunks are submitted to. Only the first node is used, so that the chunks reach consensus in
+     * order.
+     *
+     * @param nodeAccountIds the node account IDs
+     * @return {@code this}
+     */
+    public FileUploadFlow setNodeAccountIds(List<AccountId> nodeAccountIds) {
+        if (nodeAccountIds.isEmpty()) {
+            throw new IllegalArgumentException("nodeAccountIds must not be empty");
+        }
+
+        this.nodeAccountIds = new ArrayList<>(nodeAccountIds);
+        return this;
+    }
+
+    /**
+     * Sign every transaction of the upload with a private key, e.g. a key of the file.
+     *
+     * @param privateKey the private key
+     * @return {@code this}
+     */
+    public FileUploadFlow sign(PrivateKey privateKey) {
+        return signWith(privateKey.getPublicKey(), privateKey::sign);
+    }
+
+    /**
+     * Sign every transaction of the upload with a signer, e.g. a key of the file.
+     *
+     * @param publicKey         the public key
+     * @param transactionSigner the signing function
+     * @return {@code this}
+     */
+    public FileUploadFlow signWith(PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
+        publicKeys.add(Objects.requireNonNull(publicKey));
+        signers.add(Objects.requireNonNull(transactionSigner));
+        return this;
+    }
+
+    /**
+     * Set the callback invoked each time a chunk is confirmed, with the file and the number of bytes of the contents
+     * the file holds so far.
+     *
+     * @param progressListener the callback
+     * @return {@code this}
+     */
+    public FileUploadFlow setProgressListener(BiConsumer<FileId, Long> progressListener) {
+        this.progressListener = Objects.requireNonNull(progressListener);
+        return this;
+    }
+
+    /**
+     * Execute the upload with the passed in client.
+     *
+     * @param client the client with the transactions to execute
+     * @return the ID of the file holding the contents
+     * @throws PrecheckStatusException when the precheck fails
+     * @throws TimeoutException        when a transaction times out
+     * @throws ReceiptStatusException  when a chunk reached consensus and failed
+     * @throws IOException             when the contents cannot be read
+     */
+    public FileId execute(Client client)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException, IOException {
+        return execute(client, client.getRequestTimeout());
+    }
+
+    /**
+     * Execute the upload with the passed in client.
+     *
+     * @param client                the client with the transactions to execute
+     * @param timeoutPerTransaction The timeout after which each transaction's execution attempt will be cancelled.
+     * @return the ID of the file holding the contents
+     * @throws PrecheckStatusException when the precheck fails
+     * @throws TimeoutException        when a transaction times out
+     * @throws ReceiptStatusException  when a chunk reached consensus and failed
+     * @throws IOException             when the contents cannot be read
+     */
+    public FileId execute(Client client, Duration timeoutPerTransaction)
+            throws PrecheckStatusException, TimeoutException, ReceiptStatusException, IOException {
+        if (resume && fileId == null) {
+            throw new IllegalStateException("an upload can only be resumed to a file set with `setFileId`");
+        }
+
+        var nodeAccountId = getNodeAccountId(client);
+
+        try (var source = openSource()) {
+            var buffer = new byte[chunkSize];
+            var targetFileId = fileId;
+            var uploaded = 0L;
+
+            if (targetFileId != null && resume) {
+                uploaded = skipUploaded(
+                        source,
+                        buffer,
+                        new FileContentsQuery()
+                                .setFileId(targetFileId)
+                                .setNodeAccountIds(List.of(nodeAccountId))
+                                .execute(client, timeoutPerTransaction));
+            }
+
+            if (targetFileId == null) {
+                var length = source.read(buffer, chunkSize);
+
+                targetFileId = Objects.requireNonNull(
+                        sign(createFileCreateTransaction(client, nodeAccountId, buffer, length), client)
+                                .execute(client, timeoutPerTransaction)
+                                .getReceipt(client, timeoutPerTransaction)
+                                .fileId);
+                uploaded += length;
+                progressListener.accept(targetFileId, uploaded);
+            }
+
+            // a failed receipt is thrown as soon as it is confirmed, which stops the submission of further chunks
+            var pending = new ArrayDeque<PendingChunk>(maxConcurrentChunks);
+
+            for (var length = source.read(buffer, chunkSize); length > 0; length = source.read(buffer, chunkSize)) {
+                if (pending.size() == maxConcurrentChunks) {
+                    uploaded += pending.removeFirst().confirm(client, timeoutPerTransaction);
+                    progressListener.accept(targetFileId, uploaded);
+                }
+
+                var response = sign(createFileAppendTransaction(targetFileId, nodeAccountId, buffer, length), client)
+                        .execute(client, timeoutPerTransaction);
+                pending.addLast(new PendingChunk(response, length));
+            }
+
+            while (!pending.isEmpty()) {
+                uploaded += pending.removeFirst().confirm(client, timeoutPerTransaction);
+                progressListener.accept(targetFileId, uploaded);
+            }
+
+            return targetFileId;
+        }
+    }
+
+    /**
+     * Execute the upload with the passed in client asynchronously.
+     *
+     * @param client the client with the transactions to execute
+     * @return future result of the ID of the file holding the contents
+     */
+    public CompletableFuture<FileId> executeAsync(Client client) {
+        return executeAsync(client, client.getRequestTimeout());
+    }
+
+    /**
+     * Execute the upload with the passed in client asynchronously.
+     *
+     * @param client                the client with the transactions to execute
+     * @param timeoutPerTransaction The timeout after which each transaction's execution attempt will be cancelled.
+     * @return future result of the ID of the file holding the contents
+     */
+    public CompletableFuture<FileId> executeAsync(Client client, Duration timeoutPerTransaction) {
+        if (resume && fileId == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("an upload can only be resumed to a file set with `setFileId`"));
+        }
+
+        var nodeAccountId = getNodeAccountId(client);
+        ChunkSource source;
+
+        try {
+            source = openSource();
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return new AsyncUpload(client, timeoutPerTransaction, nodeAccountId, source)
+                .run()
+                .handle((targetFileId, error) -> {
+                    try {
+                        source.close();
+                    } catch (IOException e) {
+                        if (error == null) {
+                            throw new CompletionException(e);
+                        }
+
+                        error.addSuppressed(e);
+                    }
+
+                    if (error != null) {
+                        throw error instanceof CompletionException completionException
+                                ? completionException
+                                : new CompletionException(error);
+                    }
+
+                    return targetFileId;
+                });
+    }
+
+    private <T extends Transaction<T>> T sign(T transaction, Client client) {
+        transaction.freezeWith(client);
+
+        for (var i = 0; i < publicKeys.size(); i++) {
+            transaction.signWith(publicKeys.get(i), signers.get(i));
+        }
+
+        return transaction;
+    }
+
+    private FileCreateTransaction createFileCreateTransaction(
+            Client client, AccountId nodeAccountId, byte[] buffer, int length) {
+        var fileCreateTx = new FileCreateTransaction()
+                .setKeys(
+                        keys != null
+                                ? keys.toArray(new Key[0])
+                                : new Key[] {Objects.requireNonNull(client.getOperatorPublicKey())})
+                .setContents(Arrays.copyOf(buffer, length))
+                .setNodeAccountIds(List.of(nodeAccountId));
+        if (fileMemo != null) {
+            fileCreateTx.setFileMemo(fileMemo);
+        }
+        if (expirationTime != null) {
+            fileCreateTx.setExpirationTime(expirationTime);
+        }
+        return fileCreateTx;
+    }
+
+    private static FileAppendTransaction createFileAppendTransaction(
+            FileId fileId, AccountId nodeAccountId, byte[] buffer, int length) {
+        return new FileAppendTransaction()
+                .setFileId(fileId)
+                .setChunkSize(length)
+                .setMaxChunks(1)
+                .setContents(ByteString.copyFrom(buffer, 0, length))
+                .setNodeAccountIds(List.of(nodeAccountId));
+    }
+
+    /**
+     * Read past the contents the file in network state already holds, checking that they are the start of the
+     * contents.
+     * <p>
+     * The size of the file alone is not enough: when a chunk fails at consensus, the chunks submitted after it can
+     * still be appended, leaving the file with a gap that resuming would turn into corrupt contents.
+     *
+     * @return the number of bytes read
+     */
+    private static long skipUploaded(ChunkSource source, byte[] buffer, ByteString uploaded) throws IOException {
+        var offset = 0;
+
+        while (offset < uploaded.size()) {
+            var length = source.read(buffer, Math.min(buffer.length, uploaded.size() - offset));
+
+            if (length == 0) {
+                throw new IllegalStateException(
+                        "the file holds " + uploaded.size() + " bytes, more than the " + offset + " to upload");
+            }
+
+            if (!uploaded.substring(offset, offset + length).equals(ByteString.copyFrom(buffer, 0, length))) {
+                throw new IllegalStateException("the file does not match the contents at offset " + offset
+                        + ", the interrupted upload cannot be resumed");
+            }
+
+            offset += length;
+        }
+
+        return offset;
+    }
+
+    private AccountId getNodeAccountId(Client client) {
+        if (nodeAccountIds != null) {
+            return nodeAccountIds.get(0);
+        }
+
+        try {
+            return client.network.getNodeAccountIdsForExecute().get(0);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ChunkSource openSource() throws IOException {
+        if (path != null) {
+            return new MappedChunkSource(path);
+        }
+
+        if (inputStream != null) {
+            return new StreamChunkSource(inputStream);
+        }
+
+        throw new IllegalStateException("contents must be set before uploading");
+    }
+
+    private static final class PendingChunk {
+        private final TransactionResponse response;
+        private final int length;
+
+        PendingChunk(TransactionResponse response, int length) {
+            this.response = response;
+            this.length = length;
+        }
+
+        int confirm(Client client, Duration timeout)
+                throws PrecheckStatusException, TimeoutException, ReceiptStatusException {
+            response.getReceipt(client, timeout);
+            return length;
+        }
+    }
+
+    /**
+     * The state of an upload executed asynchronously, each step chained on the completion of the previous one.
+     */
+    private final class AsyncUpload {
+        private final Client client;
+        private final Duration timeout;
+        private final AccountId nodeAccountId;
+        private final ChunkSource source;
+        private final byte[] buffer = new byte[chunkSize];
+        private final ArrayDeque<CompletableFuture<Integer>> pending = new ArrayDeque<>(maxConcurrentChunks);
+
+        @Nullable
+        private FileId targetFileId = fileId;
+
+        private long uploaded = 0;
+
+        AsyncUpload(Client client, Duration timeout, AccountId nodeAccountId, ChunkSource source) {
+            this.client = client;
+            this.timeout = timeout;
+            this.nodeAccountId = nodeAccountId;
+            this.source = source;
+        }
+
+        CompletableFuture<FileId> run() {
+            CompletableFuture<Void> started;
+
+            if (targetFileId == null) {
+                started = CompletableFuture.<Void>completedFuture(null).thenCompose(ignored -> create());
+            } else if (resume) {
+                started = new FileContentsQuery()
+                        .setFileId(targetFileId)
+                        .setNodeAccountIds(List.of(nodeAccountId))
+                        .executeAsync(client, timeout)
+                        .thenAccept(contents -> {
+                            try {
+                                uploaded = skipUploaded(source, buffer, contents);
+                            } catch (IOException e) {
+                                throw new CompletionException(e);
+                            }
+                        });
+            } else {
+                started = CompletableFuture.completedFuture(null);
+            }
+
+            return started.thenCompose(ignored -> appendNext());
+        }
+
+        private CompletableFuture<Void> create() {
+            var length = read();
+
+            return sign(createFileCreateTransaction(client, nodeAccountId, buffer, length), client)
+                    .executeAsync(client, timeout)
+                    .thenCompose(response -> response.getReceiptAsync(client, timeout))
+                    .thenAccept(receipt -> {
+                        targetFileId = Objects.requireNonNull(receipt.fileId);
+                        uploaded += length;
+                        progressListener.accept(targetFileId, uploaded);
+                    });
+        }
+
+        private CompletableFuture<FileId> appendNext() {
+            // stop submitting once a chunk failed, confirming the chunks before it and failing with its error
+            if (pending.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                return confirmAll();
+            }
+
+            if (pending.size() == maxConcurrentChunks) {
+                return confirmOldest().thenCompose(ignored -> appendNext());
+            }
+
+            var length = read();
+
+            if (length == 0) {
+                return confirmAll();
+            }
+
+            return sign(createFileAppendTransaction(targetFileId, nodeAccountId, buffer, length), client)
+                    .executeAsync(client, timeout)
+                    // continue on the executor so that quickly answered chunks do not deepen the stack
+                    .thenComposeAsync(
+                            response -> {
+                                pending.addLast(response.getReceiptAsync(client, timeout)
+                                        .thenApply(receipt -> length));
+                                return appendNext();
+                            },
+                            client.executor);
+        }
+
+        private CompletableFuture<Void> confirmOldest() {
+            return pending.removeFirst().thenAccept(length -> {
+                uploaded += length;
+                progressListener.accept(targetFileId, uploaded);
+            });
+        }
+
+        private CompletableFuture<FileId> confirmAll() {
+            if (pending.isEmpty()) {
+                return CompletableFuture.completedFuture(targetFileId);
+            }
+
+            return confirmOldest().thenCompose(ignored -> confirmAll());
+        }
+
+        private int read() {
+            try {
+                return source.read(buffer, chunkSize);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }
+    }
+
+    /**
+     * The contents of the upload, read a chunk at a time.
+     */
+    private interface ChunkSource extends Closeable {
+        /**
+         * Fill the buffer up to {@code length} bytes, as far as the contents allow.
+         *
+         * @return the number of bytes read, {@code 0} at the end of the contents
+         */
+        int read(byte[] buffer, int length) throws IOException;
+    }
+
+    private static final class StreamChunkSource implements ChunkSource {
+        private final InputStream inputStream;
+
+        StreamChunkSource(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public int read(byte[] buffer, int length) throws IOException {
+            return inputStream.readNBytes(buffer, 0, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+    }
+
+    private static final class MappedChunkSource implements ChunkSource {
+        private final FileChannel channel;
+        private final ByteBuffer contents;
+
+        MappedChunkSource(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+
+            try {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("file " + path + " is too large to upload");
+                }
+
+                contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int length) {
+            var count = Math.min(length, contents.remaining());
+            contents.get(buffer, 0, count);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
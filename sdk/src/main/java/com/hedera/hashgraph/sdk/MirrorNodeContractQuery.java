@@ -1,11 +1,12 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
-import static com.hedera.hashgraph.sdk.EntityIdHelper.performQueryToMirrorNodeAsync;
-
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -239,9 +240,19 @@ public abstract class MirrorNodeContractQuery<T extends MirrorNodeContractQuery<
      * @throws InterruptedException
      */
     protected String call(Client client) throws ExecutionException, InterruptedException {
+        return callAsync(client).get();
+    }
+
+    /**
+     * Does transient simulation of read-write operations without blocking.
+     *
+     * @param client The Client instance to perform the operation with
+     * @return future result of the call, in hexadecimal string format
+     */
+    CompletableFuture<String> callAsync(Client client) {
         fillEvmAddresses();
         var blockNum = this.blockNumber == 0 ? "latest" : String.valueOf(this.blockNumber);
-        return getContractCallResultFromMirrorNodeAsync(client, blockNum).get();
+        return getContractCallResultFromMirrorNodeAsync(client, blockNum);
     }
 
     private void fillEvmAddresses() {
@@ -256,13 +267,12 @@ public abstract class MirrorNodeContractQuery<T extends MirrorNodeContractQuery<
     }
 
     private CompletableFuture<String> getContractCallResultFromMirrorNodeAsync(Client client, String blockNumber) {
-        return executeMirrorNodeRequest(client, blockNumber, false)
-                .thenApply(MirrorNodeContractQuery::parseContractCallResult);
+        return executeMirrorNodeRequest(client, blockNumber, false);
     }
 
     private CompletableFuture<Long> getEstimateGasFromMirrorNodeAsync(Client client) {
         return executeMirrorNodeRequest(client, "latest", true)
-                .thenApply(MirrorNodeContractQuery::parseHexEstimateToLong);
+                .thenApply(MirrorNodeContractQuery::parseHexToLong);
     }
 
     private CompletableFuture<String> executeMirrorNodeRequest(Client client, String blockNumber, boolean estimate) {
@@ -277,7 +287,30 @@ public abstract class MirrorNodeContractQuery<T extends MirrorNodeContractQuery<
                 blockNumber,
                 estimate);
 
-        return performQueryToMirrorNodeAsync(client, apiEndpoint, jsonPayload, true)
+        var responseCache = client.queryResponseCache;
+        var consistency = responseCache.getConsistency(getClass());
+
+        if (consistency == QueryConsistency.STRONG) {
+            return sendMirrorNodeRequest(client, apiEndpoint, jsonPayload);
+        }
+
+        // identical payloads are identical requests; a result pinned to a block never changes
+        var flight = responseCache.join(new QueryKey(getClass(), ByteString.copyFromUtf8(jsonPayload)));
+        var immutable = !blockNumber.equals("latest");
+
+        if (!flight.isLeader()) {
+            return flight.getFuture().thenApply(result -> (String) result);
+        }
+
+        return sendMirrorNodeRequest(client, apiEndpoint, jsonPayload)
+                .whenComplete(
+                        (result, error) -> responseCache.complete(flight, consistency, result, error, immutable));
+    }
+
+    private static CompletableFuture<String> sendMirrorNodeRequest(
+            Client client, String apiEndpoint, String jsonPayload) {
+        return client.getMirrorRestClient()
+                .sendAsync(apiEndpoint, jsonPayload, true, reader -> MirrorRestClient.readMember(reader, "result"))
                 .exceptionally(ex -> {
                     client.getLogger().error("Error while performing post request to Mirror Node: " + ex.getMessage());
                     throw new CompletionException(ex);
@@ -319,12 +352,19 @@ public abstract class MirrorNodeContractQuery<T extends MirrorNodeContractQuery<
     }
 
     static String parseContractCallResult(String responseBody) {
-        JsonObject jsonObject = JsonParser.parseString(responseBody).getAsJsonObject();
-        return jsonObject.get("result").getAsString();
+        try {
+            return MirrorRestClient.readMember(new JsonReader(new StringReader(responseBody)), "result");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     static long parseHexEstimateToLong(String responseBody) {
-        return Integer.parseInt(parseContractCallResult(responseBody).substring(2), 16);
+        return parseHexToLong(parseContractCallResult(responseBody));
+    }
+
+    private static long parseHexToLong(String hex) {
+        return Integer.parseInt(hex.substring(2), 16);
     }
 
     @Override
@@ -0,0 +1,526 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Lists the items of a paginated endpoint of the REST API of a mirror node, e.g. the NFTs of an account.
+ * <p>
+ * Items are read lazily, page by page, following the {@code links.next} link of each page. The next page is requested
+ * as soon as the current one arrives, so it usually is ready by the time the current one is consumed, and at most two
+ * pages are held in memory however long the list is. The same query can be iterated any number of times; every
+ * iteration reads the list from the start.
+ *
+ * @param <T>                       the type of the items
+ */
+public final class MirrorNodeListQuery<T> {
+    /**
+     * The largest page size the mirror node accepts.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String API_PREFIX = "/api/v1";
+
+    private final String path;
+
+    private final String itemsMember;
+
+    private final Set<String> memberNames;
+
+    private final ItemParser<T> parser;
+
+    private int pageSize = MAX_PAGE_SIZE;
+
+    MirrorNodeListQuery(String path, String itemsMember, Set<String> memberNames, ItemParser<T> parser) {
+        this.path = path;
+        this.itemsMember = itemsMember;
+        this.memberNames = memberNames;
+        this.parser = parser;
+    }
+
+    /**
+     * Parses an item from its scalar members.
+     *
+     * @param <T>                   the type of the item
+     */
+    @FunctionalInterface
+    interface ItemParser<T> {
+        T parse(Map<String, String> members, Client client);
+    }
+
+    /**
+     * List the NFTs owned by an account, from {@code /accounts/{id}/nfts}.
+     *
+     * @param accountId                 the account
+     * @return                          the query
+     */
+    public static MirrorNodeListQuery<TokenNftInfo> accountNfts(AccountId accountId) {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+
+        return new MirrorNodeListQuery<>(
+                "/accounts/" + accountId + "/nfts",
+                "nfts",
+                Set.of("account_id", "created_timestamp", "metadata", "serial_number", "spender", "token_id"),
+                MirrorNodeListQuery::parseNft);
+    }
+
+    /**
+     * List the token relationships and balances of an account, from {@code /accounts/{id}/tokens}. The mirror node
+     * does not list the symbols of the tokens, so {@link TokenRelationship#symbol} is empty.
+     *
+     * @param accountId                 the account
+     * @return                          the query
+     */
+    public static MirrorNodeListQuery<TokenRelationship> accountTokenBalances(AccountId accountId) {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+
+        return new MirrorNodeListQuery<>(
+                "/accounts/" + accountId + "/tokens",
+                "tokens",
+                Set.of("automatic_association", "balance", "decimals", "freeze_status", "kyc_status", "token_id"),
+                MirrorNodeListQuery::parseTokenRelationship);
+    }
+
+    /**
+     * List the transactions an account took part in, from {@code /transactions?account.id={id}}.
+     *
+     * @param accountId                 the account
+     * @return                          the query
+     */
+    public static MirrorNodeListQuery<MirrorNodeTransaction> accountTransactions(AccountId accountId) {
+        Objects.requireNonNull(accountId, "accountId must not be null");
+
+        return new MirrorNodeListQuery<>(
+                "/transactions?account.id=" + accountId,
+                "transactions",
+                Set.of(
+                        "charged_tx_fee",
+                        "consensus_timestamp",
+                        "memo_base64",
+                        "name",
+                        "nonce",
+                        "result",
+                        "scheduled",
+                        "transaction_id"),
+                MirrorNodeListQuery::parseTransaction);
+    }
+
+    /**
+     * Assign the number of items per page. Defaults to {@link #MAX_PAGE_SIZE}.
+     *
+     * @param pageSize                  the page size
+     * @return {@code this}
+     */
+    public MirrorNodeListQuery<T> setPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Extract the number of items per page.
+     *
+     * @return                          the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Iterate over the items. {@link Iterator#hasNext()} blocks while the next page is loading; failures to load a
+     * page are thrown from it.
+     *
+     * @param client                    the client with the mirror network
+     * @return                          the iterator
+     */
+    public Iterator<T> iterator(Client client) {
+        Objects.requireNonNull(client, "client must not be null");
+
+        var cursor = new PageCursor(client);
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                while (!cursor.advance()) {
+                    if (cursor.nextPage == null) {
+                        return false;
+                    }
+
+                    join(cursor.nextPage);
+                }
+
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return cursor.items.next();
+            }
+        };
+    }
+
+    /**
+     * Stream the items lazily; see {@link #iterator(Client)}.
+     *
+     * @param client                    the client with the mirror network
+     * @return                          the stream
+     */
+    public Stream<T> stream(Client client) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(client), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Create a publisher of the items. Every subscriber reads the list from the start. Pages are requested without
+     * blocking and items are delivered on the client's executor, as the subscriber signals demand.
+     *
+     * @param client                    the client with the mirror network
+     * @return                          the publisher
+     */
+    public Flow.Publisher<T> toPublisher(Client client) {
+        Objects.requireNonNull(client, "client must not be null");
+
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber must not be null");
+
+            var subscription = new PageSubscription(subscriber, client.executor, new PageCursor(client));
+            subscriber.onSubscribe(subscription);
+        };
+    }
+
+    private CompletableFuture<Page<T>> fetchPage(Client client, String endpoint) {
+        return client.getMirrorRestClient().sendAsync(endpoint, null, false, reader -> parsePage(reader, client));
+    }
+
+    private String getFirstEndpoint() {
+        return path + (path.contains("?") ? "&" : "?") + "limit=" + pageSize;
+    }
+
+    /**
+     * Parse a page of items and the link to the next page.
+     *
+     * @param reader                    the reader positioned before the page
+     * @param client                    the client passed to the item parser
+     * @return                          the page
+     * @throws IOException              when the page cannot be read
+     */
+    Page<T> parsePage(JsonReader reader, Client client) throws IOException {
+        var items = new ArrayList<T>();
+        String next = null;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            var name = reader.nextName();
+
+            if (name.equals(itemsMember)) {
+                reader.beginArray();
+
+                while (reader.hasNext()) {
+                    items.add(parser.parse(MirrorRestClient.readMembers(reader, memberNames), client));
+                }
+
+                reader.endArray();
+            } else if (name.equals("links")) {
+                next = MirrorRestClient.readMembers(reader, Set.of("next")).get("next");
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        // the link is relative to the host, e.g. `/api/v1/accounts/0.0.2/nfts?limit=25&serialnumber=lt:9`
+        if (next != null && next.startsWith(API_PREFIX)) {
+            next = next.substring(API_PREFIX.length());
+        }
+
+        return new Page<>(items, next);
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    private static String require(Map<String, String> members, String name) {
+        var value = members.get(name);
+
+        if (value == null) {
+            throw new IllegalArgumentException("Mirror Node item has no member `" + name + "`");
+        }
+
+        return value;
+    }
+
+    /**
+     * Parse a timestamp of the REST API, {@code <seconds>.<nanoseconds>}.
+     *
+     * @param timestamp                 the timestamp
+     * @return                          the instant
+     */
+    static Instant parseTimestamp(String timestamp) {
+        var parts = timestamp.split("\\.", 2);
+        var nanos = parts.length == 2 ? Long.parseLong((parts[1] + "000000000").substring(0, 9)) : 0;
+
+        return Instant.ofEpochSecond(Long.parseLong(parts[0]), nanos);
+    }
+
+    /**
+     * Parse a transaction ID of the REST API, {@code <account>-<seconds>-<nanoseconds>}.
+     *
+     * @param transactionId             the transaction ID
+     * @return                          the transaction ID
+     */
+    static TransactionId parseTransactionId(String transactionId) {
+        var parts = transactionId.split("-");
+
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("expecting {account}-{seconds}-{nanos}");
+        }
+
+        return new TransactionId(
+                AccountId.fromString(parts[0]),
+                Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+    }
+
+    private static TokenNftInfo parseNft(Map<String, String> members, Client client) {
+        var ledgerId = client.getLedgerId();
+        var metadata = members.get("metadata");
+        var spender = members.get("spender");
+
+        return new TokenNftInfo(
+                new NftId(
+                        TokenId.fromString(require(members, "token_id")),
+                        Long.parseLong(require(members, "serial_number"))),
+                AccountId.fromString(require(members, "account_id")),
+                parseTimestamp(require(members, "created_timestamp")),
+                metadata == null ? new byte[0] : Base64.getDecoder().decode(metadata),
+                ledgerId == null ? LedgerId.fromBytes(new byte[0]) : ledgerId,
+                spender == null ? null : AccountId.fromString(spender));
+    }
+
+    private static TokenRelationship parseTokenRelationship(Map<String, String> members, Client client) {
+        var freezeStatus = members.getOrDefault("freeze_status", "NOT_APPLICABLE");
+        var kycStatus = members.getOrDefault("kyc_status", "NOT_APPLICABLE");
+
+        return new TokenRelationship(
+                TokenId.fromString(require(members, "token_id")),
+                "",
+                Long.parseLong(require(members, "balance")),
+                kycStatus.equals("NOT_APPLICABLE") ? null : kycStatus.equals("GRANTED"),
+                freezeStatus.equals("NOT_APPLICABLE") ? null : freezeStatus.equals("FROZEN"),
+                Integer.parseInt(members.getOrDefault("decimals", "0")),
+                Boolean.parseBoolean(members.get("automatic_association")));
+    }
+
+    private static MirrorNodeTransaction parseTransaction(Map<String, String> members, Client client) {
+        var nonce = Integer.parseInt(members.getOrDefault("nonce", "0"));
+        var memo = members.get("memo_base64");
+
+        var transactionId = parseTransactionId(require(members, "transaction_id"))
+                .setScheduled(Boolean.parseBoolean(members.get("scheduled")))
+                .setNonce(nonce != 0 ? nonce : null);
+
+        return new MirrorNodeTransaction(
+                transactionId,
+                parseTimestamp(require(members, "consensus_timestamp")),
+                require(members, "name"),
+                require(members, "result"),
+                Hbar.fromTinybars(Long.parseLong(members.getOrDefault("charged_tx_fee", "0"))),
+                memo == null ? null : new String(Base64.getDecoder().decode(memo), StandardCharsets.UTF_8));
+    }
+
+    static final class Page<T> {
+        final List<T> items;
+
+        @Nullable
+        final String next;
+
+        Page(List<T> items, @Nullable String next) {
+            this.items = items;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The position in the list: the items of the current page and the request for the next page.
+     * <p>
+     * Not thread safe.
+     */
+    private final class PageCursor {
+        private final Client client;
+
+        Iterator<T> items = Collections.emptyIterator();
+
+        @Nullable
+        CompletableFuture<Page<T>> nextPage;
+
+        PageCursor(Client client) {
+            this.client = client;
+            this.nextPage = fetchPage(client, getFirstEndpoint());
+        }
+
+        /**
+         * Move to the next page if the current one is consumed and the next one has arrived.
+         *
+         * @return                      whether an item is available without waiting
+         */
+        boolean advance() {
+            while (!items.hasNext()) {
+                if (nextPage == null || !nextPage.isDone()) {
+                    return false;
+                }
+
+                var page = join(nextPage);
+                items = page.items.iterator();
+
+                // prefetch the following page while this one is consumed
+                nextPage = page.next == null ? null : fetchPage(client, page.next);
+            }
+
+            return true;
+        }
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final Executor executor;
+
+        private final PageCursor cursor;
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        @Nullable
+        private volatile Throwable pendingError;
+
+        private volatile boolean done = false;
+
+        /**
+         * The page the drain loop is waiting for; only accessed by the drain loop.
+         */
+        @Nullable
+        private CompletableFuture<Page<T>> awaitedPage;
+
+        PageSubscription(Flow.Subscriber<? super T> subscriber, Executor executor, PageCursor cursor) {
+            this.subscriber = subscriber;
+            this.executor = executor;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("request must be positive");
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drainLoop);
+            }
+        }
+
+        private void drainLoop() {
+            var missed = 1;
+
+            do {
+                while (!done) {
+                    var error = pendingError;
+
+                    if (error != null) {
+                        terminate(error);
+                        return;
+                    }
+
+                    if (demand.get() == 0) {
+                        break;
+                    }
+
+                    boolean available;
+
+                    try {
+                        available = cursor.advance();
+                    } catch (RuntimeException e) {
+                        terminate(e);
+                        return;
+                    }
+
+                    if (available) {
+                        demand.decrementAndGet();
+                        subscriber.onNext(cursor.items.next());
+                    } else if (cursor.nextPage == null) {
+                        done = true;
+                        subscriber.onComplete();
+                        return;
+                    } else {
+                        // resume once the next page arrives
+                        if (awaitedPage != cursor.nextPage) {
+                            awaitedPage = cursor.nextPage;
+                            awaitedPage.whenComplete((page, pageError) -> drain());
+                        }
+
+                        break;
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate(Throwable error) {
+            done = true;
+            subscriber.onError(error);
+        }
+    }
+}
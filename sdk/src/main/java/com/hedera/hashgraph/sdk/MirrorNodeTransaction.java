@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Instant;
+import javax.annotation.Nullable;
+
+/**
+ * A transaction as listed by the REST API of a mirror node.
+ * <p>
+ * See {@link MirrorNodeListQuery#accountTransactions(AccountId)}.
+ */
+public final class MirrorNodeTransaction {
+    /**
+     * The transaction ID.
+     */
+    public final TransactionId transactionId;
+
+    /**
+     * The consensus timestamp of the transaction.
+     */
+    public final Instant consensusTimestamp;
+
+    /**
+     * The type of the transaction, e.g. {@code CRYPTOTRANSFER}.
+     */
+    public final String name;
+
+    /**
+     * The result of the transaction, e.g. {@code SUCCESS}.
+     */
+    public final String result;
+
+    /**
+     * The fee charged for the transaction.
+     */
+    public final Hbar chargedFee;
+
+    /**
+     * The memo of the transaction.
+     */
+    @Nullable
+    public final String memo;
+
+    MirrorNodeTransaction(
+            TransactionId transactionId,
+            Instant consensusTimestamp,
+            String name,
+            String result,
+            Hbar chargedFee,
+            @Nullable String memo) {
+        this.transactionId = transactionId;
+        this.consensusTimestamp = consensusTimestamp;
+        this.name = name;
+        this.result = result;
+        this.chargedFee = chargedFee;
+        this.memo = memo;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("transactionId", transactionId)
+                .add("consensusTimestamp", consensusTimestamp)
+                .add("name", name)
+                .add("result", result)
+                .add("chargedFee", chargedFee)
+                .add("memo", memo)
+                .toString();
+    }
+}
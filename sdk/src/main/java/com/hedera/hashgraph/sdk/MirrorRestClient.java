@@ -0,0 +1,288 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Internal utility class for requests to the REST API of the mirror network.
+ * <p>
+ * All requests of a client share one {@link HttpClient}, which prefers HTTP/2, keeps its connections open between
+ * requests and runs on the client's executor. Requests are spread round-robin over the mirror nodes of the client.
+ * Requests that fail to connect, time out or are answered with {@code 429} or a {@code 5xx} status are retried on the
+ * next mirror node after an exponential backoff. Successful responses are parsed with a {@link JsonReader} once they
+ * were received in full: reading a streamed body would block an executor thread that the {@link HttpClient} itself
+ * needs to deliver the body.
+ */
+class MirrorRestClient {
+    /**
+     * The timeout of a single request.
+     */
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    static final int MAX_ATTEMPTS = 3;
+
+    static final Duration MIN_BACKOFF = Duration.ofMillis(250);
+
+    static final Duration MAX_BACKOFF = Duration.ofSeconds(8);
+
+    private final Client client;
+
+    private final HttpClient httpClient;
+
+    private final AtomicInteger nextMirror = new AtomicInteger();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder http2Responses = new LongAdder();
+
+    private final LongAdder latencyNanos = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client whose mirror network and executor are used
+     */
+    MirrorRestClient(Client client) {
+        this.client = client;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(EntityIdHelper.MIRROR_NODE_CONNECTION_TIMEOUT)
+                .executor(client.executor)
+                .build();
+    }
+
+    /**
+     * Parses a successful response.
+     *
+     * @param <T>                       the parsed type
+     */
+    @FunctionalInterface
+    interface ResponseParser<T> {
+        T parse(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Send a request to the REST API of the mirror network.
+     *
+     * @param apiEndpoint               the endpoint below {@code /api/v1}, e.g. {@code /accounts/1001}
+     * @param jsonBody                  the body to POST, or {@code null} to GET
+     * @param isContractCall            whether the endpoint is served by the web3 module of the mirror node
+     * @param parser                    the parser of a successful response
+     * @return                          future result of the parsed response
+     * @param <T>                       the parsed type
+     */
+    <T> CompletableFuture<T> sendAsync(
+            String apiEndpoint, @Nullable String jsonBody, boolean isContractCall, ResponseParser<T> parser) {
+        var result = new CompletableFuture<T>();
+        sendAsync(apiEndpoint, jsonBody, isContractCall, parser, 1, result);
+        return result;
+    }
+
+    private <T> void sendAsync(
+            String apiEndpoint,
+            @Nullable String jsonBody,
+            boolean isContractCall,
+            ResponseParser<T> parser,
+            int attempt,
+            CompletableFuture<T> result) {
+        var mirrorNetwork = client.getMirrorNetwork();
+
+        if (mirrorNetwork.isEmpty()) {
+            result.completeExceptionally(new IllegalArgumentException("Mirror URL not found"));
+            return;
+        }
+
+        var mirrorUrl = mirrorNetwork.get(Math.floorMod(nextMirror.getAndIncrement(), mirrorNetwork.size()));
+        var httpBuilder = HttpRequest.newBuilder()
+                .timeout(REQUEST_TIMEOUT)
+                .uri(URI.create(getApiUrl(mirrorUrl, apiEndpoint, isContractCall)));
+
+        if (jsonBody != null) {
+            httpBuilder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(jsonBody));
+        }
+
+        var startTime = System.nanoTime();
+        requests.increment();
+
+        httpClient
+                .sendAsync(httpBuilder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    latencyNanos.add(System.nanoTime() - startTime);
+
+                    if (response != null && response.version() == HttpClient.Version.HTTP_2) {
+                        http2Responses.increment();
+                    }
+
+                    var retryable = error != null || isRetryableStatus(response.statusCode());
+
+                    if (retryable && attempt < MAX_ATTEMPTS) {
+                        retries.increment();
+
+                        var backoff = getBackoff(attempt).toMillis();
+                        CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS, client.executor)
+                                .execute(() ->
+                                        sendAsync(apiEndpoint, jsonBody, isContractCall, parser, attempt + 1, result));
+                        return;
+                    }
+
+                    if (error != null) {
+                        var cause = error instanceof CompletionException ? error.getCause() : error;
+                        fail(
+                                result,
+                                cause instanceof HttpTimeoutException
+                                        ? new RuntimeException("Request to Mirror Node timed out", cause)
+                                        : new RuntimeException("Failed to send request to Mirror Node", cause));
+                        return;
+                    }
+
+                    if (response.statusCode() != 200) {
+                        fail(
+                                result,
+                                new HttpStatusException(
+                                        response.statusCode(), new String(response.body(), StandardCharsets.UTF_8)));
+                        return;
+                    }
+
+                    var body = new ByteArrayInputStream(response.body());
+
+                    try {
+                        result.complete(
+                                parser.parse(new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))));
+                    } catch (IOException | RuntimeException e) {
+                        fail(result, new RuntimeException("Failed to read response from Mirror Node", e));
+                    }
+                });
+    }
+
+    private void fail(CompletableFuture<?> result, Throwable error) {
+        failures.increment();
+        result.completeExceptionally(error);
+    }
+
+    /**
+     * Build the URL of an endpoint on a mirror node.
+     * <p>
+     * Against a local network (without ledger ID), the REST API is served over plain HTTP on port 5551 and the web3
+     * module on port 8545; otherwise both are served over HTTPS on the default port.
+     */
+    String getApiUrl(String mirrorUrl, String apiEndpoint, boolean isContractCall) {
+        var host = mirrorUrl.contains(":") ? mirrorUrl.substring(0, mirrorUrl.indexOf(":")) : mirrorUrl;
+
+        if (client.getLedgerId() == null) {
+            return "http://" + host + (isContractCall ? ":8545" : ":5551") + "/api/v1" + apiEndpoint;
+        }
+
+        return "https://" + host + "/api/v1" + apiEndpoint;
+    }
+
+    static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    static Duration getBackoff(int attempt) {
+        var backoff = MIN_BACKOFF.multipliedBy(1L << Math.min(attempt - 1, 16));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+
+    /**
+     * Read a member of the top-level object of a response as a string, skipping everything else.
+     *
+     * @param reader                    the reader positioned before the object
+     * @param memberName                the member name
+     * @return                          the member value
+     * @throws IOException              when the response cannot be read or has no such member
+     */
+    static String readMember(JsonReader reader, String memberName) throws IOException {
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(memberName) && reader.peek() != JsonToken.NULL) {
+                return reader.nextString();
+            }
+
+            reader.skipValue();
+        }
+
+        throw new IOException("Mirror Node response has no member `" + memberName + "`");
+    }
+
+    /**
+     * Read several scalar members of an object of a response as strings, skipping everything else.
+     *
+     * @param reader                    the reader positioned before the object
+     * @param memberNames               the member names
+     * @return                          the values of the members present and not {@code null}
+     * @throws IOException              when the response cannot be read
+     */
+    static Map<String, String> readMembers(JsonReader reader, Set<String> memberNames) throws IOException {
+        var members = new HashMap<String, String>();
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            var name = reader.nextName();
+
+            if (memberNames.contains(name) && reader.peek() == JsonToken.BOOLEAN) {
+                members.put(name, String.valueOf(reader.nextBoolean()));
+            } else if (memberNames.contains(name) && reader.peek() != JsonToken.NULL) {
+                members.put(name, reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return members;
+    }
+
+    /**
+     * Take a snapshot of the metrics of the requests sent so far.
+     *
+     * @return                          the metrics
+     */
+    MirrorRestMetrics getMetrics() {
+        var requestCount = requests.sum();
+
+        return new MirrorRestMetrics(
+                requestCount,
+                failures.sum(),
+                retries.sum(),
+                http2Responses.sum(),
+                requestCount == 0 ? Duration.ZERO : Duration.ofNanos(latencyNanos.sum() / requestCount));
+    }
+
+    /**
+     * Signals that the mirror node answered a request with a status other than {@code 200}.
+     */
+    static final class HttpStatusException extends RuntimeException {
+        final int statusCode;
+
+        HttpStatusException(int statusCode, String body) {
+            super("Received non-200 response from Mirror Node: " + body);
+            this.statusCode = statusCode;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+
+/**
+ * A snapshot of the metrics of the requests a {@link Client} sent to the REST API of the mirror network.
+ * <p>
+ * See {@link Client#getMirrorRestMetrics()}.
+ */
+public final class MirrorRestMetrics {
+    private final long requests;
+
+    private final long failures;
+
+    private final long retries;
+
+    private final long http2Responses;
+
+    private final Duration averageLatency;
+
+    MirrorRestMetrics(long requests, long failures, long retries, long http2Responses, Duration averageLatency) {
+        this.requests = requests;
+        this.failures = failures;
+        this.retries = retries;
+        this.http2Responses = http2Responses;
+        this.averageLatency = averageLatency;
+    }
+
+    /**
+     * Extract the number of HTTP requests sent, including retries.
+     *
+     * @return the number of requests
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Extract the number of calls that failed after every attempt.
+     *
+     * @return the number of failures
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Extract the number of requests that were retried on another mirror node.
+     *
+     * @return the number of retries
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Extract the number of responses received over a multiplexed HTTP/2 connection; the rest were received over
+     * HTTP/1.1.
+     *
+     * @return the number of HTTP/2 responses
+     */
+    public long getHttp2Responses() {
+        return http2Responses;
+    }
+
+    /**
+     * Extract the average time from sending a request until its response headers arrived.
+     *
+     * @return the average latency
+     */
+    public Duration getAverageLatency() {
+        return averageLatency;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("requests", requests)
+                .add("failures", failures)
+                .add("retries", retries)
+                .add("http2Responses", http2Responses)
+                .add("averageLatency", averageLatency)
+                .toString();
+    }
+}
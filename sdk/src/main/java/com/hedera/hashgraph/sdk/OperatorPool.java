@@ -0,0 +1,278 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Internal utility class for spreading transaction and query payments over several operator accounts.
+ * <p>
+ * Every operator in the pool tracks the number of requests it is currently paying for, when it was last handed out
+ * and, once known, an estimate of its remaining balance. A request reserves the most it can charge while it executes,
+ * and the reservation is refunded when it completes; only charges that are known exactly, like query payments, are
+ * debited from the estimate. Operators are skipped while they are excluded, which happens when a node rejects one of
+ * their payments with {@link Status#INSUFFICIENT_PAYER_BALANCE}, or while their estimated balance net of reservations
+ * is used up.
+ */
+class OperatorPool {
+    /**
+     * Sentinel for an operator whose balance has not been provided.
+     */
+    private static final long UNKNOWN_BALANCE = Long.MIN_VALUE;
+
+    /**
+     * Immutable snapshot of the pool, replaced as a whole whenever an operator is added or removed.
+     */
+    private volatile List<Entry> entries = List.of();
+
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    private final AtomicLong useCounter = new AtomicLong();
+
+    private volatile OperatorSelectionStrategy strategy = OperatorSelectionStrategy.ROUND_ROBIN;
+
+    /**
+     * Constructor.
+     */
+    OperatorPool() {}
+
+    /**
+     * Add an operator to the pool, replacing any operator with the same account ID.
+     *
+     * @param operator                  the operator
+     */
+    synchronized void add(Client.Operator operator) {
+        remove(operator.accountId);
+
+        var updated = new ArrayList<>(entries);
+        updated.add(new Entry(operator));
+        entries = List.copyOf(updated);
+    }
+
+    /**
+     * Remove an operator from the pool.
+     *
+     * @param accountId                 the operator account ID
+     * @return                          whether an operator was removed
+     */
+    synchronized boolean remove(AccountId accountId) {
+        var updated = new ArrayList<>(entries);
+        var removed = updated.removeIf(entry -> entry.operator.accountId.equals(accountId));
+        entries = List.copyOf(updated);
+        return removed;
+    }
+
+    /**
+     * Is the pool empty?
+     *
+     * @return                          is the pool empty
+     */
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Extract the account IDs of every operator in the pool.
+     *
+     * @return                          the account IDs
+     */
+    List<AccountId> getAccountIds() {
+        var accountIds = new ArrayList<AccountId>(entries.size());
+        for (var entry : entries) {
+            accountIds.add(entry.operator.accountId);
+        }
+        return accountIds;
+    }
+
+    OperatorSelectionStrategy getStrategy() {
+        return strategy;
+    }
+
+    void setStrategy(OperatorSelectionStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Select the operator that pays for the next request.
+     *
+     * @return                          the operator
+     * @throws IllegalStateException    when every operator in the pool is excluded
+     */
+    Client.Operator next() {
+        var snapshot = entries;
+        Entry selected = null;
+
+        switch (strategy) {
+            case LEAST_RECENTLY_USED:
+                for (var entry : snapshot) {
+                    if (entry.isAvailable() && (selected == null || entry.lastUsed.get() < selected.lastUsed.get())) {
+                        selected = entry;
+                    }
+                }
+                break;
+            case LEAST_IN_FLIGHT:
+                for (var entry : snapshot) {
+                    if (entry.isAvailable() && (selected == null || entry.inFlight.get() < selected.inFlight.get())) {
+                        selected = entry;
+                    }
+                }
+                break;
+            case ROUND_ROBIN:
+            default:
+                var size = snapshot.size();
+                for (var i = 0; i < size && selected == null; i++) {
+                    var entry = snapshot.get(Math.floorMod(nextIndex.getAndIncrement(), size));
+                    if (entry.isAvailable()) {
+                        selected = entry;
+                    }
+                }
+                break;
+        }
+
+        if (selected == null) {
+            throw new IllegalStateException("every operator in the operator pool is excluded");
+        }
+
+        selected.lastUsed.set(useCounter.incrementAndGet());
+        return selected.operator;
+    }
+
+    /**
+     * Find the operator with the given account ID.
+     *
+     * @param accountId                 the operator account ID
+     * @return                          the operator or {@code null} if it is not part of the pool
+     */
+    @Nullable
+    Client.Operator get(@Nullable AccountId accountId) {
+        var entry = find(accountId);
+        return entry != null ? entry.operator : null;
+    }
+
+    /**
+     * Record that a request paid for by this operator started executing, reserving the most it can charge.
+     *
+     * @param accountId                 the operator account ID
+     * @param maxCost                   the most the request can charge the operator
+     */
+    void acquire(AccountId accountId, Hbar maxCost) {
+        var entry = find(accountId);
+        if (entry == null) {
+            return;
+        }
+
+        entry.inFlight.incrementAndGet();
+        entry.reserved.addAndGet(maxCost.toTinybars());
+    }
+
+    /**
+     * Record that a request paid for by this operator finished executing, refunding its reservation.
+     *
+     * @param accountId                 the operator account ID
+     * @param maxCost                   the amount reserved by {@link #acquire}
+     * @param charged                   what the request is known to have charged, debited from the balance
+     */
+    void release(AccountId accountId, Hbar maxCost, Hbar charged) {
+        var entry = find(accountId);
+        if (entry == null) {
+            return;
+        }
+
+        entry.inFlight.updateAndGet(count -> Math.max(0, count - 1));
+        entry.reserved.updateAndGet(reserved -> Math.max(0, reserved - maxCost.toTinybars()));
+        entry.balance.accumulateAndGet(
+                charged.toTinybars(), (balance, cost) -> balance == UNKNOWN_BALANCE ? balance : balance - cost);
+    }
+
+    /**
+     * Stop handing out this operator until its balance is set again.
+     *
+     * @param accountId                 the operator account ID
+     */
+    void exclude(AccountId accountId) {
+        var entry = find(accountId);
+        if (entry != null) {
+            entry.excluded = true;
+        }
+    }
+
+    boolean isExcluded(AccountId accountId) {
+        var entry = find(accountId);
+        return entry != null && !entry.isAvailable();
+    }
+
+    /**
+     * Assign the known balance of an operator and make it available again.
+     *
+     * @param accountId                 the operator account ID
+     * @param balance                   the balance
+     */
+    void setBalance(AccountId accountId, Hbar balance) {
+        var entry = find(accountId);
+        if (entry == null) {
+            throw new IllegalArgumentException("account " + accountId + " is not part of the operator pool");
+        }
+
+        entry.balance.set(balance.toTinybars());
+        entry.excluded = false;
+    }
+
+    /**
+     * Extract the estimated remaining balance of an operator, net of the reservations of requests in flight.
+     *
+     * @param accountId                 the operator account ID
+     * @return                          the balance or {@code null} if it is not known
+     */
+    @Nullable
+    Hbar getBalance(AccountId accountId) {
+        var entry = find(accountId);
+        if (entry == null || entry.balance.get() == UNKNOWN_BALANCE) {
+            return null;
+        }
+        return Hbar.fromTinybars(entry.available());
+    }
+
+    int getInFlight(AccountId accountId) {
+        var entry = find(accountId);
+        return entry != null ? entry.inFlight.get() : 0;
+    }
+
+    @Nullable
+    private Entry find(@Nullable AccountId accountId) {
+        if (accountId == null) {
+            return null;
+        }
+
+        for (var entry : entries) {
+            if (entry.operator.accountId.equals(accountId)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    private static class Entry {
+        final Client.Operator operator;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicLong lastUsed = new AtomicLong();
+        final AtomicLong balance = new AtomicLong(UNKNOWN_BALANCE);
+        final AtomicLong reserved = new AtomicLong();
+        volatile boolean excluded = false;
+
+        Entry(Client.Operator operator) {
+            this.operator = operator;
+        }
+
+        long available() {
+            return balance.get() - reserved.get();
+        }
+
+        boolean isAvailable() {
+            return !excluded && (balance.get() == UNKNOWN_BALANCE || available() > 0);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+/**
+ * Enum for the ways a {@link Client} picks the paying account from its operator pool.
+ */
+public enum OperatorSelectionStrategy {
+    /**
+     * Cycle through the pool in the order the operators were added
+     */
+    ROUND_ROBIN,
+    /**
+     * Pick the operator that was handed out the longest time ago
+     */
+    LEAST_RECENTLY_USED,
+    /**
+     * Pick the operator with the fewest transactions and queries currently being executed
+     */
+    LEAST_IN_FLIGHT
+}
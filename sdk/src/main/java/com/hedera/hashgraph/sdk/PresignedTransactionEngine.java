@@ -0,0 +1,391 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pre-signs transactions ahead of their valid start and releases each of them once its valid start has been reached.
+ * <p>
+ * Freezing and signing is moved off the latency critical path: transactions are given a
+ * {@link TransactionId#withValidStart(AccountId, Instant) future valid start}, frozen and signed in bulk on the client
+ * executor, and only their serialized bytes are kept, ordered by valid start. Once {@link #start()} is called, every
+ * stored transaction is submitted through the regular {@link Transaction#executeAsync(Client)} path as soon as its
+ * valid start has passed. Transactions whose valid duration elapsed before they could be released are dropped and
+ * reported to the release listener as failed.
+ *
+ * <pre>{@code
+ * var engine = new PresignedTransactionEngine(client).setReleaseListener((response, error) -> { ... });
+ *
+ * engine.presignAsync(transactions, client.getOperatorAccountId(), peakStart, Duration.ofMillis(10)).join();
+ * engine.start();
+ * }</pre>
+ */
+public final class PresignedTransactionEngine implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PresignedTransactionEngine.class);
+
+    private static final Duration DEFAULT_RELEASE_INTERVAL = Duration.ofMillis(10);
+
+    private static final Comparator<TransactionId> VALID_START_ORDER = Comparator.comparing(
+                    (TransactionId transactionId) -> Objects.requireNonNull(transactionId.validStart))
+            .thenComparing(transactionId -> Objects.requireNonNull(transactionId.accountId));
+
+    private final Client client;
+
+    /**
+     * The serialized, signed transactions ordered by valid start.
+     */
+    private final ConcurrentSkipListMap<TransactionId, Entry> store = new ConcurrentSkipListMap<>(VALID_START_ORDER);
+
+    private final List<PublicKey> publicKeys = new ArrayList<>();
+
+    private final List<UnaryOperator<byte[]>> signers = new ArrayList<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hedera-sdk-presigned-release");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Nullable
+    private List<AccountId> nodeAccountIds = null;
+
+    private Duration releaseInterval = DEFAULT_RELEASE_INTERVAL;
+
+    private BiConsumer<TransactionResponse, Throwable> releaseListener = (response, error) -> {};
+
+    @Nullable
+    private ScheduledFuture<?> releaseTask = null;
+
+    /**
+     * Constructor.
+     * <p>
+     * The client operator, if any, signs every pre-signed transaction it pays for.
+     *
+     * @param client the client used to select nodes, sign and submit the transactions
+     */
+    public PresignedTransactionEngine(Client client) {
+        this.client = Objects.requireNonNull(client);
+    }
+
+    /**
+     * Add a key that signs every transaction pre-signed by this engine.
+     *
+     * @param privateKey the private key
+     * @return {@code this}
+     */
+    public synchronized PresignedTransactionEngine sign(PrivateKey privateKey) {
+        return signWith(privateKey.getPublicKey(), privateKey::sign);
+    }
+
+    /**
+     * Add a signer that signs every transaction pre-signed by this engine.
+     *
+     * @param publicKey         the public key
+     * @param transactionSigner the signing function
+     * @return {@code this}
+     */
+    public synchronized PresignedTransactionEngine signWith(
+            PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
+        Objects.requireNonNull(publicKey);
+        Objects.requireNonNull(transactionSigner);
+
+        if (!publicKeys.contains(publicKey)) {
+            publicKeys.add(publicKey);
+            signers.add(transactionSigner);
+        }
+
+        return this;
+    }
+
+    /**
+     * Set the nodes every pre-signed transaction is built for. By default the nodes set on the transaction are used,
+     * falling back to nodes selected from the client network.
+     *
+     * @param nodeAccountIds the node account IDs
+     * @return {@code this}
+     */
+    public synchronized PresignedTransactionEngine setNodeAccountIds(List<AccountId> nodeAccountIds) {
+        this.nodeAccountIds = new ArrayList<>(nodeAccountIds);
+        return this;
+    }
+
+    /**
+     * Extract the interval at which due transactions are released.
+     *
+     * @return the release interval
+     */
+    public synchronized Duration getReleaseInterval() {
+        return releaseInterval;
+    }
+
+    /**
+     * Set the interval at which due transactions are released. Must be set before {@link #start()}.
+     *
+     * @param releaseInterval the release interval
+     * @return {@code this}
+     */
+    public synchronized PresignedTransactionEngine setReleaseInterval(Duration releaseInterval) {
+        Objects.requireNonNull(releaseInterval);
+        if (releaseInterval.isNegative() || releaseInterval.isZero()) {
+            throw new IllegalArgumentException("releaseInterval must be greater than 0");
+        }
+
+        this.releaseInterval = releaseInterval;
+        return this;
+    }
+
+    /**
+     * Set the callback invoked with the result of every released transaction.
+     *
+     * @param releaseListener a BiConsumer which handles the response or error
+     * @return {@code this}
+     */
+    public synchronized PresignedTransactionEngine setReleaseListener(
+            BiConsumer<TransactionResponse, Throwable> releaseListener) {
+        this.releaseListener = Objects.requireNonNull(releaseListener);
+        return this;
+    }
+
+    /**
+     * Freeze, sign and store a transaction to be released at the given valid start.
+     *
+     * @param transaction the unfrozen transaction
+     * @param payer       the account paying for the transaction
+     * @param validStart  the valid start of the transaction
+     * @return the transaction ID of the stored transaction
+     * @throws IllegalArgumentException if a transaction with the same transaction ID is already stored
+     */
+    public TransactionId presign(Transaction<?> transaction, AccountId payer, Instant validStart) {
+        var transactionId = TransactionId.withValidStart(payer, validStart);
+
+        transaction.setTransactionId(transactionId);
+
+        var nodes = getNodeAccountIds(transaction);
+        if (nodes != null) {
+            transaction.setNodeAccountIds(nodes);
+        }
+
+        transaction.freezeWith(client);
+
+        var operator = client.getOperatorFor(payer);
+        if (operator != null) {
+            transaction.signWith(operator.publicKey, operator.transactionSigner);
+        }
+
+        synchronized (this) {
+            for (var i = 0; i < publicKeys.size(); i++) {
+                transaction.signWith(publicKeys.get(i), signers.get(i));
+            }
+        }
+
+        var expiresAt = validStart.plus(transaction.getTransactionValidDuration());
+
+        if (store.putIfAbsent(transactionId, new Entry(transaction.toBytes(), expiresAt)) != null) {
+            throw new IllegalArgumentException("a transaction with ID " + transactionId + " is already stored");
+        }
+
+        return transactionId;
+    }
+
+    /**
+     * Freeze, sign and store transactions in parallel on the client executor.
+     * <p>
+     * The transaction at index {@code i} gets the valid start {@code firstValidStart + i * spacing}.
+     *
+     * @param transactions    the unfrozen transactions
+     * @param payer           the account paying for the transactions
+     * @param firstValidStart the valid start of the first transaction
+     * @param spacing         the time between the valid starts of consecutive transactions
+     * @return future result of the transaction IDs, in the order of the given transactions
+     */
+    public CompletableFuture<List<TransactionId>> presignAsync(
+            List<? extends Transaction<?>> transactions, AccountId payer, Instant firstValidStart, Duration spacing) {
+        Objects.requireNonNull(payer);
+        Objects.requireNonNull(firstValidStart);
+        Objects.requireNonNull(spacing);
+
+        if (spacing.isNegative() || spacing.isZero()) {
+            throw new IllegalArgumentException("spacing must be greater than 0 so every transaction ID is unique");
+        }
+
+        var futures = new ArrayList<CompletableFuture<TransactionId>>(transactions.size());
+
+        for (var i = 0; i < transactions.size(); i++) {
+            var transaction = transactions.get(i);
+            var validStart = firstValidStart.plus(spacing.multipliedBy(i));
+
+            futures.add(
+                    CompletableFuture.supplyAsync(() -> presign(transaction, payer, validStart), client.executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    var transactionIds = new ArrayList<TransactionId>(futures.size());
+                    for (var future : futures) {
+                        transactionIds.add(future.join());
+                    }
+                    return transactionIds;
+                });
+    }
+
+    /**
+     * Start releasing stored transactions once their valid start has passed.
+     *
+     * @return {@code this}
+     */
+    public synchronized PresignedTransactionEngine start() {
+        if (releaseTask == null) {
+            var interval = releaseInterval.toNanos();
+            releaseTask = scheduler.scheduleWithFixedDelay(this::releaseDue, 0, interval, TimeUnit.NANOSECONDS);
+        }
+
+        return this;
+    }
+
+    /**
+     * Stop releasing stored transactions. Transactions that were not released yet stay stored.
+     *
+     * @return {@code this}
+     */
+    public synchronized PresignedTransactionEngine stop() {
+        if (releaseTask != null) {
+            releaseTask.cancel(false);
+            releaseTask = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Extract the number of stored transactions that were not released yet.
+     *
+     * @return the number of stored transactions
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Extract the valid start of the next transaction to be released.
+     *
+     * @return the valid start or {@code null} if no transaction is stored
+     */
+    @Nullable
+    public Instant getNextValidStart() {
+        var first = store.firstEntry();
+        return first != null ? first.getKey().validStart : null;
+    }
+
+    /**
+     * Extract the signed bytes of a stored transaction.
+     *
+     * @param transactionId the transaction ID
+     * @return the bytes, as produced by {@link Transaction#toBytes()}, or {@code null} if it is not stored
+     */
+    @Nullable
+    public byte[] getTransactionBytes(TransactionId transactionId) {
+        var entry = store.get(transactionId);
+        return entry != null ? entry.bytes.clone() : null;
+    }
+
+    /**
+     * Remove every stored transaction whose valid start is at or before {@code now}.
+     *
+     * @param now the current time
+     * @return the removed transactions, ordered by valid start, that have not expired yet
+     */
+    List<byte[]> takeDue(Instant now) {
+        var due = new ArrayList<byte[]>();
+
+        for (var first = store.firstEntry(); first != null; first = store.firstEntry()) {
+            if (Objects.requireNonNull(first.getKey().validStart).isAfter(now)) {
+                break;
+            }
+
+            if (!store.remove(first.getKey(), first.getValue())) {
+                continue;
+            }
+
+            if (first.getValue().expiresAt.isBefore(now)) {
+                notifyReleaseListener(
+                        null,
+                        new IllegalStateException("pre-signed transaction " + first.getKey()
+                                + " expired before it could be released"));
+                continue;
+            }
+
+            due.add(first.getValue().bytes);
+        }
+
+        return due;
+    }
+
+    private void releaseDue() {
+        for (var bytes : takeDue(Instant.now())) {
+            try {
+                Transaction.fromBytes(bytes).executeAsync(client).whenComplete(this::notifyReleaseListener);
+            } catch (InvalidProtocolBufferException | RuntimeException e) {
+                notifyReleaseListener(null, e);
+            }
+        }
+    }
+
+    private void notifyReleaseListener(@Nullable TransactionResponse response, @Nullable Throwable error) {
+        // an exception escaping the scheduled task would cancel every later release
+        try {
+            releaseListener.accept(response, error);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Release listener of pre-signed transactions failed", e);
+        }
+    }
+
+    @Nullable
+    private synchronized List<AccountId> getNodeAccountIds(Transaction<?> transaction) {
+        if (nodeAccountIds != null) {
+            return nodeAccountIds;
+        }
+
+        if (!transaction.nodeAccountIds.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return client.network.getNodeAccountIdsForExecute();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    private static final class Entry {
+        final byte[] bytes;
+        final Instant expiresAt;
+
+        Entry(byte[] bytes, Instant expiresAt) {
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
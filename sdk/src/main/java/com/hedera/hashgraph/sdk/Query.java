@@ -2,6 +2,7 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.QueryHeader;
 import com.hedera.hashgraph.sdk.proto.Response;
@@ -16,7 +17,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -58,6 +63,18 @@ public abstract class Query<O, T extends Query<O, T>>
     @Nullable
     private Hbar chosenQueryPayment = null;
 
+    /**
+     * The operator pool reservations of the executions in progress, each released once by the completion of an
+     * execution. Executions of the same query can overlap, so a single payer field would let one execution overwrite
+     * the reservation of another, which then never got released.
+     */
+    private final Queue<PoolReservation> poolReservations = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether the execution in progress pays a cost taken from the client's query cost cache.
+     */
+    private boolean paidFromCostCache = false;
+
     /**
      * Constructor.
      */
@@ -260,6 +277,34 @@ public abstract class Query<O, T extends Query<O, T>>
         return new QueryCostQuery();
     }
 
+    /**
+     * Serialize the query without its header; equivalent queries serialize to the same bytes.
+     *
+     * @return                          the serialized query
+     */
+    ByteString toKeyBytes() {
+        var queryBuilder = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+        onMakeRequest(queryBuilder, QueryHeader.getDefaultInstance());
+        return queryBuilder.build().toByteString();
+    }
+
+    /**
+     * The parts of the query its cost depends on, keying the client's query cost cache.
+     * <p>
+     * By default this is the whole query without its header. Queries whose cost only depends on the size of some of
+     * their fields override this so that queries of the same size share a cost.
+     *
+     * @return                          the cost cache key
+     */
+    ByteString getCostCacheKey() {
+        return toKeyBytes();
+    }
+
+    @Nullable
+    private QueryKey getCostCacheKey(Client client) {
+        return client.queryCostCache.isEnabled() ? new QueryKey(getClass(), getCostCacheKey()) : null;
+    }
+
     /**
      * Validate the checksums.
      */
@@ -272,7 +317,7 @@ public abstract class Query<O, T extends Query<O, T>>
      * @return                          the operator
      */
     Client.Operator getOperatorFromClient(Client client) {
-        var operator = client.getOperator();
+        var operator = client.getPayerOperator();
 
         if (operator == null) {
             throw new IllegalStateException(
@@ -282,16 +327,133 @@ public abstract class Query<O, T extends Query<O, T>>
         return operator;
     }
 
+    /**
+     * Execute this query with a timeout.
+     * <p>
+     * Unless the client's {@link QueryConsistency} of this query type is {@link QueryConsistency#STRONG}, the result of
+     * an equivalent query in flight or cached by the client is returned instead of sending another request.
+     *
+     * @param client  The client with which this will be executed.
+     * @param timeout The timeout after which the execution attempt will be cancelled.
+     * @return Result of execution
+     * @throws TimeoutException        when the query times out
+     * @throws PrecheckStatusException when the precheck fails
+     */
+    @Override
+    public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var responseCache = client.queryResponseCache;
+        var consistency = responseCache.getConsistency(getClass());
+
+        if (consistency == QueryConsistency.STRONG) {
+            return super.execute(client, timeout);
+        }
+
+        var flight = responseCache.join(new QueryKey(getClass(), toKeyBytes()));
+
+        if (!flight.isLeader()) {
+            try {
+                // noinspection unchecked
+                return (O) flight.getFuture().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                var cause = e.getCause();
+
+                if (cause instanceof TimeoutException timeoutException) {
+                    throw timeoutException;
+                } else if (cause instanceof PrecheckStatusException precheckStatusException) {
+                    throw precheckStatusException;
+                } else if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+
+                throw new RuntimeException(cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        try {
+            var result = super.execute(client, timeout);
+            responseCache.complete(flight, consistency, result, null);
+            return result;
+        } catch (Throwable e) {
+            responseCache.complete(flight, consistency, null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Execute this query asynchronously.
+     * <p>
+     * Unless the client's {@link QueryConsistency} of this query type is {@link QueryConsistency#STRONG}, the result of
+     * an equivalent query in flight or cached by the client is returned instead of sending another request.
+     *
+     * @param client  The client with which this will be executed.
+     * @param timeout The timeout after which the execution attempt will be cancelled.
+     * @return Future result of execution
+     */
+    @Override
+    public CompletableFuture<O> executeAsync(Client client, Duration timeout) {
+        var responseCache = client.queryResponseCache;
+        var consistency = responseCache.getConsistency(getClass());
+
+        if (consistency == QueryConsistency.STRONG) {
+            return super.executeAsync(client, timeout);
+        }
+
+        var flight = responseCache.join(new QueryKey(getClass(), toKeyBytes()));
+
+        if (!flight.isLeader()) {
+            // noinspection unchecked
+            return flight.getFuture()
+                    .thenApply(result -> (O) result)
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        CompletableFuture<O> future;
+
+        try {
+            future = super.executeAsync(client, timeout);
+        } catch (RuntimeException e) {
+            responseCache.complete(flight, consistency, null, e);
+            throw e;
+        }
+
+        return future.whenComplete((result, error) -> responseCache.complete(flight, consistency, result, error));
+    }
+
     @Override
     void onExecute(Client client) throws TimeoutException, PrecheckStatusException {
         var grpcCostQuery = new GrpcCostQuery(client);
+        paidFromCostCache = false;
 
         if (grpcCostQuery.isNotRequired()) {
             return;
         }
 
         if (grpcCostQuery.getCost() == null) {
-            grpcCostQuery.setCost(getCost(client));
+            var costCache = client.queryCostCache;
+            var cacheKey = getCostCacheKey(client);
+            var cost = cacheKey != null ? costCache.get(cacheKey) : null;
+
+            if (cost != null) {
+                paidFromCostCache = true;
+            } else if (costCache.tryBeginLookup()) {
+                try {
+                    cost = getCost(client);
+                } finally {
+                    costCache.endLookup();
+                }
+
+                if (cacheKey != null) {
+                    costCache.put(cacheKey, cost);
+                }
+            } else {
+                // too many cost lookups in flight, pay the maximum instead of adding another one
+                cost = grpcCostQuery.maxCost;
+            }
+
+            grpcCostQuery.setCost(cost);
 
             if (grpcCostQuery.shouldError()) {
                 throw grpcCostQuery.mapError();
@@ -308,6 +470,7 @@ public abstract class Query<O, T extends Query<O, T>>
     @Override
     CompletableFuture<Void> onExecuteAsync(Client client) {
         var grpcCostQuery = new GrpcCostQuery(client);
+        paidFromCostCache = false;
 
         if (grpcCostQuery.isNotRequired()) {
             return CompletableFuture.completedFuture(null);
@@ -316,9 +479,32 @@ public abstract class Query<O, T extends Query<O, T>>
         return CompletableFuture.supplyAsync(
                         () -> {
                             if (grpcCostQuery.getCost() == null) {
-                                // No payment was specified so we need to go ask
-                                // This is a query in its own right so we use a nested future here
-                                return getCostAsync(client).thenCompose(cost -> {
+                                var costCache = client.queryCostCache;
+                                var cacheKey = getCostCacheKey(client);
+                                var cachedCost = cacheKey != null ? costCache.get(cacheKey) : null;
+                                CompletableFuture<Hbar> costFuture;
+
+                                if (cachedCost != null) {
+                                    paidFromCostCache = true;
+                                    costFuture = CompletableFuture.completedFuture(cachedCost);
+                                } else if (costCache.tryBeginLookup()) {
+                                    // No payment was specified so we need to go ask
+                                    // This is a query in its own right so we use a nested future here
+                                    costFuture = getCostAsync(client)
+                                            .whenComplete((cost, error) -> costCache.endLookup())
+                                            .thenApply(cost -> {
+                                                if (cacheKey != null) {
+                                                    costCache.put(cacheKey, cost);
+                                                }
+
+                                                return cost;
+                                            });
+                                } else {
+                                    // too many cost lookups in flight, pay the maximum instead of adding another one
+                                    costFuture = CompletableFuture.completedFuture(grpcCostQuery.maxCost);
+                                }
+
+                                return costFuture.thenCompose(cost -> {
                                     grpcCostQuery.setCost(cost);
 
                                     if (grpcCostQuery.shouldError()) {
@@ -338,6 +524,27 @@ public abstract class Query<O, T extends Query<O, T>>
                 });
     }
 
+    @Override
+    void onExecuteComplete(Client client) {
+        var reservation = poolReservations.poll();
+
+        if (reservation != null) {
+            client.operatorPool.release(reservation.accountId, reservation.cost, reservation.cost);
+        }
+    }
+
+    @Override
+    void onResponseStatus(Client client, Status status) {
+        if (status == Status.INSUFFICIENT_PAYER_BALANCE && paymentOperator != null) {
+            client.operatorPool.exclude(paymentOperator.accountId);
+        }
+
+        if (status == Status.INSUFFICIENT_TX_FEE && paidFromCostCache) {
+            // the cached cost is stale, most likely because the fee schedule changed
+            client.queryCostCache.invalidate();
+        }
+    }
+
     private void initWithNodeIds(Client client) {
         if (client.isAutoValidateChecksumsEnabled()) {
             try {
@@ -455,7 +662,21 @@ public abstract class Query<O, T extends Query<O, T>>
         return builder.toString();
     }
 
+    /**
+     * The payment an execution reserved from an operator pool account.
+     */
+    private static final class PoolReservation {
+        private final AccountId accountId;
+        private final Hbar cost;
+
+        PoolReservation(AccountId accountId, Hbar cost) {
+            this.accountId = accountId;
+            this.cost = cost;
+        }
+    }
+
     private class GrpcCostQuery {
+        private final Client client;
         private final Hbar maxCost;
         private final boolean notRequired;
 
@@ -465,6 +686,8 @@ public abstract class Query<O, T extends Query<O, T>>
         GrpcCostQuery(Client client) {
             Query.this.initWithNodeIds(client);
 
+            this.client = client;
+
             cost = Query.this.queryPayment;
             notRequired = (Query.this.paymentTransactions != null) || !Query.this.isPaymentRequired();
             maxCost = MoreObjects.firstNonNull(Query.this.maxQueryPayment, client.defaultMaxQueryPayment);
@@ -508,6 +731,11 @@ public abstract class Query<O, T extends Query<O, T>>
             for (int i = 0; i < Query.this.nodeAccountIds.size(); i++) {
                 Query.this.paymentTransactions.add(null);
             }
+
+            if (client.operatorPool.get(operator.accountId) != null) {
+                client.operatorPool.acquire(operator.accountId, cost);
+                Query.this.poolReservations.add(new PoolReservation(operator.accountId, cost));
+            }
         }
     }
 
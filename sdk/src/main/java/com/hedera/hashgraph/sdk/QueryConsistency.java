@@ -0,0 +1,21 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+/**
+ * Enum for how fresh the result of a query executed through a {@link Client} must be.
+ */
+public enum QueryConsistency {
+    /**
+     * Every execution sends its own request
+     */
+    STRONG,
+    /**
+     * Executions of an equivalent query that is already in flight wait for and share its result
+     */
+    SINGLE_FLIGHT,
+    /**
+     * Like {@link #SINGLE_FLIGHT}, and results are also shared with equivalent queries executed within the query cache
+     * TTL
+     */
+    CACHED
+}
@@ -0,0 +1,207 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Internal utility class for remembering the cost of paid queries, so executing a query does not need a
+ * {@code COST_ANSWER} round trip every time.
+ * <p>
+ * Costs are keyed by the query type and the parts of the query that determine its cost, and expire after a TTL. The
+ * whole cache is invalidated when the client observes a new exchange rate in a receipt, or when a node rejects a query
+ * paid from the cache with {@link Status#INSUFFICIENT_TX_FEE}, which indicates that the fee schedule changed.
+ * <p>
+ * When a fallback threshold is set and that many cost lookups are already in flight, further cache misses skip the
+ * lookup and pay the maximum query payment instead.
+ */
+class QueryCostCache {
+    /**
+     * The maximum number of cached costs; expired costs are evicted when it is reached, and the cache is cleared when
+     * every cost is still fresh.
+     */
+    static final int MAX_ENTRIES = 4096;
+
+    private final ConcurrentHashMap<QueryKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlightLookups = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    private volatile Duration ttl = Duration.ZERO;
+
+    private volatile int fallbackThreshold = 0;
+
+    /**
+     * The exchange rate the cached costs were observed under, as {@code cents / hbars}.
+     */
+    private int exchangeRateHbars = 0;
+
+    private int exchangeRateCents = 0;
+
+    /**
+     * Constructor.
+     */
+    QueryCostCache() {}
+
+    Duration getTtl() {
+        return ttl;
+    }
+
+    void setTtl(Duration ttl) {
+        this.ttl = ttl;
+
+        if (ttl.isZero()) {
+            entries.clear();
+        }
+    }
+
+    boolean isEnabled() {
+        return !ttl.isZero();
+    }
+
+    int getFallbackThreshold() {
+        return fallbackThreshold;
+    }
+
+    void setFallbackThreshold(int fallbackThreshold) {
+        this.fallbackThreshold = fallbackThreshold;
+    }
+
+    /**
+     * Look up a fresh cost.
+     *
+     * @param key                       the query key
+     * @return                          the cost, or {@code null} on a miss
+     */
+    @Nullable
+    Hbar get(QueryKey key) {
+        var entry = entries.get(key);
+
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            hits.increment();
+            return entry.cost;
+        }
+
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Remember the cost of a query.
+     *
+     * @param key                       the query key
+     * @param cost                      the cost
+     */
+    void put(QueryKey key, Hbar cost) {
+        var now = System.nanoTime();
+
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+
+        entries.put(key, new Entry(cost, now + ttl.toNanos()));
+    }
+
+    /**
+     * Start a cost lookup, unless the fallback threshold of lookups is already in flight.
+     *
+     * @return                          whether the lookup may start; if not, the caller falls back to the maximum
+     *                                  query payment
+     */
+    boolean tryBeginLookup() {
+        var threshold = fallbackThreshold;
+
+        if (threshold <= 0) {
+            inFlightLookups.incrementAndGet();
+            return true;
+        }
+
+        while (true) {
+            var current = inFlightLookups.get();
+
+            if (current >= threshold) {
+                fallbacks.increment();
+                return false;
+            }
+
+            if (inFlightLookups.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finish a cost lookup started with {@link #tryBeginLookup()}.
+     */
+    void endLookup() {
+        inFlightLookups.decrementAndGet();
+    }
+
+    /**
+     * Forget every cached cost.
+     */
+    void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * Invalidate the cache if the exchange rate differs from the one the cached costs were observed under.
+     *
+     * @param hbars                     the hbar equivalent of the exchange rate
+     * @param cents                     the cent equivalent of the exchange rate
+     */
+    synchronized void observeExchangeRate(int hbars, int cents) {
+        if (hbars == 0) {
+            // receipts of failed transactions carry no exchange rate
+            return;
+        }
+
+        if (hbars != exchangeRateHbars || cents != exchangeRateCents) {
+            exchangeRateHbars = hbars;
+            exchangeRateCents = cents;
+            entries.clear();
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        final Hbar cost;
+        final long expiresAt;
+
+        Entry(Hbar cost, long expiresAt) {
+            this.cost = cost;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.util.Objects;
+
+/**
+ * Internal utility class identifying equivalent queries in the client's query caches: the query type and the
+ * serialized parts of the query that matter to the cache.
+ */
+final class QueryKey {
+    private final Class<?> queryType;
+    private final ByteString data;
+
+    /**
+     * Constructor.
+     *
+     * @param queryType                 the query type
+     * @param data                      the serialized query
+     */
+    QueryKey(Class<?> queryType, ByteString data) {
+        this.queryType = Objects.requireNonNull(queryType);
+        this.data = Objects.requireNonNull(data);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof QueryKey)) {
+            return false;
+        }
+
+        QueryKey key = (QueryKey) o;
+        return queryType.equals(key.queryType) && data.equals(key.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(queryType, data);
+    }
+}
@@ -0,0 +1,236 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Internal utility class for sharing the results of equivalent queries.
+ * <p>
+ * Query types opt in with a {@link QueryConsistency}. The first execution of a query becomes the leader and sends the
+ * request; equivalent executions that start while it is in flight follow it and get its result. With
+ * {@link QueryConsistency#CACHED}, successful results are also kept for the TTL, in a map bounded to the maximum size
+ * that evicts the least recently used result first. Results that cannot change, like those of contract calls pinned
+ * to a block, are kept until evicted. Failed executions are never cached.
+ */
+class QueryResponseCache {
+    static final Duration DEFAULT_TTL = Duration.ofSeconds(1);
+
+    static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final Map<Class<?>, QueryConsistency> consistencies = new ConcurrentHashMap<>();
+
+    /**
+     * In-flight and cached results, in access order.
+     */
+    private final LinkedHashMap<QueryKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private volatile Duration ttl = DEFAULT_TTL;
+
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    /**
+     * Constructor.
+     */
+    QueryResponseCache() {}
+
+    QueryConsistency getConsistency(Class<?> queryType) {
+        return consistencies.getOrDefault(queryType, QueryConsistency.STRONG);
+    }
+
+    void setConsistency(Class<?> queryType, QueryConsistency consistency) {
+        if (consistency == QueryConsistency.STRONG) {
+            consistencies.remove(queryType);
+        } else {
+            consistencies.put(queryType, consistency);
+        }
+    }
+
+    Duration getTtl() {
+        return ttl;
+    }
+
+    void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    /**
+     * Join the execution of a query: follow an equivalent query in flight or cached, or lead a new execution.
+     *
+     * @param key                       the query key
+     * @return                          the flight; its leader must {@link #complete} it
+     */
+    synchronized Flight join(QueryKey key) {
+        var entry = entries.get(key);
+
+        if (entry != null) {
+            if (!entry.future.isDone()) {
+                coalesced.increment();
+                return new Flight(entry, false);
+            }
+
+            if (entry.immutable || entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return new Flight(entry, false);
+            }
+
+            entries.remove(key);
+        }
+
+        misses.increment();
+
+        entry = new Entry(key);
+        entries.put(key, entry);
+        evict();
+
+        return new Flight(entry, true);
+    }
+
+    /**
+     * Complete a flight led by the caller, sharing its result with its followers.
+     *
+     * @param flight                    the flight
+     * @param consistency               the consistency of the query type
+     * @param result                    the result, if the execution succeeded
+     * @param error                     the error, if the execution failed
+     */
+    void complete(Flight flight, QueryConsistency consistency, @Nullable Object result, @Nullable Throwable error) {
+        complete(flight, consistency, result, error, false);
+    }
+
+    /**
+     * Complete a flight led by the caller, sharing its result with its followers.
+     *
+     * @param flight                    the flight
+     * @param consistency               the consistency of the query type
+     * @param result                    the result, if the execution succeeded
+     * @param error                     the error, if the execution failed
+     * @param immutable                 whether the result can never change, so it is cached until evicted
+     */
+    void complete(
+            Flight flight,
+            QueryConsistency consistency,
+            @Nullable Object result,
+            @Nullable Throwable error,
+            boolean immutable) {
+        var entry = flight.entry;
+
+        synchronized (this) {
+            if (error == null && consistency == QueryConsistency.CACHED) {
+                entry.expiresAt = System.nanoTime() + ttl.toNanos();
+                entry.immutable = immutable;
+            } else if (entries.get(entry.key) == entry) {
+                entries.remove(entry.key);
+            }
+        }
+
+        if (error != null) {
+            entry.future.completeExceptionally(error);
+        } else {
+            entry.future.complete(result);
+        }
+    }
+
+    /**
+     * Forget every cached result; queries in flight are still shared with their followers.
+     */
+    synchronized void clear() {
+        entries.values().removeIf(entry -> entry.future.isDone());
+    }
+
+    private void evict() {
+        var iterator = entries.values().iterator();
+
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * An execution joined through {@link #join}.
+     */
+    static final class Flight {
+        private final Entry entry;
+        private final boolean leader;
+
+        Flight(Entry entry, boolean leader) {
+            this.entry = entry;
+            this.leader = leader;
+        }
+
+        /**
+         * Is the caller leading this flight, i.e. must it execute the query and {@link #complete} the flight?
+         *
+         * @return                  whether the caller leads the flight
+         */
+        boolean isLeader() {
+            return leader;
+        }
+
+        /**
+         * The result shared by the flight.
+         *
+         * @return                  future result of the query
+         */
+        CompletableFuture<Object> getFuture() {
+            return entry.future;
+        }
+    }
+
+    private static final class Entry {
+        final QueryKey key;
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        /**
+         * When the cached result expires; only meaningful once the future completed successfully.
+         */
+        long expiresAt;
+
+        /**
+         * Whether the cached result never expires; only meaningful once the future completed successfully.
+         */
+        boolean immutable = false;
+
+        Entry(QueryKey key) {
+            this.key = key;
+            this.expiresAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Internal utility class for remembering values derived from Solidity signatures, such as parsed types or hashes.
+ * <p>
+ * Signatures normally come from a handful of call sites, so instead of tracking which entries are used, the cache
+ * starts over once it holds {@code maxEntries} values.
+ *
+ * @param <V> the type of the derived values
+ */
+final class SignatureCache<V> {
+    private final ConcurrentHashMap<String, V> values = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    private final Function<String, V> derive;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries                the maximum number of cached values
+     * @param derive                    derives the value of a signature
+     */
+    SignatureCache(int maxEntries, Function<String, V> derive) {
+        this.maxEntries = maxEntries;
+        this.derive = derive;
+    }
+
+    /**
+     * Get the value of a signature, deriving it if it is not cached.
+     *
+     * @param signature                 the signature
+     * @return                          the value
+     */
+    V get(String signature) {
+        var value = values.get(signature);
+
+        if (value == null) {
+            value = derive.apply(signature);
+
+            if (values.size() >= maxEntries) {
+                values.clear();
+            }
+
+            values.put(signature, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Extract the number of cached values.
+     *
+     * @return                          the number of cached values
+     */
+    int size() {
+        return values.size();
+    }
+}
@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nullable;
 
 /**
@@ -14,6 +15,10 @@ public final class SubscriptionHandle {
     @Nullable
     private Runnable onUnsubscribe;
 
+    private volatile boolean unsubscribed = false;
+
+    final LongAdder evictedChunkedMessages = new LongAdder();
+
     /**
      * Constructor.
      */
@@ -32,6 +37,8 @@ public final class SubscriptionHandle {
      * Call the callback.
      */
     public void unsubscribe() {
+        unsubscribed = true;
+
         var unsubscribe = this.onUnsubscribe;
 
         // Set onUnsubscribe back to null to make sure it is run just once.
@@ -41,4 +48,23 @@ public final class SubscriptionHandle {
             unsubscribe.run();
         }
     }
+
+    /**
+     * Whether {@link #unsubscribe()} was called.
+     *
+     * @return whether the subscription was unsubscribed
+     */
+    boolean isUnsubscribed() {
+        return unsubscribed;
+    }
+
+    /**
+     * Extract the number of chunked messages dropped because their remaining chunks did not arrive in time or too many
+     * incomplete messages were pending.
+     *
+     * @return the number of evicted chunked messages
+     */
+    public long getEvictedChunkedMessages() {
+        return evictedChunkedMessages.sum();
+    }
 }
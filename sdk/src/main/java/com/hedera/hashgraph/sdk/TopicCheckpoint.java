@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * The position of the last message of a topic that was delivered to, and accepted by, a consumer.
+ * <p>
+ * See {@link TopicCheckpointStore}.
+ */
+public final class TopicCheckpoint {
+    /**
+     * The topic.
+     */
+    public final TopicId topicId;
+
+    /**
+     * The consensus timestamp to resume after: that of the last delivered message, or just before the first chunk of
+     * the oldest chunked message that was still incomplete.
+     */
+    public final Instant consensusTimestamp;
+
+    /**
+     * The sequence number of the last delivered message; messages up to it are dropped when they are replayed.
+     */
+    public final long sequenceNumber;
+
+    /**
+     * Constructor.
+     *
+     * @param topicId                   the topic
+     * @param consensusTimestamp        the consensus timestamp to resume after
+     * @param sequenceNumber            the sequence number of the last delivered message
+     */
+    public TopicCheckpoint(TopicId topicId, Instant consensusTimestamp, long sequenceNumber) {
+        this.topicId = Objects.requireNonNull(topicId, "topicId must not be null");
+        this.consensusTimestamp = Objects.requireNonNull(consensusTimestamp, "consensusTimestamp must not be null");
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof TopicCheckpoint that)) {
+            return false;
+        }
+
+        return sequenceNumber == that.sequenceNumber
+                && topicId.equals(that.topicId)
+                && consensusTimestamp.equals(that.consensusTimestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(topicId, consensusTimestamp, sequenceNumber);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("topicId", topicId)
+                .add("consensusTimestamp", consensusTimestamp)
+                .add("sequenceNumber", sequenceNumber)
+                .toString();
+    }
+}
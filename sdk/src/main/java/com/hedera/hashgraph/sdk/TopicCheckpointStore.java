@@ -0,0 +1,35 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+
+/**
+ * Stores the last delivered message per topic, so a subscription can resume right after it, even in another process.
+ * <p>
+ * When a {@link TopicMessageQuery} has a store, subscribing starts after the stored checkpoint of the topic instead of
+ * the query's start time, and every message the consumer accepts without throwing is saved as the new checkpoint.
+ * {@link FileTopicCheckpointStore} is the default implementation.
+ * <p>
+ * Implementations must be thread safe.
+ */
+public interface TopicCheckpointStore {
+    /**
+     * Load the checkpoint of a topic.
+     *
+     * @param topicId                   the topic
+     * @return                          the checkpoint, or {@code null} when none was saved
+     * @throws IOException              when the checkpoint cannot be read
+     */
+    @Nullable
+    TopicCheckpoint load(TopicId topicId) throws IOException;
+
+    /**
+     * Save the checkpoint of a topic, replacing the previous one. Called once per delivered message, so
+     * implementations should batch the writes to durable storage.
+     *
+     * @param checkpoint                the checkpoint
+     * @throws IOException              when the checkpoint cannot be written
+     */
+    void save(TopicCheckpoint checkpoint) throws IOException;
+}
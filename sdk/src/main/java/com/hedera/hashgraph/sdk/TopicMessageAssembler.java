@@ -0,0 +1,193 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Internal utility class for reassembling topic messages that were submitted in several chunks.
+ * <p>
+ * Incomplete messages are bounded by count, by the total size of their chunks and by age, so chunks whose siblings
+ * never arrive cannot accumulate over the lifetime of a subscription. When a bound is exceeded, the oldest incomplete
+ * messages are evicted and counted.
+ * <p>
+ * Not thread safe; a subscription feeds it from one stream at a time.
+ */
+class TopicMessageAssembler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicMessageAssembler.class);
+
+    private final LinkedHashMap<TransactionID, PendingMessage> pendingMessages = new LinkedHashMap<>();
+
+    private final int maxPendingMessages;
+
+    private final long maxPendingBytes;
+
+    private final long maxPendingAgeNanos;
+
+    private final LongAdder evictions;
+
+    private long pendingBytes = 0;
+
+    /**
+     * Messages completed by a response up to this sequence number were delivered before the subscription resumed.
+     */
+    private long skipThrough = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param maxPendingMessages        the maximum number of incomplete messages
+     * @param maxPendingBytes           the maximum total size of the chunks of incomplete messages
+     * @param maxPendingAge             the maximum time between the first chunk of a message and its completion
+     * @param evictions                 counts the evicted incomplete messages
+     */
+    TopicMessageAssembler(int maxPendingMessages, long maxPendingBytes, Duration maxPendingAge, LongAdder evictions) {
+        this.maxPendingMessages = maxPendingMessages;
+        this.maxPendingBytes = maxPendingBytes;
+        this.maxPendingAgeNanos = maxPendingAge.toNanos();
+        this.evictions = evictions;
+    }
+
+    /**
+     * Add a response from the mirror node.
+     *
+     * @param response                  the response
+     * @return                          the message, once the response completes it; otherwise {@code null}
+     */
+    @Nullable
+    TopicMessage add(ConsensusTopicResponse response) {
+        var replayed = response.getSequenceNumber() <= skipThrough;
+
+        // Short circuit for no chunks or 1/1 chunks
+        if (!response.hasChunkInfo() || response.getChunkInfo().getTotal() == 1) {
+            return replayed ? null : TopicMessage.ofSingle(response);
+        }
+
+        var now = System.nanoTime();
+        evictExpired(now);
+
+        // get the list of chunks for this pending message
+        var initialTransactionID = response.getChunkInfo().getInitialTransactionID();
+
+        // Can't use `HashMap.putIfAbsent()` since that method is not available on Android
+        if (!pendingMessages.containsKey(initialTransactionID)) {
+            pendingMessages.put(initialTransactionID, new PendingMessage(now));
+        }
+
+        PendingMessage pending = pendingMessages.get(initialTransactionID);
+
+        // not possible as we do [putIfAbsent]
+        // add our response to the pending chunk list
+        var size = response.getMessage().size();
+        Objects.requireNonNull(pending).chunks.add(response);
+        pending.bytes += size;
+        pendingBytes += size;
+
+        // if we now have enough chunks, emit
+        if (pending.chunks.size() == response.getChunkInfo().getTotal()) {
+            pendingMessages.remove(initialTransactionID);
+            pendingBytes -= pending.bytes;
+            return replayed ? null : TopicMessage.ofMany(pending.chunks);
+        }
+
+        while (!pendingMessages.isEmpty()
+                && (pendingMessages.size() > maxPendingMessages || pendingBytes > maxPendingBytes)) {
+            evictOldest("too many incomplete messages are pending");
+        }
+
+        return null;
+    }
+
+    private void evictExpired(long now) {
+        while (!pendingMessages.isEmpty()) {
+            var oldest = pendingMessages.values().iterator().next();
+
+            if (now - oldest.firstChunkAt <= maxPendingAgeNanos) {
+                return;
+            }
+
+            evictOldest("its remaining chunks did not arrive in time");
+        }
+    }
+
+    private void evictOldest(String reason) {
+        var iterator = pendingMessages.entrySet().iterator();
+        var oldest = iterator.next();
+        iterator.remove();
+
+        pendingBytes -= oldest.getValue().bytes;
+        evictions.increment();
+
+        LOGGER.warn(
+                "Dropped chunked topic message {} with {} chunks because {}",
+                TransactionId.fromProtobuf(oldest.getKey()),
+                oldest.getValue().chunks.size(),
+                reason);
+    }
+
+    /**
+     * Drop the messages completed by responses up to a sequence number, which were already delivered before the
+     * subscription resumed. Their chunks are still collected, so no chunk is mistaken for a message of its own.
+     *
+     * @param sequenceNumber            the sequence number of the last delivered message
+     */
+    void skipThrough(long sequenceNumber) {
+        skipThrough = sequenceNumber;
+    }
+
+    /**
+     * Extract the first chunk of the oldest message still waiting for chunks, which is the earliest chunk of every
+     * pending message.
+     *
+     * @return                          the chunk, or {@code null} if no message is pending
+     */
+    @Nullable
+    ConsensusTopicResponse getOldestPendingChunk() {
+        if (pendingMessages.isEmpty()) {
+            return null;
+        }
+
+        return pendingMessages.values().iterator().next().chunks.get(0);
+    }
+
+    /**
+     * Extract the number of messages still waiting for chunks.
+     *
+     * @return the number of pending messages
+     */
+    int getPendingMessages() {
+        return pendingMessages.size();
+    }
+
+    /**
+     * Extract the total size of the chunks of messages still waiting for chunks.
+     *
+     * @return the number of pending bytes
+     */
+    long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    private static final class PendingMessage {
+        final ArrayList<ConsensusTopicResponse> chunks = new ArrayList<>();
+
+        /**
+         * When the first chunk arrived, in {@link System#nanoTime()}.
+         */
+        final long firstChunkAt;
+
+        long bytes = 0;
+
+        PendingMessage(long firstChunkAt) {
+            this.firstChunkAt = firstChunkAt;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Flow.Publisher} of a topic's messages, created with {@link TopicMessageQuery#toPublisher(Client)}.
+ * <p>
+ * Every subscriber gets its own stream from the mirror node, which uses gRPC's manual flow control: messages are only
+ * requested from the mirror node while the subscriber's buffer has room, so the demand of a slow subscriber is pushed
+ * back to the mirror node instead of being queued without bound.
+ * <p>
+ * Messages are delivered on the gRPC or client executor threads, never concurrently for the same subscriber.
+ */
+public final class TopicMessagePublisher implements Flow.Publisher<TopicMessage> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicMessagePublisher.class);
+
+    private final Client client;
+
+    private final ConsensusTopicQuery query;
+
+    private final int maxAttempts;
+
+    private final Duration maxBackoff;
+
+    private final Predicate<Throwable> retryHandler;
+
+    private final int maxBufferSize;
+
+    private final Function<LongAdder, TopicMessageAssembler> assemblerFactory;
+
+    private final Set<PublisherSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder deliveredMessages = new LongAdder();
+
+    private final LongAdder evictedChunkedMessages = new LongAdder();
+
+    TopicMessagePublisher(
+            Client client,
+            ConsensusTopicQuery query,
+            int maxAttempts,
+            Duration maxBackoff,
+            Predicate<Throwable> retryHandler,
+            int maxBufferSize,
+            Function<LongAdder, TopicMessageAssembler> assemblerFactory) {
+        this.client = client;
+        this.query = query;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoff = maxBackoff;
+        this.retryHandler = retryHandler;
+        this.maxBufferSize = maxBufferSize;
+        this.assemblerFactory = assemblerFactory;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TopicMessage> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber must not be null");
+
+        var subscription = new PublisherSubscription(subscriber);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        subscription.connect();
+    }
+
+    /**
+     * Extract the number of subscribers whose stream has not terminated.
+     *
+     * @return the number of active subscriptions
+     */
+    public int getActiveSubscriptions() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Extract the number of messages received from the mirror node but not yet delivered, over all subscribers.
+     *
+     * @return the buffer depth
+     */
+    public int getBufferedMessages() {
+        var buffered = 0;
+
+        for (var subscription : subscriptions) {
+            buffered += subscription.getBufferedMessages();
+        }
+
+        return buffered;
+    }
+
+    /**
+     * Extract the number of messages delivered to subscribers.
+     *
+     * @return the number of delivered messages
+     */
+    public long getDeliveredMessages() {
+        return deliveredMessages.sum();
+    }
+
+    /**
+     * Extract the number of chunked messages dropped because their remaining chunks did not arrive in time or too many
+     * incomplete messages were pending, over all subscribers.
+     *
+     * @return the number of evicted chunked messages
+     */
+    public long getEvictedChunkedMessages() {
+        return evictedChunkedMessages.sum();
+    }
+
+    /**
+     * Extract how far the slowest subscriber lags behind consensus: the time between the consensus timestamp of the
+     * last message it was delivered and now.
+     *
+     * @return the lag, or {@link Duration#ZERO} when no subscriber was delivered a message yet
+     */
+    public Duration getLag() {
+        var now = Instant.now();
+        var lag = Duration.ZERO;
+
+        for (var subscription : subscriptions) {
+            var lastDelivered = subscription.lastDeliveredTimestamp;
+
+            if (lastDelivered != null) {
+                var subscriptionLag = Duration.between(lastDelivered, now);
+                lag = subscriptionLag.compareTo(lag) > 0 ? subscriptionLag : lag;
+            }
+        }
+
+        return lag;
+    }
+
+    private final class PublisherSubscription
+            implements Flow.Subscription, ClientResponseObserver<ConsensusTopicQuery, ConsensusTopicResponse> {
+        private final Flow.Subscriber<? super TopicMessage> subscriber;
+
+        private final SubscriptionHandle subscriptionHandle = new SubscriptionHandle();
+
+        private final TopicMessageAssembler assembler = assemblerFactory.apply(evictedChunkedMessages);
+
+        private final ArrayDeque<TopicMessage> buffer = new ArrayDeque<>();
+
+        /**
+         * Serializes {@link #drain()}, so the subscriber is never signalled concurrently.
+         */
+        private final AtomicInteger drainers = new AtomicInteger();
+
+        private long demand = 0;
+
+        /**
+         * Responses requested from the current stream and not yet received.
+         */
+        private int outstanding = 0;
+
+        private long received = 0;
+
+        private int attempt = 0;
+
+        @Nullable
+        private ConsensusTopicResponse lastResponse;
+
+        @Nullable
+        private ClientCallStreamObserver<ConsensusTopicQuery> stream;
+
+        private boolean done = false;
+
+        @Nullable
+        private Throwable error;
+
+        private boolean terminated = false;
+
+        private volatile boolean cancelled = false;
+
+        @Nullable
+        private volatile Instant lastDeliveredTimestamp;
+
+        PublisherSubscription(Flow.Subscriber<? super TopicMessage> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        synchronized long getReceived() {
+            return received;
+        }
+
+        synchronized int getBufferedMessages() {
+            return buffer.size();
+        }
+
+        void connect() {
+            if (cancelled) {
+                return;
+            }
+
+            ConsensusTopicQuery request;
+
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+
+                request = query;
+
+                // Update the start time and limit on retry
+                if (lastResponse != null) {
+                    var builder = query.toBuilder();
+
+                    if (query.getLimit() > 0) {
+                        builder.setLimit(query.getLimit() - received);
+                    }
+
+                    var lastStartTime = lastResponse.getConsensusTimestamp();
+                    builder.setConsensusStartTime(
+                            Timestamp.newBuilder(lastStartTime).setNanos(lastStartTime.getNanos() + 1));
+                    request = builder.build();
+                }
+
+                stream = null;
+                outstanding = 0;
+            }
+
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call;
+
+            try {
+                call = client.mirrorNetwork
+                        .getNextMirrorNode()
+                        .getChannel()
+                        .newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                synchronized (this) {
+                    done = true;
+                    error = e;
+                }
+
+                drain();
+                return;
+            }
+
+            subscriptionHandle.setOnUnsubscribe(() -> {
+                client.untrackSubscription(subscriptionHandle);
+
+                call.cancel("unsubscribe", null);
+            });
+
+            client.trackSubscription(subscriptionHandle);
+
+            // an unsubscribe before the callback was installed ran the previous one and left this call running
+            if (subscriptionHandle.isUnsubscribed()) {
+                client.untrackSubscription(subscriptionHandle);
+                call.cancel("unsubscribe", null);
+                drain();
+                return;
+            }
+
+            try {
+                ClientCalls.asyncServerStreamingCall(call, request, this);
+            } catch (IllegalStateException e) {
+                // the call was cancelled before it started
+                if (!subscriptionHandle.isUnsubscribed()) {
+                    throw e;
+                }
+            }
+
+            drain();
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<ConsensusTopicQuery> requestStream) {
+            // nothing is requested until the subscriber's buffer has room
+            requestStream.disableAutoRequestWithInitial(0);
+
+            synchronized (this) {
+                stream = requestStream;
+            }
+        }
+
+        @Override
+        public void onNext(ConsensusTopicResponse response) {
+            TopicMessage message;
+
+            synchronized (this) {
+                outstanding--;
+                received++;
+                lastResponse = response;
+                message = assembler.add(response);
+
+                if (message != null) {
+                    buffer.add(message);
+                }
+            }
+
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (cancelled) {
+                return;
+            }
+
+            synchronized (this) {
+                stream = null;
+            }
+
+            // a limit of 0 would mean no limit, so do not resume once the limit is reached
+            var limitReached = query.getLimit() > 0 && getReceived() >= query.getLimit();
+
+            if (!limitReached && attempt < maxAttempts && retryHandler.test(t)) {
+                var delay = Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
+                attempt++;
+
+                LOGGER.warn(
+                        "Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
+                        TopicId.fromProtobuf(query.getTopicID()),
+                        attempt - 1,
+                        delay,
+                        t.getMessage());
+
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, client.executor)
+                        .execute(this::connect);
+                return;
+            }
+
+            synchronized (this) {
+                done = true;
+                error = t;
+            }
+
+            drain();
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this) {
+                done = true;
+            }
+
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Reactive Streams rule 3.9
+                synchronized (this) {
+                    done = true;
+                    error = new IllegalArgumentException("request must be positive, got " + n);
+                    buffer.clear();
+                }
+
+                subscriptionHandle.unsubscribe();
+                drain();
+                return;
+            }
+
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptionHandle.unsubscribe();
+            subscriptions.remove(this);
+        }
+
+        private void drain() {
+            if (drainers.getAndIncrement() != 0) {
+                return;
+            }
+
+            var missed = 1;
+
+            do {
+                while (true) {
+                    TopicMessage message;
+
+                    synchronized (this) {
+                        if (cancelled || demand == 0 || buffer.isEmpty()) {
+                            break;
+                        }
+
+                        message = buffer.poll();
+
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                    }
+
+                    lastDeliveredTimestamp = message.consensusTimestamp;
+                    deliveredMessages.increment();
+
+                    try {
+                        subscriber.onNext(message);
+                    } catch (Throwable t) {
+                        // Reactive Streams rule 2.13: a throwing subscriber is considered cancelled
+                        LOGGER.error("Subscriber to topic {} failed", TopicId.fromProtobuf(query.getTopicID()), t);
+                        cancel();
+                    }
+                }
+
+                ClientCallStreamObserver<ConsensusTopicQuery> requestStream = null;
+                var credits = 0;
+                var terminate = false;
+                Throwable terminalError = null;
+
+                synchronized (this) {
+                    if (cancelled) {
+                        buffer.clear();
+                    } else if (done && buffer.isEmpty() && !terminated) {
+                        terminated = true;
+                        terminate = true;
+                        terminalError = error;
+                    } else if (!done && stream != null) {
+                        var room = maxBufferSize - buffer.size() - outstanding;
+
+                        // top the buffer up in batches rather than one response at a time
+                        if (room > 0 && (outstanding == 0 || room >= Math.max(1, maxBufferSize / 2))) {
+                            requestStream = stream;
+                            credits = room;
+                            outstanding += room;
+                        }
+                    }
+                }
+
+                if (requestStream != null) {
+                    requestStream.request(credits);
+                }
+
+                if (terminate) {
+                    subscriptions.remove(this);
+                    client.untrackSubscription(subscriptionHandle);
+
+                    if (terminalError != null) {
+                        subscriber.onError(terminalError);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                }
+
+                missed = drainers.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
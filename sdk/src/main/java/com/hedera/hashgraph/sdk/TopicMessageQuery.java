@@ -1,8 +1,6 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.hashgraph.sdk;
 
-import com.hedera.hashgraph.sdk.proto.Timestamp;
-import com.hedera.hashgraph.sdk.proto.TransactionID;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
@@ -12,16 +10,20 @@ import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.ClientCalls;
 import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +41,13 @@ public final class TopicMessageQuery {
     private int maxAttempts = 10;
     private Duration maxBackoff = Duration.ofSeconds(8L);
     private Predicate<Throwable> retryHandler = this::shouldRetry;
+    private int maxBufferSize = 256;
+    private int maxPendingChunkedMessages = 1000;
+    private long maxPendingChunkBytes = 16L * 1024 * 1024;
+    private Duration maxPendingChunkAge = Duration.ofMinutes(5);
+
+    @Nullable
+    private TopicCheckpointStore checkpointStore = null;
 
     /**
      * Constructor.
@@ -158,6 +167,173 @@ public final class TopicMessageQuery {
         return this;
     }
 
+    /**
+     * Assign the maximum number of messages a {@link #toPublisher(Client) publisher} buffers per subscriber. Once the
+     * buffer is full, no more messages are requested from the mirror node until the subscriber catches up. Defaults
+     * to 256.
+     *
+     * @param maxBufferSize the maximum buffer size
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxBufferSize(int maxBufferSize) {
+        if (maxBufferSize < 1) {
+            throw new IllegalArgumentException("maxBufferSize must be at least 1");
+        }
+        this.maxBufferSize = maxBufferSize;
+        return this;
+    }
+
+    /**
+     * Assign the maximum number of chunked messages per subscription that wait for their remaining chunks. When
+     * exceeded, the oldest incomplete message is dropped, see {@link SubscriptionHandle#getEvictedChunkedMessages()}.
+     * Defaults to 1000.
+     *
+     * @param maxPendingChunkedMessages the maximum number of incomplete messages
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxPendingChunkedMessages(int maxPendingChunkedMessages) {
+        if (maxPendingChunkedMessages < 1) {
+            throw new IllegalArgumentException("maxPendingChunkedMessages must be at least 1");
+        }
+        this.maxPendingChunkedMessages = maxPendingChunkedMessages;
+        return this;
+    }
+
+    /**
+     * Assign the maximum total size, in bytes, of the chunks per subscription that wait for the rest of their message.
+     * When exceeded, the oldest incomplete message is dropped. Defaults to 16 MiB.
+     *
+     * @param maxPendingChunkBytes the maximum size of incomplete messages
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxPendingChunkBytes(long maxPendingChunkBytes) {
+        if (maxPendingChunkBytes < 1) {
+            throw new IllegalArgumentException("maxPendingChunkBytes must be at least 1");
+        }
+        this.maxPendingChunkBytes = maxPendingChunkBytes;
+        return this;
+    }
+
+    /**
+     * Assign how long a chunked message may wait for its remaining chunks after its first chunk arrived, before it is
+     * dropped. Defaults to 5 minutes.
+     *
+     * @param maxPendingChunkAge the maximum age of incomplete messages
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxPendingChunkAge(Duration maxPendingChunkAge) {
+        Objects.requireNonNull(maxPendingChunkAge, "maxPendingChunkAge must not be null");
+        if (maxPendingChunkAge.isNegative() || maxPendingChunkAge.isZero()) {
+            throw new IllegalArgumentException("maxPendingChunkAge must be positive");
+        }
+        this.maxPendingChunkAge = maxPendingChunkAge;
+        return this;
+    }
+
+    /**
+     * Assign the store of the last delivered message of the topic. Subscriptions then start right after the stored
+     * message, when there is one, instead of at the start time, and save every message the consumer accepts without
+     * throwing. While chunked messages are incomplete, the checkpoint is kept just before their first chunk, so they
+     * are not lost on resume; the messages replayed after it that were already delivered are dropped. Applies to
+     * {@link #subscribe(Client, Consumer)} and {@link TopicSubscriptionManager}.
+     *
+     * @param checkpointStore the checkpoint store, or {@code null} to not checkpoint
+     * @return {@code this}
+     */
+    public TopicMessageQuery setCheckpointStore(@Nullable TopicCheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+        return this;
+    }
+
+    /**
+     * Load the checkpoint of the topic, as the last response to resume after.
+     *
+     * @return the last delivered response, or {@code null} to start at the start time
+     */
+    @Nullable
+    ConsensusTopicResponse loadCheckpoint() {
+        if (checkpointStore == null) {
+            return null;
+        }
+
+        var topicId = TopicId.fromProtobuf(builder.getTopicID());
+        TopicCheckpoint checkpoint;
+
+        try {
+            checkpoint = checkpointStore.load(topicId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the checkpoint of topic " + topicId, e);
+        }
+
+        if (checkpoint == null) {
+            return null;
+        }
+
+        return ConsensusTopicResponse.newBuilder()
+                .setConsensusTimestamp(InstantConverter.toProtobuf(checkpoint.consensusTimestamp))
+                .setSequenceNumber(checkpoint.sequenceNumber)
+                .build();
+    }
+
+    /**
+     * Save a delivered message as the checkpoint of the topic. Failures are logged; the next message retries.
+     * <p>
+     * If chunked messages are still incomplete, the checkpoint resumes at the first of their chunks instead, and
+     * {@link TopicMessageAssembler#skipThrough(long)} drops the messages up to this one when they are replayed.
+     *
+     * @param message   the message accepted by the consumer
+     * @param assembler the assembler of the subscription
+     */
+    void saveCheckpoint(TopicMessage message, TopicMessageAssembler assembler) {
+        if (checkpointStore == null) {
+            return;
+        }
+
+        var topicId = TopicId.fromProtobuf(builder.getTopicID());
+        var consensusTimestamp = message.consensusTimestamp;
+        var oldestPendingChunk = assembler.getOldestPendingChunk();
+
+        if (oldestPendingChunk != null) {
+            consensusTimestamp =
+                    InstantConverter.fromProtobuf(oldestPendingChunk.getConsensusTimestamp()).minusNanos(1);
+        }
+
+        try {
+            checkpointStore.save(new TopicCheckpoint(topicId, consensusTimestamp, message.sequenceNumber));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to save the checkpoint of topic {}", topicId, e);
+        }
+    }
+
+    ConsensusTopicQuery buildQuery() {
+        return builder.build();
+    }
+
+    Runnable getCompletionHandler() {
+        return completionHandler;
+    }
+
+    BiConsumer<Throwable, TopicMessage> getErrorHandler() {
+        return errorHandler;
+    }
+
+    int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    Predicate<Throwable> getRetryHandler() {
+        return retryHandler;
+    }
+
+    TopicMessageAssembler newAssembler(LongAdder evictions) {
+        return new TopicMessageAssembler(
+                maxPendingChunkedMessages, maxPendingChunkBytes, maxPendingChunkAge, evictions);
+    }
+
     private void onComplete() {
         var topicId = TopicId.fromProtobuf(builder.getTopicID());
         LOGGER.info("Subscription to topic {} complete", topicId);
@@ -209,7 +385,37 @@ public final class TopicMessageQuery {
     }
 
     /**
-     * Subscribe to the topic.
+     * Create a publisher of the topic's messages that honors the demand of its subscribers.
+     * <p>
+     * Unlike {@link #subscribe(Client, Consumer)}, messages are only requested from the mirror node as the subscriber
+     * signals demand, with at most {@link #setMaxBufferSize(int) maxBufferSize} messages buffered in between, so a slow
+     * subscriber slows the stream down instead of piling up messages. Each subscriber gets its own stream; retries
+     * follow {@link #setMaxAttempts(int)}, {@link #setMaxBackoff(Duration)} and {@link #setRetryHandler(Predicate)},
+     * while the completion and error handlers are replaced by the subscriber's {@code onComplete} and
+     * {@code onError}.
+     *
+     * @param client the configured client
+     * @return the publisher
+     */
+    public TopicMessagePublisher toPublisher(Client client) {
+        Objects.requireNonNull(client, "client must not be null");
+        var maxPendingMessages = maxPendingChunkedMessages;
+        var maxPendingBytes = maxPendingChunkBytes;
+        var maxPendingAge = maxPendingChunkAge;
+
+        return new TopicMessagePublisher(
+                client,
+                builder.build(),
+                maxAttempts,
+                maxBackoff,
+                retryHandler,
+                maxBufferSize,
+                evictions -> new TopicMessageAssembler(maxPendingMessages, maxPendingBytes, maxPendingAge, evictions));
+    }
+
+    /**
+     * Subscribe to the topic. With a {@link #setCheckpointStore(TopicCheckpointStore) checkpoint store}, the
+     * subscription resumes right after the last message the consumer accepted.
      *
      * @param client the configured client
      * @param onNext the consumer
@@ -218,11 +424,17 @@ public final class TopicMessageQuery {
     // TODO: Refactor into a base class when we add more mirror query types
     public SubscriptionHandle subscribe(Client client, Consumer<TopicMessage> onNext) {
         SubscriptionHandle subscriptionHandle = new SubscriptionHandle();
-        HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages = new HashMap<>();
+        var assembler = newAssembler(subscriptionHandle.evictedChunkedMessages);
+
+        // resuming after the checkpoint is the same as retrying after it
+        var lastMessage = new AtomicReference<>(loadCheckpoint());
+
+        if (lastMessage.get() != null) {
+            assembler.skipThrough(lastMessage.get().getSequenceNumber());
+        }
 
         try {
-            makeStreamingCall(
-                    client, subscriptionHandle, onNext, 0, new AtomicLong(), new AtomicReference<>(), pendingMessages);
+            makeStreamingCall(client, subscriptionHandle, onNext, 0, new AtomicLong(), lastMessage, assembler);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
@@ -237,7 +449,7 @@ public final class TopicMessageQuery {
             int attempt,
             AtomicLong counter,
             AtomicReference<ConsensusTopicResponse> lastMessage,
-            HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages)
+            TopicMessageAssembler assembler)
             throws InterruptedException {
         // TODO: check status of channel before using it?
         ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call = client.mirrorNetwork
@@ -253,6 +465,12 @@ public final class TopicMessageQuery {
 
         client.trackSubscription(subscriptionHandle);
 
+        // an unsubscribe after the caller checked the handle ran the callback of the previous call instead of this one
+        if (subscriptionHandle.isUnsubscribed()) {
+            client.untrackSubscription(subscriptionHandle);
+            return;
+        }
+
         var newBuilder = builder;
 
         // Update the start time and limit on retry
@@ -263,54 +481,28 @@ public final class TopicMessageQuery {
                 newBuilder.setLimit(builder.getLimit() - counter.get());
             }
 
-            var lastStartTime = lastMessage.get().getConsensusTimestamp();
-            var nextStartTime = Timestamp.newBuilder(lastStartTime).setNanos(lastStartTime.getNanos() + 1);
-            newBuilder.setConsensusStartTime(nextStartTime);
+            // a checkpoint kept before a pending chunk may end in 999999999 nanos, so carry into the seconds
+            var lastStartTime = InstantConverter.fromProtobuf(lastMessage.get().getConsensusTimestamp());
+            newBuilder.setConsensusStartTime(InstantConverter.toProtobuf(lastStartTime.plusNanos(1)));
         }
 
-        ClientCalls.asyncServerStreamingCall(call, newBuilder.build(), new StreamObserver<>() {
+        var observer = new StreamObserver<ConsensusTopicResponse>() {
             @Override
             public void onNext(ConsensusTopicResponse consensusTopicResponse) {
                 counter.incrementAndGet();
                 lastMessage.set(consensusTopicResponse);
 
-                // Short circuit for no chunks or 1/1 chunks
-                if (!consensusTopicResponse.hasChunkInfo()
-                        || consensusTopicResponse.getChunkInfo().getTotal() == 1) {
-                    var message = TopicMessage.ofSingle(consensusTopicResponse);
+                var message = assembler.add(consensusTopicResponse);
 
+                if (message != null) {
                     try {
                         onNext.accept(message);
                     } catch (Throwable t) {
                         errorHandler.accept(t, message);
+                        return;
                     }
 
-                    return;
-                }
-
-                // get the list of chunks for this pending message
-                var initialTransactionID = consensusTopicResponse.getChunkInfo().getInitialTransactionID();
-
-                // Can't use `HashMap.putIfAbsent()` since that method is not available on Android
-                if (!pendingMessages.containsKey(initialTransactionID)) {
-                    pendingMessages.put(initialTransactionID, new ArrayList<>());
-                }
-
-                ArrayList<ConsensusTopicResponse> chunks = pendingMessages.get(initialTransactionID);
-
-                // not possible as we do [putIfAbsent]
-                // add our response to the pending chunk list
-                Objects.requireNonNull(chunks).add(consensusTopicResponse);
-
-                // if we now have enough chunks, emit
-                if (chunks.size() == consensusTopicResponse.getChunkInfo().getTotal()) {
-                    var message = TopicMessage.ofMany(chunks);
-
-                    try {
-                        onNext.accept(message);
-                    } catch (Throwable t) {
-                        errorHandler.accept(t, message);
-                    }
+                    saveCheckpoint(message, assembler);
                 }
             }
 
@@ -331,25 +523,42 @@ public final class TopicMessageQuery {
                         t.getMessage());
                 call.cancel("unsubscribed", null);
 
-                // Cannot use `CompletableFuture<U>` here since this future is never polled
-                try {
-                    Thread.sleep(delay);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-
-                try {
-                    makeStreamingCall(
-                            client, subscriptionHandle, onNext, attempt + 1, counter, lastMessage, pendingMessages);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
+                // schedule the next attempt rather than sleeping on the gRPC callback thread
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, client.executor)
+                        .execute(() -> {
+                            if (subscriptionHandle.isUnsubscribed()) {
+                                return;
+                            }
+
+                            try {
+                                makeStreamingCall(
+                                        client,
+                                        subscriptionHandle,
+                                        onNext,
+                                        attempt + 1,
+                                        counter,
+                                        lastMessage,
+                                        assembler);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                errorHandler.accept(e, null);
+                            }
+                        });
             }
 
             @Override
             public void onCompleted() {
                 completionHandler.run();
             }
-        });
+        };
+
+        try {
+            ClientCalls.asyncServerStreamingCall(call, newBuilder.build(), observer);
+        } catch (IllegalStateException e) {
+            // an unsubscribe between the check above and here cancelled the call before it could start
+            if (!subscriptionHandle.isUnsubscribed()) {
+                throw e;
+            }
+        }
     }
 }
@@ -0,0 +1,529 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Manage many topic subscriptions with shared resources.
+ * <p>
+ * Subscribing to thousands of topics with {@link TopicMessageQuery#subscribe(Client, Consumer)} gives every topic its
+ * own retry loop, its own thread waiting out backoffs and its own entry in the client's subscriptions. A manager
+ * instead:
+ * <ul>
+ *     <li>opens every stream as a call on the client's mirror node channels, which multiplex the calls over a few
+ *     connections;</li>
+ *     <li>dispatches messages through one ordered queue per subscription on a shared executor, so a slow consumer of
+ *     one topic does not hold up the gRPC threads or other topics. Each stream requests at most
+ *     {@link #setMaxQueuedResponses(int)} responses ahead of its consumer;</li>
+ *     <li>reconnects broken streams from one timer, at most {@link #setMaxReconnectsPerSecond(int)} at a time, so a
+ *     mirror node restart does not cause a burst of thousands of simultaneous reconnects;</li>
+ *     <li>reports lag and throughput per topic, see {@link #getStats()}.</li>
+ * </ul>
+ * The start and end time, limit, checkpoint store, retry handler, error handler and completion handler of each
+ * subscription are taken from its {@link TopicMessageQuery}. Closing the client closes the manager.
+ */
+public final class TopicSubscriptionManager implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicSubscriptionManager.class);
+
+    /**
+     * How often the reconnect timer runs.
+     */
+    static final Duration RECONNECT_TICK = Duration.ofMillis(100);
+
+    private final Client client;
+
+    private final SubscriptionHandle managerHandle = new SubscriptionHandle();
+
+    private final Set<ManagedSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Subscriptions waiting to reconnect, ordered by when they are due.
+     */
+    private final PriorityQueue<ManagedSubscription> reconnectQueue =
+            new PriorityQueue<>(Comparator.comparingLong(subscription -> subscription.reconnectAt));
+
+    private boolean reconnectScheduled = false;
+
+    private Executor dispatchExecutor;
+
+    private int maxQueuedResponses = 1000;
+
+    private int maxReconnectsPerSecond = 100;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor.
+     *
+     * @param client                    the client whose mirror network and executor are used
+     */
+    public TopicSubscriptionManager(Client client) {
+        this.client = Objects.requireNonNull(client, "client must not be null");
+        this.dispatchExecutor = client.executor;
+
+        managerHandle.setOnUnsubscribe(this::close);
+        client.trackSubscription(managerHandle);
+    }
+
+    /**
+     * Assign the executor messages are dispatched on. Messages of one subscription are dispatched in order and never
+     * concurrently. Defaults to the client's executor.
+     *
+     * @param dispatchExecutor          the dispatch executor
+     * @return {@code this}
+     */
+    public synchronized TopicSubscriptionManager setDispatchExecutor(Executor dispatchExecutor) {
+        this.dispatchExecutor = Objects.requireNonNull(dispatchExecutor, "dispatchExecutor must not be null");
+        return this;
+    }
+
+    /**
+     * Assign the maximum number of responses a subscription requests from the mirror node ahead of its consumer.
+     * Applies to subscriptions started afterwards. Defaults to 1000.
+     *
+     * @param maxQueuedResponses        the maximum number of queued responses
+     * @return {@code this}
+     */
+    public synchronized TopicSubscriptionManager setMaxQueuedResponses(int maxQueuedResponses) {
+        if (maxQueuedResponses < 1) {
+            throw new IllegalArgumentException("maxQueuedResponses must be at least 1");
+        }
+
+        this.maxQueuedResponses = maxQueuedResponses;
+        return this;
+    }
+
+    /**
+     * Assign the maximum number of broken streams reconnected per second; the rest wait for the next round. Defaults to
+     * 100.
+     *
+     * @param maxReconnectsPerSecond    the maximum reconnect rate
+     * @return {@code this}
+     */
+    public synchronized TopicSubscriptionManager setMaxReconnectsPerSecond(int maxReconnectsPerSecond) {
+        if (maxReconnectsPerSecond < 1) {
+            throw new IllegalArgumentException("maxReconnectsPerSecond must be at least 1");
+        }
+
+        this.maxReconnectsPerSecond = maxReconnectsPerSecond;
+        return this;
+    }
+
+    /**
+     * Subscribe to a topic.
+     *
+     * @param query                     the topic, time range, limit and handlers of the subscription
+     * @param onNext                    the consumer
+     * @return                          the handle to unsubscribe this subscription
+     */
+    public SubscriptionHandle subscribe(TopicMessageQuery query, Consumer<TopicMessage> onNext) {
+        Objects.requireNonNull(query, "query must not be null");
+        Objects.requireNonNull(onNext, "onNext must not be null");
+
+        if (closed) {
+            throw new IllegalStateException("TopicSubscriptionManager is closed");
+        }
+
+        ManagedSubscription subscription;
+
+        synchronized (this) {
+            subscription = new ManagedSubscription(
+                    query, onNext, MoreExecutors.newSequentialExecutor(dispatchExecutor), maxQueuedResponses);
+        }
+
+        subscriptions.add(subscription);
+        subscription.handle.setOnUnsubscribe(subscription::cancel);
+        subscription.connect();
+
+        return subscription.handle;
+    }
+
+    /**
+     * Extract a snapshot of the subscriptions per topic.
+     *
+     * @return                          the statistics per topic
+     */
+    public Map<TopicId, TopicSubscriptionStats> getStats() {
+        var now = Instant.now();
+        var nowNanos = System.nanoTime();
+        var stats = new HashMap<TopicId, TopicSubscriptionStats>();
+
+        for (var subscription : subscriptions) {
+            var lastDelivered = subscription.lastDeliveredTimestamp;
+            var lag = lastDelivered == null ? Duration.ZERO : Duration.between(lastDelivered, now);
+            var delivered = subscription.deliveredMessages.sum();
+            var elapsedSeconds = Math.max(1, nowNanos - subscription.startedAt) / 1e9;
+
+            var topicStats = new TopicSubscriptionStats(
+                    subscription.topicId,
+                    1,
+                    subscription.receivedResponses.sum(),
+                    delivered,
+                    subscription.queuedResponses.get(),
+                    subscription.reconnects.sum(),
+                    subscription.evictedChunkedMessages.sum(),
+                    lag,
+                    delivered / elapsedSeconds);
+
+            stats.merge(subscription.topicId, topicStats, TopicSubscriptionManager::merge);
+        }
+
+        return stats;
+    }
+
+    private static TopicSubscriptionStats merge(TopicSubscriptionStats a, TopicSubscriptionStats b) {
+        return new TopicSubscriptionStats(
+                a.topicId,
+                a.subscriptions + b.subscriptions,
+                a.receivedResponses + b.receivedResponses,
+                a.deliveredMessages + b.deliveredMessages,
+                a.queuedResponses + b.queuedResponses,
+                a.reconnects + b.reconnects,
+                a.evictedChunkedMessages + b.evictedChunkedMessages,
+                a.lag.compareTo(b.lag) >= 0 ? a.lag : b.lag,
+                a.messagesPerSecond + b.messagesPerSecond);
+    }
+
+    /**
+     * Extract the number of active subscriptions.
+     *
+     * @return                          the number of subscriptions
+     */
+    public int size() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Unsubscribe every subscription. The manager cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        for (var subscription : subscriptions) {
+            subscription.handle.unsubscribe();
+        }
+
+        synchronized (this) {
+            reconnectQueue.clear();
+        }
+
+        client.untrackSubscription(managerHandle);
+    }
+
+    private void scheduleReconnect(ManagedSubscription subscription, long delayMillis) {
+        synchronized (this) {
+            subscription.reconnectAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            reconnectQueue.add(subscription);
+        }
+
+        scheduleReconnectTick();
+    }
+
+    private synchronized void scheduleReconnectTick() {
+        if (reconnectScheduled || reconnectQueue.isEmpty() || closed) {
+            return;
+        }
+
+        reconnectScheduled = true;
+        CompletableFuture.delayedExecutor(RECONNECT_TICK.toMillis(), TimeUnit.MILLISECONDS, client.executor)
+                .execute(this::reconnectDue);
+    }
+
+    private void reconnectDue() {
+        var now = System.nanoTime();
+        var batch = new ArrayList<ManagedSubscription>();
+
+        synchronized (this) {
+            reconnectScheduled = false;
+
+            var budget = Math.max(1, maxReconnectsPerSecond * RECONNECT_TICK.toMillis() / 1000);
+
+            while (batch.size() < budget
+                    && !reconnectQueue.isEmpty()
+                    && reconnectQueue.peek().reconnectAt - now <= 0) {
+                batch.add(reconnectQueue.poll());
+            }
+        }
+
+        for (var subscription : batch) {
+            subscription.reconnects.increment();
+
+            // a subscription that cannot reconnect must not hold up the others
+            try {
+                subscription.connect();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to reconnect to topic {}: {}", subscription.topicId, e.getMessage());
+                subscription.fail(e);
+            }
+        }
+
+        scheduleReconnectTick();
+    }
+
+    private final class ManagedSubscription
+            implements ClientResponseObserver<ConsensusTopicQuery, ConsensusTopicResponse> {
+        final TopicMessageQuery query;
+
+        final TopicId topicId;
+
+        final Consumer<TopicMessage> onNext;
+
+        final Executor dispatcher;
+
+        final int window;
+
+        final SubscriptionHandle handle = new SubscriptionHandle();
+
+        final LongAdder evictedChunkedMessages = new LongAdder();
+
+        final TopicMessageAssembler assembler;
+
+        final LongAdder receivedResponses = new LongAdder();
+
+        final LongAdder deliveredMessages = new LongAdder();
+
+        final LongAdder reconnects = new LongAdder();
+
+        final AtomicInteger queuedResponses = new AtomicInteger();
+
+        final long startedAt = System.nanoTime();
+
+        /**
+         * When the subscription is due to reconnect, in {@link System#nanoTime()}; guarded by the manager.
+         */
+        long reconnectAt;
+
+        private int attempt = 0;
+
+        private long received = 0;
+
+        @Nullable
+        private ConsensusTopicResponse lastResponse;
+
+        @Nullable
+        private ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call;
+
+        @Nullable
+        private volatile Instant lastDeliveredTimestamp;
+
+        private volatile boolean cancelled = false;
+
+        ManagedSubscription(TopicMessageQuery query, Consumer<TopicMessage> onNext, Executor dispatcher, int window) {
+            this.query = query;
+            this.onNext = onNext;
+            this.dispatcher = dispatcher;
+            this.window = window;
+
+            var request = query.buildQuery();
+            this.topicId = TopicId.fromProtobuf(request.getTopicID());
+            this.assembler = query.newAssembler(evictedChunkedMessages);
+            this.lastResponse = query.loadCheckpoint();
+
+            if (lastResponse != null) {
+                assembler.skipThrough(lastResponse.getSequenceNumber());
+            }
+        }
+
+        void connect() {
+            if (cancelled) {
+                return;
+            }
+
+            var request = query.buildQuery();
+
+            synchronized (this) {
+                // Update the start time and limit on reconnect
+                if (lastResponse != null) {
+                    var builder = request.toBuilder();
+
+                    if (request.getLimit() > 0) {
+                        builder.setLimit(request.getLimit() - received);
+                    }
+
+                    // a checkpoint kept before a pending chunk may end in 999999999 nanos, so carry into the seconds
+                    var lastStartTime = InstantConverter.fromProtobuf(lastResponse.getConsensusTimestamp());
+                    builder.setConsensusStartTime(InstantConverter.toProtobuf(lastStartTime.plusNanos(1)));
+                    request = builder.build();
+                }
+            }
+
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> newCall;
+
+            try {
+                newCall = client.mirrorNetwork
+                        .getNextMirrorNode()
+                        .getChannel()
+                        .newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                return;
+            }
+
+            synchronized (this) {
+                call = newCall;
+            }
+
+            // a cancel before the call was published did not see it; any later cancel cancels it
+            if (cancelled) {
+                newCall.cancel("unsubscribe", null);
+                return;
+            }
+
+            try {
+                ClientCalls.asyncServerStreamingCall(newCall, request, this);
+            } catch (IllegalStateException e) {
+                // the call was cancelled before it started
+                if (!cancelled) {
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<ConsensusTopicQuery> requestStream) {
+            // responses are requested one by one as they are dispatched, keeping at most `window` ahead
+            requestStream.disableAutoRequestWithInitial(Math.max(1, window - queuedResponses.get()));
+        }
+
+        @Override
+        public void onNext(ConsensusTopicResponse response) {
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> currentCall;
+
+            synchronized (this) {
+                attempt = 0;
+                received++;
+                lastResponse = response;
+                currentCall = call;
+            }
+
+            receivedResponses.increment();
+            queuedResponses.incrementAndGet();
+
+            dispatcher.execute(() -> {
+                queuedResponses.decrementAndGet();
+
+                if (cancelled) {
+                    return;
+                }
+
+                var message = assembler.add(response);
+
+                if (message != null) {
+                    lastDeliveredTimestamp = message.consensusTimestamp;
+                    deliveredMessages.increment();
+
+                    try {
+                        onNext.accept(message);
+                        query.saveCheckpoint(message, assembler);
+                    } catch (Throwable t) {
+                        query.getErrorHandler().accept(t, message);
+                    }
+                }
+
+                if (currentCall != null) {
+                    currentCall.request(1);
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (cancelled) {
+                return;
+            }
+
+            var request = query.buildQuery();
+            var limitReached = request.getLimit() > 0 && getReceived() >= request.getLimit();
+
+            if (!limitReached && attempt < query.getMaxAttempts() && query.getRetryHandler().test(t)) {
+                var delay = Math.min(500 * (long) Math.pow(2, attempt), query.getMaxBackoff().toMillis());
+                attempt++;
+
+                LOGGER.warn(
+                        "Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
+                        topicId,
+                        attempt - 1,
+                        delay,
+                        t.getMessage());
+
+                scheduleReconnect(this, delay);
+                return;
+            }
+
+            fail(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            if (cancelled) {
+                return;
+            }
+
+            remove();
+
+            // complete after the queued messages were dispatched
+            dispatcher.execute(query.getCompletionHandler());
+        }
+
+        private synchronized long getReceived() {
+            return received;
+        }
+
+        private void fail(Throwable t) {
+            remove();
+            dispatcher.execute(() -> query.getErrorHandler().accept(t, null));
+        }
+
+        private void remove() {
+            subscriptions.remove(this);
+
+            synchronized (TopicSubscriptionManager.this) {
+                reconnectQueue.remove(this);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            remove();
+
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> currentCall;
+
+            synchronized (this) {
+                currentCall = call;
+            }
+
+            if (currentCall != null) {
+                currentCall.cancel("unsubscribe", null);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+
+/**
+ * A snapshot of the subscriptions of a {@link TopicSubscriptionManager} to one topic.
+ * <p>
+ * See {@link TopicSubscriptionManager#getStats()}.
+ */
+public final class TopicSubscriptionStats {
+    /**
+     * The topic.
+     */
+    public final TopicId topicId;
+
+    /**
+     * The number of active subscriptions to the topic.
+     */
+    public final int subscriptions;
+
+    /**
+     * The number of responses received from the mirror node, including every chunk of chunked messages.
+     */
+    public final long receivedResponses;
+
+    /**
+     * The number of messages delivered to the consumers.
+     */
+    public final long deliveredMessages;
+
+    /**
+     * The number of responses received but not yet dispatched.
+     */
+    public final int queuedResponses;
+
+    /**
+     * The number of times a broken stream was reconnected.
+     */
+    public final long reconnects;
+
+    /**
+     * The number of chunked messages dropped because their remaining chunks did not arrive.
+     */
+    public final long evictedChunkedMessages;
+
+    /**
+     * The time between the consensus timestamp of the last delivered message and now; for several subscriptions, the
+     * largest.
+     */
+    public final Duration lag;
+
+    /**
+     * The average number of messages delivered per second since the subscriptions started.
+     */
+    public final double messagesPerSecond;
+
+    TopicSubscriptionStats(
+            TopicId topicId,
+            int subscriptions,
+            long receivedResponses,
+            long deliveredMessages,
+            int queuedResponses,
+            long reconnects,
+            long evictedChunkedMessages,
+            Duration lag,
+            double messagesPerSecond) {
+        this.topicId = topicId;
+        this.subscriptions = subscriptions;
+        this.receivedResponses = receivedResponses;
+        this.deliveredMessages = deliveredMessages;
+        this.queuedResponses = queuedResponses;
+        this.reconnects = reconnects;
+        this.evictedChunkedMessages = evictedChunkedMessages;
+        this.lag = lag;
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("topicId", topicId)
+                .add("subscriptions", subscriptions)
+                .add("receivedResponses", receivedResponses)
+                .add("deliveredMessages", deliveredMessages)
+                .add("queuedResponses", queuedResponses)
+                .add("reconnects", reconnects)
+                .add("evictedChunkedMessages", evictedChunkedMessages)
+                .add("lag", lag)
+                .add("messagesPerSecond", messagesPerSecond)
+                .toString();
+    }
+}
@@ -3,6 +3,7 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import com.hedera.hashgraph.sdk.proto.SchedulableTransactionBody;
 import com.hedera.hashgraph.sdk.proto.SignatureMap;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
@@ -61,7 +62,7 @@ public abstract class Transaction<T extends Transaction<T>>
      */
     private static final Duration DEFAULT_TRANSACTION_VALID_DURATION = Duration.ofSeconds(120);
 
-    private static final String ATOMIC_BATCH_NODE_ACCOUNT_ID = "0.0.0";
+    static final String ATOMIC_BATCH_NODE_ACCOUNT_ID = "0.0.0";
 
     /**
      * Transaction constructors end their work by setting sourceTransactionBody. The expectation is that the Transaction
@@ -258,6 +259,18 @@ public abstract class Transaction<T extends Transaction<T>>
      * @throws InvalidProtocolBufferException when there is an issue with the protobuf
      */
     public static Transaction<?> fromBytes(byte[] bytes) throws InvalidProtocolBufferException {
+        // the bytes are only read while parsing, so they do not need to be copied
+        return fromBytes(UnsafeByteOperations.unsafeWrap(bytes));
+    }
+
+    /**
+     * Create the correct transaction from a byte string, e.g. one wrapping a region of a memory-mapped file.
+     *
+     * @param bytes the byte string
+     * @return the new transaction
+     * @throws InvalidProtocolBufferException when there is an issue with the protobuf
+     */
+    static Transaction<?> fromBytes(ByteString bytes) throws InvalidProtocolBufferException {
         var txs = new LinkedHashMap<
                 TransactionId, LinkedHashMap<AccountId, com.hedera.hashgraph.sdk.proto.Transaction>>();
         TransactionBody.DataCase dataCase = TransactionBody.DataCase.DATA_NOT_SET;
@@ -1171,10 +1184,10 @@ public abstract class Transaction<T extends Transaction<T>>
 
         if (transactionIds.isEmpty()) {
             if (client != null) {
-                var operator = client.getOperator();
+                var operator = client.getPayerOperator();
 
                 if (operator != null) {
-                    // Set a default transaction ID, generated from the operator account ID
+                    // Set a default transaction ID, generated from the operator (or pool operator) account ID
 
                     transactionIds.setList(Collections.singletonList(TransactionId.generate(operator.accountId)));
                 } else {
@@ -1221,6 +1234,47 @@ public abstract class Transaction<T extends Transaction<T>>
         return (T) this;
     }
 
+    /**
+     * Freeze this transaction using the invariant fields pre-computed by a {@link TransactionTemplate}.
+     * <p>
+     * Only the memo, transaction ID and the transaction specific data are taken from this transaction; the fee, valid
+     * duration, custom fee limits, batch key and node account IDs come from the template.
+     *
+     * @param template      the template
+     * @param transactionId the transaction ID to use if none was set explicitly
+     * @return {@code this}
+     */
+    final T freezeWithTemplate(TransactionTemplate template, TransactionId transactionId) {
+        requireNotFrozen();
+
+        if (transactionIds.isEmpty()) {
+            transactionIds.setList(Collections.singletonList(transactionId));
+        }
+
+        nodeAccountIds.setList(template.getNodeAccountIds());
+
+        // the template's fields win; keep the getters in agreement with the body that is signed
+        maxTransactionFee = template.getMaxTransactionFee();
+        transactionValidDuration = template.getTransactionValidDuration();
+        customFeeLimits = new ArrayList<>(template.getCustomFeeLimits());
+        batchKey = template.getBatchKey();
+
+        frozenBodyBuilder = template.spawnBodyBuilder()
+                .setMemo(memo)
+                .setTransactionID(transactionIds.get(0).toProtobuf());
+        onFreeze(frozenBodyBuilder);
+
+        int requiredChunks = getRequiredChunks();
+        generateTransactionIds(transactionIds.get(0), requiredChunks);
+        wipeTransactionLists(requiredChunks);
+
+        regenerateTransactionId =
+                regenerateTransactionId != null ? regenerateTransactionId : template.getRegenerateTransactionId();
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
     /**
      * There must be at least one chunk.
      *
@@ -1415,6 +1469,36 @@ public abstract class Transaction<T extends Transaction<T>>
             // on execute, sign each transaction with the operator, if present
             // and we are signing a transaction that used the default transaction ID
             signWithOperator(client);
+        } else {
+            var poolOperator = client.operatorPool.get(accountId);
+            if (poolOperator != null) {
+                signWith(poolOperator.publicKey, poolOperator.transactionSigner);
+            }
+        }
+
+        client.operatorPool.acquire(
+                accountId, Hbar.fromTinybars(Objects.requireNonNull(frozenBodyBuilder).getTransactionFee()));
+    }
+
+    @Override
+    void onExecuteComplete(Client client) {
+        if (!transactionIds.isEmpty()) {
+            var accountId = transactionIds.get(0).accountId;
+            if (accountId != null) {
+                // the fee actually charged is only known from the record, so the estimate is not debited
+                var maxFee = frozenBodyBuilder != null ? frozenBodyBuilder.getTransactionFee() : 0;
+                client.operatorPool.release(accountId, Hbar.fromTinybars(maxFee), Hbar.ZERO);
+            }
+        }
+    }
+
+    @Override
+    void onResponseStatus(Client client, Status status) {
+        if (status == Status.INSUFFICIENT_PAYER_BALANCE && !transactionIds.isEmpty()) {
+            var accountId = transactionIds.get(0).accountId;
+            if (accountId != null) {
+                client.operatorPool.exclude(accountId);
+            }
         }
     }
 
@@ -0,0 +1,312 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Reads signed transactions from a transaction archive written by {@link TransactionArchiveWriter}.
+ * <p>
+ * The archive is memory-mapped a window at a time instead of being read into the heap, and entries are only
+ * length-delimited while scanning: {@link Entry#getBytes()} wraps the mapped region without copying it, and the
+ * transaction is only parsed when {@link Entry#toTransaction()} is called. This allows multi-gigabyte archives to be
+ * scanned, filtered and re-signed with a small, constant heap footprint.
+ * <p>
+ * Entries (and byte strings obtained from them) are only valid while the reader is open.
+ */
+public final class TransactionArchiveReader implements Closeable, Iterable<TransactionArchiveReader.Entry> {
+    /**
+     * The header every transaction archive starts with: "HTXA" followed by the format version.
+     */
+    static final byte[] MAGIC = {'H', 'T', 'X', 'A', 0, 0, 0, 1};
+
+    /**
+     * The default amount of the file mapped at once.
+     */
+    private static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The most bytes a varint32 length prefix can take.
+     */
+    private static final int MAX_VARINT32_SIZE = 5;
+
+    private final FileChannel channel;
+
+    private final long fileSize;
+
+    private final long windowSize;
+
+    /**
+     * The file offset of the next entry.
+     */
+    private long position = MAGIC.length;
+
+    @Nullable
+    private MappedByteBuffer window = null;
+
+    private long windowStart = 0;
+
+    private long index = 0;
+
+    private TransactionArchiveReader(FileChannel channel, long windowSize) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Open an archive for reading.
+     *
+     * @param path the path of the archive
+     * @return the new reader
+     * @throws IOException when the file cannot be opened or is not a transaction archive
+     */
+    public static TransactionArchiveReader open(Path path) throws IOException {
+        return open(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Open an archive for reading, mapping at most {@code windowSize} bytes of it at a time.
+     * <p>
+     * The window must be larger than the largest entry in the archive.
+     *
+     * @param path       the path of the archive
+     * @param windowSize the amount of the file mapped at once
+     * @return the new reader
+     * @throws IOException when the file cannot be opened or is not a transaction archive
+     */
+    public static TransactionArchiveReader open(Path path, long windowSize) throws IOException {
+        if (windowSize <= MAX_VARINT32_SIZE || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("windowSize must be between " + (MAX_VARINT32_SIZE + 1) + " and "
+                    + Integer.MAX_VALUE + " bytes");
+        }
+
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            requireHeader(channel);
+            return new TransactionArchiveReader(channel, windowSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Verify that the file behind the channel starts with the archive header.
+     *
+     * @param channel the file channel
+     * @throws IOException when the header cannot be read or does not match
+     */
+    static void requireHeader(FileChannel channel) throws IOException {
+        var header = ByteBuffer.allocate(MAGIC.length);
+
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                break;
+            }
+        }
+
+        if (header.hasRemaining() || !Arrays.equals(header.array(), MAGIC)) {
+            throw new IOException("file is not a transaction archive");
+        }
+    }
+
+    /**
+     * Is there another entry to read?
+     *
+     * @return whether another entry is available
+     */
+    public boolean hasNext() {
+        return position < fileSize;
+    }
+
+    /**
+     * Read the next entry without parsing it.
+     *
+     * @return the next entry
+     * @throws IOException when the archive cannot be read or is truncated
+     */
+    public Entry next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var buffer = mapAt(position, MAX_VARINT32_SIZE);
+        var input = CodedInputStream.newInstance(buffer);
+        var length = input.readUInt32();
+        var prefixSize = input.getTotalBytesRead();
+
+        if (length < 0 || position + prefixSize + length > fileSize) {
+            throw new IOException("transaction archive is truncated at entry " + index);
+        }
+
+        var data = mapAt(position + prefixSize, length);
+        data.limit(data.position() + length);
+
+        var entry = new Entry(index, position, UnsafeByteOperations.unsafeWrap(data.slice()));
+
+        position += prefixSize + length;
+        index++;
+
+        return entry;
+    }
+
+    /**
+     * Skip entries without reading their contents.
+     *
+     * @param count the number of entries to skip
+     * @return the number of entries skipped
+     * @throws IOException when the archive cannot be read or is truncated
+     */
+    public long skip(long count) throws IOException {
+        long skipped = 0;
+
+        while (skipped < count && hasNext()) {
+            next();
+            skipped++;
+        }
+
+        return skipped;
+    }
+
+    /**
+     * Return a view of the mapped file starting at {@code offset} holding at least {@code minimum} bytes (or up to the
+     * end of the file), remapping the window if needed.
+     */
+    private ByteBuffer mapAt(long offset, int minimum) throws IOException {
+        var needed = Math.min((long) minimum, fileSize - offset);
+
+        if (needed > windowSize) {
+            throw new IOException("transaction archive entry at offset " + offset + " is larger than the window size");
+        }
+
+        if (window == null || offset < windowStart || offset + needed > windowStart + window.capacity()) {
+            windowStart = offset;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, fileSize - offset));
+        }
+
+        var view = window.duplicate();
+        view.position((int) (offset - windowStart));
+        return view;
+    }
+
+    /**
+     * Iterate over the remaining entries. I/O errors are rethrown as {@link UncheckedIOException}.
+     *
+     * @return the entry iterator
+     */
+    @Override
+    public Iterator<Entry> iterator() {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return TransactionArchiveReader.this.hasNext();
+            }
+
+            @Override
+            public Entry next() {
+                try {
+                    return TransactionArchiveReader.this.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Stream the remaining entries lazily. I/O errors are rethrown as {@link UncheckedIOException}.
+     *
+     * @return the entry stream
+     */
+    public Stream<Entry> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * A single, not yet parsed, entry of a transaction archive.
+     */
+    public static final class Entry {
+        private final long index;
+        private final long offset;
+        private final ByteString bytes;
+
+        Entry(long index, long offset, ByteString bytes) {
+            this.index = index;
+            this.offset = offset;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Extract the index of the entry in the archive.
+         *
+         * @return the index
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Extract the file offset of the entry, including its length prefix.
+         *
+         * @return the offset
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * Extract the size of the transaction bytes.
+         *
+         * @return the size in bytes
+         */
+        public int getSize() {
+            return bytes.size();
+        }
+
+        /**
+         * Extract the transaction bytes. The byte string wraps the mapped file without copying it.
+         *
+         * @return the transaction bytes
+         */
+        public ByteString getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Parse the transaction.
+         *
+         * @return the transaction
+         * @throws InvalidProtocolBufferException when the entry is not a valid transaction
+         */
+        public Transaction<?> toTransaction() throws InvalidProtocolBufferException {
+            return Transaction.fromBytes(bytes);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes signed transactions to a transaction archive.
+ * <p>
+ * A transaction archive is a file made of the {@link TransactionArchiveReader#MAGIC magic header} followed by one
+ * entry per transaction. Every entry is the varint encoded length of the transaction bytes followed by the bytes
+ * themselves, exactly as produced by {@link Transaction#toBytes()}. Archives are read back with
+ * {@link TransactionArchiveReader}.
+ */
+public final class TransactionArchiveWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+
+    private final CodedOutputStream output;
+
+    private long count = 0;
+
+    private TransactionArchiveWriter(FileChannel channel, boolean writeHeader) throws IOException {
+        this.channel = channel;
+        this.output = CodedOutputStream.newInstance(Channels.newOutputStream(channel), BUFFER_SIZE);
+
+        if (writeHeader) {
+            output.writeRawBytes(TransactionArchiveReader.MAGIC);
+        }
+    }
+
+    /**
+     * Create a new archive, replacing any existing file at the path.
+     *
+     * @param path the path of the archive
+     * @return the new writer
+     * @throws IOException when the file cannot be created
+     */
+    public static TransactionArchiveWriter create(Path path) throws IOException {
+        var channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new TransactionArchiveWriter(channel, true);
+    }
+
+    /**
+     * Open an archive to append entries to, creating it if it does not exist.
+     *
+     * @param path the path of the archive
+     * @return the new writer
+     * @throws IOException when the file cannot be opened or is not a transaction archive
+     */
+    public static TransactionArchiveWriter append(Path path) throws IOException {
+        var channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+
+        try {
+            var size = channel.size();
+
+            if (size > 0) {
+                TransactionArchiveReader.requireHeader(channel);
+            }
+
+            channel.position(size);
+            return new TransactionArchiveWriter(channel, size == 0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Append a transaction. The transaction is serialized with {@link Transaction#toBytes()}.
+     *
+     * @param transaction the transaction
+     * @return {@code this}
+     * @throws IOException when writing fails
+     */
+    public TransactionArchiveWriter write(Transaction<?> transaction) throws IOException {
+        return write(transaction.toBytes());
+    }
+
+    /**
+     * Append the bytes of a transaction, as produced by {@link Transaction#toBytes()}.
+     *
+     * @param transactionBytes the transaction bytes
+     * @return {@code this}
+     * @throws IOException when writing fails
+     */
+    public TransactionArchiveWriter write(byte[] transactionBytes) throws IOException {
+        Objects.requireNonNull(transactionBytes);
+
+        output.writeUInt32NoTag(transactionBytes.length);
+        output.writeRawBytes(transactionBytes);
+        count++;
+
+        return this;
+    }
+
+    /**
+     * Append the bytes of a transaction, e.g. an entry read from another archive.
+     *
+     * @param transactionBytes the transaction bytes
+     * @return {@code this}
+     * @throws IOException when writing fails
+     */
+    public TransactionArchiveWriter write(ByteString transactionBytes) throws IOException {
+        Objects.requireNonNull(transactionBytes);
+
+        output.writeUInt32NoTag(transactionBytes.size());
+        output.writeRawBytes(transactionBytes);
+        count++;
+
+        return this;
+    }
+
+    /**
+     * Extract the number of entries written by this writer.
+     *
+     * @return the number of entries
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Flush buffered entries to the file.
+     *
+     * @throws IOException when writing fails
+     */
+    public void flush() throws IOException {
+        output.flush();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * Collects transactions submitted within a short window and executes them together as a single
+ * {@link BatchTransaction}.
+ * <p>
+ * Every submitted transaction gets the batcher's batch key, is frozen and signed by its payer, and is queued. The
+ * queue is flushed once it holds {@link #setMaxBatchSize(int) maxBatchSize} transactions or once the oldest queued
+ * transaction waited {@link #setMaxDelay(Duration) maxDelay}, whichever comes first. The outer batch transaction is
+ * signed with the batch key and paid for by the client operator; its precheck result is fanned back out to the future
+ * of every inner transaction, as a {@link TransactionResponse} for the inner transaction ID.
+ * <p>
+ * Batches are atomic: if one inner transaction fails at consensus, none of the transactions of its batch take effect.
+ * Only submit transactions whose failure may be shared with the other transactions submitted at the same time.
+ *
+ * <pre>{@code
+ * try (var batcher = new TransactionBatcher(client, batchKey)) {
+ *     var response = batcher.submit(new TransferTransaction()...).get();
+ *     var receipt = response.getReceipt(client);
+ * }
+ * }</pre>
+ */
+public final class TransactionBatcher implements AutoCloseable {
+    /**
+     * The maximum number of inner transactions the network accepts in a batch.
+     */
+    static final int MAX_BATCH_SIZE = 25;
+
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(5);
+
+    private final Client client;
+
+    private final PublicKey batchKey;
+
+    private final UnaryOperator<byte[]> batchSigner;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hedera-sdk-transaction-batcher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private List<Pending> pending = new ArrayList<>();
+
+    @Nullable
+    private ScheduledFuture<?> flushTask = null;
+
+    private int maxBatchSize = MAX_BATCH_SIZE;
+
+    private Duration maxDelay = DEFAULT_MAX_DELAY;
+
+    private boolean closed = false;
+
+    /**
+     * Constructor.
+     *
+     * @param client   the client used to freeze, sign and execute the transactions
+     * @param batchKey the key set as batch key on, and signing, every batch
+     */
+    public TransactionBatcher(Client client, PrivateKey batchKey) {
+        this(client, batchKey.getPublicKey(), batchKey::sign);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param client      the client used to freeze, sign and execute the transactions
+     * @param batchKey    the key set as batch key on every transaction
+     * @param batchSigner the signing function of the batch key
+     */
+    public TransactionBatcher(Client client, PublicKey batchKey, UnaryOperator<byte[]> batchSigner) {
+        this.client = Objects.requireNonNull(client);
+        this.batchKey = Objects.requireNonNull(batchKey);
+        this.batchSigner = Objects.requireNonNull(batchSigner);
+    }
+
+    /**
+     * Extract the number of transactions that triggers a flush.
+     *
+     * @return the maximum batch size
+     */
+    public synchronized int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Set the number of transactions that triggers a flush, at most 25.
+     *
+     * @param maxBatchSize the maximum batch size
+     * @return {@code this}
+     */
+    public synchronized TransactionBatcher setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Extract the longest time a transaction waits for others before its batch is flushed.
+     *
+     * @return the maximum delay
+     */
+    public synchronized Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Set the longest time a transaction waits for others before its batch is flushed.
+     *
+     * @param maxDelay the maximum delay
+     * @return {@code this}
+     */
+    public synchronized TransactionBatcher setMaxDelay(Duration maxDelay) {
+        Objects.requireNonNull(maxDelay);
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay must not be negative");
+        }
+
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * Queue a transaction to be executed as part of the next batch.
+     *
+     * @param transaction the unfrozen transaction
+     * @return future result of the response for the inner transaction, completed once its batch passed precheck
+     */
+    public CompletableFuture<TransactionResponse> submit(Transaction<?> transaction) {
+        Objects.requireNonNull(transaction);
+
+        if (transaction instanceof BatchTransaction || transaction instanceof FreezeTransaction) {
+            throw new IllegalArgumentException("Transaction type "
+                    + transaction.getClass().getSimpleName() + " is not allowed in a batch transaction");
+        }
+
+        transaction.setBatchKey(batchKey);
+        transaction.freezeWith(client);
+
+        if (transaction.transactionIds.size() > 1) {
+            throw new IllegalArgumentException("a chunked transaction of more than one chunk cannot be batched");
+        }
+
+        var operator = client.getOperatorFor(transaction.getTransactionId().accountId);
+        if (operator != null) {
+            transaction.signWith(operator.publicKey, operator.transactionSigner);
+        }
+
+        var future = new CompletableFuture<TransactionResponse>();
+        List<Pending> batch = null;
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("the transaction batcher is closed");
+            }
+
+            pending.add(new Pending(transaction, future));
+
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if (flushTask == null) {
+                flushTask = scheduler.schedule(this::flush, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (batch != null) {
+            execute(batch);
+        }
+
+        return future;
+    }
+
+    /**
+     * Execute the queued transactions now, without waiting for the batch to fill up.
+     */
+    public void flush() {
+        List<Pending> batch;
+
+        synchronized (this) {
+            batch = takePending();
+        }
+
+        execute(batch);
+    }
+
+    /**
+     * Extract the number of queued transactions.
+     *
+     * @return the number of queued transactions
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    private List<Pending> takePending() {
+        var batch = pending;
+        pending = new ArrayList<>();
+
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+
+        return batch;
+    }
+
+    private void execute(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        BatchTransaction batchTransaction;
+
+        try {
+            batchTransaction = new BatchTransaction();
+            for (var entry : batch) {
+                batchTransaction.addInnerTransaction(entry.transaction);
+            }
+
+            batchTransaction.freezeWith(client).signWith(batchKey, batchSigner);
+        } catch (RuntimeException e) {
+            for (var entry : batch) {
+                entry.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        batchTransaction.executeAsync(client).whenComplete((response, error) -> {
+            for (var entry : batch) {
+                if (error != null) {
+                    entry.future.completeExceptionally(error);
+                    continue;
+                }
+
+                var inner = entry.transaction;
+                var hash = Transaction.hash(inner.makeRequest().getSignedTransactionBytes().toByteArray());
+
+                entry.future.complete(
+                        new TransactionResponse(response.nodeId, inner.getTransactionId(), hash, null, inner));
+            }
+        });
+    }
+
+    /**
+     * Flush the queued transactions and stop accepting new ones.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+
+        flush();
+        scheduler.shutdown();
+    }
+
+    private static final class Pending {
+        final Transaction<?> transaction;
+        final CompletableFuture<TransactionResponse> future;
+
+        Pending(Transaction<?> transaction, CompletableFuture<TransactionResponse> future) {
+            this.transaction = transaction;
+            this.future = future;
+        }
+    }
+}
@@ -10,9 +10,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
@@ -45,14 +43,6 @@ public final class TransactionId implements Comparable<TransactionId> {
     @Nullable
     private Integer nonce = null;
 
-    private static final long NANOSECONDS_PER_MILLISECOND = 1_000_000L;
-
-    private static final long TIMESTAMP_INCREMENT_NANOSECONDS = 1_000L;
-
-    private static final long NANOSECONDS_TO_REMOVE = 10000000000L;
-
-    private static final AtomicLong monotonicTime = new AtomicLong();
-
     /**
      * No longer part of the public API. Use `Transaction.withValidStart()` instead.
      *
@@ -86,32 +76,9 @@ public final class TransactionId implements Comparable<TransactionId> {
      * @return {@link com.hedera.hashgraph.sdk.TransactionId}
      */
     public static TransactionId generate(AccountId accountId) {
-        long currentTime;
-        long lastTime;
-
-        // Loop to ensure the generated timestamp is strictly increasing,
-        // and it handles the case where the system clock appears to move backward
-        // or if multiple threads attempt to generate a timestamp concurrently.
-        do {
-            // Get the current time in nanoseconds and remove a few seconds to allow for some time drift
-            // between the client and the receiving node and prevented spurious INVALID_TRANSACTION_START.
-            currentTime = System.currentTimeMillis() * NANOSECONDS_PER_MILLISECOND - NANOSECONDS_TO_REMOVE;
-
-            // Get the last recorded timestamp.
-            lastTime = monotonicTime.get();
-
-            // If the current time is less than or equal to the last recorded time,
-            // adjust the timestamp to ensure it is strictly increasing.
-            if (currentTime <= lastTime) {
-                currentTime = lastTime + TIMESTAMP_INCREMENT_NANOSECONDS;
-            }
-        } while (!monotonicTime.compareAndSet(lastTime, currentTime));
-
-        // NOTE: using ThreadLocalRandom because it's compatible with Android SDK version 26
-        return new TransactionId(
-                accountId,
-                Instant.ofEpochSecond(
-                        0, currentTime + ThreadLocalRandom.current().nextLong(1_000)));
+        // Valid starts are striped per thread (see TransactionIdGenerator), so concurrent callers never share
+        // a compare-and-swap target while every generated ID stays unique.
+        return new TransactionId(accountId, TransactionIdGenerator.INSTANCE.nextValidStart());
     }
 
     /**
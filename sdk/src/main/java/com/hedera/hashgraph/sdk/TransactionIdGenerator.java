@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Internal utility class for generating unique transaction valid start times without a global
+ * compare-and-swap.
+ *
+ * <p>Valid start times are handed out in grains of {@value #TIMESTAMP_INCREMENT_NANOSECONDS}
+ * nanoseconds. Every grain is split into one slot per stripe and each thread is pinned to a stripe,
+ * so threads on different stripes can never produce the same timestamp and only threads sharing a
+ * stripe contend on its (cache line padded) clock. Within a stripe the grain is strictly increasing,
+ * so timestamps generated by a single thread are strictly increasing as well.
+ */
+final class TransactionIdGenerator {
+    private static final long NANOSECONDS_PER_MILLISECOND = 1_000_000L;
+
+    private static final long TIMESTAMP_INCREMENT_NANOSECONDS = 1_000L;
+
+    private static final long NANOSECONDS_TO_REMOVE = 10_000_000_000L;
+
+    /**
+     * Number of longs between two stripe clocks, so each clock sits on its own 64 byte cache line.
+     */
+    private static final int PADDING = 8;
+
+    private static final int MAX_STRIPES = 64;
+
+    /**
+     * The generator used by {@link TransactionId#generate(AccountId)}.
+     */
+    static final TransactionIdGenerator INSTANCE = new TransactionIdGenerator(defaultStripeCount());
+
+    private final int stripes;
+
+    private final long slotWidth;
+
+    private final AtomicLongArray lastTimes;
+
+    private final AtomicInteger nextStripe = new AtomicInteger();
+
+    private final ThreadLocal<Integer> threadStripe;
+
+    /**
+     * Constructor.
+     *
+     * @param stripes                   the number of stripes, between 1 and {@value #MAX_STRIPES}
+     */
+    TransactionIdGenerator(int stripes) {
+        if (stripes < 1 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("stripes must be between 1 and " + MAX_STRIPES);
+        }
+
+        this.stripes = stripes;
+        this.slotWidth = TIMESTAMP_INCREMENT_NANOSECONDS / stripes;
+        this.lastTimes = new AtomicLongArray(stripes * PADDING);
+        this.threadStripe = ThreadLocal.withInitial(() -> Math.floorMod(nextStripe.getAndIncrement(), this.stripes));
+    }
+
+    private static int defaultStripeCount() {
+        var processors = Math.max(1, Runtime.getRuntime().availableProcessors());
+        return Math.min(MAX_STRIPES, Integer.highestOneBit(processors) * 2);
+    }
+
+    /**
+     * Extract the number of stripes.
+     *
+     * @return                          the number of stripes
+     */
+    int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Generate a valid start time that is unique within this generator.
+     *
+     * @return                          the valid start time
+     */
+    Instant nextValidStart() {
+        return Instant.ofEpochSecond(0, nextValidStartNanos());
+    }
+
+    /**
+     * Generate a valid start time, in nanoseconds since the epoch, that is unique within this generator.
+     *
+     * @return                          the valid start time in nanoseconds
+     */
+    long nextValidStartNanos() {
+        int stripe = threadStripe.get();
+        int index = stripe * PADDING;
+
+        long currentTime;
+        long lastTime;
+
+        // Only threads pinned to the same stripe race on this clock.
+        do {
+            // Remove a few seconds to allow for some time drift between the client and the receiving node
+            // and prevent spurious INVALID_TRANSACTION_START.
+            currentTime = System.currentTimeMillis() * NANOSECONDS_PER_MILLISECOND - NANOSECONDS_TO_REMOVE;
+
+            lastTime = lastTimes.get(index);
+
+            if (currentTime <= lastTime) {
+                currentTime = lastTime + TIMESTAMP_INCREMENT_NANOSECONDS;
+            }
+        } while (!lastTimes.compareAndSet(index, lastTime, currentTime));
+
+        // NOTE: using ThreadLocalRandom because it's compatible with Android SDK version 26
+        return currentTime + stripe * slotWidth + ThreadLocalRandom.current().nextLong(slotWidth);
+    }
+}
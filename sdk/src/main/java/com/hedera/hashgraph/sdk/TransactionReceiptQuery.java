@@ -28,6 +28,12 @@ public final class TransactionReceiptQuery extends Query<TransactionReceipt, Tra
     private boolean includeChildren = false;
     private boolean includeDuplicates = false;
 
+    /**
+     * The current exchange rate of the last mapped receipt, reported to the client's query cost cache.
+     */
+    @Nullable
+    private com.hedera.hashgraph.sdk.proto.ExchangeRate observedExchangeRate = null;
+
     /**
      * Constructor.
      */
@@ -135,6 +141,8 @@ public final class TransactionReceiptQuery extends Query<TransactionReceipt, Tra
     @Override
     TransactionReceipt mapResponse(Response response, AccountId nodeId, com.hedera.hashgraph.sdk.proto.Query request) {
         var receiptResponse = response.getTransactionGetReceipt();
+        observedExchangeRate = receiptResponse.getReceipt().getExchangeRate().getCurrentRate();
+
         var duplicates = mapReceiptList(receiptResponse.getDuplicateTransactionReceiptsList());
         var children = mapReceiptList(receiptResponse.getChildTransactionReceiptsList());
         return TransactionReceipt.fromProtobuf(
@@ -156,6 +164,17 @@ public final class TransactionReceiptQuery extends Query<TransactionReceipt, Tra
         return outList;
     }
 
+    @Override
+    void onExecuteComplete(Client client) {
+        super.onExecuteComplete(client);
+
+        var exchangeRate = observedExchangeRate;
+        if (exchangeRate != null) {
+            client.queryCostCache.observeExchangeRate(exchangeRate.getHbarEquiv(), exchangeRate.getCentEquiv());
+            observedExchangeRate = null;
+        }
+    }
+
     @Override
     QueryHeader mapRequestHeader(com.hedera.hashgraph.sdk.proto.Query request) {
         return request.getTransactionGetReceipt().getHeader();
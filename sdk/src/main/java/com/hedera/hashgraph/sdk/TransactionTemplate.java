@@ -0,0 +1,317 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * A reusable, pre-computed set of the invariant parts of a transaction.
+ *
+ * <p>High-frequency submitters often send many transactions that only differ in their data
+ * (e.g. the transfer amounts), memo and {@link TransactionId}. A template captures the
+ * transaction fee, valid duration, custom fee limits, batch key and node set once from a
+ * prototype transaction, and then freezes (and optionally signs) new transactions by patching
+ * only the variable fields on top of that shared body. This skips re-resolving the client
+ * defaults, re-encoding the shared fields and selecting nodes from the network for every
+ * transaction.
+ *
+ * <p>Anything the template captured wins over the value set on the stamped transaction; only
+ * the memo, the transaction ID and the transaction specific data are taken from it.
+ *
+ * <pre>{@code
+ * var template = TransactionTemplate.from(new TransferTransaction().setMaxTransactionFee(fee), client);
+ *
+ * var transaction = template.stamp(new TransferTransaction()
+ *         .addHbarTransfer(sender, amount.negated())
+ *         .addHbarTransfer(receiver, amount)
+ *         .setTransactionMemo(memo));
+ * }</pre>
+ */
+public final class TransactionTemplate {
+    /**
+     * The shared part of every body stamped from this template. It carries no transaction ID,
+     * node account ID, memo or data.
+     */
+    private final TransactionBody baseBody;
+
+    // the shared fields of the body, decoded once for the stamped transactions' own fields
+    private final Hbar maxTransactionFee;
+
+    private final Duration transactionValidDuration;
+
+    private final List<CustomFeeLimit> customFeeLimits;
+
+    @Nullable
+    private final Key batchKey;
+
+    private final List<AccountId> nodeAccountIds;
+
+    @Nullable
+    private final AccountId payerAccountId;
+
+    @Nullable
+    private final Boolean regenerateTransactionId;
+
+    private final List<PublicKey> publicKeys = new ArrayList<>();
+
+    private final List<UnaryOperator<byte[]>> signers = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param baseBody                  the shared transaction body
+     * @param nodeAccountIds            the nodes every stamped transaction is built for
+     * @param payerAccountId            the account used to generate transaction IDs
+     * @param regenerateTransactionId   the default regenerate transaction ID policy
+     */
+    private TransactionTemplate(
+            TransactionBody baseBody,
+            List<AccountId> nodeAccountIds,
+            @Nullable AccountId payerAccountId,
+            @Nullable Boolean regenerateTransactionId) {
+        this.baseBody = baseBody;
+        this.maxTransactionFee = Hbar.fromTinybars(baseBody.getTransactionFee());
+        this.transactionValidDuration = DurationConverter.fromProtobuf(baseBody.getTransactionValidDuration());
+        this.customFeeLimits = baseBody.getMaxCustomFeesList().stream()
+                .map(CustomFeeLimit::fromProtobuf)
+                .toList();
+        this.batchKey = baseBody.hasBatchKey() ? Key.fromProtobufKey(baseBody.getBatchKey()) : null;
+        this.nodeAccountIds = Collections.unmodifiableList(new ArrayList<>(nodeAccountIds));
+        this.payerAccountId = payerAccountId;
+        this.regenerateTransactionId = regenerateTransactionId;
+    }
+
+    /**
+     * Create a template from a prototype transaction and a client.
+     *
+     * <p>The fee, valid duration, custom fee limits and batch key are read from the prototype,
+     * falling back to the client defaults. If the prototype has no node account IDs, the nodes are
+     * selected once from the client's network. The client operator, if any, becomes the payer used
+     * to generate transaction IDs and is added as a signer.
+     *
+     * @param prototype                 the transaction to capture the invariant fields from
+     * @param client                    the configured client
+     * @return                          the new template
+     */
+    public static TransactionTemplate from(Transaction<?> prototype, Client client) {
+        Objects.requireNonNull(prototype);
+        Objects.requireNonNull(client);
+
+        List<AccountId> nodeAccountIds;
+
+        if (prototype.getBatchKey() != null) {
+            nodeAccountIds =
+                    Collections.singletonList(AccountId.fromString(Transaction.ATOMIC_BATCH_NODE_ACCOUNT_ID));
+        } else if (!prototype.nodeAccountIds.isEmpty()) {
+            nodeAccountIds = prototype.nodeAccountIds.getList();
+        } else {
+            try {
+                nodeAccountIds = client.network.getNodeAccountIdsForExecute();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        var operator = client.getOperator();
+        var regenerateTransactionId = prototype.getRegenerateTransactionId() != null
+                ? prototype.getRegenerateTransactionId()
+                : client.getDefaultRegenerateTransactionId();
+
+        var template = new TransactionTemplate(
+                prototype.spawnBodyBuilder(client).build(),
+                nodeAccountIds,
+                operator != null ? operator.accountId : null,
+                regenerateTransactionId);
+
+        if (operator != null) {
+            template.signWith(operator.publicKey, operator.transactionSigner);
+        }
+
+        return template;
+    }
+
+    /**
+     * Create a template from a prototype transaction without a client.
+     *
+     * <p>The prototype must have its node account IDs set. Transactions stamped from this template
+     * are not signed unless {@link #sign(PrivateKey)} or {@link #signWith(PublicKey, UnaryOperator)}
+     * is used.
+     *
+     * @param prototype                 the transaction to capture the invariant fields from
+     * @param payerAccountId            the account used to generate transaction IDs
+     * @return                          the new template
+     */
+    public static TransactionTemplate from(Transaction<?> prototype, AccountId payerAccountId) {
+        Objects.requireNonNull(prototype);
+        Objects.requireNonNull(payerAccountId);
+
+        List<AccountId> nodeAccountIds;
+
+        if (prototype.getBatchKey() != null) {
+            nodeAccountIds =
+                    Collections.singletonList(AccountId.fromString(Transaction.ATOMIC_BATCH_NODE_ACCOUNT_ID));
+        } else if (!prototype.nodeAccountIds.isEmpty()) {
+            nodeAccountIds = prototype.nodeAccountIds.getList();
+        } else {
+            throw new IllegalStateException("`client` must be provided or `nodeAccountIds` must be set");
+        }
+
+        return new TransactionTemplate(
+                prototype.spawnBodyBuilder(null).build(),
+                nodeAccountIds,
+                payerAccountId,
+                prototype.getRegenerateTransactionId());
+    }
+
+    /**
+     * Add a key that signs every transaction stamped from this template.
+     *
+     * @param privateKey                the private key
+     * @return {@code this}
+     */
+    public TransactionTemplate sign(PrivateKey privateKey) {
+        return signWith(privateKey.getPublicKey(), privateKey::sign);
+    }
+
+    /**
+     * Add a signer that signs every transaction stamped from this template.
+     *
+     * @param publicKey                 the public key
+     * @param transactionSigner         the signing function
+     * @return {@code this}
+     */
+    public TransactionTemplate signWith(PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
+        Objects.requireNonNull(publicKey);
+        Objects.requireNonNull(transactionSigner);
+
+        if (!publicKeys.contains(publicKey)) {
+            publicKeys.add(publicKey);
+            signers.add(transactionSigner);
+        }
+
+        return this;
+    }
+
+    /**
+     * Extract the nodes every stamped transaction is built for.
+     *
+     * @return                          the node account IDs
+     */
+    public List<AccountId> getNodeAccountIds() {
+        return nodeAccountIds;
+    }
+
+    /**
+     * Extract the account used to generate transaction IDs.
+     *
+     * @return                          the payer account ID
+     */
+    @Nullable
+    public AccountId getPayerAccountId() {
+        return payerAccountId;
+    }
+
+    /**
+     * Extract the transaction fee every stamped transaction is built with.
+     *
+     * @return                          the maximum transaction fee
+     */
+    public Hbar getMaxTransactionFee() {
+        return maxTransactionFee;
+    }
+
+    /**
+     * Extract the valid duration every stamped transaction is built with.
+     *
+     * @return                          the transaction valid duration
+     */
+    public Duration getTransactionValidDuration() {
+        return transactionValidDuration;
+    }
+
+    /**
+     * Extract the custom fee limits every stamped transaction is built with.
+     *
+     * @return                          the custom fee limits
+     */
+    public List<CustomFeeLimit> getCustomFeeLimits() {
+        return customFeeLimits;
+    }
+
+    /**
+     * Extract the batch key every stamped transaction is built with.
+     *
+     * @return                          the batch key
+     */
+    @Nullable
+    public Key getBatchKey() {
+        return batchKey;
+    }
+
+    /**
+     * Freeze and sign a transaction with a newly generated transaction ID for the payer.
+     *
+     * <p>If the transaction already has a transaction ID set, that ID is used instead.
+     *
+     * @param transaction               the transaction holding the variable fields
+     * @param <T>                       the transaction type
+     * @return                          the frozen transaction
+     */
+    public <T extends Transaction<T>> T stamp(T transaction) {
+        if (!transaction.transactionIds.isEmpty()) {
+            return stamp(transaction, transaction.transactionIds.get(0));
+        }
+
+        if (payerAccountId == null) {
+            throw new IllegalStateException("template has no payer account ID, a `transactionId` must be provided");
+        }
+
+        return stamp(transaction, TransactionId.generate(payerAccountId));
+    }
+
+    /**
+     * Freeze and sign a transaction with the given transaction ID.
+     *
+     * @param transaction               the transaction holding the variable fields
+     * @param transactionId             the transaction ID
+     * @param <T>                       the transaction type
+     * @return                          the frozen transaction
+     */
+    public <T extends Transaction<T>> T stamp(T transaction, TransactionId transactionId) {
+        Objects.requireNonNull(transaction);
+        Objects.requireNonNull(transactionId);
+
+        transaction.freezeWithTemplate(this, transactionId);
+
+        for (var i = 0; i < publicKeys.size(); i++) {
+            transaction.signWith(publicKeys.get(i), signers.get(i));
+        }
+
+        return transaction;
+    }
+
+    /**
+     * Create a body builder holding the shared fields.
+     *
+     * @return                          the body builder
+     */
+    TransactionBody.Builder spawnBodyBuilder() {
+        return baseBody.toBuilder();
+    }
+
+    /**
+     * Extract the default regenerate transaction ID policy.
+     *
+     * @return                          the regenerate transaction ID policy
+     */
+    @Nullable
+    Boolean getRegenerateTransactionId() {
+        return regenerateTransactionId;
+    }
+}
@@ -0,0 +1,596 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+/**
+ * Nets a window of intended transfers into the fewest {@link TransferTransaction}s with the same economic result.
+ * <p>
+ * Every intended transfer is a balanced leg from a sender to a receiver. Legs are netted per account and per asset
+ * (hbar or fungible token), so only the net change of every account is transferred; NFT legs of the same serial are
+ * chained, so an NFT moving {@code A -> B -> C} is transferred once from {@code A} to {@code C}, and dropped if it ends
+ * where it started. Approved (allowance) and non-approved legs of the same account are netted together, since an
+ * account may only appear once per asset in a transaction; a net debit spends an allowance only if every debit leg of
+ * the account was approved.
+ * <p>
+ * {@link #build()} then packs the net transfers into transactions that stay within the per-transaction limits of the
+ * network on hbar account amounts, fungible token account amounts and NFT transfers. An asset whose net transfers
+ * involve more accounts than a single transaction allows is split into several balanced transactions, with each split
+ * adding at most one account amount.
+ *
+ * <pre>{@code
+ * var netting = new TransferNetting();
+ * netting.addHbarTransfer(alice, bob, Hbar.from(5));
+ * netting.addHbarTransfer(bob, alice, Hbar.from(3));
+ *
+ * for (var transaction : netting.build()) {
+ *     transaction.execute(client);  // a single transfer of 2 hbar from alice to bob
+ * }
+ * }</pre>
+ */
+public final class TransferNetting {
+    /**
+     * The default maximum number of hbar account amounts per transaction.
+     */
+    static final int DEFAULT_MAX_HBAR_TRANSFERS = 10;
+
+    /**
+     * The default maximum number of fungible token account amounts per transaction, across all tokens.
+     */
+    static final int DEFAULT_MAX_TOKEN_TRANSFERS = 10;
+
+    /**
+     * The default maximum number of NFT transfers per transaction.
+     */
+    static final int DEFAULT_MAX_NFT_TRANSFERS = 10;
+
+    /**
+     * Net tinybar change per account.
+     */
+    private final Map<AccountId, Balance> hbarDeltas = new HashMap<>();
+
+    /**
+     * Net token change per token and account.
+     */
+    private final Map<TokenId, Map<AccountId, Balance>> tokenDeltas = new TreeMap<>();
+
+    private final Map<TokenId, Integer> tokenDecimals = new HashMap<>();
+
+    /**
+     * The chained transfer of every NFT, in the order the NFTs were first transferred.
+     */
+    private final Map<NftId, NftLeg> nftLegs = new LinkedHashMap<>();
+
+    private int maxHbarTransfers = DEFAULT_MAX_HBAR_TRANSFERS;
+
+    private int maxTokenTransfers = DEFAULT_MAX_TOKEN_TRANSFERS;
+
+    private int maxNftTransfers = DEFAULT_MAX_NFT_TRANSFERS;
+
+    /**
+     * Constructor.
+     */
+    public TransferNetting() {}
+
+    /**
+     * Extract the maximum number of hbar account amounts per transaction.
+     *
+     * @return the maximum number of hbar account amounts
+     */
+    public synchronized int getMaxHbarTransfers() {
+        return maxHbarTransfers;
+    }
+
+    /**
+     * Assign the maximum number of hbar account amounts per transaction.
+     *
+     * @param maxHbarTransfers the maximum number of hbar account amounts, at least 2
+     * @return {@code this}
+     */
+    public synchronized TransferNetting setMaxHbarTransfers(int maxHbarTransfers) {
+        this.maxHbarTransfers = requireTransferLimit(maxHbarTransfers);
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of fungible token account amounts per transaction.
+     *
+     * @return the maximum number of token account amounts
+     */
+    public synchronized int getMaxTokenTransfers() {
+        return maxTokenTransfers;
+    }
+
+    /**
+     * Assign the maximum number of fungible token account amounts per transaction, across all tokens.
+     *
+     * @param maxTokenTransfers the maximum number of token account amounts, at least 2
+     * @return {@code this}
+     */
+    public synchronized TransferNetting setMaxTokenTransfers(int maxTokenTransfers) {
+        this.maxTokenTransfers = requireTransferLimit(maxTokenTransfers);
+        return this;
+    }
+
+    /**
+     * Extract the maximum number of NFT transfers per transaction.
+     *
+     * @return the maximum number of NFT transfers
+     */
+    public synchronized int getMaxNftTransfers() {
+        return maxNftTransfers;
+    }
+
+    /**
+     * Assign the maximum number of NFT transfers per transaction.
+     *
+     * @param maxNftTransfers the maximum number of NFT transfers, at least 1
+     * @return {@code this}
+     */
+    public synchronized TransferNetting setMaxNftTransfers(int maxNftTransfers) {
+        if (maxNftTransfers < 1) {
+            throw new IllegalArgumentException("maxNftTransfers must be at least 1");
+        }
+
+        this.maxNftTransfers = maxNftTransfers;
+        return this;
+    }
+
+    private static int requireTransferLimit(int limit) {
+        if (limit < 2) {
+            throw new IllegalArgumentException("a transfer list must allow at least 2 account amounts");
+        }
+
+        return limit;
+    }
+
+    /**
+     * Add an intended hbar transfer.
+     *
+     * @param sender   the sending account
+     * @param receiver the receiving account
+     * @param amount   the amount
+     * @return {@code this}
+     */
+    public TransferNetting addHbarTransfer(AccountId sender, AccountId receiver, Hbar amount) {
+        return doAddHbarTransfer(sender, receiver, amount, false);
+    }
+
+    /**
+     * Add an intended hbar transfer spending an allowance granted by the sender.
+     *
+     * @param sender   the sending (owner) account
+     * @param receiver the receiving account
+     * @param amount   the amount
+     * @return {@code this}
+     */
+    public TransferNetting addApprovedHbarTransfer(AccountId sender, AccountId receiver, Hbar amount) {
+        return doAddHbarTransfer(sender, receiver, amount, true);
+    }
+
+    private synchronized TransferNetting doAddHbarTransfer(
+            AccountId sender, AccountId receiver, Hbar amount, boolean isApproved) {
+        var tinybars = amount.toTinybars();
+
+        addDelta(hbarDeltas, sender, Math.negateExact(tinybars), isApproved);
+        addDelta(hbarDeltas, receiver, tinybars, false);
+
+        return this;
+    }
+
+    /**
+     * Add an intended fungible token transfer.
+     *
+     * @param tokenId  the token
+     * @param sender   the sending account
+     * @param receiver the receiving account
+     * @param amount   the amount, in the lowest denomination of the token
+     * @return {@code this}
+     */
+    public TransferNetting addTokenTransfer(TokenId tokenId, AccountId sender, AccountId receiver, long amount) {
+        return doAddTokenTransfer(tokenId, sender, receiver, amount, null, false);
+    }
+
+    /**
+     * Add an intended fungible token transfer, asserting the decimals of the token.
+     *
+     * @param tokenId  the token
+     * @param sender   the sending account
+     * @param receiver the receiving account
+     * @param amount   the amount, in the lowest denomination of the token
+     * @param decimals the decimals of the token
+     * @return {@code this}
+     */
+    public TransferNetting addTokenTransferWithDecimals(
+            TokenId tokenId, AccountId sender, AccountId receiver, long amount, int decimals) {
+        return doAddTokenTransfer(tokenId, sender, receiver, amount, decimals, false);
+    }
+
+    /**
+     * Add an intended fungible token transfer spending an allowance granted by the sender.
+     *
+     * @param tokenId  the token
+     * @param sender   the sending (owner) account
+     * @param receiver the receiving account
+     * @param amount   the amount, in the lowest denomination of the token
+     * @return {@code this}
+     */
+    public TransferNetting addApprovedTokenTransfer(
+            TokenId tokenId, AccountId sender, AccountId receiver, long amount) {
+        return doAddTokenTransfer(tokenId, sender, receiver, amount, null, true);
+    }
+
+    private synchronized TransferNetting doAddTokenTransfer(
+            TokenId tokenId,
+            AccountId sender,
+            AccountId receiver,
+            long amount,
+            @Nullable Integer decimals,
+            boolean isApproved) {
+        Objects.requireNonNull(tokenId);
+
+        if (decimals != null) {
+            var previous = tokenDecimals.putIfAbsent(tokenId, decimals);
+            if (previous != null && !previous.equals(decimals)) {
+                throw new IllegalArgumentException(
+                        "expected decimals for a token in a token transfer cannot be changed after being set");
+            }
+        }
+
+        var deltas = tokenDeltas.computeIfAbsent(tokenId, id -> new HashMap<>());
+        addDelta(deltas, sender, Math.negateExact(amount), isApproved);
+        addDelta(deltas, receiver, amount, false);
+
+        return this;
+    }
+
+    /**
+     * Add an intended NFT transfer. Transfers of the same NFT must chain: the sender must be the receiver of the
+     * previous transfer of the NFT.
+     *
+     * @param nftId    the NFT
+     * @param sender   the sending account
+     * @param receiver the receiving account
+     * @return {@code this}
+     */
+    public TransferNetting addNftTransfer(NftId nftId, AccountId sender, AccountId receiver) {
+        return doAddNftTransfer(nftId, sender, receiver, false);
+    }
+
+    /**
+     * Add an intended NFT transfer spending an allowance granted by the sender.
+     *
+     * @param nftId    the NFT
+     * @param sender   the sending (owner) account
+     * @param receiver the receiving account
+     * @return {@code this}
+     */
+    public TransferNetting addApprovedNftTransfer(NftId nftId, AccountId sender, AccountId receiver) {
+        return doAddNftTransfer(nftId, sender, receiver, true);
+    }
+
+    private synchronized TransferNetting doAddNftTransfer(
+            NftId nftId, AccountId sender, AccountId receiver, boolean isApproved) {
+        Objects.requireNonNull(nftId);
+        Objects.requireNonNull(sender);
+        Objects.requireNonNull(receiver);
+
+        var leg = nftLegs.get(nftId);
+
+        if (leg == null) {
+            nftLegs.put(nftId, new NftLeg(sender, receiver, isApproved));
+        } else if (!leg.receiver.equals(sender)) {
+            throw new IllegalArgumentException("NFT " + nftId + " is transferred from " + sender
+                    + " but was last transferred to " + leg.receiver);
+        } else {
+            leg.receiver = receiver;
+        }
+
+        return this;
+    }
+
+    private static void addDelta(Map<AccountId, Balance> deltas, AccountId accountId, long amount, boolean isApproved) {
+        var balance = deltas.computeIfAbsent(Objects.requireNonNull(accountId), id -> new Balance());
+        balance.amount = Math.addExact(balance.amount, amount);
+
+        if (amount < 0 && isApproved) {
+            balance.hasApprovedDebits = true;
+        } else if (amount < 0) {
+            balance.hasOwnDebits = true;
+        }
+    }
+
+    /**
+     * Extract the net hbar change of every account with a non-zero change.
+     *
+     * @return the net hbar changes
+     */
+    public synchronized Map<AccountId, Hbar> getNetHbarTransfers() {
+        var transfers = new HashMap<AccountId, Hbar>();
+
+        for (var entry : netted(hbarDeltas)) {
+            transfers.put(entry.accountId, Hbar.fromTinybars(entry.amount));
+        }
+
+        return transfers;
+    }
+
+    /**
+     * Extract the net token change of every account with a non-zero change, per token.
+     *
+     * @return the net token changes
+     */
+    public synchronized Map<TokenId, Map<AccountId, Long>> getNetTokenTransfers() {
+        var transfers = new HashMap<TokenId, Map<AccountId, Long>>();
+
+        for (var token : tokenDeltas.entrySet()) {
+            for (var entry : netted(token.getValue())) {
+                transfers.computeIfAbsent(token.getKey(), id -> new HashMap<>()).put(entry.accountId, entry.amount);
+            }
+        }
+
+        return transfers;
+    }
+
+    /**
+     * Extract the number of NFTs that change owner.
+     *
+     * @return the number of NFT transfers
+     */
+    public synchronized int getNetNftTransferCount() {
+        var count = 0;
+
+        for (var leg : nftLegs.values()) {
+            if (!leg.sender.equals(leg.receiver)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Pack the net transfers into transactions.
+     * <p>
+     * The transactions are not frozen, and the added transfers are kept; call {@link #clear()} to start a new window.
+     *
+     * @return the transactions, empty if every transfer cancelled out
+     */
+    public synchronized List<TransferTransaction> build() {
+        var bins = new ArrayList<Bin>();
+
+        for (var group : split(netted(hbarDeltas), maxHbarTransfers)) {
+            var bin = findBin(bins, bin -> bin.hbarCount + group.size() <= maxHbarTransfers);
+            bin.hbarCount += group.size();
+
+            for (var entry : group) {
+                var amount = Hbar.fromTinybars(entry.amount);
+                if (entry.isApproved) {
+                    bin.transaction.addApprovedHbarTransfer(entry.accountId, amount);
+                } else {
+                    bin.transaction.addHbarTransfer(entry.accountId, amount);
+                }
+            }
+        }
+
+        for (var token : tokenDeltas.entrySet()) {
+            var tokenId = token.getKey();
+            var decimals = tokenDecimals.get(tokenId);
+
+            for (var group : split(netted(token.getValue()), maxTokenTransfers)) {
+                var bin = findBin(bins, bin -> bin.tokenCount + group.size() <= maxTokenTransfers);
+                bin.tokenCount += group.size();
+
+                for (var entry : group) {
+                    var accountId = entry.accountId;
+
+                    if (decimals != null && entry.isApproved) {
+                        bin.transaction.addApprovedTokenTransferWithDecimals(
+                                tokenId, accountId, entry.amount, decimals);
+                    } else if (decimals != null) {
+                        bin.transaction.addTokenTransferWithDecimals(tokenId, accountId, entry.amount, decimals);
+                    } else if (entry.isApproved) {
+                        bin.transaction.addApprovedTokenTransfer(tokenId, accountId, entry.amount);
+                    } else {
+                        bin.transaction.addTokenTransfer(tokenId, accountId, entry.amount);
+                    }
+                }
+            }
+        }
+
+        for (var nft : nftLegs.entrySet()) {
+            var leg = nft.getValue();
+            if (leg.sender.equals(leg.receiver)) {
+                continue;
+            }
+
+            var bin = findBin(bins, bin -> bin.nftCount < maxNftTransfers);
+            bin.nftCount++;
+
+            if (leg.isApproved) {
+                bin.transaction.addApprovedNftTransfer(nft.getKey(), leg.sender, leg.receiver);
+            } else {
+                bin.transaction.addNftTransfer(nft.getKey(), leg.sender, leg.receiver);
+            }
+        }
+
+        var transactions = new ArrayList<TransferTransaction>(bins.size());
+        for (var bin : bins) {
+            transactions.add(bin.transaction);
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Forget every added transfer.
+     */
+    public synchronized void clear() {
+        hbarDeltas.clear();
+        tokenDeltas.clear();
+        tokenDecimals.clear();
+        nftLegs.clear();
+    }
+
+    /**
+     * The non-zero deltas, in a stable order.
+     */
+    private static List<Delta> netted(Map<AccountId, Balance> deltas) {
+        var netted = new ArrayList<Delta>(deltas.size());
+
+        for (var entry : deltas.entrySet()) {
+            var balance = entry.getValue();
+            if (balance.amount != 0) {
+                netted.add(new Delta(entry.getKey(), balance.isApproved(), balance.amount));
+            }
+        }
+
+        netted.sort(Comparator.comparing((Delta delta) -> delta.accountId));
+        return netted;
+    }
+
+    /**
+     * Split balanced deltas into balanced groups of at most {@code limit} deltas.
+     * <p>
+     * Debits are matched against credits in order, which settles the deltas as a chain of payments. Every payment is
+     * balanced on its own, so a group is closed before the payment that would bring it to more than {@code limit}
+     * accounts. A payment that settles a debit and a credit at once starts the next payment with two new accounts, so
+     * the number of payments per group is not a bound.
+     */
+    private static List<List<Delta>> split(List<Delta> deltas, int limit) {
+        var groups = new ArrayList<List<Delta>>();
+
+        if (deltas.isEmpty()) {
+            return groups;
+        }
+
+        if (deltas.size() <= limit) {
+            groups.add(deltas);
+            return groups;
+        }
+
+        var debits = new ArrayList<Delta>();
+        var credits = new ArrayList<Delta>();
+
+        for (var delta : deltas) {
+            (delta.amount < 0 ? debits : credits)
+                    .add(new Delta(delta.accountId, delta.isApproved, Math.abs(delta.amount)));
+        }
+
+        var group = new LinkedHashMap<AccountId, Delta>();
+        var d = 0;
+        var c = 0;
+
+        while (d < debits.size() && c < credits.size()) {
+            var debit = debits.get(d);
+            var credit = credits.get(c);
+            var amount = Math.min(debit.amount, credit.amount);
+
+            var newAccounts = (group.containsKey(debit.accountId) ? 0 : 1)
+                    + (group.containsKey(credit.accountId) ? 0 : 1);
+
+            if (group.size() + newAccounts > limit) {
+                groups.add(new ArrayList<>(group.values()));
+                group = new LinkedHashMap<>();
+            }
+
+            groupDelta(group, debit).amount -= amount;
+            groupDelta(group, credit).amount += amount;
+
+            debit.amount -= amount;
+            credit.amount -= amount;
+
+            if (debit.amount == 0) {
+                d++;
+            }
+            if (credit.amount == 0) {
+                c++;
+            }
+        }
+
+        if (d < debits.size() || c < credits.size()) {
+            throw new IllegalStateException("transfers do not balance");
+        }
+
+        if (!group.isEmpty()) {
+            groups.add(new ArrayList<>(group.values()));
+        }
+
+        return groups;
+    }
+
+    private static Delta groupDelta(Map<AccountId, Delta> group, Delta delta) {
+        return group.computeIfAbsent(delta.accountId, id -> new Delta(id, delta.isApproved, 0));
+    }
+
+    private static Bin findBin(List<Bin> bins, Predicate<Bin> fits) {
+        for (var bin : bins) {
+            if (fits.test(bin)) {
+                return bin;
+            }
+        }
+
+        var bin = new Bin();
+        bins.add(bin);
+        return bin;
+    }
+
+    /**
+     * The net change of an account in one asset, and how its debits were authorized.
+     */
+    private static final class Balance {
+        long amount;
+        boolean hasApprovedDebits;
+        boolean hasOwnDebits;
+
+        /**
+         * Whether the net change is a debit that only spends allowances.
+         */
+        boolean isApproved() {
+            return amount < 0 && hasApprovedDebits && !hasOwnDebits;
+        }
+    }
+
+    private static final class Delta {
+        final AccountId accountId;
+        final boolean isApproved;
+        long amount;
+
+        Delta(AccountId accountId, boolean isApproved, long amount) {
+            this.accountId = accountId;
+            this.isApproved = isApproved;
+            this.amount = amount;
+        }
+    }
+
+    private static final class NftLeg {
+        final AccountId sender;
+        AccountId receiver;
+        final boolean isApproved;
+
+        NftLeg(AccountId sender, AccountId receiver, boolean isApproved) {
+            this.sender = sender;
+            this.receiver = receiver;
+            this.isApproved = isApproved;
+        }
+    }
+
+    /**
+     * A transaction being packed, with the number of entries of every transfer list.
+     */
+    private static final class Bin {
+        final TransferTransaction transaction = new TransferTransaction();
+        int hbarCount = 0;
+        int tokenCount = 0;
+        int nftCount = 0;
+    }
+}
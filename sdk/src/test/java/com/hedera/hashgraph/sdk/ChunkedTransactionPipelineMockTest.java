@@ -0,0 +1,136 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class ChunkedTransactionPipelineMockTest {
+    private static final String CONTENTS = "A".repeat(100);
+
+    /**
+     * Answers transactions with OK (or DUPLICATE_TRANSACTION when seen before) and receipt queries with
+     * {@code receiptStatus}, failing the first receipt query of the chunk at {@code lostReceiptChunk}.
+     */
+    private static List<Object> spawnResponses(
+            List<TransactionID> submitted, int lostReceiptChunk, ResponseCodeEnum receiptStatus) {
+        var seen = Collections.synchronizedSet(new HashSet<TransactionID>());
+        var receiptLost = new AtomicBoolean(false);
+        var responses = new ArrayList<Object>();
+
+        Function<Object, Object> handler = request -> {
+            if (request instanceof Transaction transaction) {
+                var signedTransaction = SignedTransaction.parseFrom(transaction.getSignedTransactionBytes());
+                var transactionId =
+                        TransactionBody.parseFrom(signedTransaction.getBodyBytes()).getTransactionID();
+
+                submitted.add(transactionId);
+
+                return TransactionResponse.newBuilder()
+                        .setNodeTransactionPrecheckCode(
+                                seen.add(transactionId) ? ResponseCodeEnum.OK : ResponseCodeEnum.DUPLICATE_TRANSACTION)
+                        .build();
+            }
+
+            var transactionId = ((Query) request).getTransactionGetReceipt().getTransactionID();
+
+            if (lostReceiptChunk >= 0
+                    && transactionId.equals(submitted.get(lostReceiptChunk))
+                    && receiptLost.compareAndSet(false, true)) {
+                throw new IllegalStateException("receipt lost");
+            }
+
+            return Response.newBuilder()
+                    .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                            .setReceipt(TransactionReceipt.newBuilder().setStatus(receiptStatus)))
+                    .build();
+        };
+
+        for (var i = 0; i < 100; i++) {
+            responses.add(handler);
+        }
+
+        return responses;
+    }
+
+    private static FileAppendTransaction spawnFileAppend() {
+        return new FileAppendTransaction()
+                .setNodeAccountIds(List.of(new AccountId(0, 0, 3)))
+                .setFileId(FileId.fromString("0.0.10"))
+                .setChunkSize(10)
+                .setContents(CONTENTS)
+                .setMaxConcurrentChunks(4);
+    }
+
+    @Test
+    void submitsChunksInOrder() throws Exception {
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionID>());
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted, -1, ResponseCodeEnum.SUCCESS)))) {
+            var transaction = spawnFileAppend();
+            var responses = transaction.executeAllAsync(mocker.client).get();
+
+            assertThat(responses).hasSize(10);
+            assertThat(submitted).hasSize(10);
+
+            for (var i = 0; i < responses.size(); i++) {
+                assertThat(responses.get(i).transactionId.toProtobuf()).isEqualTo(submitted.get(i));
+                assertThat(responses.get(i).nodeId).isEqualTo(new AccountId(0, 0, 3));
+            }
+        }
+    }
+
+    @Test
+    void stopsAfterChunksWithLostReceipts() throws Exception {
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionID>());
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted, 3, ResponseCodeEnum.SUCCESS)))) {
+            var future = spawnFileAppend().executeAllAsync(mocker.client);
+
+            assertThatExceptionOfType(Exception.class).isThrownBy(future::get);
+
+            // chunk 7 waits for the receipt of chunk 3, and nothing is submitted twice
+            assertThat(submitted).hasSizeBetween(4, 7);
+            assertThat(new HashSet<>(submitted)).hasSameSizeAs(submitted);
+        }
+    }
+
+    @Test
+    void stopsAfterFailedChunks() throws Exception {
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionID>());
+
+        try (var mocker =
+                Mocker.withResponses(List.of(spawnResponses(submitted, -1, ResponseCodeEnum.INVALID_FILE_ID)))) {
+            var future = spawnFileAppend().executeAllAsync(mocker.client);
+
+            assertThatExceptionOfType(Exception.class)
+                    .isThrownBy(future::get)
+                    .withCauseInstanceOf(ReceiptStatusException.class);
+
+            // chunk 4 waits for the receipt of chunk 0
+            assertThat(submitted).hasSizeBetween(1, 4);
+        }
+    }
+
+    @Test
+    void maxConcurrentChunksMustBePositive() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new FileAppendTransaction().setMaxConcurrentChunks(0));
+    }
+}
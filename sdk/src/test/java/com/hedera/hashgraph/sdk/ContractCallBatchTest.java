@@ -0,0 +1,151 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+class ContractCallBatchTest {
+    // every contract returns its number, and `fail()` reverts with a reason
+    private static final ContractCallBatch.Aggregator CONTRACTS = ContractCallBatch.local((contractId, callData) -> {
+        if (ByteBuffer.wrap(callData)
+                .equals(ByteBuffer.wrap(new ContractFunctionParameters().toBytes("fail").toByteArray()))) {
+            throw new IllegalStateException("reverted");
+        }
+
+        return new ContractFunctionParameters()
+                .addUint256(BigInteger.valueOf(contractId.num))
+                .toBytes(null)
+                .toByteArray();
+    });
+
+    @Test
+    void splitsResultsBackToCalls() throws Exception {
+        var batchSizes = new ArrayList<Integer>();
+        var batch = new ContractCallBatch(recording(CONTRACTS, batchSizes));
+
+        var first = batch.add(new ContractId(0, 0, 1001), "get", new ContractFunctionParameters());
+        var second = batch.add(new ContractId(0, 0, 1002), "get", new ContractFunctionParameters().addUint8((byte) 1));
+        var failed = batch.add(new ContractId(0, 0, 1003), "fail", new ContractFunctionParameters());
+
+        assertThat(batch.size()).isEqualTo(3);
+
+        batch.execute();
+
+        assertThat(batchSizes).containsExactly(3);
+        assertThat(batch.size()).isZero();
+
+        assertThat(first.get().getUint256(0)).isEqualTo(BigInteger.valueOf(1001));
+        assertThat(first.get().contractId).isEqualTo(new ContractId(0, 0, 1001));
+        assertThat(second.get().getUint256(0)).isEqualTo(BigInteger.valueOf(1002));
+        assertThat(failed.get().errorMessage).isEqualTo("CONTRACT_REVERT_EXECUTED");
+    }
+
+    @Test
+    void respectsLimits() {
+        var batchSizes = new ArrayList<Integer>();
+        var batch = new ContractCallBatch(recording(CONTRACTS, batchSizes))
+                .setMaxGas(ContractCallBatch.DEFAULT_GAS_PER_CALL * 2)
+                .setMaxCallsPerBatch(3);
+
+        for (var i = 0; i < 5; i++) {
+            batch.add(new ContractId(0, 0, 1000 + i), "get", new ContractFunctionParameters());
+        }
+
+        batch.execute();
+
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+
+        batchSizes.clear();
+        batch.setMaxGas(ContractCallBatch.DEFAULT_MAX_GAS);
+
+        for (var i = 0; i < 5; i++) {
+            batch.add(new ContractId(0, 0, 1000 + i), "get", new ContractFunctionParameters());
+        }
+
+        batch.execute();
+
+        assertThat(batchSizes).containsExactly(3, 2);
+    }
+
+    @Test
+    void splitsBatchesThatFail() throws Exception {
+        var batchSizes = new ArrayList<Integer>();
+
+        // the result is too large with more than 2 calls
+        ContractCallBatch.Aggregator limited = (callData, gas) -> callCount(callData) > 2
+                ? CompletableFuture.failedFuture(new PrecheckStatusException(Status.RESULT_SIZE_LIMIT_EXCEEDED, null))
+                : CONTRACTS.aggregate(callData, gas);
+
+        var batch = new ContractCallBatch(recording(limited, batchSizes));
+        var results = new ArrayList<CompletableFuture<ContractFunctionResult>>();
+
+        for (var i = 0; i < 4; i++) {
+            results.add(batch.add(new ContractId(0, 0, 1000 + i), "get", new ContractFunctionParameters()));
+        }
+
+        batch.execute();
+
+        assertThat(batchSizes).containsExactly(4, 2, 2);
+
+        for (var i = 0; i < 4; i++) {
+            assertThat(results.get(i).get().getUint256(0)).isEqualTo(BigInteger.valueOf(1000 + i));
+        }
+    }
+
+    @Test
+    void failsWholeBatchesThatFailForOtherReasons() {
+        var batchSizes = new ArrayList<Integer>();
+        var batch = new ContractCallBatch(recording(
+                (callData, gas) -> CompletableFuture.failedFuture(
+                        new PrecheckStatusException(Status.CONTRACT_REVERT_EXECUTED, null)),
+                batchSizes));
+
+        var first = batch.add(new ContractId(0, 0, 1001), "get", new ContractFunctionParameters());
+        var second = batch.add(new ContractId(0, 0, 1002), "get", new ContractFunctionParameters());
+
+        batch.execute();
+
+        assertThat(batchSizes).containsExactly(2);
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(first::get)
+                .withCauseInstanceOf(PrecheckStatusException.class);
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(second::get);
+    }
+
+    @Test
+    void failsCallsThatAreTooLargeAlone() {
+        var batch = new ContractCallBatch((callData, gas) ->
+                CompletableFuture.failedFuture(new PrecheckStatusException(Status.MAX_GAS_LIMIT_EXCEEDED, null)));
+
+        var first = batch.add(new ContractId(0, 0, 1001), "get", new ContractFunctionParameters());
+        var second = batch.add(new ContractId(0, 0, 1002), "get", new ContractFunctionParameters());
+
+        batch.execute();
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(first::get)
+                .withCauseInstanceOf(PrecheckStatusException.class);
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(second::get);
+    }
+
+    private static ContractCallBatch.Aggregator recording(
+            ContractCallBatch.Aggregator aggregator, List<Integer> batchSizes) {
+        return (callData, gas) -> {
+            batchSizes.add(callCount(callData));
+            return aggregator.aggregate(callData, gas);
+        };
+    }
+
+    private static int callCount(byte[] callData) {
+        // the selector, then the offset and length of the array of calls
+        return ByteBuffer.wrap(callData).getInt(4 + 32 + 28);
+    }
+}
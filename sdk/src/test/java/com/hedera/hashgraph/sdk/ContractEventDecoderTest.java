@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.ContractLoginfo;
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+class ContractEventDecoderTest {
+    private static final String TRANSFER = "Transfer(address,address,uint256)";
+
+    private static final String FROM = "1122334455667788990011223344556677889900";
+
+    private static final String TO = "00998877665544332211009988776655443322ff";
+
+    private static final ByteString TRANSFER_TOPIC =
+            ByteString.copyFrom(ContractFunctionSelector.hashSignature(TRANSFER));
+
+    @Test
+    void decodesMatchingLogs() {
+        var decoder = new ContractEventDecoder().addEvent(TRANSFER, true, true, false);
+        var log = transferLog(ContractEventDecoder.bloomOf(TRANSFER_TOPIC.toByteArray()));
+        var result = resultOf(log.getBloom(), log);
+
+        var events = decoder.decode(result);
+
+        assertThat(events).hasSize(1);
+
+        var event = events.get(0);
+        assertThat(event.name).isEqualTo("Transfer");
+        assertThat(event.signature).isEqualTo(TRANSFER);
+        assertThat(event.contractId).isEqualTo(ContractId.fromString("0.0.5005"));
+        assertThat(event.args.get(0).toString()).isEqualToIgnoringCase("0x" + FROM);
+        assertThat(event.args.get(1).toString()).isEqualToIgnoringCase("0x" + TO);
+        assertThat(event.args.get(2)).isEqualTo(BigInteger.valueOf(100));
+    }
+
+    @Test
+    void skipsResultsWhoseBloomExcludesEveryEvent() {
+        var decoder = new ContractEventDecoder().addEvent(TRANSFER, true, true, false);
+        var otherBloom = ContractEventDecoder.bloomOf(ContractFunctionSelector.hashSignature("Approval()"));
+
+        // the log itself would match, but the result bloom rules it out before it is looked at
+        var log = transferLog(ContractEventDecoder.bloomOf(TRANSFER_TOPIC.toByteArray()));
+
+        assertThat(decoder.decode(resultOf(otherBloom, log))).isEmpty();
+    }
+
+    @Test
+    void decodesWithoutBlooms() {
+        var decoder = new ContractEventDecoder().addEvent(TRANSFER, true, true, false);
+        var log = transferLog(ByteString.EMPTY);
+
+        assertThat(decoder.decode(resultOf(ByteString.EMPTY, log))).hasSize(1);
+    }
+
+    @Test
+    void matchesTheNumberOfIndexedArguments() {
+        // ERC-721 `Transfer` has the same signature but also indexes the token ID
+        var decoder = new ContractEventDecoder().addEvent(TRANSFER, true, true, true);
+        var log = transferLog(ByteString.EMPTY);
+
+        assertThat(decoder.decode(ContractLogInfo.fromProtobuf(log))).isNull();
+
+        decoder.addEvent(TRANSFER, true, true, false);
+
+        assertThat(decoder.decode(ContractLogInfo.fromProtobuf(log))).isNotNull();
+    }
+
+    @Test
+    void rejectsInvalidEvents() {
+        var decoder = new ContractEventDecoder();
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> decoder.addEvent("(uint256)"));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> decoder.addEvent(TRANSFER, true, false));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> decoder.addEvent("Many(uint8,uint8,uint8,uint8)", true, true, true, true));
+
+        decoder.addEvent(TRANSFER, true, true, false);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> decoder.addEvent("Transfer(address,address,uint)", true, true, false));
+    }
+
+    private static ContractLoginfo transferLog(ByteString bloom) {
+        return ContractLoginfo.newBuilder()
+                .setContractID(ContractId.fromString("0.0.5005").toProtobuf())
+                .setBloom(bloom)
+                .addTopic(TRANSFER_TOPIC)
+                .addTopic(new ContractFunctionParameters().addAddress(FROM).toBytes(null))
+                .addTopic(new ContractFunctionParameters().addAddress(TO).toBytes(null))
+                .setData(new ContractFunctionParameters()
+                        .addUint256(BigInteger.valueOf(100))
+                        .toBytes(null))
+                .build();
+    }
+
+    private static ContractFunctionResult resultOf(ByteString bloom, ContractLoginfo log) {
+        return new ContractFunctionResult(com.hedera.hashgraph.sdk.proto.ContractFunctionResult.newBuilder()
+                .setBloom(bloom)
+                .addLogInfo(log));
+    }
+}
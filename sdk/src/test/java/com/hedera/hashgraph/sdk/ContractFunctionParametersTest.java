@@ -8,6 +8,7 @@ import com.google.protobuf.ByteString;
 import io.github.jsonSnapshot.SnapshotMatcher;
 import java.lang.reflect.Array;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -631,4 +632,41 @@ public class ContractFunctionParametersTest {
         }
         SnapshotMatcher.expect(snapshotStrings.toArray()).toMatchSnapshot();
     }
+
+    @Test
+    @DisplayName("writes the same encoding into a buffer")
+    void writeTo() {
+        var params = new ContractFunctionParameters()
+                .addStringArray(new String[] {"one", "two"})
+                .addUint256Array(new BigInteger[] {BigInteger.ONE, BigInteger.TWO})
+                .addInt64(-1)
+                .addBytes(new byte[] {1, 2, 3});
+
+        assertThat(params.getEncodedLength("foo")).isEqualTo(params.toBytes("foo").size());
+        assertThat(params.getEncodedLength(null)).isEqualTo(params.toBytes(null).size());
+
+        var buffer = ByteBuffer.allocate(params.getEncodedLength("foo") + 2);
+        buffer.position(2);
+        params.writeTo(buffer, "foo");
+
+        assertThat(buffer.remaining()).isZero();
+        assertThat(ByteString.copyFrom(buffer.array(), 2, buffer.capacity() - 2)).isEqualTo(params.toBytes("foo"));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> params.writeTo(ByteBuffer.allocate(params.getEncodedLength(null) - 1), null));
+    }
+
+    @Test
+    @DisplayName("encodes arrays as they were when added")
+    void arraysAreCopied() {
+        var longs = new long[] {1, 2};
+        var bytes = new byte[][] {{1, 2}};
+        var params = new ContractFunctionParameters().addInt64Array(longs).addBytesArray(bytes);
+        var expected = params.toBytes(null);
+
+        longs[0] = 3;
+        bytes[0][0] = 3;
+
+        assertThat(params.toBytes(null)).isEqualTo(expected);
+    }
 }
@@ -2,10 +2,12 @@
 package com.hedera.hashgraph.sdk;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.BytesValue;
 import java.math.BigInteger;
+import java.util.List;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -107,4 +109,56 @@ public class ContractFunctionResultTest {
     @Test
     @DisplayName("Can to/from bytes with state changes")
     void canToFromBytesStateChanges() {}
+
+    @Test
+    @DisplayName("decodes results with cached types")
+    void decodesResults() {
+        var first = resultOf(new ContractFunctionParameters().addInt64(5).addString("five"), null);
+        var second = resultOf(new ContractFunctionParameters().addInt64(-6).addString("six"), null);
+
+        var tuple = first.getResult("(int64,string)");
+        assertThat((Long) tuple.get(0)).isEqualTo(5L);
+        assertThat((String) tuple.get(1)).isEqualTo("five");
+
+        assertThat(ContractFunctionResult.getTupleType("(int64,string)"))
+                .isSameAs(ContractFunctionResult.getTupleType("(int64,string)"));
+
+        var tuples = ContractFunctionResult.getResults(List.of(first, second), "(int64,string)");
+        assertThat(tuples).hasSize(2);
+        assertThat((Long) tuples.get(1).get(0)).isEqualTo(-6L);
+        assertThat((String) tuples.get(1).get(1)).isEqualTo("six");
+    }
+
+    @Test
+    @DisplayName("rejects results with trailing bytes")
+    void rejectsTrailingBytes() {
+        var result = new ContractFunctionResult(com.hedera.hashgraph.sdk.proto.ContractFunctionResult.newBuilder()
+                .setContractCallResult(new ContractFunctionParameters()
+                        .addInt64(5)
+                        .addInt64(6)
+                        .toBytes(null)));
+
+        assertThat((Long) result.getResult("(int64,int64)").get(1)).isEqualTo(6L);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> result.getResult("(int64)"));
+    }
+
+    @Test
+    @DisplayName("decodes revert reasons after the error selector")
+    void decodesRevertReason() {
+        var result = resultOf(new ContractFunctionParameters().addString("reverted"), "Error");
+
+        assertThat(result.getString(0)).isEqualTo("reverted");
+        assertThat((String) result.getResult("(string)").get(0)).isEqualTo("reverted");
+    }
+
+    private static ContractFunctionResult resultOf(ContractFunctionParameters params, String errorMessage) {
+        var builder = com.hedera.hashgraph.sdk.proto.ContractFunctionResult.newBuilder()
+                .setContractCallResult(params.toBytes(errorMessage));
+
+        if (errorMessage != null) {
+            builder.setErrorMessage(errorMessage);
+        }
+
+        return new ContractFunctionResult(builder);
+    }
 }
@@ -54,4 +54,23 @@ public class ContractFunctionSelectorTest {
         assertThatExceptionOfType(IllegalStateException.class).isThrownBy(signature::addStringArray);
         assertThatNoException().isThrownBy(signature::finish);
     }
+
+    @Test
+    @DisplayName("Interns signature hashes")
+    void hashesSignatures() {
+        var hash = ContractFunctionSelector.hashSignature("Transfer(address,address,uint256)");
+
+        assertThat(Hex.toHexString(hash))
+                .isEqualTo("ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef");
+        assertThat(ContractFunctionSelector.hashSignature("Transfer(address,address,uint256)"))
+                .isSameAs(hash);
+
+        var selector = new ContractFunctionSelector("transfer").addAddress().addUint256();
+        assertThat(Hex.toHexString(selector.finish())).isEqualTo("a9059cbb");
+        assertThat(selector.finish())
+                .isEqualTo(new ContractFunctionSelector("transfer")
+                        .addAddress()
+                        .addUint256()
+                        .finish());
+    }
 }
@@ -0,0 +1,235 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EntityIdCacheTest {
+    private static final String EVM_ADDRESS = "0x8f2e6c8b49d4f5b0a1c2d3e4f5a6b7c8d9e0f1a2";
+
+    @Test
+    void resolvesBothDirectionsFromOneLookup() throws Exception {
+        var cache = new EntityIdCache();
+        var fetches = new AtomicInteger();
+
+        var num = cache.resolveEvmAddress(EntityIdCache.Kind.ACCOUNT, EVM_ADDRESS, () -> {
+                    fetches.incrementAndGet();
+                    return CompletableFuture.completedFuture(new EntityIdCache.Mapping(1001, EVM_ADDRESS));
+                })
+                .get()
+                .num;
+
+        var evmAddress = cache.resolveNum(EntityIdCache.Kind.ACCOUNT, 1001, () -> {
+                    fetches.incrementAndGet();
+                    return CompletableFuture.failedFuture(new AssertionError("should be cached"));
+                })
+                .get()
+                .evmAddress;
+
+        assertThat(num).isEqualTo(1001);
+        assertThat(evmAddress).isEqualTo(EVM_ADDRESS.substring(2));
+        assertThat(fetches).hasValue(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void coalescesConcurrentLookups() throws Exception {
+        var cache = new EntityIdCache();
+        var pending = new CompletableFuture<EntityIdCache.Mapping>();
+        var fetches = new AtomicInteger();
+
+        var first = cache.resolveNum(EntityIdCache.Kind.ACCOUNT, 1001, () -> {
+            fetches.incrementAndGet();
+            return pending;
+        });
+        var second = cache.resolveNum(EntityIdCache.Kind.ACCOUNT, 1001, () -> {
+            fetches.incrementAndGet();
+            return pending;
+        });
+
+        pending.complete(new EntityIdCache.Mapping(1001, EVM_ADDRESS));
+
+        assertThat(first.get().num).isEqualTo(1001);
+        assertThat(second.get().num).isEqualTo(1001);
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void remembersNotFound() {
+        var cache = new EntityIdCache();
+        var fetches = new AtomicInteger();
+
+        for (var i = 0; i < 2; i++) {
+            var future = cache.resolveEvmAddress(EntityIdCache.Kind.CONTRACT, EVM_ADDRESS, () -> {
+                fetches.incrementAndGet();
+                return CompletableFuture.failedFuture(new MirrorRestClient.HttpStatusException(404, "{}"));
+            });
+
+            assertThatExceptionOfType(ExecutionException.class)
+                    .isThrownBy(future::get)
+                    .withMessageContaining("Received non-200 response from Mirror Node");
+        }
+
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void doesNotRememberOtherFailures() {
+        var cache = new EntityIdCache();
+        var fetches = new AtomicInteger();
+
+        for (var i = 0; i < 2; i++) {
+            var future = cache.resolveNum(EntityIdCache.Kind.ACCOUNT, 1001, () -> {
+                fetches.incrementAndGet();
+                return CompletableFuture.failedFuture(new MirrorRestClient.HttpStatusException(400, "{}"));
+            });
+
+            assertThatExceptionOfType(ExecutionException.class).isThrownBy(future::get);
+        }
+
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void resolvesLongZeroAddressesLocally() throws Exception {
+        var cache = new EntityIdCache();
+
+        var mapping = cache.resolveEvmAddress(
+                        EntityIdCache.Kind.ACCOUNT,
+                        "00000000000000000000000000000000000003e9",
+                        () -> CompletableFuture.failedFuture(new AssertionError("should not fetch")))
+                .get();
+
+        assertThat(mapping.num).isEqualTo(1001);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        var cache = new EntityIdCache();
+        cache.setMaxSize(2);
+
+        cache.put(EntityIdCache.Kind.ACCOUNT, new EntityIdCache.Mapping(1001, EVM_ADDRESS));
+        cache.put(EntityIdCache.Kind.ACCOUNT, new EntityIdCache.Mapping(1002, "0x" + "11".repeat(20)));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.containsNum(EntityIdCache.Kind.ACCOUNT, 1001)).isFalse();
+        assertThat(cache.containsNum(EntityIdCache.Kind.ACCOUNT, 1002)).isTrue();
+    }
+
+    @Test
+    void savesAndLoads(@TempDir Path directory) throws Exception {
+        var file = directory.resolve("entity-ids");
+        var cache = new EntityIdCache();
+        cache.put(EntityIdCache.Kind.ACCOUNT, new EntityIdCache.Mapping(1001, EVM_ADDRESS));
+        cache.put(EntityIdCache.Kind.CONTRACT, new EntityIdCache.Mapping(1002, EVM_ADDRESS));
+        cache.save(file, LedgerId.TESTNET);
+
+        var loaded = new EntityIdCache();
+        loaded.load(file, LedgerId.TESTNET);
+
+        assertThat(loaded.size()).isEqualTo(4);
+        assertThat(loaded.containsNum(EntityIdCache.Kind.ACCOUNT, 1001)).isTrue();
+        assertThat(loaded.containsNum(EntityIdCache.Kind.CONTRACT, 1002)).isTrue();
+    }
+
+    @Test
+    void rejectsFileOfAnotherLedger(@TempDir Path directory) throws Exception {
+        var file = directory.resolve("entity-ids");
+        var cache = new EntityIdCache();
+        cache.put(EntityIdCache.Kind.ACCOUNT, new EntityIdCache.Mapping(1001, EVM_ADDRESS));
+        cache.save(file, LedgerId.TESTNET);
+
+        var loaded = new EntityIdCache();
+
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> loaded.load(file, LedgerId.MAINNET))
+                .withMessageContaining("testnet");
+        assertThat(loaded.size()).isZero();
+    }
+
+    @Test
+    void doesNotCacheLookupsStartedBeforeClear() {
+        var cache = new EntityIdCache();
+        var pending = new CompletableFuture<EntityIdCache.Mapping>();
+
+        cache.resolveNum(EntityIdCache.Kind.ACCOUNT, 1001, () -> pending);
+        cache.clear();
+        pending.complete(new EntityIdCache.Mapping(1001, EVM_ADDRESS));
+
+        assertThat(cache.containsNum(EntityIdCache.Kind.ACCOUNT, 1001)).isFalse();
+    }
+
+    @Test
+    void completesLookupWhenFetchThrows() throws Exception {
+        var cache = new EntityIdCache();
+
+        var failed = cache.resolveNum(EntityIdCache.Kind.ACCOUNT, 1001, () -> {
+            throw new IllegalStateException("no mirror network");
+        });
+
+        assertThatExceptionOfType(ExecutionException.class)
+                .isThrownBy(failed::get)
+                .withMessageContaining("no mirror network");
+
+        var mapping = cache.resolveNum(
+                        EntityIdCache.Kind.ACCOUNT,
+                        1001,
+                        () -> CompletableFuture.completedFuture(new EntityIdCache.Mapping(1001, EVM_ADDRESS)))
+                .get();
+
+        assertThat(mapping.num).isEqualTo(1001);
+    }
+
+    @Test
+    void clientClearsCacheWhenLedgerChanges() throws Exception {
+        try (var client = Client.forNetwork(Map.of())) {
+            client.setLedgerId(LedgerId.TESTNET);
+            client.entityIdCache.put(EntityIdCache.Kind.ACCOUNT, new EntityIdCache.Mapping(1001, EVM_ADDRESS));
+
+            client.setLedgerId(LedgerId.TESTNET);
+            assertThat(client.entityIdCache.size()).isEqualTo(2);
+
+            client.setLedgerId(LedgerId.MAINNET);
+            assertThat(client.entityIdCache.size()).isZero();
+        }
+    }
+
+    @Test
+    void parsesMappingFromMirrorNodeResponse() throws Exception {
+        var json = "{\"account\":\"0.0.1001\",\"balance\":{\"balance\":5,\"tokens\":[]},\"evm_address\":\""
+                + EVM_ADDRESS + "\",\"key\":null}";
+
+        var reader = new JsonReader(new StringReader(json));
+
+        var mapping = EntityIdHelper.parseMappingFromMirrorNodeResponse(reader, "account", null);
+
+        assertThat(mapping.num).isEqualTo(1001);
+        assertThat(mapping.evmAddress).isEqualTo(EVM_ADDRESS.substring(2));
+    }
+
+    @Test
+    void parsesAccountPage() throws Exception {
+        var json = "{\"accounts\":[{\"account\":\"0.0.1001\",\"evm_address\":\"" + EVM_ADDRESS + "\"},"
+                + "{\"account\":\"0.0.1002\",\"evm_address\":null}],"
+                + "\"links\":{\"next\":\"/api/v1/accounts?account.id=gt:0.0.1002\"}}";
+        var cache = new EntityIdCache();
+
+        var next = EntityIdHelper.parseAccountPage(new JsonReader(new StringReader(json)), cache);
+
+        assertThat(next).isEqualTo("/api/v1/accounts?account.id=gt:0.0.1002");
+        assertThat(cache.containsNum(EntityIdCache.Kind.ACCOUNT, 1001)).isTrue();
+        assertThat(cache.containsNum(EntityIdCache.Kind.ACCOUNT, 1002)).isFalse();
+    }
+}
@@ -0,0 +1,140 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.ExchangeRateSet;
+import com.hedera.hashgraph.sdk.proto.TimestampSeconds;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FeeEstimatorTest {
+    private static final PrivateKey privateKey = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+
+    private static final Instant FAR_FUTURE = Instant.ofEpochSecond(4_000_000_000L);
+
+    /**
+     * Crypto transfers cost 100 tinycents plus 1 per byte at the node, 200 plus 500 per signature at the network and
+     * 300 at the service; file contents queries cost 100 tinycents plus 2 per response byte.
+     */
+    private static FeeSchedule spawnFeeSchedule(Instant expirationTime, long serviceConstant) {
+        return new FeeSchedule()
+                .setExpirationTime(expirationTime)
+                .addTransactionFeeSchedule(new TransactionFeeSchedule()
+                        .setRequestType(RequestType.CRYPTO_TRANSFER)
+                        .addFee(new FeeData()
+                                .setNodeData(new FeeComponents()
+                                        .setConstant(100_000)
+                                        .setTransactionBandwidthByte(1000))
+                                .setNetworkData(new FeeComponents()
+                                        .setConstant(200_000)
+                                        .setTransactionVerification(500_000))
+                                .setServiceData(new FeeComponents().setConstant(serviceConstant))))
+                .addTransactionFeeSchedule(new TransactionFeeSchedule()
+                        .setRequestType(RequestType.FILE_GET_CONTENTS)
+                        .addFee(new FeeData()
+                                .setNodeData(new FeeComponents()
+                                        .setConstant(100_000)
+                                        .setResponseMemoryByte(2000))));
+    }
+
+    private static ExchangeRates spawnExchangeRates(Instant expirationTime, int nextCents) {
+        return ExchangeRates.fromProtobuf(ExchangeRateSet.newBuilder()
+                .setCurrentRate(com.hedera.hashgraph.sdk.proto.ExchangeRate.newBuilder()
+                        .setHbarEquiv(1)
+                        .setCentEquiv(2)
+                        .setExpirationTime(TimestampSeconds.newBuilder().setSeconds(expirationTime.getEpochSecond())))
+                .setNextRate(com.hedera.hashgraph.sdk.proto.ExchangeRate.newBuilder()
+                        .setHbarEquiv(1)
+                        .setCentEquiv(nextCents)
+                        .setExpirationTime(TimestampSeconds.newBuilder().setSeconds(FAR_FUTURE.getEpochSecond())))
+                .build());
+    }
+
+    private static FeeEstimator spawnEstimator() {
+        return new FeeEstimator(
+                new FeeSchedules().setCurrent(spawnFeeSchedule(FAR_FUTURE, 300_000)),
+                spawnExchangeRates(FAR_FUTURE, 4));
+    }
+
+    private static TransferTransaction spawnTransfer() {
+        return new TransferTransaction()
+                .setNodeAccountIds(List.of(new AccountId(0, 0, 3)))
+                .setTransactionId(TransactionId.withValidStart(new AccountId(0, 0, 1001), Instant.ofEpochSecond(1)))
+                .addHbarTransfer(new AccountId(0, 0, 1001), Hbar.fromTinybars(-1))
+                .addHbarTransfer(new AccountId(0, 0, 1002), Hbar.fromTinybars(1))
+                .freeze()
+                .sign(privateKey);
+    }
+
+    @Test
+    void estimatesTransactionFeeFromSizeAndSignatures() {
+        var transaction = spawnTransfer();
+        var size = transaction.getTransactionSize();
+
+        var tinycents = (100 + size) + (200 + 500) + 300;
+
+        assertThat(spawnEstimator().estimateFee(transaction)).isEqualTo(Hbar.fromTinybars(tinycents / 2));
+    }
+
+    @Test
+    void estimatesTransactionFeeWithExpectedSignatures() {
+        var transaction = spawnTransfer();
+        var size = transaction.getTransactionSize() + 2 * FeeEstimator.SIGNATURE_PAIR_SIZE;
+
+        var tinycents = (100 + size) + (200 + 3 * 500) + 300;
+
+        assertThat(spawnEstimator().estimateFee(transaction, 3)).isEqualTo(Hbar.fromTinybars(tinycents / 2));
+    }
+
+    @Test
+    void estimatesQueryCostFromResponseSize() {
+        var query = new FileContentsQuery().setFileId(new FileId(0, 0, 5005));
+
+        assertThat(spawnEstimator().estimateCost(query, 50)).isEqualTo(Hbar.fromTinybars((100 + 2 * 50) / 2));
+    }
+
+    @Test
+    void usesNextScheduleAndRateOnceExpired() {
+        var expired = Instant.ofEpochSecond(1);
+        var estimator = new FeeEstimator(
+                new FeeSchedules()
+                        .setCurrent(spawnFeeSchedule(expired, 300_000))
+                        .setNext(spawnFeeSchedule(FAR_FUTURE, 1_300_000)),
+                spawnExchangeRates(expired, 4));
+
+        var transaction = spawnTransfer();
+        var tinycents = (100 + transaction.getTransactionSize()) + (200 + 500) + 1300;
+
+        assertThat(estimator.estimateFee(transaction)).isEqualTo(Hbar.fromTinybars(tinycents / 4));
+    }
+
+    @Test
+    void clampsComponentFeeToScheduleBounds() {
+        var prices = new FeeComponents().setConstant(1000).setMin(5000).setMax(8000);
+
+        assertThat(FeeEstimator.componentFee(prices, new FeeComponents().setConstant(1)))
+                .isEqualTo(5);
+        assertThat(FeeEstimator.componentFee(prices, new FeeComponents().setConstant(100)))
+                .isEqualTo(8);
+        assertThat(FeeEstimator.componentFee(null, new FeeComponents().setConstant(1)))
+                .isZero();
+    }
+
+    @Test
+    void rejectsRequestTypeMissingFromSchedule() {
+        var query = new AccountBalanceQuery().setAccountId(new AccountId(0, 0, 1001));
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> spawnEstimator().estimateCost(query));
+    }
+
+    @Test
+    void fixedEstimatorCannotRefresh() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> spawnEstimator().refresh());
+    }
+}
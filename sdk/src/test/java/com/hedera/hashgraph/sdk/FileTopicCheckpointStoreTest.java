@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileTopicCheckpointStoreTest {
+    private static final TopicId TOPIC = new TopicId(0, 0, 1000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savesAndReopens() throws Exception {
+        var file = directory.resolve("checkpoints");
+        var checkpoint = new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(1700000000, 42), 7);
+
+        try (var store = FileTopicCheckpointStore.open(file)) {
+            assertThat(store.load(TOPIC)).isNull();
+
+            store.save(new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(1700000000, 41), 6));
+            store.save(checkpoint);
+
+            assertThat(store.load(TOPIC)).isEqualTo(checkpoint);
+        }
+
+        try (var store = FileTopicCheckpointStore.open(file)) {
+            assertThat(store.load(TOPIC)).isEqualTo(checkpoint);
+        }
+
+        // reopening compacts the file to one line per topic
+        assertThat(Files.readAllLines(file)).containsExactly("0.0.1000 1700000000 42 7");
+    }
+
+    @Test
+    void batchesSyncs() throws Exception {
+        var file = directory.resolve("checkpoints");
+
+        try (var store = FileTopicCheckpointStore.open(file).setSyncEvery(3).setSyncInterval(Duration.ofMinutes(1))) {
+            store.save(new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(1), 1));
+            store.save(new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(2), 2));
+
+            assertThat(Files.size(file)).isZero();
+
+            store.save(new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(3), 3));
+
+            assertThat(Files.readAllLines(file)).hasSize(3);
+        }
+    }
+
+    @Test
+    void syncsAfterTheInterval() throws Exception {
+        var file = directory.resolve("checkpoints");
+
+        try (var store = FileTopicCheckpointStore.open(file).setSyncInterval(Duration.ofMillis(10))) {
+            store.save(new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(1), 1));
+
+            var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+            while (Files.size(file) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(Files.readAllLines(file)).hasSize(1);
+        }
+    }
+
+    @Test
+    void ignoresTornLastLine() throws Exception {
+        var file = directory.resolve("checkpoints");
+        Files.writeString(file, "0.0.1000 1 0 1\n0.0.1000 2 0 2\n0.0.10", StandardCharsets.UTF_8);
+
+        try (var store = FileTopicCheckpointStore.open(file)) {
+            assertThat(store.load(TOPIC)).isEqualTo(new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(2), 2));
+        }
+    }
+
+    @Test
+    void rejectsMalformedLines() throws Exception {
+        var file = directory.resolve("checkpoints");
+        Files.writeString(file, "0.0.1000 one 0 1\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE);
+
+        assertThatThrownBy(() -> FileTopicCheckpointStore.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    @Test
+    void compactsWhileAppending() throws Exception {
+        var file = directory.resolve("checkpoints");
+
+        try (var store = FileTopicCheckpointStore.open(file).setSyncEvery(1)) {
+            for (var i = 1; i <= FileTopicCheckpointStore.MIN_COMPACTION_LINES + 1; i++) {
+                store.save(new TopicCheckpoint(TOPIC, Instant.ofEpochSecond(i), i));
+            }
+
+            assertThat(Files.readAllLines(file)).hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.sdk.proto.FileID;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.ResponseType;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileUploadFlowMockTest {
+    private static final FileId FILE_ID = new FileId(0, 0, 5005);
+
+    @TempDir
+    Path directory;
+
+    private static byte[] spawnContents(int size) {
+        var contents = new byte[size];
+        for (var i = 0; i < size; i++) {
+            contents[i] = (byte) i;
+        }
+        return contents;
+    }
+
+    private static List<Object> spawnResponses(List<TransactionBody> submitted) {
+        return spawnResponses(submitted, ByteString.EMPTY);
+    }
+
+    /**
+     * Answers every transaction with OK, every receipt query with SUCCESS and every file contents query with the
+     * passed in contents, recording the submitted bodies.
+     */
+    private static List<Object> spawnResponses(List<TransactionBody> submitted, ByteString fileContents) {
+        var responses = new ArrayList<Object>();
+
+        Function<Object, Object> handler = request -> {
+            if (request instanceof Query query && query.hasFileGetContents()) {
+                var response = FileGetContentsResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setCost(10));
+
+                if (query.getFileGetContents().getHeader().getResponseType() != ResponseType.COST_ANSWER) {
+                    response.setFileContents(FileGetContentsResponse.FileContents.newBuilder()
+                            .setFileID(FILE_ID.toProtobuf())
+                            .setContents(fileContents));
+                }
+
+                return Response.newBuilder().setFileGetContents(response).build();
+            }
+
+            if (request instanceof Transaction transaction) {
+                var signedTransaction = SignedTransaction.parseFrom(transaction.getSignedTransactionBytes());
+                submitted.add(TransactionBody.parseFrom(signedTransaction.getBodyBytes()));
+
+                return TransactionResponse.newBuilder()
+                        .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                        .build();
+            }
+
+            return Response.newBuilder()
+                    .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                            .setReceipt(TransactionReceipt.newBuilder()
+                                    .setStatus(ResponseCodeEnum.SUCCESS)
+                                    .setFileID(FileID.newBuilder().setFileNum(FILE_ID.num))))
+                    .build();
+        };
+
+        for (var i = 0; i < 100; i++) {
+            responses.add(handler);
+        }
+
+        return responses;
+    }
+
+    private static ByteString concatUploaded(List<TransactionBody> submitted) {
+        var uploaded = ByteString.EMPTY;
+
+        for (var body : submitted) {
+            uploaded = uploaded.concat(
+                    body.hasFileCreate()
+                            ? body.getFileCreate().getContents()
+                            : body.getFileAppend().getContents());
+        }
+
+        return uploaded;
+    }
+
+    @Test
+    void uploadsStreamInOrderedChunks() throws Exception {
+        var contents = spawnContents(1000);
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+        var progress = new ArrayList<Long>();
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted)))) {
+            var fileId = new FileUploadFlow()
+                    .setContents(new ByteArrayInputStream(contents))
+                    .setChunkSize(100)
+                    .setMaxConcurrentChunks(3)
+                    .setProgressListener((id, uploaded) -> progress.add(uploaded))
+                    .execute(mocker.client);
+
+            assertThat(fileId).isEqualTo(FILE_ID);
+            assertThat(submitted).hasSize(10);
+            assertThat(submitted.get(0).hasFileCreate()).isTrue();
+            assertThat(submitted.subList(1, 10)).allMatch(TransactionBody::hasFileAppend);
+            assertThat(concatUploaded(submitted).toByteArray()).isEqualTo(contents);
+            assertThat(progress).containsExactly(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1000L);
+        }
+    }
+
+    @Test
+    void uploadsMappedFileToExistingFile() throws Exception {
+        var contents = spawnContents(250);
+        var path = directory.resolve("contents.bin");
+        Files.write(path, contents);
+
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted)))) {
+            var fileId = new FileUploadFlow()
+                    .setContents(path)
+                    .setFileId(FILE_ID)
+                    .setChunkSize(100)
+                    .execute(mocker.client);
+
+            assertThat(fileId).isEqualTo(FILE_ID);
+            assertThat(submitted).hasSize(3).allMatch(TransactionBody::hasFileAppend);
+            assertThat(submitted.get(2).getFileAppend().getContents().size()).isEqualTo(50);
+            assertThat(concatUploaded(submitted).toByteArray()).isEqualTo(contents);
+        }
+    }
+
+    @Test
+    void uploadsStreamAsynchronously() throws Exception {
+        var contents = spawnContents(1000);
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+        var progress = Collections.synchronizedList(new ArrayList<Long>());
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted)))) {
+            var fileId = new FileUploadFlow()
+                    .setContents(new ByteArrayInputStream(contents))
+                    .setChunkSize(100)
+                    .setMaxConcurrentChunks(3)
+                    .setProgressListener((id, uploaded) -> progress.add(uploaded))
+                    .executeAsync(mocker.client)
+                    .get();
+
+            assertThat(fileId).isEqualTo(FILE_ID);
+            assertThat(submitted).hasSize(10);
+            assertThat(concatUploaded(submitted).toByteArray()).isEqualTo(contents);
+            assertThat(progress).containsExactly(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1000L);
+        }
+    }
+
+    @Test
+    void resumesAfterTheContentsTheFileHolds() throws Exception {
+        var contents = spawnContents(300);
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+        var fileContents = ByteString.copyFrom(contents, 0, 150);
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted, fileContents)))) {
+            new FileUploadFlow()
+                    .setContents(new ByteArrayInputStream(contents))
+                    .setFileId(FILE_ID)
+                    .setResume(true)
+                    .setChunkSize(100)
+                    .execute(mocker.client);
+
+            assertThat(submitted).hasSize(2).allMatch(TransactionBody::hasFileAppend);
+            assertThat(concatUploaded(submitted).toByteArray()).isEqualTo(Arrays.copyOfRange(contents, 150, 300));
+        }
+    }
+
+    @Test
+    void refusesToResumeWhenTheFileDoesNotMatchTheContents() throws Exception {
+        var contents = spawnContents(300);
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+
+        // the second chunk failed while the third was appended
+        var fileContents = ByteString.copyFrom(contents, 0, 100).concat(ByteString.copyFrom(contents, 200, 100));
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted, fileContents)))) {
+            var flow = new FileUploadFlow()
+                    .setContents(new ByteArrayInputStream(contents))
+                    .setFileId(FILE_ID)
+                    .setResume(true)
+                    .setChunkSize(100);
+
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> flow.execute(mocker.client))
+                    .withMessageContaining("offset 100");
+            assertThat(submitted).isEmpty();
+        }
+    }
+
+    @Test
+    void resumeRequiresFileId() throws Exception {
+        var flow = new FileUploadFlow()
+                .setContents(new ByteArrayInputStream(new byte[1]))
+                .setResume(true);
+
+        try (var client = Client.forNetwork(Map.of())) {
+            assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> flow.execute(client));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.gson.stream.JsonReader;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MirrorNodeListQueryTest {
+    private static final AccountId ACCOUNT = new AccountId(0, 0, 1001);
+
+    @Test
+    void parsesNftPage() throws Exception {
+        var json = "{\"nfts\":[{\"account_id\":\"0.0.1001\",\"created_timestamp\":\"1700000000.000000005\","
+                + "\"deleted\":false,\"metadata\":\"AQI=\",\"serial_number\":3,\"spender\":null,"
+                + "\"token_id\":\"0.0.2000\"}],"
+                + "\"links\":{\"next\":\"/api/v1/accounts/0.0.1001/nfts?limit=1&serialnumber=lt:3\"}}";
+
+        try (var client = Client.forNetwork(Map.of())) {
+            var page = MirrorNodeListQuery.accountNfts(ACCOUNT)
+                    .parsePage(new JsonReader(new StringReader(json)), client);
+
+            assertThat(page.next).isEqualTo("/accounts/0.0.1001/nfts?limit=1&serialnumber=lt:3");
+            assertThat(page.items).hasSize(1);
+
+            var nft = page.items.get(0);
+            assertThat(nft.nftId).isEqualTo(new NftId(TokenId.fromString("0.0.2000"), 3));
+            assertThat(nft.accountId).isEqualTo(ACCOUNT);
+            assertThat(nft.creationTime).isEqualTo(Instant.ofEpochSecond(1700000000, 5));
+            assertThat(nft.metadata).containsExactly(1, 2);
+            assertThat(nft.spenderId).isNull();
+        }
+    }
+
+    @Test
+    void parsesTokenPage() throws Exception {
+        var json = "{\"tokens\":[{\"automatic_association\":true,\"balance\":42,\"created_timestamp\":\"1.0\","
+                + "\"decimals\":2,\"freeze_status\":\"UNFROZEN\",\"kyc_status\":\"NOT_APPLICABLE\","
+                + "\"token_id\":\"0.0.2000\"}],\"links\":{\"next\":null}}";
+
+        try (var client = Client.forNetwork(Map.of())) {
+            var page = MirrorNodeListQuery.accountTokenBalances(ACCOUNT)
+                    .parsePage(new JsonReader(new StringReader(json)), client);
+
+            assertThat(page.next).isNull();
+
+            var relationship = page.items.get(0);
+            assertThat(relationship.tokenId).isEqualTo(TokenId.fromString("0.0.2000"));
+            assertThat(relationship.balance).isEqualTo(42);
+            assertThat(relationship.decimals).isEqualTo(2);
+            assertThat(relationship.freezeStatus).isFalse();
+            assertThat(relationship.kycStatus).isNull();
+            assertThat(relationship.automaticAssociation).isTrue();
+        }
+    }
+
+    @Test
+    void parsesTransactionPage() throws Exception {
+        var json = "{\"transactions\":[{\"charged_tx_fee\":1000,\"consensus_timestamp\":\"1700000001.000000002\","
+                + "\"memo_base64\":\"aGVsbG8=\",\"name\":\"CRYPTOTRANSFER\",\"nonce\":0,\"result\":\"SUCCESS\","
+                + "\"scheduled\":false,\"transaction_id\":\"0.0.1001-1700000000-000000007\","
+                + "\"transfers\":[{\"account\":\"0.0.3\",\"amount\":1}]}],\"links\":{}}";
+
+        try (var client = Client.forNetwork(Map.of())) {
+            var page = MirrorNodeListQuery.accountTransactions(ACCOUNT)
+                    .parsePage(new JsonReader(new StringReader(json)), client);
+
+            var transaction = page.items.get(0);
+            assertThat(transaction.transactionId.accountId).isEqualTo(ACCOUNT);
+            assertThat(transaction.transactionId.validStart).isEqualTo(Instant.ofEpochSecond(1700000000, 7));
+            assertThat(transaction.consensusTimestamp).isEqualTo(Instant.ofEpochSecond(1700000001, 2));
+            assertThat(transaction.name).isEqualTo("CRYPTOTRANSFER");
+            assertThat(transaction.result).isEqualTo("SUCCESS");
+            assertThat(transaction.chargedFee).isEqualTo(Hbar.fromTinybars(1000));
+            assertThat(transaction.memo).isEqualTo("hello");
+        }
+    }
+
+    @Test
+    void parsesTimestamps() {
+        assertThat(MirrorNodeListQuery.parseTimestamp("1700000000.5"))
+                .isEqualTo(Instant.ofEpochSecond(1700000000, 500000000));
+        assertThat(MirrorNodeListQuery.parseTimestamp("1700000000")).isEqualTo(Instant.ofEpochSecond(1700000000));
+    }
+
+    @Test
+    void rejectsInvalidPageSize() {
+        var query = MirrorNodeListQuery.accountNfts(ACCOUNT);
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> query.setPageSize(0));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> query.setPageSize(MirrorNodeListQuery.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void propagatesFailures() throws Exception {
+        try (var client = Client.forNetwork(Map.of())) {
+            var query = MirrorNodeListQuery.accountNfts(ACCOUNT);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> query.iterator(client).hasNext())
+                    .withMessage("Mirror URL not found");
+
+            var error = new CompletableFuture<Throwable>();
+            query.toPublisher(client).subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(TokenNftInfo item) {}
+
+                @Override
+                public void onError(Throwable throwable) {
+                    error.complete(throwable);
+                }
+
+                @Override
+                public void onComplete() {}
+            });
+
+            assertThat(error.get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
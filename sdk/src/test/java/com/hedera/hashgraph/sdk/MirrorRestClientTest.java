@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MirrorRestClientTest {
+    @Test
+    void readMemberSkipsOtherMembers() throws IOException {
+        var json = "{\"balance\":{\"balance\":10,\"tokens\":[{\"token_id\":\"0.0.5\"}]},"
+                + "\"alias\":null,\"account\":\"0.0.1001\",\"evm_address\":\"0xabc\"}";
+
+        assertThat(MirrorRestClient.readMember(new JsonReader(new StringReader(json)), "account"))
+                .isEqualTo("0.0.1001");
+    }
+
+    @Test
+    void readMemberFailsWhenMissing() {
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() ->
+                        MirrorRestClient.readMember(new JsonReader(new StringReader("{\"alias\":null}")), "alias"));
+    }
+
+    @Test
+    void getApiUrl() throws Exception {
+        try (var testnet = Client.forTestnet();
+                var local = Client.forNetwork(Map.of())) {
+            var testnetRest = new MirrorRestClient(testnet);
+            assertThat(testnetRest.getApiUrl("testnet.mirrornode.hedera.com:443", "/accounts/1", false))
+                    .isEqualTo("https://testnet.mirrornode.hedera.com/api/v1/accounts/1");
+
+            var localRest = new MirrorRestClient(local);
+            assertThat(localRest.getApiUrl("127.0.0.1:5600", "/accounts/1", false))
+                    .isEqualTo("http://127.0.0.1:5551/api/v1/accounts/1");
+            assertThat(localRest.getApiUrl("127.0.0.1:5600", "/contracts/call", true))
+                    .isEqualTo("http://127.0.0.1:8545/api/v1/contracts/call");
+        }
+    }
+
+    @Test
+    void backoffDoublesUpToMax() {
+        assertThat(MirrorRestClient.getBackoff(1)).isEqualTo(Duration.ofMillis(250));
+        assertThat(MirrorRestClient.getBackoff(2)).isEqualTo(Duration.ofMillis(500));
+        assertThat(MirrorRestClient.getBackoff(20)).isEqualTo(MirrorRestClient.MAX_BACKOFF);
+    }
+
+    @Test
+    void retriesOnlyTransientStatuses() {
+        assertThat(List.of(429, 500, 502, 503, 504)).allMatch(MirrorRestClient::isRetryableStatus);
+        assertThat(List.of(200, 400, 404, 415)).noneMatch(MirrorRestClient::isRetryableStatus);
+    }
+
+    @Test
+    void failsWithoutMirrorNetwork() throws Exception {
+        try (var client = Client.forNetwork(Map.of())) {
+            var future = client.getMirrorRestClient()
+                    .sendAsync("/accounts/1", null, false, reader -> MirrorRestClient.readMember(reader, "account"));
+
+            assertThat(future).isCompletedExceptionally();
+            assertThat(client.getMirrorRestMetrics().getRequests()).isZero();
+        }
+    }
+}
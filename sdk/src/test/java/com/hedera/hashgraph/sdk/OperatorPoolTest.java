@@ -0,0 +1,171 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OperatorPoolTest {
+    private static final PrivateKey privateKey = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+    private static final AccountId first = AccountId.fromString("0.0.1001");
+    private static final AccountId second = AccountId.fromString("0.0.1002");
+    private static final AccountId third = AccountId.fromString("0.0.1003");
+
+    private static OperatorPool spawnPool(OperatorSelectionStrategy strategy) {
+        var pool = new OperatorPool();
+        pool.setStrategy(strategy);
+        for (var accountId : List.of(first, second, third)) {
+            pool.add(new Client.Operator(accountId, privateKey.getPublicKey(), privateKey::sign));
+        }
+        return pool;
+    }
+
+    @Test
+    @DisplayName("Round robin cycles through the pool")
+    void roundRobin() {
+        var pool = spawnPool(OperatorSelectionStrategy.ROUND_ROBIN);
+
+        assertThat(pool.next().accountId).isEqualTo(first);
+        assertThat(pool.next().accountId).isEqualTo(second);
+        assertThat(pool.next().accountId).isEqualTo(third);
+        assertThat(pool.next().accountId).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Least recently used picks the operator handed out longest ago")
+    void leastRecentlyUsed() {
+        var pool = spawnPool(OperatorSelectionStrategy.LEAST_RECENTLY_USED);
+
+        assertThat(pool.next().accountId).isEqualTo(first);
+        assertThat(pool.next().accountId).isEqualTo(second);
+        assertThat(pool.next().accountId).isEqualTo(third);
+        assertThat(pool.next().accountId).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Least in flight picks the operator with the fewest executing requests")
+    void leastInFlight() {
+        var pool = spawnPool(OperatorSelectionStrategy.LEAST_IN_FLIGHT);
+
+        pool.acquire(first, Hbar.ZERO);
+        pool.acquire(third, Hbar.ZERO);
+        assertThat(pool.next().accountId).isEqualTo(second);
+
+        pool.acquire(second, Hbar.ZERO);
+        pool.acquire(second, Hbar.ZERO);
+        pool.release(first, Hbar.ZERO, Hbar.ZERO);
+        assertThat(pool.next().accountId).isEqualTo(first);
+        assertThat(pool.getInFlight(second)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Excluded operators are skipped until their balance is set")
+    void excludedOperatorsAreSkipped() {
+        var pool = spawnPool(OperatorSelectionStrategy.ROUND_ROBIN);
+
+        pool.exclude(first);
+        pool.exclude(second);
+        assertThat(pool.next().accountId).isEqualTo(third);
+        assertThat(pool.next().accountId).isEqualTo(third);
+
+        pool.exclude(third);
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(pool::next);
+
+        pool.setBalance(second, new Hbar(10));
+        assertThat(pool.isExcluded(second)).isFalse();
+        assertThat(pool.next().accountId).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Operators are excluded once their tracked balance is used up")
+    void balanceIsTracked() {
+        var pool = spawnPool(OperatorSelectionStrategy.ROUND_ROBIN);
+
+        assertThat(pool.getBalance(first)).isNull();
+        pool.acquire(first, new Hbar(100));
+        assertThat(pool.getBalance(first)).isNull();
+        assertThat(pool.isExcluded(first)).isFalse();
+
+        pool.setBalance(first, new Hbar(3));
+        pool.acquire(first, new Hbar(2));
+        assertThat(pool.getBalance(first)).isEqualTo(new Hbar(1));
+        assertThat(pool.isExcluded(first)).isFalse();
+
+        pool.acquire(first, new Hbar(2));
+        assertThat(pool.isExcluded(first)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reservations are refunded and only known charges are debited")
+    void reservationsAreRefunded() {
+        var pool = spawnPool(OperatorSelectionStrategy.ROUND_ROBIN);
+
+        pool.setBalance(first, new Hbar(3));
+
+        // many requests reserving the default max fee must not use up a funded operator
+        for (var i = 0; i < 100; i++) {
+            pool.acquire(first, new Hbar(2));
+            pool.release(first, new Hbar(2), Hbar.ZERO);
+        }
+
+        assertThat(pool.getBalance(first)).isEqualTo(new Hbar(3));
+        assertThat(pool.isExcluded(first)).isFalse();
+
+        pool.acquire(first, new Hbar(4));
+        assertThat(pool.isExcluded(first)).isTrue();
+
+        pool.release(first, new Hbar(4), Hbar.fromTinybars(1));
+        assertThat(pool.getBalance(first)).isEqualTo(Hbar.fromTinybars(new Hbar(3).toTinybars() - 1));
+        assertThat(pool.isExcluded(first)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Transactions frozen with a client are paid for by the operator pool")
+    void freezeWithUsesOperatorPool() throws TimeoutException {
+        var client = Client.forNetwork(Map.of())
+                .addOperatorToPool(first, privateKey)
+                .addOperatorToPool(second, privateKey);
+        var nodeAccountIds = List.of(AccountId.fromString("0.0.3"));
+
+        var firstTransaction =
+                new TransferTransaction().setNodeAccountIds(nodeAccountIds).freezeWith(client);
+        var secondTransaction =
+                new TransferTransaction().setNodeAccountIds(nodeAccountIds).freezeWith(client);
+
+        assertThat(firstTransaction.getTransactionId().accountId).isEqualTo(first);
+        assertThat(secondTransaction.getTransactionId().accountId).isEqualTo(second);
+        assertThat(client.getOperatorPoolAccountIds()).containsExactly(first, second);
+
+        client.removeOperatorFromPool(first);
+        assertThat(client.getOperatorPoolAccountIds()).containsExactly(second);
+
+        client.close();
+    }
+
+    @Test
+    @DisplayName("The operator pays while every account of the pool is excluded")
+    void excludedPoolFallsBackToOperator() throws TimeoutException {
+        var operator = AccountId.fromString("0.0.2");
+        var client = Client.forNetwork(Map.of()).addOperatorToPool(first, privateKey);
+
+        client.operatorPool.exclude(first);
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(client::getPayerOperator)
+                .withMessageContaining("no operator");
+
+        client.setOperator(operator, privateKey);
+        assertThat(client.getPayerOperator().accountId).isEqualTo(operator);
+
+        client.setOperatorPoolBalance(first, new Hbar(1));
+        assertThat(client.getPayerOperator().accountId).isEqualTo(first);
+
+        client.close();
+    }
+}
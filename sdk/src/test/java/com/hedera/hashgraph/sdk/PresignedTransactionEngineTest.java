@@ -0,0 +1,131 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PresignedTransactionEngineTest {
+    private static final PrivateKey privateKey = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+    private static final AccountId payer = AccountId.fromString("0.0.1001");
+    private static final List<AccountId> nodeAccountIds =
+            List.of(AccountId.fromString("0.0.3"), AccountId.fromString("0.0.4"));
+    private static final Instant validStart = Instant.ofEpochSecond(1554158542);
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        client = Client.forNetwork(Map.of()).setOperator(payer, privateKey);
+    }
+
+    @AfterEach
+    void tearDown() throws TimeoutException {
+        client.close();
+    }
+
+    private static List<TransferTransaction> spawnTransfers(int count) {
+        var transactions = new ArrayList<TransferTransaction>(count);
+        for (var i = 0; i < count; i++) {
+            transactions.add(new TransferTransaction()
+                    .addHbarTransfer(payer, Hbar.fromTinybars(-i - 1))
+                    .addHbarTransfer(AccountId.fromString("0.0.2"), Hbar.fromTinybars(i + 1)));
+        }
+        return transactions;
+    }
+
+    @Test
+    void presignsAndStoresTransactionsOrderedByValidStart() throws InvalidProtocolBufferException {
+        try (var engine = new PresignedTransactionEngine(client).setNodeAccountIds(nodeAccountIds)) {
+            var transactionIds = engine.presignAsync(spawnTransfers(10), payer, validStart, Duration.ofMillis(5))
+                    .join();
+
+            assertThat(engine.size()).isEqualTo(10);
+            assertThat(engine.getNextValidStart()).isEqualTo(validStart);
+            assertThat(transactionIds.get(3).validStart).isEqualTo(validStart.plusMillis(15));
+
+            var transaction = Transaction.fromBytes(engine.getTransactionBytes(transactionIds.get(3)));
+
+            assertThat(transaction.getTransactionId()).isEqualTo(transactionIds.get(3));
+            assertThat(transaction.getNodeAccountIds()).isEqualTo(nodeAccountIds);
+            assertThat(transaction.getSignatures().get(nodeAccountIds.get(0))).containsKey(privateKey.getPublicKey());
+            assertThat(((TransferTransaction) transaction).getHbarTransfers())
+                    .containsEntry(AccountId.fromString("0.0.2"), Hbar.fromTinybars(4));
+        }
+    }
+
+    @Test
+    void takeDueReleasesOnlyTransactionsPastTheirValidStart() {
+        try (var engine = new PresignedTransactionEngine(client).setNodeAccountIds(nodeAccountIds)) {
+            engine.presignAsync(spawnTransfers(5), payer, validStart, Duration.ofSeconds(1))
+                    .join();
+
+            assertThat(engine.takeDue(validStart.minusSeconds(1))).isEmpty();
+            assertThat(engine.takeDue(validStart.plusSeconds(2))).hasSize(3);
+            assertThat(engine.size()).isEqualTo(2);
+            assertThat(engine.getNextValidStart()).isEqualTo(validStart.plusSeconds(3));
+        }
+    }
+
+    @Test
+    void takeDueDropsExpiredTransactions() {
+        var error = new AtomicReference<Throwable>();
+
+        try (var engine = new PresignedTransactionEngine(client)
+                .setNodeAccountIds(nodeAccountIds)
+                .setReleaseListener((response, throwable) -> error.set(throwable))) {
+            engine.presign(spawnTransfers(1).get(0), payer, validStart);
+
+            assertThat(engine.takeDue(validStart.plus(Duration.ofMinutes(5)))).isEmpty();
+            assertThat(engine.size()).isZero();
+            assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void takeDueSurvivesAThrowingListener() {
+        try (var engine = new PresignedTransactionEngine(client)
+                .setNodeAccountIds(nodeAccountIds)
+                .setReleaseListener((response, throwable) -> {
+                    throw new IllegalStateException("listener failed");
+                })) {
+            engine.presign(spawnTransfers(1).get(0), payer, validStart);
+            engine.presign(spawnTransfers(1).get(0), payer, validStart.plus(Duration.ofMinutes(5)));
+
+            // the first transaction expired, the second is due
+            assertThat(engine.takeDue(validStart.plus(Duration.ofMinutes(5)))).hasSize(1);
+            assertThat(engine.size()).isZero();
+        }
+    }
+
+    @Test
+    void presignRejectsDuplicateTransactionIds() {
+        try (var engine = new PresignedTransactionEngine(client).setNodeAccountIds(nodeAccountIds)) {
+            engine.presign(spawnTransfers(1).get(0), payer, validStart);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> engine.presign(spawnTransfers(1).get(0), payer, validStart));
+            assertThat(engine.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void presignAsyncRequiresPositiveSpacing() {
+        try (var engine = new PresignedTransactionEngine(client)) {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> engine.presignAsync(spawnTransfers(2), payer, validStart, Duration.ZERO));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.ResponseType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class QueryCostCacheMockTest {
+    private static final FileId FILE_ID = new FileId(0, 0, 5005);
+
+    /**
+     * Answers cost requests with a cost of 10 tinybars and file contents requests with the contents, counting the
+     * cost requests.
+     */
+    private static List<Object> spawnResponses(AtomicInteger costRequests) {
+        var responses = new ArrayList<Object>();
+
+        Function<Object, Object> handler = request -> {
+            var header = ((Query) request).getFileGetContents().getHeader();
+            var responseHeader = ResponseHeader.newBuilder().setCost(10);
+            var response = FileGetContentsResponse.newBuilder();
+
+            if (header.getResponseType() == ResponseType.COST_ANSWER) {
+                costRequests.incrementAndGet();
+            } else {
+                response.setFileContents(FileGetContentsResponse.FileContents.newBuilder()
+                        .setContents(ByteString.copyFromUtf8("contents")));
+            }
+
+            return Response.newBuilder()
+                    .setFileGetContents(response.setHeader(responseHeader))
+                    .build();
+        };
+
+        for (var i = 0; i < 10; i++) {
+            responses.add(handler);
+        }
+
+        return responses;
+    }
+
+    @Test
+    void requestsCostEveryTimeByDefault() throws Exception {
+        var costRequests = new AtomicInteger();
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(costRequests)))) {
+            new FileContentsQuery().setFileId(FILE_ID).execute(mocker.client);
+            new FileContentsQuery().setFileId(FILE_ID).execute(mocker.client);
+
+            assertThat(costRequests).hasValue(2);
+            assertThat(mocker.client.getQueryCostCacheHits()).isZero();
+            assertThat(mocker.client.getQueryCostCacheMisses()).isZero();
+        }
+    }
+
+    @Test
+    void reusesCachedCost() throws Exception {
+        var costRequests = new AtomicInteger();
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(costRequests)))) {
+            mocker.client.setQueryCostCacheTtl(Duration.ofMinutes(1));
+
+            var contents = new FileContentsQuery().setFileId(FILE_ID).execute(mocker.client);
+            new FileContentsQuery().setFileId(FILE_ID).executeAsync(mocker.client).get();
+
+            assertThat(contents.toStringUtf8()).isEqualTo("contents");
+            assertThat(costRequests).hasValue(1);
+            assertThat(mocker.client.getQueryCostCacheHits()).isEqualTo(1);
+            assertThat(mocker.client.getQueryCostCacheMisses()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void requestsCostAgainAfterInvalidation() throws Exception {
+        var costRequests = new AtomicInteger();
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(costRequests)))) {
+            mocker.client.setQueryCostCacheTtl(Duration.ofMinutes(1));
+
+            new FileContentsQuery().setFileId(FILE_ID).execute(mocker.client);
+            mocker.client.invalidateQueryCostCache();
+            new FileContentsQuery().setFileId(FILE_ID).execute(mocker.client);
+
+            assertThat(costRequests).hasValue(2);
+        }
+    }
+
+    @Test
+    void keysCostsByQueryContents() {
+        var cache = new QueryCostCache();
+        cache.setTtl(Duration.ofMinutes(1));
+
+        var first = new QueryKey(
+                FileContentsQuery.class, new FileContentsQuery().setFileId(FILE_ID).getCostCacheKey());
+        var second = new QueryKey(
+                FileContentsQuery.class,
+                new FileContentsQuery().setFileId(new FileId(0, 0, 5006)).getCostCacheKey());
+
+        cache.put(first, Hbar.fromTinybars(10));
+
+        assertThat(cache.get(first)).isEqualTo(Hbar.fromTinybars(10));
+        assertThat(cache.get(second)).isNull();
+    }
+
+    @Test
+    void keysContractCallCostsBySize() {
+        var first = new ContractCallQuery()
+                .setContractId(new ContractId(0, 0, 1))
+                .setGas(100_000)
+                .setFunctionParameters(new byte[] {1, 2, 3})
+                .getCostCacheKey();
+        var second = new ContractCallQuery()
+                .setContractId(new ContractId(0, 0, 2))
+                .setGas(100_000)
+                .setFunctionParameters(new byte[] {4, 5, 6})
+                .getCostCacheKey();
+        var third = new ContractCallQuery()
+                .setContractId(new ContractId(0, 0, 1))
+                .setGas(200_000)
+                .setFunctionParameters(new byte[] {1, 2, 3})
+                .getCostCacheKey();
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(third);
+    }
+
+    @Test
+    void newExchangeRateInvalidatesCache() {
+        var cache = new QueryCostCache();
+        cache.setTtl(Duration.ofMinutes(1));
+
+        var key = new QueryKey(FileContentsQuery.class, ByteString.EMPTY);
+
+        cache.observeExchangeRate(1, 12);
+        cache.put(key, Hbar.fromTinybars(10));
+        cache.observeExchangeRate(1, 12);
+        cache.observeExchangeRate(0, 0);
+
+        assertThat(cache.get(key)).isNotNull();
+
+        cache.observeExchangeRate(1, 13);
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void fallsBackOnceThresholdOfLookupsIsInFlight() {
+        var cache = new QueryCostCache();
+        cache.setFallbackThreshold(1);
+
+        assertThat(cache.tryBeginLookup()).isTrue();
+        assertThat(cache.tryBeginLookup()).isFalse();
+        assertThat(cache.getFallbacks()).isEqualTo(1);
+
+        cache.endLookup();
+
+        assertThat(cache.tryBeginLookup()).isTrue();
+    }
+}
@@ -0,0 +1,196 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class QueryResponseCacheMockTest {
+    private static final AccountId ACCOUNT_ID = new AccountId(0, 0, 10);
+
+    /**
+     * Answers balance queries with the number of requests received so far as balance, after waiting for the gate.
+     */
+    private static List<Object> spawnResponses(AtomicInteger requests, CountDownLatch gate, ResponseCodeEnum status) {
+        var responses = new ArrayList<Object>();
+
+        Function<Object, Object> handler = request -> {
+            var balance = requests.incrementAndGet();
+            gate.await(10, TimeUnit.SECONDS);
+
+            return Response.newBuilder()
+                    .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                            .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(status))
+                            .setAccountID(AccountID.newBuilder().setAccountNum(ACCOUNT_ID.num))
+                            .setBalance(balance))
+                    .build();
+        };
+
+        for (var i = 0; i < 10; i++) {
+            responses.add(handler);
+        }
+
+        return responses;
+    }
+
+    private static List<Object> spawnResponses(AtomicInteger requests) {
+        return spawnResponses(requests, new CountDownLatch(0), ResponseCodeEnum.OK);
+    }
+
+    @Test
+    void sendsEveryQueryByDefault() throws Exception {
+        var requests = new AtomicInteger();
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(requests)))) {
+            new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(mocker.client);
+            new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(mocker.client);
+
+            assertThat(requests).hasValue(2);
+            assertThat(mocker.client.getQueryCacheMisses()).isZero();
+        }
+    }
+
+    @Test
+    void coalescesConcurrentQueries() throws Exception {
+        var requests = new AtomicInteger();
+        var gate = new CountDownLatch(1);
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(requests, gate, ResponseCodeEnum.OK)))) {
+            mocker.client.setQueryConsistency(AccountBalanceQuery.class, QueryConsistency.SINGLE_FLIGHT);
+
+            var futures = new ArrayList<CompletableFuture<AccountBalance>>();
+            for (var i = 0; i < 5; i++) {
+                futures.add(new AccountBalanceQuery().setAccountId(ACCOUNT_ID).executeAsync(mocker.client));
+            }
+
+            gate.countDown();
+
+            for (var future : futures) {
+                assertThat(future.get().hbars).isEqualTo(Hbar.fromTinybars(1));
+            }
+
+            assertThat(requests).hasValue(1);
+            assertThat(mocker.client.getQueryCacheCoalesced()).isEqualTo(4);
+
+            // single flight does not keep the result once the query completed
+            var balance = new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(mocker.client);
+
+            assertThat(balance.hbars).isEqualTo(Hbar.fromTinybars(2));
+        }
+    }
+
+    @Test
+    void cachesResultsForTtl() throws Exception {
+        var requests = new AtomicInteger();
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(requests)))) {
+            mocker.client
+                    .setQueryConsistency(AccountBalanceQuery.class, QueryConsistency.CACHED)
+                    .setQueryCacheTtl(Duration.ofMinutes(1));
+
+            var first = new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(mocker.client);
+            var second = new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(mocker.client);
+
+            assertThat(second.hbars).isEqualTo(first.hbars);
+            assertThat(requests).hasValue(1);
+            assertThat(mocker.client.getQueryCacheHits()).isEqualTo(1);
+            assertThat(mocker.client.getQueryCacheMisses()).isEqualTo(1);
+
+            mocker.client.clearQueryCache();
+            new AccountBalanceQuery().setAccountId(ACCOUNT_ID).execute(mocker.client);
+
+            assertThat(requests).hasValue(2);
+        }
+    }
+
+    @Test
+    void doesNotCacheFailures() throws Exception {
+        var requests = new AtomicInteger();
+        var responses = spawnResponses(requests, new CountDownLatch(0), ResponseCodeEnum.INVALID_ACCOUNT_ID);
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            mocker.client
+                    .setQueryConsistency(AccountBalanceQuery.class, QueryConsistency.CACHED)
+                    .setQueryCacheTtl(Duration.ofMinutes(1));
+
+            for (var i = 0; i < 2; i++) {
+                assertThatExceptionOfType(PrecheckStatusException.class)
+                        .isThrownBy(() -> new AccountBalanceQuery()
+                                .setAccountId(ACCOUNT_ID)
+                                .execute(mocker.client));
+            }
+
+            assertThat(requests).hasValue(2);
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedResult() {
+        var cache = new QueryResponseCache();
+        cache.setTtl(Duration.ofMinutes(1));
+        cache.setMaxSize(2);
+
+        var keys = new ArrayList<QueryKey>();
+        for (var i = 0; i < 3; i++) {
+            var key = new QueryKey(AccountBalanceQuery.class, ByteString.copyFromUtf8("key" + i));
+            keys.add(key);
+
+            cache.complete(cache.join(key), QueryConsistency.CACHED, i, null);
+
+            if (i == 1) {
+                // touch the first result so that the second one is the least recently used
+                assertThat(cache.join(keys.get(0)).isLeader()).isFalse();
+            }
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.join(keys.get(0)).isLeader()).isFalse();
+        assertThat(cache.join(keys.get(2)).isLeader()).isFalse();
+        assertThat(cache.join(keys.get(1)).isLeader()).isTrue();
+    }
+
+    @Test
+    void keepsImmutableResultsPastTtl() {
+        var cache = new QueryResponseCache();
+        cache.setTtl(Duration.ZERO);
+
+        var expiring = new QueryKey(MirrorNodeContractCallQuery.class, ByteString.copyFromUtf8("latest"));
+        var immutable = new QueryKey(MirrorNodeContractCallQuery.class, ByteString.copyFromUtf8("block"));
+
+        cache.complete(cache.join(expiring), QueryConsistency.CACHED, "0x01", null, false);
+        cache.complete(cache.join(immutable), QueryConsistency.CACHED, "0x02", null, true);
+
+        assertThat(cache.join(expiring).isLeader()).isTrue();
+        assertThat(cache.join(immutable).getFuture()).isCompletedWithValue("0x02");
+    }
+
+    @Test
+    void setsMirrorNodeQueryConsistency() throws Exception {
+        try (var client = Client.forNetwork(Map.of())) {
+            assertThat(client.getMirrorNodeQueryConsistency(MirrorNodeContractEstimateGasQuery.class))
+                    .isEqualTo(QueryConsistency.STRONG);
+
+            client.setMirrorNodeQueryConsistency(MirrorNodeContractEstimateGasQuery.class, QueryConsistency.CACHED);
+
+            assertThat(client.getMirrorNodeQueryConsistency(MirrorNodeContractEstimateGasQuery.class))
+                    .isEqualTo(QueryConsistency.CACHED);
+            assertThat(client.getMirrorNodeQueryConsistency(MirrorNodeContractCallQuery.class))
+                    .isEqualTo(QueryConsistency.STRONG);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SignatureCacheTest {
+    @Test
+    void derivesEachSignatureOnce() {
+        var derived = new AtomicInteger();
+        var cache = new SignatureCache<>(4, signature -> {
+            derived.incrementAndGet();
+            return signature.length();
+        });
+
+        assertThat(cache.get("f(uint8)")).isEqualTo(8);
+        assertThat(cache.get("f(uint8)")).isEqualTo(8);
+        assertThat(derived).hasValue(1);
+    }
+
+    @Test
+    void startsOverWhenFull() {
+        var cache = new SignatureCache<>(2, String::length);
+
+        cache.get("a()");
+        cache.get("b()");
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.get("c()");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
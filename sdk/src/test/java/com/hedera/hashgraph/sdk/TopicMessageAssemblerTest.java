@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+
+class TopicMessageAssemblerTest {
+    private static ConsensusTopicResponse chunk(long payer, int number, int total, int size) {
+        return ConsensusTopicResponse.newBuilder()
+                .setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                        .setInitialTransactionID(TransactionID.newBuilder()
+                                .setAccountID(AccountID.newBuilder().setAccountNum(payer))
+                                .setTransactionValidStart(Timestamp.newBuilder().setSeconds(1)))
+                        .setNumber(number)
+                        .setTotal(total))
+                .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(number))
+                .setSequenceNumber(number)
+                .setMessage(ByteString.copyFrom(new byte[size]))
+                .build();
+    }
+
+    @Test
+    void assemblesChunks() {
+        var evictions = new LongAdder();
+        var assembler = new TopicMessageAssembler(10, 1024, Duration.ofMinutes(1), evictions);
+
+        assertThat(assembler.add(chunk(3, 1, 2, 10))).isNull();
+        assertThat(assembler.getPendingBytes()).isEqualTo(10);
+
+        var message = assembler.add(chunk(3, 2, 2, 10));
+
+        assertThat(message).isNotNull();
+        assertThat(message.contents).hasSize(20);
+        assertThat(assembler.getPendingMessages()).isZero();
+        assertThat(assembler.getPendingBytes()).isZero();
+        assertThat(evictions.sum()).isZero();
+    }
+
+    @Test
+    void evictsOldestWhenTooManyArePending() {
+        var evictions = new LongAdder();
+        var assembler = new TopicMessageAssembler(2, 1024, Duration.ofMinutes(1), evictions);
+
+        assembler.add(chunk(3, 1, 2, 1));
+        assembler.add(chunk(4, 1, 2, 1));
+        assembler.add(chunk(5, 1, 2, 1));
+
+        assertThat(assembler.getPendingMessages()).isEqualTo(2);
+        assertThat(evictions.sum()).isEqualTo(1);
+
+        // the first message was evicted, so its last chunk starts a new incomplete message
+        assertThat(assembler.add(chunk(3, 2, 2, 1))).isNull();
+        assertThat(assembler.add(chunk(5, 2, 2, 1))).isNotNull();
+    }
+
+    @Test
+    void evictsOldestWhenTooManyBytesArePending() {
+        var evictions = new LongAdder();
+        var assembler = new TopicMessageAssembler(10, 100, Duration.ofMinutes(1), evictions);
+
+        assembler.add(chunk(3, 1, 3, 60));
+        assembler.add(chunk(4, 1, 3, 60));
+
+        assertThat(assembler.getPendingMessages()).isEqualTo(1);
+        assertThat(assembler.getPendingBytes()).isEqualTo(60);
+        assertThat(evictions.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsExpiredMessages() throws InterruptedException {
+        var evictions = new LongAdder();
+        var assembler = new TopicMessageAssembler(10, 1024, Duration.ofMillis(1), evictions);
+
+        assembler.add(chunk(3, 1, 2, 1));
+        Thread.sleep(5);
+        assembler.add(chunk(4, 1, 2, 1));
+
+        assertThat(assembler.getPendingMessages()).isEqualTo(1);
+        assertThat(evictions.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void passesSingleChunksThrough() {
+        var assembler = new TopicMessageAssembler(1, 1, Duration.ofMillis(1), new LongAdder());
+
+        assertThat(assembler.add(chunk(3, 1, 1, 10))).isNotNull();
+        assertThat(assembler.getPendingMessages()).isZero();
+    }
+}
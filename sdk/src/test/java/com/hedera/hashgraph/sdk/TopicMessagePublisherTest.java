@@ -0,0 +1,190 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.Longs;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class TopicMessagePublisherTest {
+    private static final Instant START_TIME = Instant.now();
+
+    private final List<ConsensusTopicResponse> responses = Collections.synchronizedList(new ArrayList<>());
+    private Client client;
+    private Server server;
+
+    @BeforeEach
+    void setup() throws Exception {
+        client = Client.forNetwork(Collections.emptyMap());
+        client.setMirrorNetwork(List.of("in-process:publisher-test"));
+        server = InProcessServerBuilder.forName("publisher-test")
+                .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                    @Override
+                    public void subscribeTopic(
+                            ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> streamObserver) {
+                        responses.forEach(streamObserver::onNext);
+                        streamObserver.onCompleted();
+                    }
+                })
+                .directExecutor()
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Test
+    @Timeout(5)
+    void deliversEveryMessageWithUnboundedDemand() throws Exception {
+        for (var i = 1L; i <= 5; i++) {
+            responses.add(response(i, 0));
+        }
+
+        var subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        var publisher = spawnQuery().toPublisher(client);
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.terminated.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.received).extracting(m -> m.sequenceNumber).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(subscriber.error).isNull();
+        assertThat(publisher.getDeliveredMessages()).isEqualTo(5);
+        assertThat(publisher.getActiveSubscriptions()).isZero();
+    }
+
+    @Test
+    @Timeout(5)
+    void buffersNoMoreThanMaxBufferSize() throws Exception {
+        for (var i = 1L; i <= 10; i++) {
+            responses.add(response(i, 0));
+        }
+
+        var subscriber = new RecordingSubscriber(1);
+        var publisher = spawnQuery().setMaxBufferSize(2).toPublisher(client);
+        publisher.subscribe(subscriber);
+
+        Thread.sleep(200);
+
+        assertThat(subscriber.received).hasSize(1);
+        assertThat(publisher.getBufferedMessages()).isLessThanOrEqualTo(2);
+        assertThat(publisher.getLag()).isPositive();
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.terminated.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.received).hasSize(10);
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    @Timeout(5)
+    void reassemblesChunks() throws Exception {
+        responses.add(response(1, 2));
+        responses.add(response(2, 2));
+
+        var subscriber = new RecordingSubscriber(1);
+        spawnQuery().toPublisher(client).subscribe(subscriber);
+
+        assertThat(subscriber.terminated.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.received).hasSize(1);
+        assertThat(subscriber.received.get(0).chunks).hasSize(2);
+    }
+
+    @Test
+    @Timeout(5)
+    void rejectsNonPositiveRequest() throws Exception {
+        responses.add(response(1, 0));
+
+        var subscriber = new RecordingSubscriber(0);
+        spawnQuery().toPublisher(client).subscribe(subscriber);
+
+        assertThat(subscriber.terminated.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(subscriber.received).isEmpty();
+    }
+
+    private static TopicMessageQuery spawnQuery() {
+        return new TopicMessageQuery().setTopicId(TopicId.fromString("0.0.1000")).setStartTime(START_TIME);
+    }
+
+    private static ConsensusTopicResponse response(long sequenceNumber, int total) {
+        var builder = ConsensusTopicResponse.newBuilder();
+
+        if (total > 0) {
+            builder.setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                    .setInitialTransactionID(TransactionID.newBuilder()
+                            .setAccountID(AccountID.newBuilder().setAccountNum(3))
+                            .setTransactionValidStart(Timestamp.newBuilder().setSeconds(START_TIME.getEpochSecond())))
+                    .setNumber((int) sequenceNumber)
+                    .setTotal(total));
+        }
+
+        var message = ByteString.copyFrom(Longs.toByteArray(sequenceNumber));
+        return builder.setConsensusTimestamp(
+                        Timestamp.newBuilder().setSeconds(START_TIME.getEpochSecond() - 60 + sequenceNumber))
+                .setSequenceNumber(sequenceNumber)
+                .setMessage(message)
+                .setRunningHash(message)
+                .setRunningHashVersion(2L)
+                .build();
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<TopicMessage> {
+        private final long initialRequest;
+        private final List<TopicMessage> received = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(TopicMessage item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.InstanceOfAssertFactories;
@@ -371,6 +372,72 @@ class TopicMessageQueryTest {
         Assertions.assertThat(received).isEmpty();
     }
 
+    @Test
+    @Timeout(5)
+    void checkpointKeepsInterleavedChunkedMessages() {
+        var checkpoint = new AtomicReference<TopicCheckpoint>();
+        topicMessageQuery.setCheckpointStore(new TopicCheckpointStore() {
+            @Override
+            public TopicCheckpoint load(TopicId topicId) {
+                return checkpoint.get();
+            }
+
+            @Override
+            public void save(TopicCheckpoint topicCheckpoint) {
+                checkpoint.set(topicCheckpoint);
+            }
+        });
+
+        var first = chunkedTransactionId(1);
+        var second = chunkedTransactionId(2);
+        var responses = List.of(
+                chunk(1L, first, 1), chunk(2L, second, 1), response(3L), chunk(4L, second, 2), chunk(5L, first, 2));
+
+        // the stream ends before the last chunk of the first message
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.addAll(responses.subList(0, 4));
+
+        subscribeToMirror(received::add);
+
+        Assertions.assertThat(received).extracting(t -> t.sequenceNumber).containsExactly(3L, 4L);
+        assertThat(checkpoint.get().consensusTimestamp).isEqualTo(START_TIME.plusSeconds(1).minusNanos(1));
+        assertThat(checkpoint.get().sequenceNumber).isEqualTo(4L);
+
+        // resuming replays the first chunk of the first message, and drops the messages delivered already
+        complete.set(false);
+        received.clear();
+        consensusServiceStub.requests.add(
+                request().setConsensusStartTime(toTimestamp(START_TIME.plusSeconds(1))).build());
+        consensusServiceStub.responses.addAll(responses);
+
+        subscribeToMirror(received::add);
+
+        assertThat(errors).isEmpty();
+        Assertions.assertThat(received).extracting(t -> t.sequenceNumber).containsExactly(5L);
+        Assertions.assertThat(received.get(0).chunks).hasSize(2);
+        assertThat(checkpoint.get().consensusTimestamp).isEqualTo(START_TIME.plusSeconds(5));
+    }
+
+    @Test
+    @Timeout(3)
+    void unsubscribeDuringRetryBackoff() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(Status.UNAVAILABLE.asRuntimeException());
+
+        var stopwatch = Stopwatch.createStarted();
+        var subscriptionHandle = topicMessageQuery.subscribe(client, received::add);
+
+        // the retry waits out its backoff on a timer instead of blocking the caller or the gRPC thread
+        assertThat(stopwatch.elapsed(TimeUnit.MILLISECONDS)).isLessThan(500);
+
+        subscriptionHandle.unsubscribe();
+        Uninterruptibles.sleepUninterruptibly(1, TimeUnit.SECONDS);
+
+        // a reconnect after unsubscribing would fail on the stub, which expects no second request
+        Assertions.assertThat(received).isEmpty();
+        assertThat(errors).isEmpty();
+    }
+
     private void subscribeToMirror(Consumer<TopicMessage> onNext) {
         SubscriptionHandle subscriptionHandle = topicMessageQuery.subscribe(client, onNext);
         Stopwatch stopwatch = Stopwatch.createStarted();
@@ -419,6 +486,22 @@ class TopicMessageQueryTest {
                 .build();
     }
 
+    private static TransactionID chunkedTransactionId(long accountNum) {
+        return TransactionID.newBuilder()
+                .setAccountID(AccountID.newBuilder().setAccountNum(accountNum).build())
+                .setTransactionValidStart(toTimestamp(START_TIME))
+                .build();
+    }
+
+    private static ConsensusTopicResponse chunk(long sequenceNumber, TransactionID transactionId, int number) {
+        return response(sequenceNumber).toBuilder()
+                .setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                        .setInitialTransactionID(transactionId)
+                        .setNumber(number)
+                        .setTotal(2))
+                .build();
+    }
+
     private static Instant toInstant(Timestamp timestamp) {
         return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
     }
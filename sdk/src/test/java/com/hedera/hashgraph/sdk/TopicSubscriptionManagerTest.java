@@ -0,0 +1,208 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.primitives.Longs;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+class TopicSubscriptionManagerTest {
+    private static final Instant START_TIME = Instant.now();
+
+    private final List<ConsensusTopicQuery> requests = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger failures = new AtomicInteger();
+    private Client client;
+    private Server server;
+
+    @BeforeEach
+    void setup() throws Exception {
+        client = Client.forNetwork(Collections.emptyMap());
+        client.setMirrorNetwork(List.of("in-process:manager-test"));
+        server = InProcessServerBuilder.forName("manager-test")
+                .addService(new ConsensusServiceGrpc.ConsensusServiceImplBase() {
+                    @Override
+                    public void subscribeTopic(
+                            ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> streamObserver) {
+                        requests.add(request);
+
+                        // each topic has three messages; a failing stream breaks after the first one it sends
+                        var fail = failures.getAndDecrement() > 0;
+                        var start = request.getConsensusStartTime();
+                        var topicNum = request.getTopicID().getTopicNum();
+
+                        for (var i = 1L; i <= 3; i++) {
+                            var seconds = START_TIME.getEpochSecond() - 60 + i;
+                            var afterStart = seconds > start.getSeconds()
+                                    || (seconds == start.getSeconds() && start.getNanos() == 0);
+
+                            if (afterStart) {
+                                streamObserver.onNext(response(topicNum * 100 + i, seconds));
+
+                                if (fail) {
+                                    streamObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                                    return;
+                                }
+                            }
+                        }
+
+                        // topics above 2000 stay subscribed
+                        if (topicNum < 2000) {
+                            streamObserver.onCompleted();
+                        }
+                    }
+                })
+                .directExecutor()
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Test
+    @Timeout(5)
+    void deliversMessagesOfManyTopicsInOrder() throws Exception {
+        var manager = new TopicSubscriptionManager(client);
+        var completed = new CountDownLatch(3);
+        var received = new ArrayList<List<Long>>();
+
+        for (var i = 0; i < 3; i++) {
+            var messages = Collections.synchronizedList(new ArrayList<Long>());
+            received.add(messages);
+
+            manager.subscribe(
+                    spawnQuery(1000 + i).setCompletionHandler(completed::countDown),
+                    message -> messages.add(Longs.fromByteArray(message.contents)));
+        }
+
+        assertThat(completed.await(3, TimeUnit.SECONDS)).isTrue();
+
+        for (var i = 0; i < 3; i++) {
+            var base = (1000L + i) * 100;
+            assertThat(received.get(i)).containsExactly(base + 1, base + 2, base + 3);
+        }
+
+        assertThat(manager.size()).isZero();
+    }
+
+    @Test
+    @Timeout(5)
+    void reportsStatsPerTopic() throws Exception {
+        var manager = new TopicSubscriptionManager(client);
+        var delivered = new CountDownLatch(6);
+        var topicId = new TopicId(0, 0, 2000);
+
+        manager.subscribe(spawnQuery(2000), message -> delivered.countDown());
+        manager.subscribe(spawnQuery(2000), message -> delivered.countDown());
+
+        assertThat(delivered.await(3, TimeUnit.SECONDS)).isTrue();
+
+        var stats = manager.getStats();
+
+        assertThat(stats).containsOnlyKeys(topicId);
+        assertThat(stats.get(topicId).subscriptions).isEqualTo(2);
+        assertThat(stats.get(topicId).receivedResponses).isEqualTo(6);
+        assertThat(stats.get(topicId).deliveredMessages).isEqualTo(6);
+        assertThat(stats.get(topicId).lag).isPositive();
+        assertThat(stats.get(topicId).messagesPerSecond).isPositive();
+    }
+
+    @Test
+    @Timeout(5)
+    void reconnectsFromTheLastMessage() throws Exception {
+        failures.set(1);
+
+        var manager = new TopicSubscriptionManager(client);
+        var completed = new CountDownLatch(1);
+        var received = Collections.synchronizedList(new ArrayList<Long>());
+
+        manager.subscribe(
+                spawnQuery(1000).setCompletionHandler(completed::countDown),
+                message -> received.add(Longs.fromByteArray(message.contents)));
+
+        assertThat(completed.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly(100001L, 100002L, 100003L);
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).getConsensusStartTime().getNanos()).isEqualTo(1);
+        assertThat(manager.getStats()).isEmpty();
+    }
+
+    @Test
+    @Timeout(5)
+    void resumesAfterTheCheckpoint(@TempDir Path directory) throws Exception {
+        var manager = new TopicSubscriptionManager(client);
+        var completed = new CountDownLatch(1);
+        var received = Collections.synchronizedList(new ArrayList<Long>());
+
+        try (var store = FileTopicCheckpointStore.open(directory.resolve("checkpoints"))) {
+            var topicId = new TopicId(0, 0, 1000);
+            store.save(new TopicCheckpoint(topicId, Instant.ofEpochSecond(START_TIME.getEpochSecond() - 59), 1));
+
+            manager.subscribe(
+                    spawnQuery(1000).setCheckpointStore(store).setCompletionHandler(completed::countDown),
+                    message -> received.add(Longs.fromByteArray(message.contents)));
+
+            assertThat(completed.await(3, TimeUnit.SECONDS)).isTrue();
+            assertThat(received).containsExactly(100002L, 100003L);
+            assertThat(requests.get(0).getConsensusStartTime().getNanos()).isEqualTo(1);
+            assertThat(store.load(topicId)).isNotNull().extracting(c -> c.sequenceNumber).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void closeUnsubscribesEverySubscription() {
+        var manager = new TopicSubscriptionManager(client);
+
+        manager.subscribe(spawnQuery(2000), message -> {});
+        manager.subscribe(spawnQuery(2001), message -> {});
+
+        assertThat(manager.size()).isEqualTo(2);
+
+        manager.close();
+
+        assertThat(manager.size()).isZero();
+    }
+
+    private static TopicMessageQuery spawnQuery(long topicNum) {
+        return new TopicMessageQuery()
+                .setTopicId(new TopicId(0, 0, topicNum))
+                .setStartTime(START_TIME.minusSeconds(120));
+    }
+
+    private static ConsensusTopicResponse response(long value, long seconds) {
+        var message = ByteString.copyFrom(Longs.toByteArray(value));
+        return ConsensusTopicResponse.newBuilder()
+                .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(seconds))
+                .setSequenceNumber(value % 100)
+                .setMessage(message)
+                .setRunningHash(message)
+                .setRunningHashVersion(2L)
+                .build();
+    }
+}
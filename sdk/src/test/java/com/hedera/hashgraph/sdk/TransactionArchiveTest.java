@@ -0,0 +1,148 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TransactionArchiveTest {
+    private static final PrivateKey privateKey = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+    private static final AccountId payer = AccountId.fromString("0.0.1001");
+    private static final Instant validStart = Instant.ofEpochSecond(1554158542);
+
+    @TempDir
+    Path directory;
+
+    private static TransferTransaction spawnTransfer(int i) {
+        return new TransferTransaction()
+                .setNodeAccountIds(List.of(AccountId.fromString("0.0.3"), AccountId.fromString("0.0.4")))
+                .setTransactionId(TransactionId.withValidStart(payer, validStart.plusNanos(i)))
+                .addHbarTransfer(payer, Hbar.fromTinybars(-i - 1))
+                .addHbarTransfer(AccountId.fromString("0.0.2"), Hbar.fromTinybars(i + 1))
+                .freeze()
+                .sign(privateKey);
+    }
+
+    private static List<byte[]> writeTransfers(Path path, int count) throws IOException {
+        var written = new ArrayList<byte[]>(count);
+
+        try (var writer = TransactionArchiveWriter.create(path)) {
+            for (var i = 0; i < count; i++) {
+                var bytes = spawnTransfer(i).toBytes();
+                writer.write(bytes);
+                written.add(bytes);
+            }
+
+            assertThat(writer.getCount()).isEqualTo(count);
+        }
+
+        return written;
+    }
+
+    @Test
+    void roundTripsTransactions() throws Exception {
+        var path = directory.resolve("transactions.htxa");
+        var written = writeTransfers(path, 25);
+
+        try (var reader = TransactionArchiveReader.open(path)) {
+            var i = 0;
+            for (var entry : reader) {
+                assertThat(entry.getIndex()).isEqualTo(i);
+                assertThat(entry.getBytes().toByteArray()).isEqualTo(written.get(i));
+
+                var transaction = entry.toTransaction();
+                assertThat(transaction.getTransactionId())
+                        .isEqualTo(TransactionId.withValidStart(payer, validStart.plusNanos(i)));
+                assertThat(transaction.getSignatures().get(AccountId.fromString("0.0.3")))
+                        .containsKey(privateKey.getPublicKey());
+                i++;
+            }
+
+            assertThat(i).isEqualTo(25);
+        }
+    }
+
+    @Test
+    void remapsWhenEntriesCrossTheWindow() throws Exception {
+        var path = directory.resolve("transactions.htxa");
+        var written = writeTransfers(path, 50);
+
+        // a window barely larger than one entry forces a remap for almost every entry
+        try (var reader = TransactionArchiveReader.open(path, written.get(0).length + 16)) {
+            var entries = reader.stream().toList();
+
+            assertThat(entries).hasSize(50);
+            for (var i = 0; i < entries.size(); i++) {
+                assertThat(entries.get(i).getBytes().toByteArray()).isEqualTo(written.get(i));
+            }
+        }
+    }
+
+    @Test
+    void rejectsEntriesLargerThanTheWindow() throws Exception {
+        var path = directory.resolve("transactions.htxa");
+        writeTransfers(path, 1);
+
+        try (var reader = TransactionArchiveReader.open(path, 16)) {
+            assertThatExceptionOfType(IOException.class).isThrownBy(reader::next);
+        }
+    }
+
+    @Test
+    void appendsToExistingArchive() throws Exception {
+        var path = directory.resolve("transactions.htxa");
+        writeTransfers(path, 3);
+
+        try (var writer = TransactionArchiveWriter.append(path)) {
+            writer.write(spawnTransfer(3));
+        }
+
+        try (var reader = TransactionArchiveReader.open(path)) {
+            assertThat(reader.skip(3)).isEqualTo(3);
+            assertThat(reader.next().toTransaction().getTransactionId())
+                    .isEqualTo(TransactionId.withValidStart(payer, validStart.plusNanos(3)));
+            assertThat(reader.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void copiesEntriesBetweenArchives() throws Exception {
+        var source = directory.resolve("source.htxa");
+        var target = directory.resolve("target.htxa");
+        var written = writeTransfers(source, 10);
+
+        try (var reader = TransactionArchiveReader.open(source);
+                var writer = TransactionArchiveWriter.create(target)) {
+            for (var entry : reader) {
+                if (entry.getIndex() % 2 == 0) {
+                    writer.write(entry.getBytes());
+                }
+            }
+        }
+
+        try (var reader = TransactionArchiveReader.open(target)) {
+            var entries = reader.stream().toList();
+
+            assertThat(entries).hasSize(5);
+            assertThat(entries.get(1).getBytes().toByteArray()).isEqualTo(written.get(2));
+        }
+    }
+
+    @Test
+    void rejectsFilesWithoutHeader() throws Exception {
+        var path = directory.resolve("garbage.bin");
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> TransactionArchiveReader.open(path));
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> TransactionArchiveWriter.append(path));
+    }
+}
@@ -0,0 +1,119 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+class TransactionBatcherMockTest {
+    private static final PrivateKey batchKey = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+
+    private static List<Object> spawnResponses(List<TransactionBody> submitted, ResponseCodeEnum status) {
+        var responses = new ArrayList<Object>();
+
+        Function<Object, Object> handler = request -> {
+            var transaction = (com.hedera.hashgraph.sdk.proto.Transaction) request;
+            var signedTransaction = SignedTransaction.parseFrom(transaction.getSignedTransactionBytes());
+            submitted.add(TransactionBody.parseFrom(signedTransaction.getBodyBytes()));
+
+            return TransactionResponse.newBuilder()
+                    .setNodeTransactionPrecheckCode(status)
+                    .build();
+        };
+
+        for (var i = 0; i < 10; i++) {
+            responses.add(handler);
+        }
+
+        return responses;
+    }
+
+    private static TransferTransaction spawnTransfer(Client client, long amount) {
+        return new TransferTransaction()
+                .addHbarTransfer(client.getOperatorAccountId(), Hbar.fromTinybars(-amount))
+                .addHbarTransfer(new AccountId(0, 0, 2), Hbar.fromTinybars(amount));
+    }
+
+    @Test
+    void flushesOnceBatchIsFull() throws Exception {
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted, ResponseCodeEnum.OK)));
+                var batcher = new TransactionBatcher(mocker.client, batchKey)
+                        .setMaxBatchSize(3)
+                        .setMaxDelay(Duration.ofMinutes(1))) {
+            var futures = new ArrayList<CompletableFuture<com.hedera.hashgraph.sdk.TransactionResponse>>();
+            var transactions = new ArrayList<TransferTransaction>();
+
+            for (var i = 1; i <= 3; i++) {
+                var transaction = spawnTransfer(mocker.client, i);
+                transactions.add(transaction);
+                futures.add(batcher.submit(transaction));
+            }
+
+            for (var i = 0; i < 3; i++) {
+                var response = futures.get(i).get();
+                assertThat(response.transactionId).isEqualTo(transactions.get(i).getTransactionId());
+                assertThat(response.nodeId).isEqualTo(new AccountId(0, 0, 3));
+            }
+
+            assertThat(submitted).hasSize(1);
+            assertThat(submitted.get(0).getAtomicBatch().getTransactionsCount()).isEqualTo(3);
+            assertThat(batcher.size()).isZero();
+        }
+    }
+
+    @Test
+    void flushesAfterMaxDelay() throws Exception {
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+
+        try (var mocker = Mocker.withResponses(List.of(spawnResponses(submitted, ResponseCodeEnum.OK)));
+                var batcher = new TransactionBatcher(mocker.client, batchKey).setMaxDelay(Duration.ofMillis(10))) {
+            var response = batcher.submit(spawnTransfer(mocker.client, 1)).get();
+
+            assertThat(response).isNotNull();
+            assertThat(submitted).hasSize(1);
+            assertThat(submitted.get(0).getAtomicBatch().getTransactionsCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void failsEveryInnerTransactionWhenBatchFails() throws Exception {
+        var submitted = Collections.synchronizedList(new ArrayList<TransactionBody>());
+
+        try (var mocker = Mocker.withResponses(
+                        List.of(spawnResponses(submitted, ResponseCodeEnum.INSUFFICIENT_TX_FEE)));
+                var batcher = new TransactionBatcher(mocker.client, batchKey).setMaxDelay(Duration.ofMinutes(1))) {
+            var first = batcher.submit(spawnTransfer(mocker.client, 1));
+            var second = batcher.submit(spawnTransfer(mocker.client, 2));
+            batcher.flush();
+
+            assertThatExceptionOfType(ExecutionException.class).isThrownBy(first::get);
+            assertThatExceptionOfType(ExecutionException.class).isThrownBy(second::get);
+            assertThat(submitted).hasSize(1);
+        }
+    }
+
+    @Test
+    void rejectsTransactionsThatCannotBeBatched() throws Exception {
+        try (var mocker = Mocker.withResponses(List.of(List.of()));
+                var batcher = new TransactionBatcher(mocker.client, batchKey)) {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> batcher.submit(new BatchTransaction()));
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> batcher.submit(new FreezeTransaction()));
+        }
+    }
+}
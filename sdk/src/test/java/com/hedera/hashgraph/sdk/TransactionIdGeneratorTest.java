@@ -0,0 +1,102 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TransactionIdGeneratorTest {
+    @Test
+    @DisplayName("Should generate strictly increasing valid starts on a single thread")
+    void generatesIncreasingValidStartsPerThread() {
+        var generator = new TransactionIdGenerator(8);
+
+        var last = generator.nextValidStartNanos();
+        for (int i = 0; i < 100_000; i++) {
+            var next = generator.nextValidStartNanos();
+            assertThat(next).isGreaterThan(last);
+            last = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique transaction ids across many threads")
+    void generatesUniqueTransactionIdsAcrossThreads() throws Exception {
+        var threads = 16;
+        var idsPerThread = 50_000;
+        var accountId = AccountId.fromString("0.0.1000");
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+
+        try {
+            var futures = new ArrayList<Future<List<TransactionId>>>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    var ids = new ArrayList<TransactionId>(idsPerThread);
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(TransactionId.generate(accountId));
+                    }
+                    return ids;
+                }));
+            }
+
+            start.countDown();
+
+            var set = new HashSet<TransactionId>(threads * idsPerThread);
+            for (var future : futures) {
+                for (var id : future.get(1, TimeUnit.MINUTES)) {
+                    assertThat(set.add(id)).as("%s is not unique", id).isTrue();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique valid starts when threads share a stripe")
+    void generatesUniqueValidStartsWithSharedStripes() throws Exception {
+        var generator = new TransactionIdGenerator(2);
+        var threads = 8;
+        var idsPerThread = 50_000;
+        var executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            var futures = new ArrayList<Future<long[]>>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    var nanos = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        nanos[i] = generator.nextValidStartNanos();
+                    }
+                    return nanos;
+                }));
+            }
+
+            var set = new HashSet<Long>(threads * idsPerThread);
+            for (var future : futures) {
+                for (var nanos : future.get(1, TimeUnit.MINUTES)) {
+                    assertThat(set.add(nanos)).isTrue();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsInvalidStripeCount() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new TransactionIdGenerator(0));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new TransactionIdGenerator(65));
+    }
+}
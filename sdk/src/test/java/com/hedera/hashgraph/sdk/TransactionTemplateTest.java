@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TransactionTemplateTest {
+    private static final PrivateKey privateKey = PrivateKey.fromString(
+            "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+    private static final List<AccountId> nodeAccountIds =
+            Arrays.asList(AccountId.fromString("0.0.5005"), AccountId.fromString("0.0.5006"));
+    private static final AccountId payerAccountId = AccountId.fromString("0.0.5006");
+    private static final Instant validStart = Instant.ofEpochSecond(1554158542);
+
+    private static TransferTransaction spawnTransfer(long amount) {
+        return new TransferTransaction()
+                .addHbarTransfer(AccountId.fromString("0.0.1"), Hbar.fromTinybars(-amount))
+                .addHbarTransfer(AccountId.fromString("0.0.2"), Hbar.fromTinybars(amount))
+                .setTransactionMemo("memo " + amount);
+    }
+
+    @Test
+    void stampProducesSameBytesAsFreeze() {
+        var template = TransactionTemplate.from(
+                        new TransferTransaction()
+                                .setNodeAccountIds(nodeAccountIds)
+                                .setMaxTransactionFee(Hbar.fromTinybars(1_000))
+                                .setTransactionValidDuration(Duration.ofSeconds(60)),
+                        payerAccountId)
+                .sign(privateKey);
+
+        var transactionId = TransactionId.withValidStart(payerAccountId, validStart);
+
+        var stamped = template.stamp(spawnTransfer(10), transactionId);
+        var frozen = spawnTransfer(10)
+                .setNodeAccountIds(nodeAccountIds)
+                .setMaxTransactionFee(Hbar.fromTinybars(1_000))
+                .setTransactionValidDuration(Duration.ofSeconds(60))
+                .setTransactionId(transactionId)
+                .freeze()
+                .sign(privateKey);
+
+        assertThat(stamped.toBytes()).isEqualTo(frozen.toBytes());
+    }
+
+    @Test
+    void stampCopiesTemplateFieldsOntoTransaction() {
+        var batchKey = privateKey.getPublicKey();
+        var template = TransactionTemplate.from(
+                new TransferTransaction()
+                        .setNodeAccountIds(nodeAccountIds)
+                        .setMaxTransactionFee(Hbar.fromTinybars(1_000))
+                        .setTransactionValidDuration(Duration.ofSeconds(60))
+                        .setBatchKey(batchKey),
+                payerAccountId);
+
+        var stamped = template.stamp(spawnTransfer(1).setMaxTransactionFee(Hbar.fromTinybars(5)));
+
+        assertThat(stamped.getMaxTransactionFee()).isEqualTo(Hbar.fromTinybars(1_000));
+        assertThat(stamped.getTransactionValidDuration()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(stamped.getBatchKey()).isEqualTo(batchKey);
+    }
+
+    @Test
+    void stampGeneratesDistinctTransactionIds() {
+        var template = TransactionTemplate.from(
+                new TransferTransaction().setNodeAccountIds(nodeAccountIds), payerAccountId);
+
+        var first = template.stamp(spawnTransfer(1));
+        var second = template.stamp(spawnTransfer(2));
+
+        assertThat(first.getTransactionId().accountId).isEqualTo(payerAccountId);
+        assertThat(first.getTransactionId()).isNotEqualTo(second.getTransactionId());
+        assertThat(first.getTransactionMemo()).isEqualTo("memo 1");
+        assertThat(second.getTransactionMemo()).isEqualTo("memo 2");
+        assertThat(second.getHbarTransfers()).containsEntry(AccountId.fromString("0.0.2"), Hbar.fromTinybars(2));
+    }
+
+    @Test
+    void stampKeepsExplicitTransactionId() {
+        var template = TransactionTemplate.from(
+                new TransferTransaction().setNodeAccountIds(nodeAccountIds), payerAccountId);
+        var transactionId = TransactionId.withValidStart(AccountId.fromString("0.0.3"), validStart);
+
+        var stamped = template.stamp(spawnTransfer(1).setTransactionId(transactionId));
+
+        assertThat(stamped.getTransactionId()).isEqualTo(transactionId);
+    }
+
+    @Test
+    void stampRejectsFrozenTransaction() {
+        var template = TransactionTemplate.from(
+                new TransferTransaction().setNodeAccountIds(nodeAccountIds), payerAccountId);
+        var stamped = template.stamp(spawnTransfer(1));
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> template.stamp(stamped));
+    }
+
+    @Test
+    void fromRequiresNodeAccountIdsWithoutClient() {
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> TransactionTemplate.from(new TransferTransaction(), payerAccountId));
+    }
+}
@@ -0,0 +1,201 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.hashgraph.sdk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.hedera.hashgraph.sdk.proto.AccountAmount;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TransferNettingTest {
+    private static final AccountId ALICE = new AccountId(0, 0, 1001);
+    private static final AccountId BOB = new AccountId(0, 0, 1002);
+    private static final AccountId CAROL = new AccountId(0, 0, 1003);
+    private static final TokenId TOKEN = new TokenId(0, 0, 5005);
+
+    private static AccountId account(long num) {
+        return new AccountId(0, 0, 2000 + num);
+    }
+
+    @Test
+    void cancelsOpposingTransfers() {
+        var transactions = new TransferNetting()
+                .addHbarTransfer(ALICE, BOB, Hbar.fromTinybars(500))
+                .addHbarTransfer(BOB, ALICE, Hbar.fromTinybars(300))
+                .addTokenTransfer(TOKEN, ALICE, BOB, 10)
+                .addTokenTransfer(TOKEN, BOB, ALICE, 10)
+                .build();
+
+        assertThat(transactions).hasSize(1);
+        assertThat(transactions.get(0).getHbarTransfers())
+                .containsExactlyInAnyOrderEntriesOf(
+                        Map.of(ALICE, Hbar.fromTinybars(-200), BOB, Hbar.fromTinybars(200)));
+        assertThat(transactions.get(0).getTokenTransfers()).isEmpty();
+    }
+
+    @Test
+    void buildsNothingWhenEverythingCancels() {
+        var netting = new TransferNetting()
+                .addHbarTransfer(ALICE, BOB, Hbar.fromTinybars(5))
+                .addHbarTransfer(BOB, CAROL, Hbar.fromTinybars(5))
+                .addHbarTransfer(CAROL, ALICE, Hbar.fromTinybars(5));
+
+        assertThat(netting.getNetHbarTransfers()).isEmpty();
+        assertThat(netting.build()).isEmpty();
+    }
+
+    @Test
+    void collapsesNftChains() {
+        var moved = TOKEN.nft(1);
+        var returned = TOKEN.nft(2);
+
+        var netting = new TransferNetting()
+                .addNftTransfer(moved, ALICE, BOB)
+                .addNftTransfer(moved, BOB, CAROL)
+                .addNftTransfer(returned, ALICE, BOB)
+                .addNftTransfer(returned, BOB, ALICE);
+
+        var transactions = netting.build();
+
+        assertThat(netting.getNetNftTransferCount()).isEqualTo(1);
+        assertThat(transactions).hasSize(1);
+
+        var nftTransfers = transactions.get(0).getTokenNftTransfers().get(TOKEN);
+        assertThat(nftTransfers).hasSize(1);
+        assertThat(nftTransfers.get(0).sender).isEqualTo(ALICE);
+        assertThat(nftTransfers.get(0).receiver).isEqualTo(CAROL);
+        assertThat(nftTransfers.get(0).serial).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsBrokenNftChain() {
+        var netting = new TransferNetting().addNftTransfer(TOKEN.nft(1), ALICE, BOB);
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> netting.addNftTransfer(TOKEN.nft(1), ALICE, CAROL));
+    }
+
+    @Test
+    void splitsIntoBalancedTransactionsWithinLimits() {
+        var netting = new TransferNetting().setMaxHbarTransfers(4).setMaxTokenTransfers(3);
+
+        for (var i = 0; i < 12; i++) {
+            netting.addHbarTransfer(account(i), account(100 + i % 5), Hbar.fromTinybars(10 + i));
+            netting.addTokenTransfer(TOKEN, account(i), account(200), 1 + i);
+        }
+
+        var expectedHbar = netting.getNetHbarTransfers();
+        var expectedTokens = netting.getNetTokenTransfers().get(TOKEN);
+
+        var transactions = netting.build();
+        var hbar = new HashMap<AccountId, Long>();
+        var tokens = new HashMap<AccountId, Long>();
+
+        for (var transaction : transactions) {
+            var hbarTransfers = transaction.getHbarTransfers();
+            var tokenTransfers = transaction.getTokenTransfers().getOrDefault(TOKEN, Map.of());
+
+            assertThat(hbarTransfers.size()).isLessThanOrEqualTo(4);
+            assertThat(tokenTransfers.size()).isLessThanOrEqualTo(3);
+            assertThat(hbarTransfers.values().stream().mapToLong(Hbar::toTinybars).sum()).isZero();
+            assertThat(tokenTransfers.values().stream().mapToLong(Long::longValue).sum()).isZero();
+
+            hbarTransfers.forEach((accountId, amount) -> hbar.merge(accountId, amount.toTinybars(), Long::sum));
+            tokenTransfers.forEach((accountId, amount) -> tokens.merge(accountId, amount, Long::sum));
+        }
+
+        var expectedTinybars = new HashMap<AccountId, Long>();
+        expectedHbar.forEach((accountId, amount) -> expectedTinybars.put(accountId, amount.toTinybars()));
+
+        assertThat(transactions.size()).isGreaterThan(1);
+        assertThat(hbar).isEqualTo(expectedTinybars);
+        assertThat(tokens).isEqualTo(expectedTokens);
+    }
+
+    @Test
+    void splitsEqualDebitsAndCreditsWithinTheDefaultLimits() {
+        var netting = new TransferNetting();
+
+        // every payment settles a debit and a credit at once, so consecutive payments share no account
+        for (var i = 0; i < 10; i++) {
+            netting.addHbarTransfer(account(i), account(100 + i), Hbar.fromTinybars(5));
+            netting.addTokenTransfer(TOKEN, account(i), account(100 + i), 5);
+        }
+
+        for (var i = 0; i < 11; i++) {
+            netting.addNftTransfer(new NftId(TOKEN, i + 1), account(i), account(100 + i));
+        }
+
+        var transactions = netting.build();
+        var hbarCount = 0;
+        var tokenCount = 0;
+        var nftCount = 0;
+
+        for (var transaction : transactions) {
+            var hbarTransfers = transaction.getHbarTransfers();
+            var tokenTransfers = transaction.getTokenTransfers().getOrDefault(TOKEN, Map.of());
+            var nftTransfers = transaction.getTokenNftTransfers().getOrDefault(TOKEN, List.of());
+
+            assertThat(hbarTransfers.size()).isLessThanOrEqualTo(TransferNetting.DEFAULT_MAX_HBAR_TRANSFERS);
+            assertThat(tokenTransfers.size()).isLessThanOrEqualTo(TransferNetting.DEFAULT_MAX_TOKEN_TRANSFERS);
+            assertThat(nftTransfers.size()).isLessThanOrEqualTo(TransferNetting.DEFAULT_MAX_NFT_TRANSFERS);
+            assertThat(hbarTransfers.values().stream().mapToLong(Hbar::toTinybars).sum()).isZero();
+            assertThat(tokenTransfers.values().stream().mapToLong(Long::longValue).sum()).isZero();
+
+            hbarCount += hbarTransfers.size();
+            tokenCount += tokenTransfers.size();
+            nftCount += nftTransfers.size();
+        }
+
+        assertThat(hbarCount).isEqualTo(20);
+        assertThat(tokenCount).isEqualTo(20);
+        assertThat(nftCount).isEqualTo(11);
+    }
+
+    @Test
+    void netsApprovedTransfersWithTheOtherTransfersOfTheAccount() {
+        var cancelled = new TransferNetting()
+                .addApprovedHbarTransfer(ALICE, BOB, Hbar.fromTinybars(5))
+                .addHbarTransfer(BOB, ALICE, Hbar.fromTinybars(5));
+
+        assertThat(cancelled.build()).isEmpty();
+
+        var transactions = new TransferNetting()
+                .addApprovedHbarTransfer(ALICE, BOB, Hbar.fromTinybars(5))
+                .addHbarTransfer(BOB, ALICE, Hbar.fromTinybars(3))
+                .addApprovedTokenTransfer(TOKEN, ALICE, BOB, 5)
+                .addTokenTransfer(TOKEN, ALICE, CAROL, 3)
+                .build();
+
+        assertThat(transactions).hasSize(1);
+
+        var body = transactions.get(0).build();
+
+        // only debits made entirely of approved legs spend an allowance
+        assertThat(body.getTransfers().getAccountAmountsList())
+                .extracting(
+                        accountAmount -> accountAmount.getAccountID().getAccountNum(),
+                        AccountAmount::getAmount,
+                        AccountAmount::getIsApproval)
+                .containsExactlyInAnyOrder(tuple(ALICE.num, -2L, true), tuple(BOB.num, 2L, false));
+        assertThat(body.getTokenTransfers(0).getTransfersList())
+                .extracting(
+                        accountAmount -> accountAmount.getAccountID().getAccountNum(),
+                        AccountAmount::getAmount,
+                        AccountAmount::getIsApproval)
+                .containsExactlyInAnyOrder(
+                        tuple(ALICE.num, -8L, false), tuple(BOB.num, 5L, false), tuple(CAROL.num, 3L, false));
+    }
+
+    @Test
+    void limitsMustAllowABalancedTransfer() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new TransferNetting().setMaxHbarTransfers(1));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new TransferNetting().setMaxNftTransfers(0));
+    }
+}